@@ -0,0 +1,115 @@
+package com.accountabilityatlas.userservice.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for calls to an external API. Once at least {@code minimumCalls} of
+ * the last {@code windowSize} calls were made and {@code failureRateThreshold} of them failed, it
+ * opens and rejects every call for {@code openDuration}. It then lets one trial call through: if
+ * that succeeds the circuit closes with an empty window, otherwise it opens again.
+ */
+class CircuitBreaker {
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final boolean[] failed;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoClock;
+
+  private State state = State.CLOSED;
+  private int next;
+  private int recorded;
+  private int failures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  CircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration openDuration,
+      LongSupplier nanoClock) {
+    this.failed = new boolean[windowSize];
+    this.minimumCalls = Math.min(minimumCalls, windowSize);
+    this.failureRateThreshold = failureRateThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Whether a call may be made now. Every permitted call must report back with {@link #onSuccess}
+   * or {@link #onFailure}.
+   */
+  synchronized boolean tryAcquire() {
+    if (state == State.OPEN) {
+      if (nanoClock.getAsLong() - openedAt < openNanos) {
+        return false;
+      }
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+    if (state == State.HALF_OPEN) {
+      if (trialInFlight) {
+        return false;
+      }
+      trialInFlight = true;
+    }
+    return true;
+  }
+
+  synchronized void onSuccess() {
+    record(false);
+  }
+
+  synchronized void onFailure() {
+    record(true);
+  }
+
+  synchronized State state() {
+    return state;
+  }
+
+  private void record(boolean failure) {
+    switch (state) {
+      case HALF_OPEN -> {
+        trialInFlight = false;
+        if (failure) {
+          open();
+        } else {
+          state = State.CLOSED;
+        }
+      }
+      case CLOSED -> {
+        if (recorded == failed.length) {
+          failures -= failed[next] ? 1 : 0;
+        } else {
+          recorded++;
+        }
+        failed[next] = failure;
+        failures += failure ? 1 : 0;
+        next = (next + 1) % failed.length;
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+          open();
+        }
+      }
+      case OPEN -> {
+        // A call that was already under way when the circuit opened
+      }
+    }
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = nanoClock.getAsLong();
+    next = 0;
+    recorded = 0;
+    failures = 0;
+  }
+}
@@ -1,5 +1,9 @@
 package com.accountabilityatlas.userservice.client;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.lang.Nullable;
@@ -7,7 +11,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * No-op implementation of {@link YouTubeClient} used when no YouTube API key is configured. Always
- * returns null.
+ * returns no thumbnail; lookups fail.
  */
 @Component
 @ConditionalOnMissingBean(RestYouTubeClient.class)
@@ -23,4 +27,19 @@ public class NoOpYouTubeClient implements YouTubeClient {
   public String getChannelThumbnailUrl(String channelId) {
     return null;
   }
+
+  @Override
+  @Nullable
+  public String getCachedChannelThumbnailUrl(String channelId) {
+    return null;
+  }
+
+  @Override
+  public Map<String, ThumbnailLookup> lookupChannelThumbnails(Collection<String> channelIds) {
+    ThumbnailLookup failed =
+        new ThumbnailLookup.Failed("YouTube API not configured", Instant.now());
+    Map<String, ThumbnailLookup> lookups = new HashMap<>();
+    channelIds.forEach(channelId -> lookups.put(channelId, failed));
+    return lookups;
+  }
 }
@@ -1,45 +1,259 @@
 package com.accountabilityatlas.userservice.client;
 
+import com.accountabilityatlas.userservice.config.CacheTtlProperties;
+import com.accountabilityatlas.userservice.config.CacheTtlProperties.LookupTtls;
+import com.accountabilityatlas.userservice.config.YouTubeProperties;
+import com.accountabilityatlas.userservice.config.YouTubeProperties.CircuitBreakerSettings;
 import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
 /**
  * YouTube Data API v3 client that fetches channel thumbnail URLs. Only active when {@code
  * app.youtube.api-key} is configured.
+ *
+ * <p>Every {@link ThumbnailLookup} is cached per channel id in the {@value #CACHE_NAME} cache, for
+ * as long as {@code app.cache.youtube-thumbnails} sets for its outcome. Cache misses go through a
+ * {@link YouTubeChannelBatcher}, so concurrent misses share one {@code /channels} call of up to 50
+ * ids. Found thumbnails older than {@code app.youtube.refresh-after} are served as they are and
+ * looked up again in the background.
+ *
+ * <p>Calls go over a pooled JDK {@link HttpClient} that keeps connections alive and negotiates
+ * HTTP/2 where the server offers it, with {@code app.youtube.connect-timeout} and {@code
+ * read-timeout}. At most {@code lookup-threads} calls are in flight at once. A {@link
+ * CircuitBreaker} stops calling when too many fail; lookups then fail at once, which leaves users
+ * without a YouTube avatar until a trial call succeeds.
  */
 @Component
 @ConditionalOnProperty(name = "app.youtube.api-key")
 @Slf4j
 public class RestYouTubeClient implements YouTubeClient {
 
+  public static final String CACHE_NAME = "youtube-thumbnails";
+
   private final RestClient restClient;
   private final String apiKey;
+  private final YouTubeProperties properties;
+  private final LookupTtls ttls;
+  private final Cache cache;
+  private final ExecutorService lookupExecutor;
+  private final YouTubeChannelBatcher<ThumbnailLookup> batcher;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
 
   @Autowired
-  public RestYouTubeClient(@Value("${app.youtube.api-key}") String apiKey) {
-    this.apiKey = apiKey;
-    this.restClient = RestClient.builder().baseUrl("https://www.googleapis.com/youtube/v3").build();
+  public RestYouTubeClient(
+      @Value("${app.youtube.api-key}") String apiKey,
+      YouTubeProperties properties,
+      CacheTtlProperties cacheTtlProperties,
+      CacheManager cacheManager,
+      MeterRegistry meterRegistry) {
+    this(
+        apiKey,
+        restClient(properties),
+        properties,
+        cacheTtlProperties.getYoutubeThumbnails(),
+        Optional.ofNullable(cacheManager.getCache(CACHE_NAME)).orElse(new NoOpCache(CACHE_NAME)),
+        meterRegistry);
   }
 
-  RestYouTubeClient(String apiKey, RestClient restClient) {
+  RestYouTubeClient(
+      String apiKey,
+      RestClient restClient,
+      YouTubeProperties properties,
+      LookupTtls ttls,
+      Cache cache,
+      MeterRegistry meterRegistry) {
     this.apiKey = apiKey;
     this.restClient = restClient;
+    this.properties = properties;
+    this.ttls = ttls;
+    this.cache = cache;
+    this.meterRegistry = meterRegistry;
+    CircuitBreakerSettings breaker = properties.getCircuitBreaker();
+    this.circuitBreaker =
+        new CircuitBreaker(
+            breaker.getWindowSize(),
+            breaker.getMinimumCalls(),
+            breaker.getFailureRateThreshold(),
+            breaker.getOpenDuration(),
+            System::nanoTime);
+    ArrayBlockingQueue<Runnable> queue =
+        new ArrayBlockingQueue<>(properties.getLookupQueueCapacity());
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            properties.getLookupThreads(),
+            properties.getLookupThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            queue,
+            new CustomizableThreadFactory("youtube-lookup-"),
+            (command, rejectedBy) -> {
+              meterRegistry.counter("users.youtube.bulkhead.rejected").increment();
+              throw new RejectedExecutionException("YouTube lookup queue is full");
+            });
+    this.lookupExecutor = executor;
+    this.batcher =
+        new YouTubeChannelBatcher<>(
+            this::fetchThumbnails,
+            properties.getBatchWindow(),
+            properties.getMaxBatchSize(),
+            YouTubeChannelBatcher.defaultScheduler(),
+            lookupExecutor);
+    Gauge.builder("users.youtube.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+        .register(meterRegistry);
+    Gauge.builder("users.youtube.bulkhead.queued", queue, ArrayBlockingQueue::size)
+        .register(meterRegistry);
+    Gauge.builder("users.youtube.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+        .description("0 closed, 1 open, 2 half-open")
+        .register(meterRegistry);
+  }
+
+  private static RestClient restClient(YouTubeProperties properties) {
+    HttpClient httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.getConnectTimeout())
+            .build();
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(properties.getReadTimeout());
+    return RestClient.builder()
+        .baseUrl(properties.getBaseUrl())
+        .requestFactory(requestFactory)
+        .build();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    batcher.shutdown();
+    lookupExecutor.shutdownNow();
   }
 
   @Override
-  @Cacheable(value = "youtube-thumbnails", key = "#channelId")
   @Nullable
   public String getChannelThumbnailUrl(String channelId) {
+    return lookupChannelThumbnails(List.of(channelId)).get(channelId)
+            instanceof ThumbnailLookup.Found found
+        ? found.url()
+        : null;
+  }
+
+  @Override
+  @Nullable
+  public String getCachedChannelThumbnailUrl(String channelId) {
+    ThumbnailLookup cached = cached(channelId);
+    if (cached == null || isDue(cached)) {
+      // Completes in the background and lands in the cache for a later read
+      batcher.load(channelId);
+    }
+    return cached instanceof ThumbnailLookup.Found found ? found.url() : null;
+  }
+
+  /**
+   * Serves cached outcomes that are not due yet, and found thumbnails even when they are (looking
+   * them up again in the background). Everything else is looked up and waited for.
+   */
+  @Override
+  public Map<String, ThumbnailLookup> lookupChannelThumbnails(Collection<String> channelIds) {
+    Map<String, ThumbnailLookup> lookups = new HashMap<>();
+    Map<String, CompletableFuture<ThumbnailLookup>> loads = new LinkedHashMap<>();
+    for (String channelId : new LinkedHashSet<>(channelIds)) {
+      ThumbnailLookup cached = cached(channelId);
+      boolean due = cached == null || isDue(cached);
+      if (cached != null && (!due || cached instanceof ThumbnailLookup.Found)) {
+        lookups.put(channelId, cached);
+        if (due) {
+          batcher.load(channelId);
+        }
+      } else {
+        loads.put(channelId, batcher.load(channelId));
+      }
+    }
+    long deadline = System.nanoTime() + properties.getLookupTimeout().toNanos();
+    loads.forEach((channelId, load) -> lookups.put(channelId, await(channelId, load, deadline)));
+    return lookups;
+  }
+
+  @Nullable
+  private ThumbnailLookup cached(String channelId) {
+    Cache.ValueWrapper wrapper = cache.get(channelId);
+    // Entries written before outcomes were recorded count as missing
+    return wrapper != null && wrapper.get() instanceof ThumbnailLookup cached ? cached : null;
+  }
+
+  /** Whether a cached outcome should be looked up again; caches without expiry rely on this. */
+  private boolean isDue(ThumbnailLookup cached) {
+    Duration refreshAfter =
+        switch (cached) {
+          case ThumbnailLookup.Found found -> properties.getRefreshAfter();
+          case ThumbnailLookup.NotFound notFound -> ttls.getNotFound();
+          case ThumbnailLookup.Failed failed -> ttls.getFailed();
+        };
+    return cached.lookedUpAt().plus(refreshAfter).isBefore(Instant.now());
+  }
+
+  private ThumbnailLookup await(
+      String channelId, CompletableFuture<ThumbnailLookup> load, long deadline) {
+    try {
+      ThumbnailLookup lookup =
+          load.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+      return lookup != null ? lookup : new ThumbnailLookup.NotFound(Instant.now());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new ThumbnailLookup.Failed("Interrupted", Instant.now());
+    } catch (ExecutionException | TimeoutException e) {
+      log.warn("YouTube thumbnail for channel {} unavailable: {}", channelId, e.toString());
+      return new ThumbnailLookup.Failed(e.toString(), Instant.now());
+    }
+  }
+
+  /**
+   * Looks up one batch with a single {@code /channels} call and caches the outcome of every id in
+   * it. A failed call, or one skipped while the circuit is open, is cached as {@link
+   * ThumbnailLookup.Failed} for every id, unless {@code app.cache.youtube-thumbnails.failed} is
+   * zero.
+   */
+  private Map<String, ThumbnailLookup> fetchThumbnails(List<String> channelIds) {
+    if (!circuitBreaker.tryAcquire()) {
+      meterRegistry.counter("users.youtube.circuit.rejected").increment();
+      return failed(channelIds, "Circuit breaker open");
+    }
+    long start = System.nanoTime();
+    JsonNode response;
     try {
-      JsonNode response =
+      response =
           restClient
               .get()
               .uri(
@@ -47,34 +261,58 @@ public class RestYouTubeClient implements YouTubeClient {
                       uriBuilder
                           .path("/channels")
                           .queryParam("part", "snippet")
-                          .queryParam("id", channelId)
+                          .queryParam("id", String.join(",", channelIds))
+                          .queryParam("maxResults", channelIds.size())
                           .queryParam("key", apiKey)
                           .build())
               .accept(MediaType.APPLICATION_JSON)
               .retrieve()
               .body(JsonNode.class);
-
       if (response == null) {
-        return null;
+        throw new IllegalStateException("Empty response");
       }
+    } catch (Exception e) {
+      circuitBreaker.onFailure();
+      recordCall("failure", start);
+      log.warn("Failed to fetch YouTube thumbnails for {}: {}", channelIds, e.getMessage());
+      return failed(channelIds, String.valueOf(e.getMessage()));
+    }
+    circuitBreaker.onSuccess();
+    recordCall("success", start);
 
-      JsonNode items = response.path("items");
-      if (items.isMissingNode() || items.isEmpty()) {
-        log.debug("No YouTube channel found for ID: {}", channelId);
-        return null;
+    Map<String, ThumbnailLookup> lookups = new HashMap<>();
+    Instant lookedUpAt = Instant.now();
+    for (JsonNode item : response.path("items")) {
+      JsonNode thumbnailUrl = item.path("snippet").path("thumbnails").path("default").path("url");
+      if (item.hasNonNull("id") && !thumbnailUrl.isMissingNode() && !thumbnailUrl.isNull()) {
+        lookups.put(
+            item.get("id").asText(), new ThumbnailLookup.Found(thumbnailUrl.asText(), lookedUpAt));
       }
-
-      JsonNode thumbnailUrl =
-          items.get(0).path("snippet").path("thumbnails").path("default").path("url");
-
-      if (thumbnailUrl.isMissingNode() || thumbnailUrl.isNull()) {
-        return null;
+    }
+    for (String channelId : channelIds) {
+      ThumbnailLookup lookup =
+          lookups.computeIfAbsent(channelId, id -> new ThumbnailLookup.NotFound(lookedUpAt));
+      if (lookup instanceof ThumbnailLookup.NotFound) {
+        log.debug("No YouTube channel found for ID: {}", channelId);
       }
+      cache.put(channelId, lookup);
+    }
+    return lookups;
+  }
 
-      return thumbnailUrl.asText();
-    } catch (Exception e) {
-      log.warn("Failed to fetch YouTube thumbnail for channel {}: {}", channelId, e.getMessage());
-      return null;
+  private Map<String, ThumbnailLookup> failed(List<String> channelIds, String reason) {
+    ThumbnailLookup failed = new ThumbnailLookup.Failed(reason, Instant.now());
+    Map<String, ThumbnailLookup> lookups = new HashMap<>();
+    channelIds.forEach(channelId -> lookups.put(channelId, failed));
+    if (!ttls.getFailed().isZero()) {
+      channelIds.forEach(channelId -> cache.put(channelId, failed));
     }
+    return lookups;
+  }
+
+  private void recordCall(String outcome, long start) {
+    meterRegistry
+        .timer("users.youtube.calls", "outcome", outcome)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
   }
 }
@@ -0,0 +1,22 @@
+package com.accountabilityatlas.userservice.client;
+
+import java.time.Instant;
+
+/**
+ * Outcome of looking up a YouTube channel thumbnail. The outcomes are cached for different times
+ * (see {@code app.cache.youtube-thumbnails}), so a channel without a thumbnail is asked about again
+ * sooner than one with, and a failed call only briefly.
+ */
+public sealed interface ThumbnailLookup {
+
+  Instant lookedUpAt();
+
+  /** The channel exists and has a thumbnail. */
+  record Found(String url, Instant lookedUpAt) implements ThumbnailLookup {}
+
+  /** The channel does not exist or has no thumbnail. */
+  record NotFound(Instant lookedUpAt) implements ThumbnailLookup {}
+
+  /** The lookup failed, so nothing is known about the channel. */
+  record Failed(String reason, Instant lookedUpAt) implements ThumbnailLookup {}
+}
@@ -0,0 +1,132 @@
+package com.accountabilityatlas.userservice.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces channel lookups into batched API calls. The first id queued opens a window of {@code
+ * batchWindow}; every id queued before it closes shares one call, which is made early once the
+ * batch is full. Calls run on {@code fetchExecutor}, never on the thread queueing an id. An id
+ * already queued or in flight is not requested again: its callers share the pending result.
+ */
+class YouTubeChannelBatcher<V> {
+
+  private final Function<List<String>, Map<String, V>> fetcher;
+  private final Duration batchWindow;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService scheduler;
+  private final Executor fetchExecutor;
+
+  private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  // Guarded by this
+  private Map<String, CompletableFuture<V>> queued = new LinkedHashMap<>();
+  private ScheduledFuture<?> scheduledFlush;
+
+  /** @param fetcher looks up a batch of channel ids, returning the result for each of them */
+  YouTubeChannelBatcher(
+      Function<List<String>, Map<String, V>> fetcher,
+      Duration batchWindow,
+      int maxBatchSize,
+      ScheduledExecutorService scheduler,
+      Executor fetchExecutor) {
+    this.fetcher = fetcher;
+    this.batchWindow = batchWindow;
+    this.maxBatchSize = maxBatchSize;
+    this.scheduler = scheduler;
+    this.fetchExecutor = fetchExecutor;
+  }
+
+  static ScheduledExecutorService defaultScheduler() {
+    return Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("youtube-batcher").daemon().factory());
+  }
+
+  /**
+   * Queues {@code channelId} and returns its result once its batch has been fetched, null if the
+   * fetcher returned none for it.
+   */
+  CompletableFuture<V> load(String channelId) {
+    Map<String, CompletableFuture<V>> full = null;
+    CompletableFuture<V> load;
+    synchronized (this) {
+      load = queued.get(channelId);
+      if (load == null) {
+        load = inFlight.get(channelId);
+      }
+      if (load != null) {
+        return load;
+      }
+      load = new CompletableFuture<>();
+      queued.put(channelId, load);
+      if (queued.size() >= maxBatchSize) {
+        full = takeQueued();
+      } else if (scheduledFlush == null) {
+        scheduledFlush =
+            scheduler.schedule(this::flush, batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+      }
+    }
+    if (full != null) {
+      dispatch(full);
+    }
+    return load;
+  }
+
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void flush() {
+    Map<String, CompletableFuture<V>> batch;
+    synchronized (this) {
+      scheduledFlush = null;
+      batch = takeQueued();
+    }
+    dispatch(batch);
+  }
+
+  private Map<String, CompletableFuture<V>> takeQueued() {
+    Map<String, CompletableFuture<V>> batch = queued;
+    queued = new LinkedHashMap<>();
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    inFlight.putAll(batch);
+    return batch;
+  }
+
+  private void dispatch(Map<String, CompletableFuture<V>> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      fetchExecutor.execute(() -> fetch(batch));
+    } catch (RejectedExecutionException e) {
+      batch.values().forEach(load -> load.completeExceptionally(e));
+      batch.keySet().forEach(inFlight::remove);
+    }
+  }
+
+  private void fetch(Map<String, CompletableFuture<V>> batch) {
+    try {
+      Map<String, V> results = fetcher.apply(new ArrayList<>(batch.keySet()));
+      batch.forEach((id, load) -> load.complete(results.get(id)));
+    } catch (RuntimeException e) {
+      batch.values().forEach(load -> load.completeExceptionally(e));
+    } finally {
+      batch.keySet().forEach(inFlight::remove);
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.accountabilityatlas.userservice.client;
 
+import java.util.Collection;
+import java.util.Map;
 import org.springframework.lang.Nullable;
 
 /** Client for fetching data from the YouTube Data API. */
@@ -13,4 +15,24 @@ public interface YouTubeClient {
    */
   @Nullable
   String getChannelThumbnailUrl(String channelId);
+
+  /**
+   * Returns the thumbnail URL of the given YouTube channel if it is already known, without waiting
+   * for the API. A channel that is not known yet, or only from an old lookup, is looked up in the
+   * background so a later call can return it.
+   *
+   * @param channelId the YouTube channel ID
+   * @return the known thumbnail URL, or null if there is none or it is not known yet
+   */
+  @Nullable
+  String getCachedChannelThumbnailUrl(String channelId);
+
+  /**
+   * Looks up the thumbnails of several YouTube channels, telling channels without a thumbnail apart
+   * from lookups that failed.
+   *
+   * @param channelIds the YouTube channel IDs
+   * @return the outcome for each of the given channel IDs
+   */
+  Map<String, ThumbnailLookup> lookupChannelThumbnails(Collection<String> channelIds);
 }
@@ -0,0 +1,24 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Refresh of the YouTube thumbnails stored in {@code user_avatar_sources}. */
+@Component
+@ConfigurationProperties(prefix = "app.avatars")
+@Getter
+@Setter
+public class AvatarProperties {
+
+  /** Stored thumbnails resolved longer ago than this are resolved again. */
+  private Duration maxAge = Duration.ofHours(24);
+
+  /** Channels resolved per YouTube lookup and update statement; the Data API takes up to 50. */
+  private int refreshBatchSize = 50;
+
+  /** Batches per scheduled run, which bounds the API quota one run can use. */
+  private int refreshMaxBatches = 100;
+}
@@ -1,15 +1,27 @@
 package com.accountabilityatlas.userservice.config;
 
+import com.accountabilityatlas.userservice.client.RestYouTubeClient;
+import com.accountabilityatlas.userservice.client.ThumbnailLookup;
+import com.accountabilityatlas.userservice.config.CacheTtlProperties.LookupTtls;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.time.Duration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 @Configuration
 @EnableCaching
@@ -17,13 +29,52 @@ public class CacheConfig {
 
   @Bean
   @ConditionalOnBean(RedisConnectionFactory.class)
-  public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+  public RedisCacheManager cacheManager(
+      RedisConnectionFactory connectionFactory, CacheTtlProperties ttls) {
     RedisCacheConfiguration config =
         RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofHours(24))
+            .entryTtl(ttls.getDefaultTtl())
             .serializeValuesWith(
-                RedisSerializationContext.SerializationPair.fromSerializer(
-                    new GenericJackson2JsonRedisSerializer()));
-    return RedisCacheManager.builder(connectionFactory).cacheDefaults(config).build();
+                RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer()));
+    return RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(config)
+        .withCacheConfiguration(
+            RestYouTubeClient.CACHE_NAME,
+            config.entryTtl(lookupTtl(ttls.getYoutubeThumbnails(), ttls.getDefaultTtl())))
+        .build();
+  }
+
+  /**
+   * JSON with the class name of every value, so cached records such as {@link ThumbnailLookup} come
+   * back as themselves, and with {@code java.time} support for the instants they carry. Only this
+   * service's classes, JDK types and the cache's null marker are accepted when reading.
+   */
+  @SuppressWarnings("deprecation") // EVERYTHING is needed to type the final record classes
+  static RedisSerializer<Object> valueSerializer() {
+    ObjectMapper objectMapper =
+        JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                    .allowIfSubType("com.accountabilityatlas.userservice.")
+                    .allowIfSubType("java.")
+                    .allowIfSubType(NullValue.class)
+                    .build(),
+                ObjectMapper.DefaultTyping.EVERYTHING,
+                JsonTypeInfo.As.PROPERTY)
+            .build();
+    GenericJackson2JsonRedisSerializer.registerNullValueSerializer(objectMapper, null);
+    return new GenericJackson2JsonRedisSerializer(objectMapper);
+  }
+
+  static RedisCacheWriter.TtlFunction lookupTtl(LookupTtls ttls, Duration defaultTtl) {
+    return (key, value) ->
+        switch (value) {
+          case ThumbnailLookup.Found found -> ttls.getFound();
+          case ThumbnailLookup.NotFound notFound -> ttls.getNotFound();
+          case ThumbnailLookup.Failed failed -> ttls.getFailed();
+          case null, default -> defaultTtl;
+        };
   }
 }
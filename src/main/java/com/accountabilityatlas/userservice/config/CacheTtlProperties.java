@@ -0,0 +1,31 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Expiry of the Redis caches, by cache and for lookup caches by outcome. */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class CacheTtlProperties {
+
+  private Duration defaultTtl = Duration.ofHours(24);
+
+  private LookupTtls youtubeThumbnails = new LookupTtls();
+
+  /** Expiry of a cached {@code ThumbnailLookup}, by outcome. */
+  @Getter
+  @Setter
+  public static class LookupTtls {
+    private Duration found = Duration.ofHours(24);
+
+    private Duration notFound = Duration.ofHours(1);
+
+    /** Long enough to keep an outage from turning every read into a call; zero to not cache. */
+    private Duration failed = Duration.ofSeconds(30);
+  }
+}
@@ -0,0 +1,24 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Duplicate detection for consumed SQS events. */
+@Component
+@ConfigurationProperties(prefix = "app.event-dedupe")
+@Getter
+@Setter
+public class EventDedupeProperties {
+  /** Recently processed event ids kept in memory, per instance. */
+  private int cacheSize = 100_000;
+
+  private Duration cacheTtl = Duration.ofHours(1);
+
+  /** How long processed ids stay in the database; must cover the queues' message retention. */
+  private Duration retention = Duration.ofDays(4);
+
+  private int pruneBatchSize = 5000;
+}
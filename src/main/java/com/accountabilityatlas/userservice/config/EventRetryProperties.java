@@ -0,0 +1,33 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Retries and dead-lettering of consumed SQS events whose handling failed. */
+@Component
+@ConfigurationProperties(prefix = "app.event-retry")
+@Getter
+@Setter
+public class EventRetryProperties {
+  /** Retries of a failed batch on the listener thread before falling back to SQS redelivery. */
+  private int inProcessAttempts = 3;
+
+  /** Wait before the first in-process retry; doubles per retry, with jitter. */
+  private Duration initialBackoff = Duration.ofMillis(100);
+
+  private Duration maxInProcessBackoff = Duration.ofSeconds(2);
+
+  /** Visibility timeout set on a message after its first failed receive; doubles per receive. */
+  private Duration initialVisibilityTimeout = Duration.ofSeconds(15);
+
+  private Duration maxVisibilityTimeout = Duration.ofMinutes(15);
+
+  /** Receives after which a message that keeps failing transiently is dead-lettered. */
+  private int maxReceiveCount = 10;
+
+  /** Appended to a consumed queue's name to get its dead-letter queue. */
+  private String deadLetterQueueSuffix = "-dlq";
+}
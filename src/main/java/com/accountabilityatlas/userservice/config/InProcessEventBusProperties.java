@@ -0,0 +1,37 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** In-JVM stand-in for SQS, active with {@code app.events.transport=in-process}. */
+@Component
+@ConfigurationProperties(prefix = "app.events.in-process")
+@Getter
+@Setter
+public class InProcessEventBusProperties {
+  /** Messages a queue holds before sends to it are rejected or wait. */
+  private int queueCapacity = 10_000;
+
+  /** Messages handed to a listener per call, like a receive of that many from SQS. */
+  private int batchSize = 10;
+
+  /** Threads delivering each queue's messages to its listener. */
+  private int consumers = 2;
+
+  /** Added to every send before it completes. */
+  private Duration publishLatency = Duration.ZERO;
+
+  /** Added before every batch is handed to its listener. */
+  private Duration deliveryLatency = Duration.ZERO;
+
+  /**
+   * Share of sent entries rejected and of delivered batches dropped unprocessed, between 0 and 1.
+   */
+  private double failureRate = 0;
+
+  /** Time a delivered message has to be acknowledged before it is delivered again. */
+  private Duration visibilityTimeout = Duration.ofSeconds(30);
+}
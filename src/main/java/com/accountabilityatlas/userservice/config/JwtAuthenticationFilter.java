@@ -10,7 +10,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import lombok.Getter;
 import org.springframework.http.HttpHeaders;
@@ -57,11 +57,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
       JwtAuthenticationToken authentication =
           new JwtAuthenticationToken(
-              userId,
-              email,
-              trustTier,
-              sessionId,
-              Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+              userId, email, trustTier, sessionId, authoritiesFor(trustTier));
 
       SecurityContextHolder.getContext().setAuthentication(authentication);
     } catch (ExpiredJwtException e) {
@@ -83,6 +79,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private static List<SimpleGrantedAuthority> authoritiesFor(TrustTier trustTier) {
+    if (trustTier == TrustTier.ADMIN) {
+      return List.of(
+          new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+    return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+  }
+
   @Getter
   public static class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
     private final UUID userId;
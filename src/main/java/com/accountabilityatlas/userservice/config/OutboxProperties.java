@@ -0,0 +1,36 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Relay of the domain event outbox to SQS. */
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+  private Duration relayInterval = Duration.ofMillis(500);
+
+  /** Outbox rows claimed per relay transaction; sent in SQS batches of ten. */
+  private int batchSize = 100;
+
+  /** Wait before the first retry of a failed send; doubles with every further failure. */
+  private Duration initialBackoff = Duration.ofSeconds(1);
+
+  private Duration maxBackoff = Duration.ofMinutes(5);
+
+  /**
+   * Failed sends after which an entry is marked failed and no longer retried. With the default
+   * backoff, 20 attempts span about an hour.
+   */
+  private int maxAttempts = 20;
+
+  /** Times an entry SQS rejected as throttled or unavailable is resent within the same run. */
+  private int sendRetries = 2;
+
+  /** Longest a relay run waits for its in-flight batches before treating them as failed. */
+  private Duration sendTimeout = Duration.ofSeconds(30);
+}
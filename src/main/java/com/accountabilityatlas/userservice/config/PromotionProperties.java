@@ -0,0 +1,19 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Eligibility thresholds and batching for the NEW to TRUSTED auto-promotion. */
+@Component
+@ConfigurationProperties(prefix = "app.promotion")
+@Getter
+@Setter
+public class PromotionProperties {
+  private Duration minAccountAge = Duration.ofDays(30);
+  private int minApprovedCount = 10;
+  private Duration rejectionWindow = Duration.ofDays(30);
+  private int chunkSize = 500;
+}
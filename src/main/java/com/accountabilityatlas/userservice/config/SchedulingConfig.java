@@ -0,0 +1,43 @@
+package com.accountabilityatlas.userservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+
+  public static final String ADMIN_JOB_HEARTBEAT_SCHEDULER = "adminJobHeartbeatScheduler";
+  public static final String OUTBOX_RELAY_SCHEDULER = "outboxRelayScheduler";
+
+  // Declared here because Boot backs off its own scheduler once any TaskScheduler bean exists;
+  // still configured from spring.task.scheduling.*
+  @Bean
+  ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+    return builder.build();
+  }
+
+  // Other instances fail this instance's jobs once its heartbeat is late, so the heartbeat must
+  // never queue behind a long scheduled run
+  @Bean(ADMIN_JOB_HEARTBEAT_SCHEDULER)
+  ThreadPoolTaskScheduler adminJobHeartbeatScheduler() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("admin-job-heartbeat-");
+    return scheduler;
+  }
+
+  // A relay run holds its thread for up to app.outbox.send-timeout per batch while SQS is slow
+  @Bean(OUTBOX_RELAY_SCHEDULER)
+  ThreadPoolTaskScheduler outboxRelayScheduler() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("outbox-relay-");
+    return scheduler;
+  }
+}
@@ -37,8 +37,13 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers(HttpMethod.PUT, "/users/*/trust-tier")
                     .hasRole("ADMIN")
+                    .requestMatchers("/admin/**")
+                    .hasRole("ADMIN")
                     .requestMatchers("/users/me")
                     .authenticated()
+                    // Internal feed; must come before the public GET /users/* rule
+                    .requestMatchers(HttpMethod.GET, "/users/changes")
+                    .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.GET, "/users/*")
                     .permitAll()
                     .requestMatchers("/users/**")
@@ -1,10 +1,13 @@
 package com.accountabilityatlas.userservice.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import io.awspring.cloud.sqs.support.converter.SqsMessagingMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
 /**
@@ -25,8 +28,16 @@ import software.amazon.awssdk.services.sqs.SqsAsyncClient;
  *       returns null, forcing Jackson to use the {@code @SqsListener} method parameter type
  *       instead.
  * </ul>
+ *
+ * <p>It also replaces the auto-configured listener container factory so consumer throughput is set
+ * through {@link SqsListenerProperties} rather than code, and every container reports {@link
+ * SqsConsumerMetrics}.
+ *
+ * <p>None of this is created with {@code app.events.transport=in-process}; see {@link
+ * com.accountabilityatlas.userservice.event.InProcessEventBus}.
  */
 @Configuration
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "sqs", matchIfMissing = true)
 public class SqsConfig {
 
   /**
@@ -57,4 +68,50 @@ public class SqsConfig {
     converter.setPayloadTypeMapper(message -> null);
     return converter;
   }
+
+  /**
+   * Container factory behind every {@code @SqsListener}. Because it replaces the auto-configured
+   * one, {@code spring.cloud.aws.sqs.listener.*} no longer applies. A container listening to a
+   * queue listed in {@code app.sqs.listener.queue-concurrency} gets that limit instead of the
+   * default, and never fetches more per poll than it can process at once. With {@code
+   * app.sqs.listener.virtual-threads} messages are processed on virtual threads; concurrency is
+   * still bounded by the container's {@code maxConcurrentMessages}.
+   */
+  @Bean
+  public SqsMessageListenerContainerFactory<Object> defaultSqsListenerContainerFactory(
+      SqsAsyncClient sqsAsyncClient,
+      SqsMessagingMessageConverter sqsMessagingMessageConverter,
+      SqsListenerProperties properties,
+      SqsConsumerMetrics consumerMetrics) {
+    SqsMessageListenerContainerFactory<Object> factory = new SqsMessageListenerContainerFactory<>();
+    factory.setSqsAsyncClient(sqsAsyncClient);
+    factory.addMessageInterceptor(consumerMetrics);
+    factory.configure(
+        options -> {
+          options
+              .messageConverter(sqsMessagingMessageConverter)
+              .pollTimeout(properties.getPollTimeout())
+              .maxDelayBetweenPolls(properties.getMaxDelayBetweenPolls());
+          if (properties.isVirtualThreads()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sqs-listener-");
+            executor.setVirtualThreads(true);
+            options.componentsTaskExecutor(executor);
+          }
+        });
+    factory.setContainerCustomizer(
+        container -> {
+          int concurrency =
+              container.getQueueNames().stream()
+                  .mapToInt(properties::maxConcurrentMessages)
+                  .min()
+                  .orElse(properties.getMaxConcurrentMessages());
+          container.configure(
+              options ->
+                  options
+                      .maxConcurrentMessages(concurrency)
+                      .maxMessagesPerPoll(
+                          Math.min(properties.getMaxMessagesPerPoll(), concurrency)));
+        });
+    return factory;
+  }
 }
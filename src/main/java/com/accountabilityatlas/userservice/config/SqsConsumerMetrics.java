@@ -0,0 +1,128 @@
+package com.accountabilityatlas.userservice.config;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.interceptor.MessageInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports per-queue consumer metrics from every SQS listener container: {@code
+ * users.sqs.consumer.lag} (time from send to the start of processing), {@code
+ * users.sqs.consumer.inflight} (messages being processed) and {@code users.sqs.consumer.handler}
+ * (listener latency per invocation, tagged with its outcome).
+ */
+@Component
+public class SqsConsumerMetrics implements MessageInterceptor<Object> {
+
+  static final String UNKNOWN_QUEUE = "unknown";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+  // Keyed by the id of the first message of each single message or batch being processed
+  private final Map<UUID, Long> startedAt = new ConcurrentHashMap<>();
+
+  public SqsConsumerMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Message<Object> intercept(Message<Object> message) {
+    started(List.of(message));
+    return message;
+  }
+
+  @Override
+  public Collection<Message<Object>> intercept(Collection<Message<Object>> messages) {
+    started(messages);
+    return messages;
+  }
+
+  @Override
+  public void afterProcessing(Message<Object> message, @Nullable Throwable t) {
+    finished(List.of(message), t);
+  }
+
+  @Override
+  public void afterProcessing(Collection<Message<Object>> messages, @Nullable Throwable t) {
+    finished(messages, t);
+  }
+
+  private void started(Collection<Message<Object>> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    Message<Object> first = messages.iterator().next();
+    String queue = queueName(first);
+    inFlight(queue).addAndGet(messages.size());
+    startedAt.put(first.getHeaders().getId(), System.nanoTime());
+
+    Timer lag = Timer.builder("users.sqs.consumer.lag").tag("queue", queue).register(meterRegistry);
+    long now = System.currentTimeMillis();
+    for (Message<Object> message : messages) {
+      Long sentAt = sentTimestamp(message);
+      if (sentAt != null) {
+        lag.record(Duration.ofMillis(Math.max(now - sentAt, 0)));
+      }
+    }
+  }
+
+  private void finished(Collection<Message<Object>> messages, @Nullable Throwable t) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    Message<Object> first = messages.iterator().next();
+    String queue = queueName(first);
+    inFlight(queue).addAndGet(-messages.size());
+    Long start = startedAt.remove(first.getHeaders().getId());
+    if (start != null) {
+      Timer.builder("users.sqs.consumer.handler")
+          .tag("queue", queue)
+          .tag("outcome", t == null ? "success" : "error")
+          .register(meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private AtomicInteger inFlight(String queue) {
+    return inFlight.computeIfAbsent(
+        queue,
+        name -> {
+          AtomicInteger count = new AtomicInteger();
+          Gauge.builder("users.sqs.consumer.inflight", count, AtomicInteger::get)
+              .tag("queue", name)
+              .register(meterRegistry);
+          return count;
+        });
+  }
+
+  private static String queueName(Message<?> message) {
+    Object queue = message.getHeaders().get(SqsHeaders.SQS_QUEUE_NAME_HEADER);
+    return queue == null ? UNKNOWN_QUEUE : queue.toString();
+  }
+
+  @Nullable
+  private static Long sentTimestamp(Message<?> message) {
+    Object value =
+        message.getHeaders().get(SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.toString());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Throughput settings for the SQS listener containers. */
+@Component
+@ConfigurationProperties(prefix = "app.sqs.listener")
+@Getter
+@Setter
+public class SqsListenerProperties {
+  /** Messages a container processes at once, unless its queue has its own limit. */
+  private int maxConcurrentMessages = 10;
+
+  /** Messages fetched per receive call; SQS caps this at ten. */
+  private int maxMessagesPerPoll = 10;
+
+  /** Long-polling wait per receive call; SQS caps this at 20 seconds. */
+  private Duration pollTimeout = Duration.ofSeconds(20);
+
+  /** How long a poll waits for enough free capacity to fetch a full batch. */
+  private Duration maxDelayBetweenPolls = Duration.ofSeconds(10);
+
+  /** Per-queue overrides of {@code maxConcurrentMessages}, keyed by queue name. */
+  private Map<String, Integer> queueConcurrency = new HashMap<>();
+
+  /** Process messages on virtual threads instead of the container's platform thread pool. */
+  private boolean virtualThreads = false;
+
+  public int maxConcurrentMessages(String queueName) {
+    return queueConcurrency.getOrDefault(queueName, maxConcurrentMessages);
+  }
+}
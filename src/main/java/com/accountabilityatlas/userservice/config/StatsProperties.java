@@ -0,0 +1,40 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retention for the daily per-user activity buckets, the optional counter write buffer and the
+ * admin stats rebuild job.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.stats")
+@Getter
+@Setter
+public class StatsProperties {
+  /** How long buckets are kept; must cover the longest window anything queries. */
+  private Duration dailyRetention = Duration.ofDays(90);
+
+  private int pruneBatchSize = 5000;
+
+  /** Buffer counter changes in memory and write them in periodic flushes. */
+  private boolean bufferEnabled = false;
+
+  /** Messages are acked only after their flush, so this must stay below the visibility timeout. */
+  private Duration bufferFlushInterval = Duration.ofSeconds(1);
+
+  /** Buffered events that trigger a flush before the interval is up. */
+  private int bufferFlushThreshold = 1000;
+
+  /** Id ranges reconciled at once by a stats rebuild. */
+  private int rebuildParallelism = 4;
+
+  /** Ranges the user id space is split into; more than the parallelism evens out slow ranges. */
+  private int rebuildPartitions = 16;
+
+  /** Users corrected per transaction. */
+  private int rebuildBatchSize = 500;
+}
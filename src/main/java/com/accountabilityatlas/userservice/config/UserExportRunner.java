@@ -0,0 +1,66 @@
+package com.accountabilityatlas.userservice.config;
+
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserExportService;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline export: {@code --export-users=/path/users.ndjson [--export-format=csv]} under the {@code
+ * export} profile writes the dump to a file and shuts the application down. The profile starts
+ * nothing but the datasource, so the export can run against a replica by overriding {@code
+ * spring.datasource.url} to keep the load off the primary.
+ */
+@Component
+@Profile("export")
+public class UserExportRunner implements ApplicationRunner {
+
+  static final String PATH_OPTION = "export-users";
+  static final String FORMAT_OPTION = "export-format";
+
+  private static final Logger log = LoggerFactory.getLogger(UserExportRunner.class);
+
+  private final UserExportService userExportService;
+  private final ConfigurableApplicationContext context;
+
+  public UserExportRunner(
+      UserExportService userExportService, ConfigurableApplicationContext context) {
+    this.userExportService = userExportService;
+    this.context = context;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    Path path = Path.of(singleValue(args, PATH_OPTION));
+    UserDataFormat format =
+        args.containsOption(FORMAT_OPTION)
+            ? UserDataFormat.fromParameter(singleValue(args, FORMAT_OPTION))
+            : UserDataFormat.NDJSON;
+
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      long rows = userExportService.export(format, out);
+      log.info("Wrote {} users to {}", rows, path);
+    }
+    SpringApplication.exit(context);
+  }
+
+  private static String singleValue(ApplicationArguments args, String option) {
+    List<String> values = args.getOptionValues(option);
+    if (values == null || values.size() != 1 || values.get(0).isBlank()) {
+      throw new IllegalArgumentException("--" + option + " requires exactly one value");
+    }
+    return values.get(0);
+  }
+}
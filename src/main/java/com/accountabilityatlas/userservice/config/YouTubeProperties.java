@@ -0,0 +1,66 @@
+package com.accountabilityatlas.userservice.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** YouTube Data API lookups of channel thumbnails. */
+@Component
+@ConfigurationProperties(prefix = "app.youtube")
+@Getter
+@Setter
+public class YouTubeProperties {
+
+  private String baseUrl = "https://www.googleapis.com/youtube/v3";
+
+  /** Longest wait for a new connection; established ones are kept alive and reused. */
+  private Duration connectTimeout = Duration.ofSeconds(2);
+
+  /** Longest wait for the response to an API call. */
+  private Duration readTimeout = Duration.ofSeconds(5);
+
+  /** How long a cache miss waits for further channel ids to share its API call. */
+  private Duration batchWindow = Duration.ofMillis(20);
+
+  /** Channel ids per API call; the Data API accepts at most 50. */
+  private int maxBatchSize = 50;
+
+  /** Longest a caller waits for its batch before treating the thumbnail as unavailable. */
+  private Duration lookupTimeout = Duration.ofSeconds(10);
+
+  /**
+   * Age after which a cached thumbnail is still served but looked up again in the background.
+   * Keep it below the cache TTL so entries that are read regularly never expire.
+   */
+  private Duration refreshAfter = Duration.ofHours(20);
+
+  /**
+   * Threads making API calls, and so the most calls in flight at once; lookups for profile reads
+   * never wait on them.
+   */
+  private int lookupThreads = 2;
+
+  /** Batches waiting for a lookup thread; further batches are dropped and retried on next read. */
+  private int lookupQueueCapacity = 100;
+
+  private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+  /** When to stop calling the API and treat every channel as having no thumbnail. */
+  @Getter
+  @Setter
+  public static class CircuitBreakerSettings {
+
+    /** Number of most recent calls the failure rate is taken over. */
+    private int windowSize = 20;
+
+    /** Calls in the window before the failure rate counts. */
+    private int minimumCalls = 10;
+
+    private double failureRateThreshold = 0.5;
+
+    /** How long calls are skipped before a single trial call is made. */
+    private Duration openDuration = Duration.ofSeconds(30);
+  }
+}
@@ -0,0 +1,61 @@
+package com.accountabilityatlas.userservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
+
+@Entity
+@Table(name = "admin_jobs", schema = "users")
+@Getter
+@Setter
+@DynamicUpdate
+public class AdminJob {
+
+  @Id
+  @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+  private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "job_type", nullable = false, length = 50)
+  private AdminJobType jobType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private AdminJobStatus status = AdminJobStatus.PENDING;
+
+  @Column(name = "requested_by")
+  private UUID requestedBy;
+
+  @Column(name = "total_items", nullable = false)
+  private int totalItems;
+
+  @Column(name = "processed_items", nullable = false)
+  private int processedItems;
+
+  @Column(name = "changed_items", nullable = false)
+  private int changedItems;
+
+  @Column(name = "error_message", length = 1000)
+  private String errorMessage;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt = Instant.now();
+
+  @Column(name = "started_at")
+  private Instant startedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(name = "heartbeat_at", nullable = false)
+  private Instant heartbeatAt = Instant.now();
+}
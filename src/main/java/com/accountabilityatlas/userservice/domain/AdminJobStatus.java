@@ -0,0 +1,8 @@
+package com.accountabilityatlas.userservice.domain;
+
+public enum AdminJobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
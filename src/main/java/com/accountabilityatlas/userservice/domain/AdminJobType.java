@@ -0,0 +1,6 @@
+package com.accountabilityatlas.userservice.domain;
+
+public enum AdminJobType {
+  BULK_TRUST_TIER,
+  STATS_REBUILD
+}
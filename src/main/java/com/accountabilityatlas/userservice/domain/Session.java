@@ -2,23 +2,24 @@ package com.accountabilityatlas.userservice.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "sessions", schema = "users")
 @Getter
 @Setter
+@DynamicUpdate
 public class Session {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
   private UUID id;
 
   @Column(name = "user_id", nullable = false)
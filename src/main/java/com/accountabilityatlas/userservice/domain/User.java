@@ -6,8 +6,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
@@ -18,16 +16,18 @@ import java.util.List;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "users", schema = "users")
 @Getter
 @Setter
+@DynamicUpdate
 public class User {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
   private UUID id;
 
   @Column(nullable = false, unique = true)
@@ -57,9 +57,10 @@ public class User {
       columnDefinition = "tstzrange")
   private String sysPeriod;
 
+  // Unlike lower(sys_period), which restarts with every update
   @Setter(lombok.AccessLevel.NONE)
-  @Formula("lower(sys_period)")
-  private Instant createdAt;
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt = Instant.now();
 
   @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private UserStats stats;
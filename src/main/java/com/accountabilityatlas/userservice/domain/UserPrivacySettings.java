@@ -5,16 +5,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "user_privacy_settings", schema = "users")
 @Getter
 @Setter
-public class UserPrivacySettings {
+public class UserPrivacySettings implements Persistable<UUID> {
 
   @Id
   @Column(name = "user_id")
@@ -27,4 +32,29 @@ public class UserPrivacySettings {
   @Enumerated(EnumType.STRING)
   @Column(name = "submissions_visibility", nullable = false)
   private Visibility submissionsVisibility = Visibility.PUBLIC;
+
+  /**
+   * The id is assigned from the owning user rather than generated, so without this flag Spring Data
+   * would treat every new row as detached and issue a SELECT (via {@code merge}) before inserting.
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean newEntity = true;
+
+  @Override
+  public UUID getId() {
+    return userId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
 }
@@ -3,16 +3,21 @@ package com.accountabilityatlas.userservice.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "user_social_links", schema = "users")
 @Getter
 @Setter
-public class UserSocialLinks {
+public class UserSocialLinks implements Persistable<UUID> {
 
   @Id
   @Column(name = "user_id")
@@ -35,4 +40,26 @@ public class UserSocialLinks {
 
   @Column(length = 100)
   private String bluesky;
+
+  /** Same assigned-id handling as {@link UserPrivacySettings}: new rows persist without a merge. */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean newEntity = true;
+
+  @Override
+  public UUID getId() {
+    return userId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
 }
@@ -12,11 +12,13 @@ import java.time.Instant;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "user_stats", schema = "users")
 @Getter
 @Setter
+@DynamicUpdate
 public class UserStats {
 
   @Id private UUID userId;
@@ -35,6 +37,9 @@ public class UserStats {
   @Column(name = "rejected_count", nullable = false)
   private int rejectedCount = 0;
 
+  @Column(name = "last_rejected_at")
+  private Instant lastRejectedAt;
+
   @Column(name = "updated_at", nullable = false)
   private Instant updatedAt;
 }
@@ -0,0 +1,209 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.config.EventRetryProperties;
+import com.accountabilityatlas.userservice.exception.UnknownQueueException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Dead-letter queues of the consumed queues, named by appending {@code
+ * app.event-retry.dead-letter-queue-suffix}. A dead-lettered message keeps its original body and
+ * carries why and when it failed in message attributes. {@link #replay} moves messages back to the
+ * queue they came from; the consumers' duplicate detection makes replaying one that was in fact
+ * processed harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "sqs", matchIfMissing = true)
+@Slf4j
+public class DeadLetterQueue {
+
+  public record ReplayResult(String queue, int replayed) {}
+
+  static final String SOURCE_QUEUE_ATTRIBUTE = "SourceQueue";
+  static final String FAILURE_REASON_ATTRIBUTE = "FailureReason";
+  static final String FAILED_AT_ATTRIBUTE = "FailedAt";
+  static final String RECEIVE_COUNT_ATTRIBUTE = "ReceiveCount";
+
+  private static final Set<String> FAILURE_ATTRIBUTES =
+      Set.of(
+          SOURCE_QUEUE_ATTRIBUTE,
+          FAILURE_REASON_ATTRIBUTE,
+          FAILED_AT_ATTRIBUTE,
+          RECEIVE_COUNT_ATTRIBUTE);
+  private static final int MAX_REASON_LENGTH = 1000;
+  private static final int MAX_RECEIVE_BATCH = 10;
+
+  private final SqsAsyncClient sqsAsyncClient;
+  private final EventRetryProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Set<String> consumedQueues;
+  private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+  public DeadLetterQueue(
+      SqsAsyncClient sqsAsyncClient,
+      EventRetryProperties properties,
+      MeterRegistry meterRegistry,
+      @Value("${app.sqs.user-video-events-queue:user-video-events}") String videoEventsQueue,
+      @Value("${app.sqs.user-video-status-events-queue:user-video-status-events}")
+          String videoStatusEventsQueue) {
+    this.sqsAsyncClient = sqsAsyncClient;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.consumedQueues = Set.of(videoEventsQueue, videoStatusEventsQueue);
+  }
+
+  /** Sends a message body that failed on {@code sourceQueue} to that queue's dead-letter queue. */
+  public void send(String sourceQueue, String body, String reason, int receiveCount) {
+    String truncated =
+        reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    Map<String, MessageAttributeValue> attributes =
+        Map.of(
+            MessageHeaders.CONTENT_TYPE,
+            stringAttribute("application/json"),
+            SOURCE_QUEUE_ATTRIBUTE,
+            stringAttribute(sourceQueue),
+            FAILURE_REASON_ATTRIBUTE,
+            stringAttribute(truncated),
+            FAILED_AT_ATTRIBUTE,
+            stringAttribute(Instant.now().toString()),
+            RECEIVE_COUNT_ATTRIBUTE,
+            MessageAttributeValue.builder()
+                .dataType("Number")
+                .stringValue(String.valueOf(receiveCount))
+                .build());
+    sqsAsyncClient
+        .sendMessage(
+            SendMessageRequest.builder()
+                .queueUrl(queueUrl(deadLetterQueueName(sourceQueue)))
+                .messageBody(body)
+                .messageAttributes(attributes)
+                .build())
+        .join();
+    meterRegistry.counter("users.events.dlq.sent", "queue", sourceQueue).increment();
+  }
+
+  /**
+   * Moves up to {@code maxMessages} messages from the dead-letter queue of {@code sourceQueue} back
+   * to it, ten at a time. A message is deleted from the dead-letter queue only once the source
+   * queue accepted it; the replay stops at the first batch with a rejected entry.
+   *
+   * @throws UnknownQueueException if {@code sourceQueue} is not a queue this service consumes
+   */
+  public ReplayResult replay(String sourceQueue, int maxMessages) {
+    if (!consumedQueues.contains(sourceQueue)) {
+      throw new UnknownQueueException(sourceQueue);
+    }
+    String deadLetterUrl = queueUrl(deadLetterQueueName(sourceQueue));
+    String sourceUrl = queueUrl(sourceQueue);
+    int replayed = 0;
+    while (replayed < maxMessages) {
+      List<Message> messages =
+          sqsAsyncClient
+              .receiveMessage(
+                  ReceiveMessageRequest.builder()
+                      .queueUrl(deadLetterUrl)
+                      .maxNumberOfMessages(Math.min(MAX_RECEIVE_BATCH, maxMessages - replayed))
+                      .messageAttributeNames("All")
+                      .waitTimeSeconds(0)
+                      .build())
+              .join()
+              .messages();
+      if (messages.isEmpty()) {
+        break;
+      }
+      List<Message> moved = moveBatch(messages, sourceUrl, deadLetterUrl);
+      replayed += moved.size();
+      if (moved.size() < messages.size()) {
+        log.warn(
+            "{} of {} dead letters were not accepted by {}; stopping replay",
+            messages.size() - moved.size(),
+            messages.size(),
+            sourceQueue);
+        break;
+      }
+    }
+    meterRegistry.counter("users.events.dlq.replayed", "queue", sourceQueue).increment(replayed);
+    log.info("Replayed {} dead letters to {}", replayed, sourceQueue);
+    return new ReplayResult(sourceQueue, replayed);
+  }
+
+  private List<Message> moveBatch(List<Message> messages, String sourceUrl, String deadLetterUrl) {
+    List<SendMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+    for (int i = 0; i < messages.size(); i++) {
+      Map<String, MessageAttributeValue> attributes =
+          new HashMap<>(messages.get(i).messageAttributes());
+      attributes.keySet().removeAll(FAILURE_ATTRIBUTES);
+      entries.add(
+          SendMessageBatchRequestEntry.builder()
+              .id(String.valueOf(i))
+              .messageBody(messages.get(i).body())
+              .messageAttributes(attributes)
+              .build());
+    }
+    SendMessageBatchResponse response =
+        sqsAsyncClient
+            .sendMessageBatch(
+                SendMessageBatchRequest.builder().queueUrl(sourceUrl).entries(entries).build())
+            .join();
+    List<Message> moved = new ArrayList<>(response.successful().size());
+    for (SendMessageBatchResultEntry sent : response.successful()) {
+      moved.add(messages.get(Integer.parseInt(sent.id())));
+    }
+    if (!moved.isEmpty()) {
+      List<DeleteMessageBatchRequestEntry> deletes = new ArrayList<>(moved.size());
+      for (int i = 0; i < moved.size(); i++) {
+        deletes.add(
+            DeleteMessageBatchRequestEntry.builder()
+                .id(String.valueOf(i))
+                .receiptHandle(moved.get(i).receiptHandle())
+                .build());
+      }
+      sqsAsyncClient
+          .deleteMessageBatch(
+              DeleteMessageBatchRequest.builder().queueUrl(deadLetterUrl).entries(deletes).build())
+          .join();
+    }
+    return moved;
+  }
+
+  String deadLetterQueueName(String sourceQueue) {
+    return sourceQueue + properties.getDeadLetterQueueSuffix();
+  }
+
+  private String queueUrl(String queueName) {
+    return queueUrls.computeIfAbsent(
+        queueName,
+        name ->
+            sqsAsyncClient
+                .getQueueUrl(GetQueueUrlRequest.builder().queueName(name).build())
+                .join()
+                .queueUrl());
+  }
+
+  private static MessageAttributeValue stringAttribute(String value) {
+    return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+  }
+}
@@ -1,5 +1,6 @@
 package com.accountabilityatlas.userservice.event;
 
-public sealed interface DomainEvent permits UserRegisteredEvent, UserTrustTierChangedEvent {
+public sealed interface DomainEvent
+    permits UserRegisteredEvent, UserTrustTierChangedEvent, UserProfileChangedEvent {
   String eventType();
 }
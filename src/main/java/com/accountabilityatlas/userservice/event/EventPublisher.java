@@ -1,5 +1,15 @@
 package com.accountabilityatlas.userservice.event;
 
+import java.util.List;
+
 public interface EventPublisher {
   void publish(DomainEvent event);
+
+  /**
+   * Publishes several events at once. Implementations that can batch on the wire should override
+   * this; the default falls back to one {@link #publish} call per event.
+   */
+  default void publishAll(List<? extends DomainEvent> events) {
+    events.forEach(this::publish);
+  }
 }
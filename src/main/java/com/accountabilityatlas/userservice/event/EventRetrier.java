@@ -0,0 +1,200 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.config.EventRetryProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Retry policy of the SQS handlers. A failed batch is first retried on the listener thread with
+ * jittered exponential backoff, as long as the failure looks transient: a brief Postgres outage
+ * then costs milliseconds instead of a visibility timeout. Messages that still fail are settled one
+ * by one with {@link #settle}: transient failures come back after a visibility timeout that grows
+ * with every receive, anything else goes straight to the {@link DeadLetterQueue}, as does a message
+ * that keeps failing past {@code app.event-retry.max-receive-count}.
+ */
+@Component
+@Slf4j
+public class EventRetrier {
+
+  private final EventRetryProperties properties;
+  private final ObjectProvider<DeadLetterQueue> deadLetterQueue;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  public EventRetrier(
+      EventRetryProperties properties,
+      ObjectProvider<DeadLetterQueue> deadLetterQueue,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.deadLetterQueue = deadLetterQueue;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Runs {@code work}, retrying it up to {@code app.event-retry.in-process-attempts} times while it
+   * fails transiently.
+   *
+   * @throws RuntimeException the last failure, once retries are used up or it is not transient
+   */
+  public void runWithRetry(Runnable work) {
+    for (int retry = 1; ; retry++) {
+      try {
+        work.run();
+        return;
+      } catch (RuntimeException e) {
+        if (retry > properties.getInProcessAttempts() || !isTransient(e)) {
+          throw e;
+        }
+        Duration backoff =
+            jittered(properties.getInitialBackoff(), properties.getMaxInProcessBackoff(), retry);
+        log.debug("Transient failure, retry {} in {}: {}", retry, backoff, e.getMessage());
+        meterRegistry.counter("users.events.retries").increment();
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Decides what happens to a message whose handling failed for good on this receive.
+   *
+   * @return true if it was dead-lettered and should be acknowledged, false if it should be left for
+   *     SQS to redeliver
+   */
+  public boolean settle(Message<?> message, RuntimeException failure) {
+    int receiveCount = receiveCount(message);
+    boolean retryable = isTransient(failure) && receiveCount < properties.getMaxReceiveCount();
+    if (retryable) {
+      delayRedelivery(message, receiveCount);
+      return false;
+    }
+    String reason =
+        isTransient(failure)
+            ? "Still failing after %d receives: %s".formatted(receiveCount, describe(failure))
+            : describe(failure);
+    return deadLetter(message, reason, receiveCount);
+  }
+
+  static boolean isTransient(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TransientDataAccessException
+          || cause instanceof RecoverableDataAccessException
+          || cause instanceof DataAccessResourceFailureException
+          || cause instanceof CannotCreateTransactionException
+          || cause instanceof SQLTransientException
+          || cause instanceof SQLRecoverableException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void delayRedelivery(Message<?> message, int receiveCount) {
+    Visibility visibility =
+        message.getHeaders().get(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, Visibility.class);
+    if (visibility == null) {
+      return;
+    }
+    Duration delay =
+        jittered(
+            properties.getInitialVisibilityTimeout(),
+            properties.getMaxVisibilityTimeout(),
+            receiveCount);
+    try {
+      visibility.changeTo((int) Math.max(delay.toSeconds(), 1));
+    } catch (RuntimeException e) {
+      // The queue's own visibility timeout still applies
+      log.warn("Could not change visibility of failed message: {}", e.getMessage());
+    }
+  }
+
+  private boolean deadLetter(Message<?> message, String reason, int receiveCount) {
+    String queue = queueName(message);
+    DeadLetterQueue queues = deadLetterQueue.getIfAvailable();
+    if (queues == null || queue == null) {
+      log.error("Dropping message without a dead-letter queue ({}): {}", queue, reason);
+      meterRegistry.counter("users.events.dropped").increment();
+      return true;
+    }
+    try {
+      queues.send(queue, body(message), reason, receiveCount);
+      log.error("Dead-lettered message from {}: {}", queue, reason);
+      return true;
+    } catch (RuntimeException e) {
+      log.error("Could not dead-letter message from {}, leaving it for redelivery", queue, e);
+      return false;
+    }
+  }
+
+  /** The message as SQS delivered it, or the payload serialised again if that is not available. */
+  private String body(Message<?> message) {
+    software.amazon.awssdk.services.sqs.model.Message source =
+        message
+            .getHeaders()
+            .get(
+                SqsHeaders.SQS_SOURCE_DATA_HEADER,
+                software.amazon.awssdk.services.sqs.model.Message.class);
+    if (source != null) {
+      return source.body();
+    }
+    try {
+      return objectMapper.writeValueAsString(message.getPayload());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialise failed message", e);
+    }
+  }
+
+  private Duration jittered(Duration initial, Duration max, int attempt) {
+    long base = initial.toMillis() << Math.min(attempt - 1, 30);
+    long capped = Math.min(Math.max(base, 0), max.toMillis());
+    // Between half and all of the capped delay, so consumers failing together spread out
+    return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+  }
+
+  private static int receiveCount(Message<?> message) {
+    Object value =
+        message
+            .getHeaders()
+            .get(SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT);
+    if (value == null) {
+      return 1;
+    }
+    try {
+      return Integer.parseInt(value.toString());
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+
+  @Nullable
+  private static String queueName(Message<?> message) {
+    Object queue = message.getHeaders().get(SqsHeaders.SQS_QUEUE_NAME_HEADER);
+    return queue == null ? null : queue.toString();
+  }
+
+  private static String describe(Throwable failure) {
+    return failure.getClass().getSimpleName() + ": " + failure.getMessage();
+  }
+}
@@ -0,0 +1,359 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.config.InProcessEventBusProperties;
+import com.accountabilityatlas.userservice.config.SqsConsumerMetrics;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM replacement for SQS, active with {@code app.events.transport=in-process} (the {@code
+ * in-process-events} profile), for local runs and load benchmarks without LocalStack. Each queue is
+ * a bounded in-memory queue drained by {@code app.events.in-process.consumers} threads, which hand
+ * batches to the same handler methods the {@code @SqsListener} containers call. As with SQS, a
+ * message not acknowledged within the visibility timeout is delivered again.
+ *
+ * <p>{@link OutboxRelay} sends published events to the {@code user-events} queue; nothing in this
+ * service listens to it, so its messages are dropped unless a listener is subscribed. Video events
+ * are put on their queues with {@link #send}. Latency and failures can be injected through {@link
+ * InProcessEventBusProperties}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "in-process")
+@Slf4j
+public class InProcessEventBus implements OutboxTransport {
+
+  static final String INJECTED_FAILURE = "InjectedFailure";
+  static final String QUEUE_FULL = "QueueFull";
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
+  private final InProcessEventBusProperties properties;
+  private final SqsConsumerMetrics consumerMetrics;
+  private final MeterRegistry meterRegistry;
+  private final String userEventsQueue;
+  private final Map<String, Channel<?>> channels = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService redeliveryScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("in-process-redelivery").daemon().factory());
+  private volatile boolean running = true;
+
+  public InProcessEventBus(
+      InProcessEventBusProperties properties,
+      SqsConsumerMetrics consumerMetrics,
+      MeterRegistry meterRegistry,
+      VideoSubmittedHandler videoSubmittedHandler,
+      VideoStatusChangedHandler videoStatusChangedHandler,
+      @Value("${app.sqs.user-events-queue:user-events}") String userEventsQueue,
+      @Value("${app.sqs.user-video-events-queue:user-video-events}") String videoEventsQueue,
+      @Value("${app.sqs.user-video-status-events-queue:user-video-status-events}")
+          String videoStatusEventsQueue) {
+    this.properties = properties;
+    this.consumerMetrics = consumerMetrics;
+    this.meterRegistry = meterRegistry;
+    this.userEventsQueue = userEventsQueue;
+    subscribe(videoEventsQueue, videoSubmittedHandler::handleVideoSubmitted);
+    subscribe(videoStatusEventsQueue, videoStatusChangedHandler::handleVideoStatusChanged);
+    log.info("Events use the in-process bus instead of SQS");
+  }
+
+  /**
+   * Delivers the queue's messages to {@code listener} in batches, as a {@code @SqsListener} with
+   * manual acknowledgement receives them.
+   */
+  public <T> void subscribe(
+      String queue, BiConsumer<List<Message<T>>, BatchAcknowledgement<T>> listener) {
+    Channel<T> channel = new Channel<>(queue, listener);
+    if (channels.putIfAbsent(queue, channel) != null) {
+      throw new IllegalStateException("Queue " + queue + " already has a listener");
+    }
+    channel.start();
+  }
+
+  /**
+   * Puts an event on a queue, waiting while the queue is full.
+   *
+   * @throws IllegalStateException if nothing listens to the queue
+   */
+  public <T> void send(String queue, T payload) throws InterruptedException {
+    this.<T>channel(queue).put(payload);
+  }
+
+  /** Messages sent to the queue and not yet acknowledged, whether waiting or being processed. */
+  public int outstanding(String queue) {
+    Channel<?> channel = channels.get(queue);
+    return channel == null ? 0 : channel.outstanding.get();
+  }
+
+  /**
+   * Puts the payloads on the user events queue after {@code app.events.in-process.publish-latency}.
+   * Injected failures and a full queue reject an entry like SQS throttling would.
+   */
+  @Override
+  public CompletableFuture<Map<Integer, Rejection>> sendBatchAsync(
+      List<String> payloads, int retries) {
+    Duration latency = properties.getPublishLatency();
+    if (latency.isZero()) {
+      return CompletableFuture.completedFuture(enqueue(payloads, retries));
+    }
+    return CompletableFuture.supplyAsync(
+        () -> enqueue(payloads, retries),
+        CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS));
+  }
+
+  private Map<Integer, Rejection> enqueue(List<String> payloads, int retries) {
+    Channel<String> channel = channelOrNull(userEventsQueue);
+    Map<Integer, Rejection> rejected = new HashMap<>();
+    for (int index = 0; index < payloads.size(); index++) {
+      String reason = null;
+      for (int attempt = 0; attempt <= retries; attempt++) {
+        if (injectFailure()) {
+          reason = INJECTED_FAILURE;
+        } else if (channel != null && !channel.offer(payloads.get(index))) {
+          reason = QUEUE_FULL;
+        } else {
+          reason = null;
+          break;
+        }
+      }
+      if (reason != null) {
+        rejected.put(index, new Rejection(reason, false));
+      }
+    }
+    return rejected;
+  }
+
+  private boolean injectFailure() {
+    double rate = properties.getFailureRate();
+    return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+  }
+
+  private <T> Channel<T> channel(String queue) {
+    Channel<T> channel = channelOrNull(queue);
+    if (channel == null) {
+      throw new IllegalStateException("No listener for queue " + queue);
+    }
+    return channel;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Channel<T> channelOrNull(String queue) {
+    return (Channel<T>) channels.get(queue);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Collection<Message<Object>> untyped(List<? extends Message<?>> messages) {
+    return (Collection<Message<Object>>) (Collection<?>) messages;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    running = false;
+    channels.values().forEach(Channel::stop);
+    redeliveryScheduler.shutdownNow();
+  }
+
+  /** One queue and the threads delivering it to its listener. */
+  private final class Channel<T> {
+
+    private final String queue;
+    private final BiConsumer<List<Message<T>>, BatchAcknowledgement<T>> listener;
+    private final BlockingQueue<Message<T>> messages;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Counter sentCounter;
+    private final Counter redeliveredCounter;
+    private final List<Thread> consumers = new ArrayList<>();
+
+    Channel(String queue, BiConsumer<List<Message<T>>, BatchAcknowledgement<T>> listener) {
+      this.queue = queue;
+      this.listener = listener;
+      this.messages = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+      this.sentCounter = meterRegistry.counter("users.events.in-process.sent", "queue", queue);
+      this.redeliveredCounter =
+          meterRegistry.counter("users.events.in-process.redelivered", "queue", queue);
+      Gauge.builder("users.events.in-process.depth", messages, BlockingQueue::size)
+          .tag("queue", queue)
+          .register(meterRegistry);
+    }
+
+    void start() {
+      for (int i = 0; i < properties.getConsumers(); i++) {
+        consumers.add(
+            Thread.ofPlatform()
+                .name("in-process-" + queue + "-" + i)
+                .daemon()
+                .start(this::consume));
+      }
+    }
+
+    void stop() {
+      consumers.forEach(Thread::interrupt);
+    }
+
+    boolean offer(T payload) {
+      outstanding.incrementAndGet();
+      if (!messages.offer(message(payload))) {
+        outstanding.decrementAndGet();
+        return false;
+      }
+      sentCounter.increment();
+      return true;
+    }
+
+    void put(T payload) throws InterruptedException {
+      outstanding.incrementAndGet();
+      try {
+        messages.put(message(payload));
+      } catch (InterruptedException e) {
+        outstanding.decrementAndGet();
+        throw e;
+      }
+      sentCounter.increment();
+    }
+
+    private Message<T> message(T payload) {
+      return MessageBuilder.withPayload(payload)
+          .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, queue)
+          .setHeader(
+              SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP,
+              String.valueOf(System.currentTimeMillis()))
+          .build();
+    }
+
+    private void consume() {
+      List<Message<T>> batch = new ArrayList<>(properties.getBatchSize());
+      while (running) {
+        try {
+          Message<T> first = messages.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+          if (first == null) {
+            continue;
+          }
+          batch.add(first);
+          messages.drainTo(batch, properties.getBatchSize() - 1);
+          deliver(List.copyOf(batch));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } finally {
+          batch.clear();
+        }
+      }
+    }
+
+    private void deliver(List<Message<T>> batch) throws InterruptedException {
+      Duration latency = properties.getDeliveryLatency();
+      if (!latency.isZero()) {
+        Thread.sleep(latency);
+      }
+      Acknowledgement acknowledgement = new Acknowledgement(batch);
+      redeliveryScheduler.schedule(
+          acknowledgement::expire,
+          properties.getVisibilityTimeout().toNanos(),
+          TimeUnit.NANOSECONDS);
+      if (injectFailure()) {
+        log.debug("Dropping {} messages from {} unprocessed", batch.size(), queue);
+        return;
+      }
+      consumerMetrics.intercept(untyped(batch));
+      Throwable failure = null;
+      try {
+        listener.accept(batch, acknowledgement);
+      } catch (RuntimeException e) {
+        failure = e;
+        log.error("Listener for {} failed on {} messages", queue, batch.size(), e);
+      } finally {
+        consumerMetrics.afterProcessing(untyped(batch), failure);
+      }
+    }
+
+    private void redeliver(Message<T> message) {
+      if (!running) {
+        return;
+      }
+      redeliveredCounter.increment();
+      if (!messages.offer(message)) {
+        // Full: try again shortly rather than lose it
+        redeliveryScheduler.schedule(
+            () -> redeliver(message), POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    /**
+     * Tracks which messages of a delivered batch are still unacknowledged. Once the visibility
+     * timeout expires those are delivered again, and acknowledging them through this batch does
+     * nothing, just as SQS ignores a delete with a stale receipt handle.
+     */
+    private final class Acknowledgement implements BatchAcknowledgement<T> {
+
+      private final List<Message<T>> batch;
+      private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+      Acknowledgement(List<Message<T>> batch) {
+        this.batch = batch;
+        batch.forEach(message -> pending.add(message.getHeaders().getId()));
+      }
+
+      @Override
+      public void acknowledge() {
+        acknowledge(batch);
+      }
+
+      @Override
+      public CompletableFuture<Void> acknowledgeAsync() {
+        acknowledge();
+        return CompletableFuture.completedFuture(null);
+      }
+
+      @Override
+      public void acknowledge(Collection<Message<T>> messagesToAcknowledge) {
+        for (Message<T> message : messagesToAcknowledge) {
+          if (pending.remove(message.getHeaders().getId())) {
+            outstanding.decrementAndGet();
+          }
+        }
+      }
+
+      @Override
+      public CompletableFuture<Void> acknowledgeAsync(
+          Collection<Message<T>> messagesToAcknowledge) {
+        acknowledge(messagesToAcknowledge);
+        return CompletableFuture.completedFuture(null);
+      }
+
+      void expire() {
+        for (Message<T> message : batch) {
+          if (pending.remove(message.getHeaders().getId())) {
+            redeliver(message);
+          }
+        }
+      }
+    }
+  }
+}
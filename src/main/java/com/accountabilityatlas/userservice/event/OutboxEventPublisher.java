@@ -0,0 +1,44 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository;
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository.NewOutboxEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link EventPublisher}: writes events to {@code users.event_outbox} in the caller's
+ * transaction instead of calling SQS. {@link OutboxRelay} sends them once they are committed, so a
+ * slow SQS never holds up the request and a rolled-back change never produces an event.
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements EventPublisher {
+
+  private final EventOutboxRepository eventOutboxRepository;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public void publish(DomainEvent event) {
+    eventOutboxRepository.append(List.of(toEntry(event)));
+  }
+
+  @Override
+  public void publishAll(List<? extends DomainEvent> events) {
+    if (!events.isEmpty()) {
+      eventOutboxRepository.append(events.stream().map(this::toEntry).toList());
+    }
+  }
+
+  private NewOutboxEntry toEntry(DomainEvent event) {
+    try {
+      return new NewOutboxEntry(event.eventType(), objectMapper.writeValueAsString(event));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialise " + event.eventType() + " event", e);
+    }
+  }
+}
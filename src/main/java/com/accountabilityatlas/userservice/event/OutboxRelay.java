@@ -0,0 +1,205 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.config.OutboxProperties;
+import com.accountabilityatlas.userservice.config.SchedulingConfig;
+import com.accountabilityatlas.userservice.event.OutboxTransport.Rejection;
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository;
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository.OutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends committed outbox entries through the {@link OutboxTransport}, normally SQS, ten per {@code
+ * SendMessageBatch}, and deletes them in the same transaction that claimed them. All batches of a
+ * claim are in flight at once; entries SQS rejects are retried with exponential backoff, and any
+ * failure ends the run so a struggling SQS is not hit with the rest. An entry rejected as the
+ * sender's fault, or still failing after {@code app.outbox.max-attempts}, is marked failed and kept
+ * rather than retried.
+ *
+ * <p>Delivery is at least once: a crash after SQS accepted a batch but before the delete commits
+ * sends it again. Order is not kept, even for one user, since batches run concurrently and a
+ * retried entry goes out after later ones; consumers order snapshots by their {@code version}.
+ *
+ * <p>A run holds its claim transaction while it waits for SQS and keeps claiming while entries
+ * remain, so it runs on a scheduler thread of its own rather than the shared one.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+  private final EventOutboxRepository eventOutboxRepository;
+  private final OutboxTransport outboxTransport;
+  private final OutboxProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter relayedCounter;
+  private final Counter failureCounter;
+  private final Counter abandonedCounter;
+  private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+
+  public OutboxRelay(
+      EventOutboxRepository eventOutboxRepository,
+      OutboxTransport outboxTransport,
+      OutboxProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.eventOutboxRepository = eventOutboxRepository;
+    this.outboxTransport = outboxTransport;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.relayedCounter = meterRegistry.counter("users.outbox.relayed");
+    this.failureCounter = meterRegistry.counter("users.outbox.relay.failures");
+    this.abandonedCounter = meterRegistry.counter("users.outbox.failed");
+    Gauge.builder("users.outbox.lag", this, OutboxRelay::lagSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.outbox.relay-interval:500ms}",
+      scheduler = SchedulingConfig.OUTBOX_RELAY_SCHEDULER)
+  public void relayScheduled() {
+    try {
+      relay();
+    } catch (RuntimeException e) {
+      log.error("Outbox relay run failed", e);
+    }
+  }
+
+  /**
+   * Sends due entries until none are left or a send fails.
+   *
+   * @return the number of events sent
+   */
+  public int relay() {
+    int sent = 0;
+    RelayedBatch batch;
+    do {
+      batch = transactionTemplate.execute(status -> relayBatch());
+      if (batch == null) {
+        break;
+      }
+      sent += batch.sent();
+    } while (batch.claimed() == properties.getBatchSize() && !batch.failed());
+    oldestPending.set(eventOutboxRepository.findOldestCreatedAt().orElse(null));
+    return sent;
+  }
+
+  private RelayedBatch relayBatch() {
+    List<OutboxEntry> entries = eventOutboxRepository.claimDue(properties.getBatchSize());
+    Map<List<OutboxEntry>, CompletableFuture<Map<Integer, Rejection>>> inFlight =
+        new LinkedHashMap<>();
+    int chunkSize = OutboxTransport.MAX_BATCH_SIZE;
+    for (int start = 0; start < entries.size(); start += chunkSize) {
+      List<OutboxEntry> chunk = entries.subList(start, Math.min(start + chunkSize, entries.size()));
+      inFlight.put(chunk, send(chunk));
+    }
+
+    long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+    List<Long> sent = new ArrayList<>(entries.size());
+    boolean failed = false;
+    for (Map.Entry<List<OutboxEntry>, CompletableFuture<Map<Integer, Rejection>>> batch :
+        inFlight.entrySet()) {
+      List<OutboxEntry> chunk = batch.getKey();
+      Map<Integer, Rejection> rejected;
+      try {
+        rejected = await(batch.getValue(), deadline);
+      } catch (RuntimeException e) {
+        log.warn(
+            "Sending {} outbox events failed on attempt {}: {}",
+            chunk.size(),
+            chunk.get(0).attempts() + 1,
+            e.getMessage());
+        retryLater(chunk, e.getMessage(), false);
+        failed = true;
+        continue;
+      }
+      for (int i = 0; i < chunk.size(); i++) {
+        Rejection rejection = rejected.get(i);
+        if (rejection == null) {
+          sent.add(chunk.get(i).id());
+        } else {
+          log.warn("SQS rejected outbox entry {}: {}", chunk.get(i).id(), rejection.reason());
+          retryLater(List.of(chunk.get(i)), rejection.reason(), rejection.permanent());
+          // A malformed entry says nothing about the health of SQS
+          failed |= !rejection.permanent();
+        }
+      }
+    }
+    if (!sent.isEmpty()) {
+      eventOutboxRepository.delete(sent);
+      relayedCounter.increment(sent.size());
+    }
+    return new RelayedBatch(entries.size(), sent.size(), failed);
+  }
+
+  private CompletableFuture<Map<Integer, Rejection>> send(List<OutboxEntry> chunk) {
+    try {
+      return outboxTransport.sendBatchAsync(
+          chunk.stream().map(OutboxEntry::payload).toList(), properties.getSendRetries());
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Map<Integer, Rejection> await(
+      CompletableFuture<Map<Integer, Rejection>> future, long deadline) {
+    try {
+      return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException runtime
+          ? runtime
+          : new IllegalStateException(cause.getMessage(), cause);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new IllegalStateException("No response from SQS in time", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for SQS", e);
+    }
+  }
+
+  /** Reschedules the entries, or marks failed those rejected permanently or out of attempts. */
+  private void retryLater(List<OutboxEntry> entries, String error, boolean permanent) {
+    failureCounter.increment(entries.size());
+    List<Long> retry = new ArrayList<>();
+    List<Long> abandon = new ArrayList<>();
+    for (OutboxEntry entry : entries) {
+      boolean lastAttempt = entry.attempts() + 1 >= properties.getMaxAttempts();
+      (permanent || lastAttempt ? abandon : retry).add(entry.id());
+    }
+    if (!retry.isEmpty()) {
+      eventOutboxRepository.reschedule(
+          retry, properties.getInitialBackoff(), properties.getMaxBackoff(), String.valueOf(error));
+    }
+    if (!abandon.isEmpty()) {
+      eventOutboxRepository.markFailed(abandon, String.valueOf(error));
+      abandonedCounter.increment(abandon.size());
+      log.error("Gave up on outbox entries {}: {}", abandon, error);
+    }
+  }
+
+  private double lagSeconds() {
+    Instant oldest = oldestPending.get();
+    return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+  }
+
+  private record RelayedBatch(int claimed, int sent, boolean failed) {}
+}
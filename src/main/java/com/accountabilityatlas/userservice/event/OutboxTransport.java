@@ -0,0 +1,31 @@
+package com.accountabilityatlas.userservice.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where {@link OutboxRelay} sends committed events: SQS by default, or {@link InProcessEventBus}
+ * with {@code app.events.transport=in-process}.
+ */
+public interface OutboxTransport {
+
+  /** SQS accepts at most ten entries per SendMessageBatch request. */
+  int MAX_BATCH_SIZE = 10;
+
+  /**
+   * Why an entry was not accepted. A {@code permanent} rejection is the sender's fault, such as a
+   * malformed message, and would fail again if resent.
+   */
+  record Rejection(String reason, boolean permanent) {}
+
+  /**
+   * Sends up to {@link #MAX_BATCH_SIZE} events, already serialised to JSON, without blocking the
+   * caller. Entries rejected through no fault of the request, such as throttling, are resent up to
+   * {@code retries} times.
+   *
+   * @return a future of the rejected entries by index, with the reason; it completes exceptionally
+   *     if the request as a whole failed
+   */
+  CompletableFuture<Map<Integer, Rejection>> sendBatchAsync(List<String> payloads, int retries);
+}
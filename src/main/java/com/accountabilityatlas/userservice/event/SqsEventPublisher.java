@@ -1,37 +1,113 @@
 package com.accountabilityatlas.userservice.event;
 
-import io.awspring.cloud.sqs.operations.SqsTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 
 /**
- * EventPublisher implementation that publishes events to SQS via AWS Spring SqsTemplate.
- *
- * <p>This replaces the LoggingEventPublisher for production use.
+ * Sends the outbox to the {@code user-events} SQS queue: the {@link OutboxTransport} {@link
+ * OutboxRelay} uses unless {@code app.events.transport=in-process}. Services publish through {@link
+ * OutboxEventPublisher}.
  */
 @Component
-@Primary
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "sqs", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class SqsEventPublisher implements EventPublisher {
+public class SqsEventPublisher implements OutboxTransport {
 
-  private final SqsTemplate sqsTemplate;
+  private static final MessageAttributeValue JSON_CONTENT_TYPE =
+      MessageAttributeValue.builder().dataType("String").stringValue("application/json").build();
+
+  private final SqsAsyncClient sqsAsyncClient;
+  private final AtomicReference<CompletableFuture<String>> queueUrl = new AtomicReference<>();
 
   @Value("${app.sqs.user-events-queue:user-events}")
   private String userEventsQueue;
 
   @Override
-  public void publish(DomainEvent event) {
-    log.info("Publishing {} event to SQS queue {}: {}", event.eventType(), userEventsQueue, event);
-    try {
-      sqsTemplate.send(userEventsQueue, event);
-      log.debug("Published {} event successfully", event.eventType());
-    } catch (Exception e) {
-      log.error("Failed to publish {} event: {}", event.eventType(), e.getMessage(), e);
-      throw e;
+  public CompletableFuture<Map<Integer, Rejection>> sendBatchAsync(
+      List<String> payloads, int retries) {
+    if (payloads.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " events per batch");
+    }
+    List<Integer> indexes = IntStream.range(0, payloads.size()).boxed().toList();
+    return userEventsQueueUrl().thenCompose(url -> sendEntries(url, payloads, indexes, retries));
+  }
+
+  private CompletableFuture<Map<Integer, Rejection>> sendEntries(
+      String url, List<String> payloads, List<Integer> indexes, int retriesLeft) {
+    SendMessageBatchRequest request =
+        SendMessageBatchRequest.builder()
+            .queueUrl(url)
+            .entries(
+                indexes.stream()
+                    .map(
+                        index ->
+                            SendMessageBatchRequestEntry.builder()
+                                .id(String.valueOf(index))
+                                .messageBody(payloads.get(index))
+                                .messageAttributes(
+                                    Map.of(MessageHeaders.CONTENT_TYPE, JSON_CONTENT_TYPE))
+                                .build())
+                    .toList())
+            .build();
+    return sqsAsyncClient
+        .sendMessageBatch(request)
+        .thenCompose(
+            response -> {
+              Map<Integer, Rejection> rejected = new HashMap<>();
+              List<Integer> retryable = new ArrayList<>();
+              for (BatchResultErrorEntry error : response.failed()) {
+                int index = Integer.parseInt(error.id());
+                boolean senderFault = Boolean.TRUE.equals(error.senderFault());
+                if (senderFault || retriesLeft == 0) {
+                  rejected.put(
+                      index, new Rejection(error.code() + ": " + error.message(), senderFault));
+                } else {
+                  retryable.add(index);
+                }
+              }
+              if (retryable.isEmpty()) {
+                return CompletableFuture.completedFuture(rejected);
+              }
+              log.debug("Resending {} events SQS rejected", retryable.size());
+              return sendEntries(url, payloads, retryable, retriesLeft - 1)
+                  .thenApply(
+                      more -> {
+                        rejected.putAll(more);
+                        return rejected;
+                      });
+            });
+  }
+
+  private CompletableFuture<String> userEventsQueueUrl() {
+    CompletableFuture<String> cached = queueUrl.get();
+    if (cached != null && !cached.isCompletedExceptionally()) {
+      return cached;
     }
+    CompletableFuture<String> lookup =
+        sqsAsyncClient
+            .getQueueUrl(GetQueueUrlRequest.builder().queueName(userEventsQueue).build())
+            .thenApply(GetQueueUrlResponse::queueUrl);
+    // A failed lookup is replaced by the next call rather than cached
+    queueUrl.compareAndSet(cached, lookup);
+    return lookup;
   }
 }
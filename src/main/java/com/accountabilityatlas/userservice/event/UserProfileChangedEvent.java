@@ -0,0 +1,45 @@
+package com.accountabilityatlas.userservice.event;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+
+/**
+ * Snapshot of the publicly relevant part of a user, published after every committed change to it,
+ * so other services can keep a local copy instead of calling {@code GET /users/{id}}. Snapshots of
+ * one user may arrive out of order; keep the one with the highest {@code version}.
+ *
+ * @param userId the user
+ * @param version increases with every snapshot of the user
+ * @param displayName the display name
+ * @param avatar where the user's avatar can come from
+ * @param trustTier the current trust tier
+ * @param socialLinksVisibility who may see the user's social links
+ * @param submissionsVisibility who may see the user's submissions
+ * @param timestamp when the snapshot was taken
+ */
+public record UserProfileChangedEvent(
+    UUID userId,
+    long version,
+    String displayName,
+    Avatar avatar,
+    TrustTier trustTier,
+    Visibility socialLinksVisibility,
+    Visibility submissionsVisibility,
+    Instant timestamp)
+    implements DomainEvent {
+
+  /**
+   * Avatar candidates, in the order the profile page prefers them. The YouTube thumbnail is given
+   * as the channel id, since resolving it needs a YouTube API call.
+   */
+  public record Avatar(
+      @Nullable String custom, String gravatar, @Nullable String youtubeChannelId) {}
+
+  @Override
+  public String eventType() {
+    return "UserProfileChanged";
+  }
+}
@@ -2,6 +2,7 @@ package com.accountabilityatlas.userservice.event;
 
 import com.accountabilityatlas.userservice.domain.TrustTier;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -20,7 +21,19 @@ public record UserTrustTierChangedEvent(
   public enum ChangeReason {
     AUTO_PROMOTION,
     AUTO_DEMOTION,
-    MANUAL
+    MANUAL;
+
+    /** Maps the free-text reason an admin supplies; anything unrecognised counts as manual. */
+    public static ChangeReason fromReasonText(String reason) {
+      if (reason == null) {
+        return MANUAL;
+      }
+      return switch (reason.toUpperCase(Locale.ROOT)) {
+        case "AUTO_PROMOTION" -> AUTO_PROMOTION;
+        case "AUTO_DEMOTION" -> AUTO_DEMOTION;
+        default -> MANUAL;
+      };
+    }
   }
 
   @Override
@@ -1,5 +1,6 @@
 package com.accountabilityatlas.userservice.event;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -10,4 +11,15 @@ public record VideoStatusChangedEvent(
     List<UUID> locationIds,
     String previousStatus,
     String newStatus,
-    Instant timestamp) {}
+    Instant timestamp) {
+
+  /**
+   * Identity for duplicate detection. The timestamp tells apart a video that makes the same
+   * transition twice, e.g. after being reopened; a redelivery carries the same one.
+   */
+  public UUID eventId() {
+    String key =
+        "VideoStatusChanged:%s:%s:%s:%s".formatted(videoId, previousStatus, newStatus, timestamp);
+    return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,35 +1,94 @@
 package com.accountabilityatlas.userservice.event;
 
+import com.accountabilityatlas.userservice.service.EventDeduplicator;
+import com.accountabilityatlas.userservice.service.StatsWriteBuffer;
 import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+/**
+ * Receives a batch of status changes per poll ({@code app.sqs.listener.max-messages-per-poll})
+ * and applies them in one transaction, retrying transient failures through {@link EventRetrier}.
+ * If the batch still fails, each message is retried on its own and only the ones that succeed are
+ * acknowledged; the rest are settled by {@link EventRetrier#settle}, which either delays their
+ * redelivery or moves them to the dead-letter queue. With {@code app.stats.buffer-enabled} the
+ * batch goes to {@link StatsWriteBuffer} instead and is acknowledged after its flush.
+ * Redelivered events are dropped by {@link EventDeduplicator} before anything is written.
+ */
 @Component
+@ConditionalOnProperty(name = "app.events.consumers-enabled", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class VideoStatusChangedHandler {
 
   private final UserStatsService userStatsService;
+  private final StatsWriteBuffer statsWriteBuffer;
+  private final EventDeduplicator eventDeduplicator;
+  private final EventRetrier eventRetrier;
 
-  @SqsListener("${app.sqs.user-video-status-events-queue:user-video-status-events}")
-  public void handleVideoStatusChanged(VideoStatusChangedEvent event) {
-    log.info(
-        "Received VideoStatusChanged event for video {} ({} -> {})",
-        event.videoId(),
-        event.previousStatus(),
-        event.newStatus());
+  @SqsListener(
+      value = "${app.sqs.user-video-status-events-queue:user-video-status-events}",
+      acknowledgementMode = "MANUAL")
+  public void handleVideoStatusChanged(
+      List<Message<VideoStatusChangedEvent>> messages,
+      BatchAcknowledgement<VideoStatusChangedEvent> acknowledgement) {
+    log.info("Received {} VideoStatusChanged events", messages.size());
+    List<StatusChange> changes =
+        eventDeduplicator.dropProcessed(
+            messages.stream().map(message -> toStatusChange(message.getPayload())).toList(),
+            StatusChange::eventId);
+    if (changes.isEmpty()) {
+      acknowledgement.acknowledge();
+      return;
+    }
+    if (statsWriteBuffer.isEnabled()) {
+      statsWriteBuffer.addStatusChanges(changes, acknowledgement::acknowledge);
+      return;
+    }
     try {
-      userStatsService.handleStatusChange(
-          event.submittedBy(), event.previousStatus(), event.newStatus());
-    } catch (Exception e) {
-      log.error(
-          "Failed to handle VideoStatusChanged event for video {}: {}",
-          event.videoId(),
-          e.getMessage(),
-          e);
-      throw e;
+      eventRetrier.runWithRetry(() -> userStatsService.recordStatusChanges(changes));
+      acknowledgement.acknowledge();
+    } catch (RuntimeException e) {
+      log.warn(
+          "Batch of {} VideoStatusChanged events failed, retrying individually: {}",
+          messages.size(),
+          e.getMessage());
+      acknowledgement.acknowledge(handleIndividually(messages));
     }
   }
+
+  private List<Message<VideoStatusChangedEvent>> handleIndividually(
+      List<Message<VideoStatusChangedEvent>> messages) {
+    List<Message<VideoStatusChangedEvent>> handled = new ArrayList<>();
+    for (Message<VideoStatusChangedEvent> message : messages) {
+      VideoStatusChangedEvent event = message.getPayload();
+      try {
+        userStatsService.recordStatusChanges(List.of(toStatusChange(event)));
+        handled.add(message);
+      } catch (RuntimeException e) {
+        log.error(
+            "Failed to handle VideoStatusChanged event for video {}: {}",
+            event.videoId(),
+            e.getMessage(),
+            e);
+        if (eventRetrier.settle(message, e)) {
+          handled.add(message);
+        }
+      }
+    }
+    return handled;
+  }
+
+  private static StatusChange toStatusChange(VideoStatusChangedEvent event) {
+    return new StatusChange(
+        event.eventId(), event.submittedBy(), event.previousStatus(), event.newStatus());
+  }
 }
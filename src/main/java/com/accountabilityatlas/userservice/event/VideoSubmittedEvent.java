@@ -1,5 +1,6 @@
 package com.accountabilityatlas.userservice.event;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
@@ -12,4 +13,10 @@ public record VideoSubmittedEvent(
     String title,
     Set<String> amendments,
     List<UUID> locationIds,
-    Instant timestamp) {}
+    Instant timestamp) {
+
+  /** Identity for duplicate detection; a video is submitted once, so the video id is enough. */
+  public UUID eventId() {
+    return UUID.nameUUIDFromBytes(("VideoSubmitted:" + videoId).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,33 +1,85 @@
 package com.accountabilityatlas.userservice.event;
 
+import com.accountabilityatlas.userservice.service.EventDeduplicator;
+import com.accountabilityatlas.userservice.service.StatsWriteBuffer;
 import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+/** Counts submissions in batches; see {@link VideoStatusChangedHandler}. */
 @Component
+@ConditionalOnProperty(name = "app.events.consumers-enabled", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class VideoSubmittedHandler {
 
   private final UserStatsService userStatsService;
+  private final StatsWriteBuffer statsWriteBuffer;
+  private final EventDeduplicator eventDeduplicator;
+  private final EventRetrier eventRetrier;
 
-  @SqsListener("${app.sqs.user-video-events-queue:user-video-events}")
-  public void handleVideoSubmitted(VideoSubmittedEvent event) {
-    log.info(
-        "Received VideoSubmitted event for video {} from submitter {}",
-        event.videoId(),
-        event.submitterId());
+  @SqsListener(
+      value = "${app.sqs.user-video-events-queue:user-video-events}",
+      acknowledgementMode = "MANUAL")
+  public void handleVideoSubmitted(
+      List<Message<VideoSubmittedEvent>> messages,
+      BatchAcknowledgement<VideoSubmittedEvent> acknowledgement) {
+    log.info("Received {} VideoSubmitted events", messages.size());
+    List<Submission> submissions =
+        eventDeduplicator.dropProcessed(
+            messages.stream().map(message -> toSubmission(message.getPayload())).toList(),
+            Submission::eventId);
+    if (submissions.isEmpty()) {
+      acknowledgement.acknowledge();
+      return;
+    }
+    if (statsWriteBuffer.isEnabled()) {
+      statsWriteBuffer.addSubmissions(submissions, acknowledgement::acknowledge);
+      return;
+    }
     try {
-      userStatsService.incrementSubmissionCount(event.submitterId());
-    } catch (Exception e) {
-      log.error(
-          "Failed to handle VideoSubmitted event for video {}: {}",
-          event.videoId(),
-          e.getMessage(),
-          e);
-      throw e;
+      eventRetrier.runWithRetry(() -> userStatsService.recordSubmissions(submissions));
+      acknowledgement.acknowledge();
+    } catch (RuntimeException e) {
+      log.warn(
+          "Batch of {} VideoSubmitted events failed, retrying individually: {}",
+          messages.size(),
+          e.getMessage());
+      acknowledgement.acknowledge(handleIndividually(messages));
     }
   }
+
+  private List<Message<VideoSubmittedEvent>> handleIndividually(
+      List<Message<VideoSubmittedEvent>> messages) {
+    List<Message<VideoSubmittedEvent>> handled = new ArrayList<>();
+    for (Message<VideoSubmittedEvent> message : messages) {
+      VideoSubmittedEvent event = message.getPayload();
+      try {
+        userStatsService.recordSubmissions(List.of(toSubmission(event)));
+        handled.add(message);
+      } catch (RuntimeException e) {
+        log.error(
+            "Failed to handle VideoSubmitted event for video {}: {}",
+            event.videoId(),
+            e.getMessage(),
+            e);
+        if (eventRetrier.settle(message, e)) {
+          handled.add(message);
+        }
+      }
+    }
+    return handled;
+  }
+
+  private static Submission toSubmission(VideoSubmittedEvent event) {
+    return new Submission(event.eventId(), event.submitterId());
+  }
 }
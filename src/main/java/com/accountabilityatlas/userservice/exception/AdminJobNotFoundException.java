@@ -0,0 +1,7 @@
+package com.accountabilityatlas.userservice.exception;
+
+public class AdminJobNotFoundException extends RuntimeException {
+  public AdminJobNotFoundException() {
+    super("Job not found");
+  }
+}
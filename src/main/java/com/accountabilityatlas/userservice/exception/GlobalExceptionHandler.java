@@ -43,6 +43,30 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
   }
 
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Error> handleInvalidCursor(InvalidCursorException ex) {
+    Error error = new Error();
+    error.setCode("INVALID_CURSOR");
+    error.setMessage(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  @ExceptionHandler(UnsupportedFormatException.class)
+  public ResponseEntity<Error> handleUnsupportedFormat(UnsupportedFormatException ex) {
+    Error error = new Error();
+    error.setCode("UNSUPPORTED_FORMAT");
+    error.setMessage(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  @ExceptionHandler(InvalidSnapshotException.class)
+  public ResponseEntity<Error> handleInvalidSnapshot(InvalidSnapshotException ex) {
+    Error error = new Error();
+    error.setCode("INVALID_SNAPSHOT");
+    error.setMessage(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Error> handleValidation(MethodArgumentNotValidException ex) {
     Error error = new Error();
@@ -67,4 +91,20 @@ public class GlobalExceptionHandler {
     error.setMessage(ex.getMessage());
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
   }
+
+  @ExceptionHandler(AdminJobNotFoundException.class)
+  public ResponseEntity<Error> handleAdminJobNotFound(AdminJobNotFoundException ex) {
+    Error error = new Error();
+    error.setCode("JOB_NOT_FOUND");
+    error.setMessage(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
+
+  @ExceptionHandler(UnknownQueueException.class)
+  public ResponseEntity<Error> handleUnknownQueue(UnknownQueueException ex) {
+    Error error = new Error();
+    error.setCode("UNKNOWN_QUEUE");
+    error.setMessage(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
 }
@@ -0,0 +1,7 @@
+package com.accountabilityatlas.userservice.exception;
+
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException() {
+    super("Cursor is malformed or was not issued by this service");
+  }
+}
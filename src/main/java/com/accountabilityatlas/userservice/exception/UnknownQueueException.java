@@ -0,0 +1,7 @@
+package com.accountabilityatlas.userservice.exception;
+
+public class UnknownQueueException extends RuntimeException {
+  public UnknownQueueException(String queue) {
+    super("Not a consumed queue: " + queue);
+  }
+}
@@ -0,0 +1,70 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface AdminJobRepository extends JpaRepository<AdminJob, UUID> {
+
+  @Transactional
+  @Modifying
+  @Query(
+      "update AdminJob j set j.status = :status, j.startedAt = :at where j.id = :id"
+          + " and j.status = com.accountabilityatlas.userservice.domain.AdminJobStatus.PENDING")
+  int markStarted(
+      @Param("id") UUID id, @Param("status") AdminJobStatus status, @Param("at") Instant at);
+
+  /**
+   * Increments rather than overwrites so progress can be recorded inside each chunk's commit. The
+   * row lock it takes keeps the job from being marked finished until that commit.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "update AdminJob j set j.processedItems = j.processedItems + :processed,"
+          + " j.changedItems = j.changedItems + :changed where j.id = :id and j.status = :status")
+  int addProgress(
+      @Param("id") UUID id,
+      @Param("status") AdminJobStatus status,
+      @Param("processed") int processed,
+      @Param("changed") int changed);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "update AdminJob j set j.status = :status, j.finishedAt = :at, j.errorMessage = :error"
+          + " where j.id = :id and j.status in :from")
+  int markFinished(
+      @Param("id") UUID id,
+      @Param("from") Collection<AdminJobStatus> from,
+      @Param("status") AdminJobStatus status,
+      @Param("at") Instant at,
+      @Param("error") String error);
+
+  @Transactional
+  @Modifying
+  @Query("update AdminJob j set j.heartbeatAt = :at where j.id in :ids and j.status in :live")
+  int touch(
+      @Param("ids") Collection<UUID> ids,
+      @Param("live") Collection<AdminJobStatus> live,
+      @Param("at") Instant at);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "update AdminJob j set j.status = :status, j.finishedAt = :at, j.errorMessage = :error"
+          + " where j.status in :live and j.heartbeatAt < :cutoff")
+  int failStale(
+      @Param("live") Collection<AdminJobStatus> live,
+      @Param("cutoff") Instant cutoff,
+      @Param("status") AdminJobStatus status,
+      @Param("at") Instant at,
+      @Param("error") String error);
+}
@@ -0,0 +1,130 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Pending domain events in {@code users.event_outbox}. */
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxRepository {
+
+  public record OutboxEntry(long id, String eventType, String payload, int attempts) {}
+
+  public record NewOutboxEntry(String eventType, String payload) {}
+
+  private static final String INSERT_SQL =
+      "INSERT INTO users.event_outbox (event_type, payload) VALUES (?, ?::jsonb)";
+
+  // SKIP LOCKED lets every instance relay at once without sending the same row twice
+  private static final String CLAIM_SQL =
+      """
+      SELECT id, event_type, payload::text AS payload, attempts
+      FROM users.event_outbox
+      WHERE next_attempt_at <= NOW() AND failed_at IS NULL
+      ORDER BY id
+      LIMIT ?
+      FOR UPDATE SKIP LOCKED
+      """;
+
+  private static final String DELETE_SQL = "DELETE FROM users.event_outbox WHERE id = ANY (?)";
+
+  private static final String RESCHEDULE_SQL =
+      """
+      UPDATE users.event_outbox
+      SET attempts = attempts + 1,
+          next_attempt_at = NOW() + make_interval(secs => LEAST(? * power(2, attempts), ?)),
+          last_error = ?
+      WHERE id = ANY (?)
+      """;
+
+  private static final String MARK_FAILED_SQL =
+      """
+      UPDATE users.event_outbox
+      SET attempts = attempts + 1, failed_at = NOW(), last_error = ?
+      WHERE id = ANY (?)
+      """;
+
+  private static final String OLDEST_SQL =
+      "SELECT created_at FROM users.event_outbox WHERE failed_at IS NULL ORDER BY id LIMIT 1";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Adds events in the caller's transaction, if there is one. */
+  public void append(List<NewOutboxEntry> entries) {
+    if (entries.size() == 1) {
+      jdbcTemplate.update(INSERT_SQL, entries.get(0).eventType(), entries.get(0).payload());
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        entries.stream().map(entry -> new Object[] {entry.eventType(), entry.payload()}).toList());
+  }
+
+  /**
+   * Locks up to {@code limit} due entries, oldest first, skipping rows another relay holds. Must
+   * run inside a transaction; the entries stay claimed until it ends.
+   */
+  public List<OutboxEntry> claimDue(int limit) {
+    return jdbcTemplate.query(
+        CLAIM_SQL,
+        (rs, rowNum) ->
+            new OutboxEntry(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getInt("attempts")),
+        limit);
+  }
+
+  public void delete(Collection<Long> ids) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+          statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+          return statement;
+        });
+  }
+
+  /**
+   * Records a failed attempt and pushes the entries back by exponential backoff, starting at
+   * {@code initialBackoff} and capped at {@code maxBackoff}.
+   */
+  public void reschedule(
+      Collection<Long> ids, Duration initialBackoff, Duration maxBackoff, String error) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(RESCHEDULE_SQL);
+          statement.setDouble(1, initialBackoff.toMillis() / 1000.0);
+          statement.setDouble(2, maxBackoff.toMillis() / 1000.0);
+          statement.setString(3, error);
+          statement.setArray(4, connection.createArrayOf("bigint", ids.toArray()));
+          return statement;
+        });
+  }
+
+  /** Records a last failed attempt and stops the entries from being claimed again. */
+  public void markFailed(Collection<Long> ids, String error) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(MARK_FAILED_SQL);
+          statement.setString(1, error);
+          statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+          return statement;
+        });
+  }
+
+  /** Creation time of the oldest entry still waiting, due or not; failed entries are ignored. */
+  public Optional<Instant> findOldestCreatedAt() {
+    return jdbcTemplate.query(OLDEST_SQL, (rs, rowNum) -> rs.getTimestamp("created_at")).stream()
+        .findFirst()
+        .map(Timestamp::toInstant);
+  }
+}
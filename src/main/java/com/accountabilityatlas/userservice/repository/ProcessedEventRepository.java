@@ -0,0 +1,78 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Ids of consumed events in {@code users.processed_events}. */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedEventRepository {
+
+  private static final String FIND_SQL =
+      "SELECT event_id FROM users.processed_events WHERE event_id = ANY (?)";
+
+  private static final String CLAIM_SQL =
+      """
+      INSERT INTO users.processed_events (event_id)
+      SELECT unnest(?)
+      ON CONFLICT (event_id) DO NOTHING
+      RETURNING event_id
+      """;
+
+  private static final String PRUNE_SQL =
+      """
+      DELETE FROM users.processed_events
+      WHERE ctid = ANY (ARRAY(
+          SELECT ctid FROM users.processed_events WHERE processed_at < ? LIMIT ?))
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Returns which of {@code eventIds} have already been processed. */
+  public Set<UUID> findProcessed(Collection<UUID> eventIds) {
+    return new HashSet<>(
+        jdbcTemplate.query(
+            connection -> {
+              PreparedStatement statement = connection.prepareStatement(FIND_SQL);
+              statement.setArray(1, connection.createArrayOf("uuid", eventIds.toArray()));
+              return statement;
+            },
+            (rs, rowNum) -> rs.getObject("event_id", UUID.class)));
+  }
+
+  /**
+   * Marks events as processed. Concurrent claims of the same id serialise on the primary key, so
+   * exactly one transaction gets each id back.
+   *
+   * @return the ids that were not processed before
+   */
+  public Set<UUID> claim(Collection<UUID> eventIds) {
+    return new HashSet<>(
+        jdbcTemplate.query(
+            connection -> {
+              PreparedStatement statement = connection.prepareStatement(CLAIM_SQL);
+              statement.setArray(1, connection.createArrayOf("uuid", eventIds.toArray()));
+              return statement;
+            },
+            (rs, rowNum) -> rs.getObject("event_id", UUID.class)));
+  }
+
+  /**
+   * Deletes up to {@code limit} ids processed before {@code cutoff}.
+   *
+   * @return the number of ids deleted
+   */
+  public int deleteBefore(Instant cutoff, int limit) {
+    return jdbcTemplate.update(
+        PRUNE_SQL, OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC), limit);
+  }
+}
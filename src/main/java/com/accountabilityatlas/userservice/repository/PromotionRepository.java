@@ -0,0 +1,179 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.config.PromotionProperties;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintains {@code users.promotion_candidates} and promotes from it. All criteria come from {@link
+ * PromotionProperties}; the queue only decides who is looked at, and every promotion re-checks
+ * the criteria against current rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PromotionRepository {
+
+  /** One claimed chunk: how many queue entries were taken and which of them were promoted. */
+  public record PromotionChunk(int claimed, List<UUID> promoted) {}
+
+  private static final String ENQUEUE_SQL =
+      """
+      INSERT INTO users.promotion_candidates (user_id, eligible_at)
+      SELECT u.id, GREATEST(u.created_at + ? * INTERVAL '1 second', ?)
+      FROM users.users u
+      WHERE u.id = ? AND u.trust_tier = 'NEW'
+      ON CONFLICT (user_id) DO UPDATE SET eligible_at = EXCLUDED.eligible_at
+      """;
+
+  private static final String DEQUEUE_SQL =
+      "DELETE FROM users.promotion_candidates WHERE user_id = ANY (?)";
+
+  // SKIP LOCKED lets runs on several nodes claim disjoint chunks instead of waiting on each other
+  private static final String CLAIM_SQL =
+      """
+      SELECT user_id
+      FROM users.promotion_candidates
+      WHERE eligible_at < ?
+      ORDER BY eligible_at
+      LIMIT ?
+      FOR UPDATE SKIP LOCKED
+      """;
+
+  private static final String PROMOTE_SQL =
+      """
+      UPDATE users.users u
+      SET trust_tier = 'TRUSTED'
+      FROM users.user_stats s
+      WHERE u.id = ANY (?)
+        AND s.user_id = u.id
+        AND u.trust_tier = 'NEW'
+        AND u.created_at < ?
+        AND s.approved_count >= ?
+        AND NOT EXISTS (
+            SELECT 1
+            FROM users.user_stats_daily d
+            WHERE d.user_id = u.id AND d.bucket_date >= ? AND d.rejected_count > 0
+        )
+      RETURNING u.id
+      """;
+
+  // Puts back claimed users that are still NEW and above the threshold but not yet due, e.g.
+  // because of a rejection since they were queued. A rejection clears once its whole UTC day
+  // bucket has left the window.
+  private static final String REQUEUE_SQL =
+      """
+      INSERT INTO users.promotion_candidates (user_id, eligible_at)
+      SELECT u.id,
+             GREATEST(u.created_at + ? * INTERVAL '1 second',
+                      (date_trunc('day', s.last_rejected_at AT TIME ZONE 'UTC') + INTERVAL '1 day')
+                          AT TIME ZONE 'UTC' + ? * INTERVAL '1 day')
+      FROM users.users u
+      JOIN users.user_stats s ON s.user_id = u.id
+      WHERE u.id = ANY (?)
+        AND u.trust_tier = 'NEW'
+        AND s.approved_count >= ?
+      ON CONFLICT (user_id) DO UPDATE SET eligible_at = EXCLUDED.eligible_at
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PromotionProperties properties;
+
+  /**
+   * Queues or dequeues a user after their counters changed. Takes the new counter values rather
+   * than reading {@code user_stats}, so it sees changes the caller has not flushed yet.
+   */
+  public void refreshCandidate(UUID userId, int approvedCount, @Nullable Instant lastRejectedAt) {
+    if (approvedCount < properties.getMinApprovedCount()) {
+      dequeue(List.of(userId));
+      return;
+    }
+    Instant rejectionClearsAt = lastRejectedAt == null ? null : rejectionClearsAt(lastRejectedAt);
+    // GREATEST ignores NULL, so a user with no rejections is due once old enough
+    jdbcTemplate.update(
+        ENQUEUE_SQL,
+        properties.getMinAccountAge().toSeconds(),
+        new SqlParameterValue(Types.TIMESTAMP_WITH_TIMEZONE, toOffsetDateTime(rejectionClearsAt)),
+        userId);
+  }
+
+  /**
+   * Claims up to {@code limit} queue entries that were due before {@code now}, promotes those
+   * that still meet every criterion and requeues the rest if they can still qualify later. Must
+   * run inside a transaction; the claim lasts until it ends.
+   */
+  public PromotionChunk promoteDueChunk(Instant now, int limit) {
+    List<UUID> claimed =
+        jdbcTemplate.query(
+            CLAIM_SQL,
+            (rs, rowNum) -> rs.getObject("user_id", UUID.class),
+            toOffsetDateTime(now),
+            limit);
+    if (claimed.isEmpty()) {
+      return new PromotionChunk(0, List.of());
+    }
+
+    List<UUID> promoted =
+        jdbcTemplate.query(
+            connection -> {
+              PreparedStatement statement = connection.prepareStatement(PROMOTE_SQL);
+              statement.setArray(1, connection.createArrayOf("uuid", claimed.toArray()));
+              statement.setObject(2, toOffsetDateTime(now.minus(properties.getMinAccountAge())));
+              statement.setInt(3, properties.getMinApprovedCount());
+              statement.setObject(4, windowStart(now));
+              return statement;
+            },
+            (rs, rowNum) -> rs.getObject("id", UUID.class));
+
+    dequeue(claimed);
+    if (promoted.size() < claimed.size()) {
+      jdbcTemplate.update(
+          connection -> {
+            PreparedStatement statement = connection.prepareStatement(REQUEUE_SQL);
+            statement.setLong(1, properties.getMinAccountAge().toSeconds());
+            statement.setLong(2, properties.getRejectionWindow().toDays());
+            statement.setArray(3, connection.createArrayOf("uuid", claimed.toArray()));
+            statement.setInt(4, properties.getMinApprovedCount());
+            return statement;
+          });
+    }
+    return new PromotionChunk(claimed.size(), promoted);
+  }
+
+  private void dequeue(List<UUID> userIds) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(DEQUEUE_SQL);
+          statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+          return statement;
+        });
+  }
+
+  /** First day bucket inside the rejection window. */
+  private LocalDate windowStart(Instant now) {
+    return LocalDate.ofInstant(now, ZoneOffset.UTC)
+        .minusDays(properties.getRejectionWindow().toDays());
+  }
+
+  /** When the day bucket holding a rejection leaves the window; matches {@link #windowStart}. */
+  private Instant rejectionClearsAt(Instant rejectedAt) {
+    return LocalDate.ofInstant(rejectedAt, ZoneOffset.UTC)
+        .plusDays(1 + properties.getRejectionWindow().toDays())
+        .atStartOfDay(ZoneOffset.UTC)
+        .toInstant();
+  }
+
+  private static OffsetDateTime toOffsetDateTime(@Nullable Instant instant) {
+    return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,33 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.time.Instant;
+import org.springframework.lang.Nullable;
+
+/**
+ * Signed changes to one user's lifetime counters. Decrements are floored at zero when applied.
+ *
+ * @param submissions change to {@code submission_count}
+ * @param approved change to {@code approved_count}
+ * @param rejected change to {@code rejected_count}
+ * @param rejectedAt time of a new rejection, or {@code null} if the delta contains none
+ */
+public record StatsDelta(
+    int submissions, int approved, int rejected, @Nullable Instant rejectedAt) {
+
+  public boolean isEmpty() {
+    return submissions == 0 && approved == 0 && rejected == 0;
+  }
+
+  /** Combines two deltas for the same user, keeping the later rejection time. */
+  public StatsDelta plus(StatsDelta other) {
+    Instant latestRejection = rejectedAt;
+    if (other.rejectedAt != null && (rejectedAt == null || other.rejectedAt.isAfter(rejectedAt))) {
+      latestRejection = other.rejectedAt;
+    }
+    return new StatsDelta(
+        submissions + other.submissions,
+        approved + other.approved,
+        rejected + other.rejected,
+        latestRejection);
+  }
+}
@@ -0,0 +1,349 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository.UserStatsCounters;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Compares {@code users.user_stats} with an uploaded snapshot of authoritative counts and corrects
+ * it, one user id range at a time. Reads are plain MVCC selects and corrections lock only the rows
+ * they change, so a rebuild never blocks consumers for longer than one correction batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatsRebuildRepository {
+
+  public record StatsCounts(int submissions, int approved, int rejected) {}
+
+  public record SnapshotRow(UUID userId, StatsCounts counts) {}
+
+  /** User ids from {@code from} inclusive to {@code to} exclusive; null means unbounded. */
+  public record UserIdRange(@Nullable UUID from, @Nullable UUID to) {}
+
+  /** A user whose counters differ from the snapshot; {@code current} is null without a row. */
+  public record StatsDiff(
+      UUID userId, @Nullable StatsCounts current, StatsCounts expected, boolean applied) {
+
+    public StatsDiff withApplied(boolean applied) {
+      return new StatsDiff(userId, current, expected, applied);
+    }
+  }
+
+  private static final String COPY_SQL =
+      "COPY users.stats_rebuild_snapshots"
+          + " (snapshot_id, user_id, submission_count, approved_count, rejected_count)"
+          + " FROM STDIN (FORMAT csv)";
+
+  private static final String BOUNDARIES_SQL =
+      "SELECT percentile_disc(?) WITHIN GROUP (ORDER BY id) FROM users.users";
+
+  private static final String COUNT_SQL = "SELECT count(*) FROM users.users u WHERE %s";
+
+  // Users missing from the snapshot are expected to have no activity at all
+  private static final String DIFF_SQL =
+      """
+      SELECT u.id AS user_id, s.user_id IS NOT NULL AS has_stats,
+             s.submission_count, s.approved_count, s.rejected_count,
+             COALESCE(n.submission_count, 0) AS expected_submission_count,
+             COALESCE(n.approved_count, 0) AS expected_approved_count,
+             COALESCE(n.rejected_count, 0) AS expected_rejected_count
+      FROM users.users u
+      LEFT JOIN users.user_stats s ON s.user_id = u.id
+      LEFT JOIN users.stats_rebuild_snapshots n
+          ON n.snapshot_id = :snapshotId AND n.user_id = u.id
+      WHERE %s
+        AND (COALESCE(s.submission_count, 0), COALESCE(s.approved_count, 0),
+             COALESCE(s.rejected_count, 0))
+            IS DISTINCT FROM
+            (COALESCE(n.submission_count, 0), COALESCE(n.approved_count, 0),
+             COALESCE(n.rejected_count, 0))
+      ORDER BY u.id
+      """;
+
+  // Only overwrites rows that still hold the values the diff saw, so an event applied while the
+  // rebuild runs is never lost; such rows are simply reported as not applied. Locks in user id
+  // order like the batched consumers do.
+  private static final String UPDATE_SQL =
+      """
+      UPDATE users.user_stats s
+      SET submission_count = v.submissions,
+          approved_count = v.approved,
+          rejected_count = v.rejected,
+          updated_at = NOW()
+      FROM (
+          SELECT d.*
+          FROM (VALUES %s) AS d(user_id, submissions, approved, rejected,
+                                seen_submissions, seen_approved, seen_rejected)
+          JOIN users.user_stats x ON x.user_id = d.user_id
+          ORDER BY d.user_id
+          FOR UPDATE OF x
+      ) v
+      WHERE s.user_id = v.user_id
+        AND s.submission_count = v.seen_submissions
+        AND s.approved_count = v.seen_approved
+        AND s.rejected_count = v.seen_rejected
+      RETURNING s.user_id, s.approved_count, s.last_rejected_at
+      """;
+
+  private static final String UPDATE_ROW =
+      "(?::uuid, ?::int, ?::int, ?::int, ?::int, ?::int, ?::int)";
+
+  private static final String INSERT_SQL =
+      """
+      INSERT INTO users.user_stats
+          (user_id, submission_count, approved_count, rejected_count, updated_at)
+      SELECT d.user_id, d.submissions, d.approved, d.rejected, NOW()
+      FROM (VALUES %s) AS d(user_id, submissions, approved, rejected)
+      JOIN users.users u ON u.id = d.user_id
+      ON CONFLICT (user_id) DO NOTHING
+      RETURNING user_id, approved_count, last_rejected_at
+      """;
+
+  private static final String INSERT_ROW = "(?::uuid, ?::int, ?::int, ?::int)";
+
+  private static final String RECORD_DIFF_SQL =
+      """
+      INSERT INTO users.stats_rebuild_diffs
+          (job_id, user_id, current_submission_count, current_approved_count,
+           current_rejected_count, expected_submission_count, expected_approved_count,
+           expected_rejected_count, applied)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final String FIND_DIFFS_SQL =
+      """
+      SELECT user_id, current_submission_count IS NOT NULL AS has_stats,
+             current_submission_count AS submission_count,
+             current_approved_count AS approved_count,
+             current_rejected_count AS rejected_count,
+             expected_submission_count, expected_approved_count, expected_rejected_count, applied
+      FROM users.stats_rebuild_diffs
+      WHERE job_id = ?
+      ORDER BY user_id
+      LIMIT ?
+      """;
+
+  private static final RowMapper<UserStatsCounters> COUNTERS_MAPPER =
+      (rs, rowNum) -> {
+        Timestamp lastRejectedAt = rs.getTimestamp("last_rejected_at");
+        return new UserStatsCounters(
+            rs.getObject("user_id", UUID.class),
+            rs.getInt("approved_count"),
+            lastRejectedAt == null ? null : lastRejectedAt.toInstant());
+      };
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** Stores one chunk of a snapshot; a user listed twice fails with a duplicate key error. */
+  public void copySnapshot(UUID snapshotId, List<SnapshotRow> rows) {
+    StringBuilder csv = new StringBuilder(rows.size() * 96);
+    for (SnapshotRow row : rows) {
+      csv.append(snapshotId).append(',').append(row.userId()).append(',');
+      csv.append(row.counts().submissions()).append(',');
+      csv.append(row.counts().approved()).append(',');
+      csv.append(row.counts().rejected()).append('\n');
+    }
+    jdbcTemplate
+        .getJdbcTemplate()
+        .execute(
+            (ConnectionCallback<Long>)
+                connection -> {
+                  try {
+                    return connection
+                        .unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(csv.toString()));
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                });
+  }
+
+  public void deleteSnapshot(UUID snapshotId) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .update("DELETE FROM users.stats_rebuild_snapshots WHERE snapshot_id = ?", snapshotId);
+  }
+
+  /** Snapshots share their job's id; a failed job's snapshot is never read again. */
+  public int deleteSnapshotsOfFailedJobs() {
+    return jdbcTemplate
+        .getJdbcTemplate()
+        .update(
+            "DELETE FROM users.stats_rebuild_snapshots WHERE snapshot_id IN"
+                + " (SELECT id FROM users.admin_jobs"
+                + " WHERE job_type = 'STATS_REBUILD' AND status = 'FAILED')");
+  }
+
+  /** Splits the user id space into up to {@code partitions} ranges of similar size. */
+  public List<UserIdRange> partition(int partitions) {
+    Double[] fractions = new Double[Math.max(partitions - 1, 0)];
+    for (int i = 0; i < fractions.length; i++) {
+      fractions[i] = (i + 1) / (double) partitions;
+    }
+    List<UUID> boundaries =
+        jdbcTemplate
+            .getJdbcTemplate()
+            .query(
+                connection -> {
+                  PreparedStatement statement = connection.prepareStatement(BOUNDARIES_SQL);
+                  statement.setArray(1, connection.createArrayOf("float8", fractions));
+                  return statement;
+                },
+                rs -> {
+                  List<UUID> ids = new ArrayList<>();
+                  Array array = rs.next() ? rs.getArray(1) : null;
+                  if (array != null) {
+                    for (Object id : (Object[]) array.getArray()) {
+                      // Few users and many partitions repeat the same boundary
+                      if (ids.isEmpty() || !ids.get(ids.size() - 1).equals(id)) {
+                        ids.add((UUID) id);
+                      }
+                    }
+                  }
+                  return ids;
+                });
+
+    List<UserIdRange> ranges = new ArrayList<>(boundaries.size() + 1);
+    UUID from = null;
+    for (UUID boundary : boundaries) {
+      ranges.add(new UserIdRange(from, boundary));
+      from = boundary;
+    }
+    ranges.add(new UserIdRange(from, null));
+    return ranges;
+  }
+
+  public int countUsers(UserIdRange range) {
+    Integer count =
+        jdbcTemplate.queryForObject(
+            COUNT_SQL.formatted(rangePredicate(range)), rangeParams(range), Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  /** Users in {@code range} whose counters differ from the snapshot, in user id order. */
+  public List<StatsDiff> findDifferences(UUID snapshotId, UserIdRange range) {
+    return jdbcTemplate.query(
+        DIFF_SQL.formatted(rangePredicate(range)),
+        rangeParams(range).addValue("snapshotId", snapshotId),
+        (rs, rowNum) -> mapDiff(rs, false));
+  }
+
+  /**
+   * Sets each user's counters to the expected values, provided they still hold the current values
+   * from the diff.
+   *
+   * @return the counters of every user that was corrected
+   */
+  public List<UserStatsCounters> correct(List<StatsDiff> diffs) {
+    List<Object> updateArgs = new ArrayList<>();
+    List<Object> insertArgs = new ArrayList<>();
+    for (StatsDiff diff : diffs) {
+      StatsCounts expected = diff.expected();
+      List<Object> args = diff.current() == null ? insertArgs : updateArgs;
+      args.add(diff.userId());
+      args.add(expected.submissions());
+      args.add(expected.approved());
+      args.add(expected.rejected());
+      if (diff.current() != null) {
+        args.add(diff.current().submissions());
+        args.add(diff.current().approved());
+        args.add(diff.current().rejected());
+      }
+    }
+
+    List<UserStatsCounters> corrected = new ArrayList<>();
+    if (!updateArgs.isEmpty()) {
+      String sql = UPDATE_SQL.formatted(valuesRows(UPDATE_ROW, updateArgs.size() / 7));
+      corrected.addAll(
+          jdbcTemplate.getJdbcTemplate().query(sql, COUNTERS_MAPPER, updateArgs.toArray()));
+    }
+    if (!insertArgs.isEmpty()) {
+      String sql = INSERT_SQL.formatted(valuesRows(INSERT_ROW, insertArgs.size() / 4));
+      corrected.addAll(
+          jdbcTemplate.getJdbcTemplate().query(sql, COUNTERS_MAPPER, insertArgs.toArray()));
+    }
+    return corrected;
+  }
+
+  public void recordDiffs(UUID jobId, List<StatsDiff> diffs) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .batchUpdate(
+            RECORD_DIFF_SQL,
+            diffs.stream()
+                .map(
+                    diff -> {
+                      StatsCounts current = diff.current();
+                      return new Object[] {
+                        jobId,
+                        diff.userId(),
+                        current == null ? null : current.submissions(),
+                        current == null ? null : current.approved(),
+                        current == null ? null : current.rejected(),
+                        diff.expected().submissions(),
+                        diff.expected().approved(),
+                        diff.expected().rejected(),
+                        diff.applied()
+                      };
+                    })
+                .toList());
+  }
+
+  public List<StatsDiff> findRecordedDiffs(UUID jobId, int limit) {
+    return jdbcTemplate
+        .getJdbcTemplate()
+        .query(FIND_DIFFS_SQL, (rs, rowNum) -> mapDiff(rs, rs.getBoolean("applied")), jobId, limit);
+  }
+
+  private static StatsDiff mapDiff(ResultSet rs, boolean applied) throws SQLException {
+    StatsCounts current =
+        rs.getBoolean("has_stats")
+            ? new StatsCounts(
+                rs.getInt("submission_count"),
+                rs.getInt("approved_count"),
+                rs.getInt("rejected_count"))
+            : null;
+    return new StatsDiff(
+        rs.getObject("user_id", UUID.class),
+        current,
+        new StatsCounts(
+            rs.getInt("expected_submission_count"),
+            rs.getInt("expected_approved_count"),
+            rs.getInt("expected_rejected_count")),
+        applied);
+  }
+
+  // Built from fixed fragments rather than "IS NULL OR" so the planner can use the primary key
+  private static String rangePredicate(UserIdRange range) {
+    String lower = range.from() == null ? "TRUE" : "u.id >= :from";
+    String upper = range.to() == null ? "TRUE" : "u.id < :to";
+    return lower + " AND " + upper;
+  }
+
+  private static MapSqlParameterSource rangeParams(UserIdRange range) {
+    return new MapSqlParameterSource().addValue("from", range.from()).addValue("to", range.to());
+  }
+
+  private static String valuesRows(String row, int count) {
+    return String.join(", ", Collections.nCopies(count, row));
+  }
+}
@@ -0,0 +1,54 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TrustTierBulkRepository {
+
+  /** A user whose tier was actually changed, with the tier it had before. */
+  public record TierChange(UUID userId, TrustTier oldTier) {}
+
+  // The subquery locks the target rows in id order, so two overlapping bulk jobs queue behind
+  // each other instead of deadlocking, and hands the pre-update tier to RETURNING.
+  private static final String UPDATE_SQL =
+      """
+      UPDATE users.users u
+      SET trust_tier = ?
+      FROM (
+          SELECT id, trust_tier
+          FROM users.users
+          WHERE id = ANY (?) AND trust_tier <> ?
+          ORDER BY id
+          FOR UPDATE
+      ) old
+      WHERE u.id = old.id
+      RETURNING u.id, old.trust_tier AS old_tier
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Sets {@code newTier} on every listed user that does not already have it, in one statement.
+   * Unknown ids and users already on the tier are skipped and not returned.
+   */
+  public List<TierChange> updateTrustTier(List<UUID> userIds, TrustTier newTier) {
+    return jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(UPDATE_SQL);
+          statement.setString(1, newTier.name());
+          statement.setArray(2, connection.createArrayOf("uuid", userIds.toArray()));
+          statement.setString(3, newTier.name());
+          return statement;
+        },
+        (rs, rowNum) ->
+            new TierChange(
+                rs.getObject("id", UUID.class), TrustTier.valueOf(rs.getString("old_tier"))));
+  }
+}
@@ -0,0 +1,131 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/** Materialised avatar sources in {@code user_avatar_sources}, one row per user. */
+@Repository
+@RequiredArgsConstructor
+public class UserAvatarSourcesRepository {
+
+  public record AvatarSourcesRow(
+      UUID userId,
+      String gravatarHash,
+      @Nullable String youtubeChannelId,
+      @Nullable String youtubeThumbnailUrl,
+      @Nullable Instant resolvedAt) {}
+
+  /** A linked channel whose thumbnail is due to be resolved again. */
+  public record StaleThumbnail(UUID userId, String youtubeChannelId) {}
+
+  /** The outcome of resolving a {@link StaleThumbnail}; a null url clears the stored one. */
+  public record ResolvedThumbnail(UUID userId, String youtubeChannelId, @Nullable String url) {}
+
+  private static final String FIND_SQL =
+      """
+      SELECT user_id, gravatar_hash, youtube_channel_id, youtube_thumbnail_url, resolved_at
+      FROM users.user_avatar_sources
+      WHERE user_id = ?
+      """;
+
+  private static final String UPSERT_SQL =
+      """
+      INSERT INTO users.user_avatar_sources
+          (user_id, gravatar_hash, youtube_channel_id, youtube_thumbnail_url, resolved_at)
+      VALUES (?, ?, ?, ?, ?)
+      ON CONFLICT (user_id) DO UPDATE SET
+          gravatar_hash = EXCLUDED.gravatar_hash,
+          youtube_channel_id = EXCLUDED.youtube_channel_id,
+          youtube_thumbnail_url = EXCLUDED.youtube_thumbnail_url,
+          resolved_at = EXCLUDED.resolved_at
+      """;
+
+  private static final String STALE_SQL =
+      """
+      SELECT user_id, youtube_channel_id
+      FROM users.user_avatar_sources
+      WHERE youtube_channel_id IS NOT NULL
+        AND (resolved_at IS NULL OR resolved_at < ?)
+      ORDER BY resolved_at NULLS FIRST
+      LIMIT ?
+      """;
+
+  // The channel check skips users who linked another channel since the row was read
+  private static final String RESOLVED_SQL =
+      """
+      UPDATE users.user_avatar_sources
+      SET youtube_thumbnail_url = ?, resolved_at = ?
+      WHERE user_id = ? AND youtube_channel_id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public Optional<AvatarSourcesRow> findById(UUID userId) {
+    return jdbcTemplate.query(FIND_SQL, UserAvatarSourcesRepository::mapRow, userId).stream()
+        .findFirst();
+  }
+
+  /** Inserts or replaces the row of {@code row.userId()}. */
+  public void upsert(AvatarSourcesRow row) {
+    jdbcTemplate.update(
+        UPSERT_SQL,
+        row.userId(),
+        row.gravatarHash(),
+        row.youtubeChannelId(),
+        row.youtubeThumbnailUrl(),
+        new SqlParameterValue(Types.TIMESTAMP_WITH_TIMEZONE, toOffsetDateTime(row.resolvedAt())));
+  }
+
+  /** Up to {@code limit} linked channels never resolved or last resolved before the cutoff. */
+  public List<StaleThumbnail> findStale(Instant resolvedBefore, int limit) {
+    return jdbcTemplate.query(
+        STALE_SQL,
+        (rs, rowNum) ->
+            new StaleThumbnail(
+                rs.getObject("user_id", UUID.class), rs.getString("youtube_channel_id")),
+        toOffsetDateTime(resolvedBefore),
+        limit);
+  }
+
+  /** Records the given outcomes as resolved at {@code resolvedAt}, in one JDBC batch. */
+  public void markResolved(List<ResolvedThumbnail> thumbnails, Instant resolvedAt) {
+    OffsetDateTime at = toOffsetDateTime(resolvedAt);
+    jdbcTemplate.batchUpdate(
+        RESOLVED_SQL,
+        thumbnails.stream()
+            .map(
+                thumbnail ->
+                    new Object[] {
+                      thumbnail.url(), at, thumbnail.userId(), thumbnail.youtubeChannelId()
+                    })
+            .toList());
+  }
+
+  private static AvatarSourcesRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+    Timestamp resolvedAt = rs.getTimestamp("resolved_at");
+    return new AvatarSourcesRow(
+        rs.getObject("user_id", UUID.class),
+        rs.getString("gravatar_hash"),
+        rs.getString("youtube_channel_id"),
+        rs.getString("youtube_thumbnail_url"),
+        resolvedAt == null ? null : resolvedAt.toInstant());
+  }
+
+  @Nullable
+  private static OffsetDateTime toOffsetDateTime(@Nullable Instant instant) {
+    return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,101 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset reads over the temporal tables: a user's change time is the latest {@code
+ * lower(sys_period)} of its user, privacy and social link rows. Like {@link UserExportRepository}
+ * it reads through a forward-only cursor, so callers must hold a transaction open.
+ */
+@Repository
+public class UserChangeRepository {
+
+  // Each branch is an index range scan from the cursor time, so only users changed since then are
+  // joined and sorted. The >= lets ties at the cursor time through to the (changed_at, id) filter.
+  private static final String CHANGES_SQL =
+      """
+      WITH changed AS (
+          SELECT id AS user_id FROM users.users
+          WHERE lower(sys_period) >= ? AND lower(sys_period) < ?
+          UNION
+          SELECT user_id FROM users.user_privacy_settings
+          WHERE lower(sys_period) >= ? AND lower(sys_period) < ?
+          UNION
+          SELECT user_id FROM users.user_social_links
+          WHERE lower(sys_period) >= ? AND lower(sys_period) < ?
+      )
+      SELECT u.id, c.changed_at, u.email, u.display_name, u.avatar_url, l.youtube, u.trust_tier,
+             COALESCE(p.social_links_visibility, 'REGISTERED') AS social_links_visibility,
+             COALESCE(p.submissions_visibility, 'PUBLIC') AS submissions_visibility
+      FROM changed
+      JOIN users.users u ON u.id = changed.user_id
+      LEFT JOIN users.user_privacy_settings p ON p.user_id = u.id
+      LEFT JOIN users.user_social_links l ON l.user_id = u.id
+      CROSS JOIN LATERAL (
+          SELECT GREATEST(lower(u.sys_period), lower(p.sys_period), lower(l.sys_period))
+              AS changed_at
+      ) c
+      WHERE (c.changed_at, u.id) > (?, ?) AND c.changed_at < ?
+      ORDER BY c.changed_at, u.id
+      LIMIT ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserChangeRepository(
+      DataSource dataSource, @Value("${app.changes.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  /**
+   * Passes users changed after {@code (afterTime, afterId)} and before {@code before} to {@code
+   * action} in {@code (changedAt, id)} order, at most {@code limit} of them.
+   */
+  public void forEachChanged(
+      Instant afterTime, UUID afterId, Instant before, int limit, Consumer<UserChangeRow> action) {
+    OffsetDateTime after = OffsetDateTime.ofInstant(afterTime, ZoneOffset.UTC);
+    OffsetDateTime until = OffsetDateTime.ofInstant(before, ZoneOffset.UTC);
+    jdbcTemplate.query(
+        CHANGES_SQL,
+        (RowCallbackHandler) rs -> action.accept(mapRow(rs)),
+        after,
+        until,
+        after,
+        until,
+        after,
+        until,
+        after,
+        afterId,
+        until,
+        limit);
+  }
+
+  private static UserChangeRow mapRow(ResultSet rs) throws SQLException {
+    Timestamp changedAt = rs.getTimestamp("changed_at");
+    return new UserChangeRow(
+        rs.getObject("id", UUID.class),
+        changedAt.toInstant(),
+        rs.getString("email"),
+        rs.getString("display_name"),
+        rs.getString("avatar_url"),
+        rs.getString("youtube"),
+        TrustTier.valueOf(rs.getString("trust_tier")),
+        Visibility.valueOf(rs.getString("social_links_visibility")),
+        Visibility.valueOf(rs.getString("submissions_visibility")));
+  }
+}
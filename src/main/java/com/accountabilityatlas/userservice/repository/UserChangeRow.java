@@ -0,0 +1,19 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+
+/** One user in the change feed, as of its latest change. */
+public record UserChangeRow(
+    UUID id,
+    Instant changedAt,
+    String email,
+    String displayName,
+    @Nullable String avatarUrl,
+    @Nullable String youtubeChannelId,
+    TrustTier trustTier,
+    Visibility socialLinksVisibility,
+    Visibility submissionsVisibility) {}
@@ -0,0 +1,68 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the export query through a forward-only JDBC cursor. The PostgreSQL driver only honours
+ * the fetch size inside a transaction, so callers must hold one open; rows are then pulled from the
+ * server {@code fetchSize} at a time instead of being materialised up front.
+ */
+@Repository
+public class UserExportRepository {
+
+  // No ORDER BY: the export has no ordering contract, and skipping the sort lets the server
+  // start returning rows immediately instead of spilling the whole join to disk first.
+  static final String EXPORT_SQL =
+      """
+      SELECT u.id, u.email, u.email_verified, u.display_name, u.avatar_url, u.trust_tier,
+             u.created_at,
+             s.submission_count, s.approved_count, s.rejected_count,
+             s.updated_at AS stats_updated_at
+      FROM users.users u
+      LEFT JOIN users.user_stats s ON s.user_id = u.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserExportRepository(
+      DataSource dataSource, @Value("${app.export.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  public void forEach(Consumer<UserExportRow> action) {
+    jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> action.accept(mapRow(rs)));
+  }
+
+  private static UserExportRow mapRow(ResultSet rs) throws SQLException {
+    return new UserExportRow(
+        rs.getObject("id", UUID.class),
+        rs.getString("email"),
+        rs.getBoolean("email_verified"),
+        rs.getString("display_name"),
+        rs.getString("avatar_url"),
+        TrustTier.valueOf(rs.getString("trust_tier")),
+        toInstant(rs.getTimestamp("created_at")),
+        rs.getInt("submission_count"),
+        rs.getInt("approved_count"),
+        rs.getInt("rejected_count"),
+        toInstant(rs.getTimestamp("stats_updated_at")));
+  }
+
+  @Nullable
+  private static Instant toInstant(@Nullable Timestamp timestamp) {
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+}
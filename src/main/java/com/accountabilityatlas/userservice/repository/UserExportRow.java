@@ -0,0 +1,20 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+
+/** One exported user joined with its stats. Stats columns are zero/null if the row is missing. */
+public record UserExportRow(
+    UUID id,
+    String email,
+    boolean emailVerified,
+    String displayName,
+    @Nullable String avatarUrl,
+    TrustTier trustTier,
+    Instant createdAt,
+    int submissionCount,
+    int approvedCount,
+    int rejectedCount,
+    @Nullable Instant statsUpdatedAt) {}
@@ -0,0 +1,179 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads import chunks with {@code COPY} into a transaction-scoped staging table and merges them
+ * into {@code users}, {@code user_stats}, {@code user_privacy_settings} and {@code
+ * user_avatar_sources} with one statement per table. Must be called inside a transaction: the
+ * staging tables are dropped on commit.
+ *
+ * <p>Ids are generated here as UUIDv7, like {@code User}'s, rather than by the column's v4
+ * default, so imported rows append to the primary key and keyset indexes in file order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+  public record CreatedUser(UUID id, String email) {}
+
+  /** A staged row that was not inserted; {@code emailExists} is false for in-file repeats. */
+  public record SkippedRow(int line, String email, boolean emailExists) {}
+
+  public record MergeResult(List<CreatedUser> created, List<SkippedRow> skipped) {}
+
+  private static final String CREATE_STAGING_SQL =
+      """
+      CREATE TEMP TABLE user_import_staging (
+          line_no INTEGER NOT NULL,
+          id UUID NOT NULL,
+          email VARCHAR(255) NOT NULL,
+          password_hash VARCHAR(255) NOT NULL,
+          display_name VARCHAR(100) NOT NULL,
+          email_verified BOOLEAN NOT NULL,
+          avatar_url VARCHAR(500),
+          trust_tier VARCHAR(20) NOT NULL,
+          social_links_visibility VARCHAR(20) NOT NULL,
+          submissions_visibility VARCHAR(20) NOT NULL
+      ) ON COMMIT DROP;
+      CREATE TEMP TABLE user_import_created (
+          id UUID NOT NULL,
+          email VARCHAR(255) NOT NULL
+      ) ON COMMIT DROP
+      """;
+
+  private static final String COPY_SQL =
+      "COPY user_import_staging (line_no, id, email, password_hash, display_name, email_verified,"
+          + " avatar_url, trust_tier, social_links_visibility, submissions_visibility)"
+          + " FROM STDIN (FORMAT csv)";
+
+  // The first line for each email wins; ON CONFLICT covers a concurrent registration that
+  // commits between the NOT EXISTS check and the insert.
+  private static final String MERGE_USERS_SQL =
+      """
+      WITH inserted AS (
+          INSERT INTO users.users
+              (id, email, email_verified, password_hash, display_name, avatar_url, trust_tier)
+          SELECT DISTINCT ON (s.email)
+                 s.id, s.email, s.email_verified, s.password_hash, s.display_name, s.avatar_url,
+                 s.trust_tier
+          FROM user_import_staging s
+          WHERE NOT EXISTS (SELECT 1 FROM users.users u WHERE u.email = s.email)
+          ORDER BY s.email, s.line_no
+          ON CONFLICT (email) DO NOTHING
+          RETURNING id, email
+      )
+      INSERT INTO user_import_created (id, email) SELECT id, email FROM inserted
+      """;
+
+  private static final String MERGE_STATS_SQL =
+      """
+      INSERT INTO users.user_stats (user_id, updated_at)
+      SELECT id, NOW() FROM user_import_created
+      """;
+
+  private static final String MERGE_PRIVACY_SQL =
+      """
+      INSERT INTO users.user_privacy_settings
+          (user_id, social_links_visibility, submissions_visibility)
+      SELECT c.id, s.social_links_visibility, s.submissions_visibility
+      FROM user_import_created c
+      JOIN (
+          SELECT DISTINCT ON (email) email, social_links_visibility, submissions_visibility
+          FROM user_import_staging
+          ORDER BY email, line_no
+      ) s ON s.email = c.email
+      """;
+
+  // Same hash as AvatarService; imported users have no YouTube link yet
+  private static final String MERGE_AVATAR_SOURCES_SQL =
+      """
+      INSERT INTO users.user_avatar_sources (user_id, gravatar_hash, resolved_at)
+      SELECT id, md5(lower(btrim(email))), NOW() FROM user_import_created
+      """;
+
+  private static final String SKIPPED_SQL =
+      """
+      SELECT s.line_no, s.email, c.email IS NULL AS email_exists
+      FROM (
+          SELECT line_no, email,
+                 row_number() OVER (PARTITION BY email ORDER BY line_no) AS occurrence
+          FROM user_import_staging
+      ) s
+      LEFT JOIN user_import_created c ON c.email = s.email
+      WHERE c.email IS NULL OR s.occurrence > 1
+      ORDER BY s.line_no
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public MergeResult stageAndMerge(List<UserImportRow> rows) {
+    jdbcTemplate.execute(CREATE_STAGING_SQL);
+    copy(rows);
+    jdbcTemplate.execute("ANALYZE user_import_staging");
+
+    jdbcTemplate.update(MERGE_USERS_SQL);
+    jdbcTemplate.update(MERGE_STATS_SQL);
+    jdbcTemplate.update(MERGE_PRIVACY_SQL);
+    jdbcTemplate.update(MERGE_AVATAR_SOURCES_SQL);
+
+    List<CreatedUser> created =
+        jdbcTemplate.query(
+            "SELECT id, email FROM user_import_created",
+            (rs, rowNum) -> new CreatedUser(rs.getObject("id", UUID.class), rs.getString("email")));
+    List<SkippedRow> skipped =
+        jdbcTemplate.query(
+            SKIPPED_SQL,
+            (rs, rowNum) ->
+                new SkippedRow(
+                    rs.getInt("line_no"), rs.getString("email"), rs.getBoolean("email_exists")));
+    return new MergeResult(created, skipped);
+  }
+
+  private void copy(List<UserImportRow> rows) {
+    StringBuilder csv = new StringBuilder(rows.size() * 160);
+    for (UserImportRow row : rows) {
+      csv.append(row.line()).append(',');
+      csv.append(UuidVersion7Strategy.INSTANCE.generateUuid(null)).append(',');
+      appendQuoted(csv, row.email()).append(',');
+      appendQuoted(csv, row.passwordHash()).append(',');
+      appendQuoted(csv, row.displayName()).append(',');
+      csv.append(row.emailVerified() ? 't' : 'f').append(',');
+      appendQuoted(csv, row.avatarUrl()).append(',');
+      csv.append(row.trustTier().name()).append(',');
+      csv.append(row.socialLinksVisibility().name()).append(',');
+      csv.append(row.submissionsVisibility().name()).append('\n');
+    }
+    jdbcTemplate.execute(
+        (ConnectionCallback<Long>)
+            connection -> {
+              try {
+                return connection
+                    .unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(csv.toString()));
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+  }
+
+  /** In COPY's CSV format an unquoted empty field is NULL, so only nulls are left bare. */
+  private static StringBuilder appendQuoted(StringBuilder csv, @Nullable String value) {
+    if (value == null) {
+      return csv;
+    }
+    return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+  }
+}
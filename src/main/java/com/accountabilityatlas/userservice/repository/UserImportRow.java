@@ -0,0 +1,17 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import org.springframework.lang.Nullable;
+
+/** A validated import record. {@code line} is the 1-based position in the uploaded file. */
+public record UserImportRow(
+    int line,
+    String email,
+    String passwordHash,
+    String displayName,
+    boolean emailVerified,
+    @Nullable String avatarUrl,
+    TrustTier trustTier,
+    Visibility socialLinksVisibility,
+    Visibility submissionsVisibility) {}
@@ -0,0 +1,70 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/** Reads the rows behind {@code UserProfileChanged} snapshots and numbers them. */
+@Repository
+@RequiredArgsConstructor
+public class UserProfileSnapshotRepository {
+
+  /** Current profile of one user, with a freshly drawn snapshot version. */
+  public record ProfileSnapshotRow(
+      UUID userId,
+      long version,
+      String email,
+      String displayName,
+      @Nullable String avatarUrl,
+      @Nullable String youtubeChannelId,
+      TrustTier trustTier,
+      Visibility socialLinksVisibility,
+      Visibility submissionsVisibility) {}
+
+  // Users without a privacy row get the column defaults of user_privacy_settings
+  private static final String SNAPSHOT_SQL =
+      """
+      SELECT u.id, nextval('users.user_profile_version_seq') AS version,
+             u.email, u.display_name, u.avatar_url, l.youtube, u.trust_tier,
+             COALESCE(p.social_links_visibility, 'REGISTERED') AS social_links_visibility,
+             COALESCE(p.submissions_visibility, 'PUBLIC') AS submissions_visibility
+      FROM users.users u
+      LEFT JOIN users.user_privacy_settings p ON p.user_id = u.id
+      LEFT JOIN users.user_social_links l ON l.user_id = u.id
+      WHERE u.id = ANY (?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Reads the listed users as the caller's transaction sees them; unknown ids are skipped. The
+   * caller must hold the users' row locks (or have created the rows) for the versions to follow
+   * commit order, and must have flushed pending JPA changes.
+   */
+  public List<ProfileSnapshotRow> snapshot(Collection<UUID> userIds) {
+    return jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(SNAPSHOT_SQL);
+          statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+          return statement;
+        },
+        (rs, rowNum) ->
+            new ProfileSnapshotRow(
+                rs.getObject("id", UUID.class),
+                rs.getLong("version"),
+                rs.getString("email"),
+                rs.getString("display_name"),
+                rs.getString("avatar_url"),
+                rs.getString("youtube"),
+                TrustTier.valueOf(rs.getString("trust_tier")),
+                Visibility.valueOf(rs.getString("social_links_visibility")),
+                Visibility.valueOf(rs.getString("submissions_visibility"))));
+  }
+}
@@ -1,12 +1,20 @@
 package com.accountabilityatlas.userservice.repository;
 
 import com.accountabilityatlas.userservice.domain.User;
+import jakarta.persistence.LockModeType;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserSearchRepository {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  /** Loads a user with {@code SELECT ... FOR UPDATE}, held until the transaction ends. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT u FROM User u WHERE u.id = :id")
+  Optional<User> findByIdForUpdate(UUID id);
 }
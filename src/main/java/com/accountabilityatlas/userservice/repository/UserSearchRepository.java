@@ -0,0 +1,28 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.User;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+
+/** Admin user search with keyset pagination, implemented in {@link UserSearchRepositoryImpl}. */
+public interface UserSearchRepository {
+
+  /**
+   * Returns users ordered by {@code (createdAt, id)} descending.
+   *
+   * @param query display name substring or email prefix, or null for no text filter
+   * @param trustTier trust tier filter, or null for all tiers
+   * @param afterCreatedAt createdAt of the last user on the previous page, or null for page one
+   * @param afterId id of the last user on the previous page, or null for page one
+   * @param limit maximum number of users to return
+   */
+  List<User> search(
+      @Nullable String query,
+      @Nullable TrustTier trustTier,
+      @Nullable Instant afterCreatedAt,
+      @Nullable UUID afterId,
+      int limit);
+}
@@ -0,0 +1,80 @@
+package com.accountabilityatlas.userservice.repository;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+
+/**
+ * Builds the search query from only the filters that are present, so PostgreSQL plans each shape
+ * separately: text queries use the trigram GIN indexes on {@code display_name} and {@code email},
+ * and paging walks {@code idx_users_created_at_id} from the cursor instead of counting past an
+ * offset.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+  private static final char LIKE_ESCAPE = '!';
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<User> search(
+      @Nullable String query,
+      @Nullable TrustTier trustTier,
+      @Nullable Instant afterCreatedAt,
+      @Nullable UUID afterId,
+      int limit) {
+    List<String> conditions = new ArrayList<>();
+    if (trustTier != null) {
+      conditions.add("u.trustTier = :trustTier");
+    }
+    if (query != null) {
+      conditions.add(
+          "(u.displayName ilike :contains escape '!' or u.email like :prefix escape '!')");
+    }
+    if (afterCreatedAt != null && afterId != null) {
+      conditions.add(
+          "(u.createdAt < :afterCreatedAt"
+              + " or (u.createdAt = :afterCreatedAt and u.id < :afterId))");
+    }
+
+    StringBuilder jpql = new StringBuilder("select u from User u");
+    if (!conditions.isEmpty()) {
+      jpql.append(" where ").append(String.join(" and ", conditions));
+    }
+    jpql.append(" order by u.createdAt desc, u.id desc");
+
+    TypedQuery<User> typedQuery = entityManager.createQuery(jpql.toString(), User.class);
+    if (trustTier != null) {
+      typedQuery.setParameter("trustTier", trustTier);
+    }
+    if (query != null) {
+      String escaped = escapeLike(query);
+      typedQuery.setParameter("contains", "%" + escaped + "%");
+      typedQuery.setParameter("prefix", escaped.toLowerCase(Locale.ROOT) + "%");
+    }
+    if (afterCreatedAt != null && afterId != null) {
+      typedQuery.setParameter("afterCreatedAt", afterCreatedAt);
+      typedQuery.setParameter("afterId", afterId);
+    }
+    return typedQuery.setMaxResults(limit).getResultList();
+  }
+
+  private static String escapeLike(String value) {
+    StringBuilder escaped = new StringBuilder(value.length());
+    for (char c : value.toCharArray()) {
+      if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+        escaped.append(LIKE_ESCAPE);
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
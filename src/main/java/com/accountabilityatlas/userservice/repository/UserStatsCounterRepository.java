@@ -0,0 +1,131 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Applies counter changes to {@code users.user_stats} in the database rather than through the
+ * {@code UserStats} entity, so concurrent consumers cannot overwrite each other's increments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatsCounterRepository {
+
+  /** A user's counters as they stand after an update. */
+  public record UserStatsCounters(
+      UUID userId, int approvedCount, @Nullable Instant lastRejectedAt) {}
+
+  // Upserts so a user whose stats row is missing gets one instead of losing the event; the
+  // users join skips ids that do not exist rather than failing on the foreign key.
+  private static final String APPLY_SQL =
+      """
+      INSERT INTO users.user_stats
+          (user_id, submission_count, approved_count, rejected_count, last_rejected_at, updated_at)
+      SELECT u.id, GREATEST(:submissions, 0), GREATEST(:approved, 0), GREATEST(:rejected, 0),
+             :rejectedAt, NOW()
+      FROM users.users u
+      WHERE u.id = :userId
+      ON CONFLICT (user_id) DO UPDATE SET
+          submission_count = GREATEST(user_stats.submission_count + :submissions, 0),
+          approved_count = GREATEST(user_stats.approved_count + :approved, 0),
+          rejected_count = GREATEST(user_stats.rejected_count + :rejected, 0),
+          last_rejected_at = GREATEST(user_stats.last_rejected_at, EXCLUDED.last_rejected_at),
+          updated_at = NOW()
+      RETURNING user_id, approved_count, last_rejected_at
+      """;
+
+  // Locks the target rows in user id order so overlapping batches from parallel consumers queue
+  // behind each other instead of deadlocking. Rows that do not exist are left out.
+  private static final String APPLY_ALL_SQL =
+      """
+      UPDATE users.user_stats s
+      SET submission_count = GREATEST(s.submission_count + v.submissions, 0),
+          approved_count = GREATEST(s.approved_count + v.approved, 0),
+          rejected_count = GREATEST(s.rejected_count + v.rejected, 0),
+          last_rejected_at = GREATEST(s.last_rejected_at, v.rejected_at),
+          updated_at = NOW()
+      FROM (
+          SELECT d.*
+          FROM (VALUES %s) AS d(user_id, submissions, approved, rejected, rejected_at)
+          JOIN users.user_stats x ON x.user_id = d.user_id
+          ORDER BY d.user_id
+          FOR UPDATE OF x
+      ) v
+      WHERE s.user_id = v.user_id
+      RETURNING s.user_id, s.approved_count, s.last_rejected_at
+      """;
+
+  private static final String VALUES_ROW = "(?::uuid, ?::int, ?::int, ?::int, ?::timestamptz)";
+
+  private static final RowMapper<UserStatsCounters> COUNTERS_MAPPER =
+      (rs, rowNum) -> {
+        Timestamp lastRejectedAt = rs.getTimestamp("last_rejected_at");
+        return new UserStatsCounters(
+            rs.getObject("user_id", UUID.class),
+            rs.getInt("approved_count"),
+            lastRejectedAt == null ? null : lastRejectedAt.toInstant());
+      };
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds {@code delta} to the user's counters in one statement.
+   *
+   * @return the counters after the change, or empty if the user does not exist
+   */
+  public Optional<UserStatsCounters> apply(UUID userId, StatsDelta delta) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("submissions", delta.submissions())
+            .addValue("approved", delta.approved())
+            .addValue("rejected", delta.rejected())
+            .addValue(
+                "rejectedAt", toOffsetDateTime(delta.rejectedAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+    List<UserStatsCounters> updated = jdbcTemplate.query(APPLY_SQL, params, COUNTERS_MAPPER);
+    return updated.stream().findFirst();
+  }
+
+  /**
+   * Applies one delta per user with a single {@code UPDATE ... FROM (VALUES ...)}. Users without a
+   * stats row are not updated and not returned; callers fall back to {@link #apply} for them.
+   *
+   * @return the counters after the change for every user that was updated
+   */
+  public List<UserStatsCounters> applyAll(Map<UUID, StatsDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return List.of();
+    }
+    String sql =
+        APPLY_ALL_SQL.formatted(String.join(", ", Collections.nCopies(deltas.size(), VALUES_ROW)));
+    List<Object> args = new ArrayList<>(deltas.size() * 5);
+    deltas.forEach(
+        (userId, delta) -> {
+          args.add(userId);
+          args.add(delta.submissions());
+          args.add(delta.approved());
+          args.add(delta.rejected());
+          args.add(toOffsetDateTime(delta.rejectedAt()));
+        });
+    return jdbcTemplate.getJdbcTemplate().query(sql, COUNTERS_MAPPER, args.toArray());
+  }
+
+  private static OffsetDateTime toOffsetDateTime(@Nullable Instant instant) {
+    return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
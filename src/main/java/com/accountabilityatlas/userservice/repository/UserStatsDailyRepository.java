@@ -0,0 +1,66 @@
+package com.accountabilityatlas.userservice.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class UserStatsDailyRepository {
+
+  /** Counts to add to one user's bucket. */
+  public record BucketIncrement(UUID userId, int submissions, int approved, int rejected) {}
+
+  private static final String RECORD_SQL =
+      """
+      INSERT INTO users.user_stats_daily
+          (user_id, bucket_date, submission_count, approved_count, rejected_count)
+      VALUES (?, ?, ?, ?, ?)
+      ON CONFLICT (user_id, bucket_date) DO UPDATE SET
+          submission_count = user_stats_daily.submission_count + EXCLUDED.submission_count,
+          approved_count = user_stats_daily.approved_count + EXCLUDED.approved_count,
+          rejected_count = user_stats_daily.rejected_count + EXCLUDED.rejected_count
+      """;
+
+  // Deletes by ctid in bounded batches so pruning never holds one long transaction
+  private static final String PRUNE_SQL =
+      """
+      DELETE FROM users.user_stats_daily
+      WHERE ctid = ANY (ARRAY(
+          SELECT ctid FROM users.user_stats_daily WHERE bucket_date < ? LIMIT ?))
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds the given counts to each user's bucket for {@code day}, creating buckets as needed, in
+   * one JDBC batch.
+   */
+  public void recordAll(LocalDate day, List<BucketIncrement> increments) {
+    jdbcTemplate.batchUpdate(
+        RECORD_SQL,
+        increments.stream()
+            .map(
+                increment ->
+                    new Object[] {
+                      increment.userId(),
+                      day,
+                      increment.submissions(),
+                      increment.approved(),
+                      increment.rejected()
+                    })
+            .toList());
+  }
+
+  /**
+   * Deletes up to {@code limit} buckets older than {@code cutoff}.
+   *
+   * @return the number of buckets deleted
+   */
+  public int deleteBefore(LocalDate cutoff, int limit) {
+    return jdbcTemplate.update(PRUNE_SQL, cutoff, limit);
+  }
+}
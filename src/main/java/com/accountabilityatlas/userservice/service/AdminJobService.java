@@ -0,0 +1,207 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.SchedulingConfig;
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.exception.AdminJobNotFoundException;
+import com.accountabilityatlas.userservice.repository.AdminJobRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs admin operations in the background on a small bounded pool and records their lifecycle in
+ * {@code admin_jobs}. Work that processes items in chunks should call {@link #recordProgress}
+ * inside each chunk's transaction so the reported counts never run ahead of what is committed.
+ *
+ * <p>Jobs live in the memory of the instance that accepted them, which refreshes their {@code
+ * heartbeat_at} while they are queued or running. A PENDING or RUNNING job whose heartbeat is
+ * older than {@code app.admin-jobs.orphan-timeout} was lost with its instance and is marked FAILED
+ * by whichever instance notices first; from then on {@link #recordProgress} refuses it, so work
+ * that is merely stalled cannot commit further chunks.
+ */
+@Service
+@Slf4j
+public class AdminJobService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final Set<AdminJobStatus> LIVE =
+      EnumSet.of(AdminJobStatus.PENDING, AdminJobStatus.RUNNING);
+
+  private final AdminJobRepository adminJobRepository;
+  private final ExecutorService executor;
+  private final Duration orphanTimeout;
+  private final Set<UUID> ownJobs = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public AdminJobService(
+      AdminJobRepository adminJobRepository,
+      @Value("${app.admin-jobs.threads:2}") int threads,
+      @Value("${app.admin-jobs.queue-capacity:50}") int queueCapacity,
+      @Value("${app.admin-jobs.orphan-timeout:5m}") Duration orphanTimeout) {
+    this(
+        adminJobRepository,
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("admin-job-")),
+        orphanTimeout);
+  }
+
+  AdminJobService(
+      AdminJobRepository adminJobRepository, ExecutorService executor, Duration orphanTimeout) {
+    this.adminJobRepository = adminJobRepository;
+    this.executor = executor;
+    this.orphanTimeout = orphanTimeout;
+  }
+
+  /**
+   * Persists a PENDING job and queues {@code work} to run with the job id. If the queue is full
+   * the job is returned already FAILED rather than blocking the caller.
+   */
+  public AdminJob start(
+      AdminJobType type, int totalItems, @Nullable UUID requestedBy, Consumer<UUID> work) {
+    return submit(create(type, totalItems, requestedBy), work);
+  }
+
+  /**
+   * Persists a PENDING job without queueing any work yet, for callers that need the job id while
+   * preparing its input. The job must then be handed to {@link #submit} or {@link #fail}.
+   */
+  public AdminJob create(AdminJobType type, int totalItems, @Nullable UUID requestedBy) {
+    AdminJob job = new AdminJob();
+    job.setJobType(type);
+    job.setTotalItems(totalItems);
+    job.setRequestedBy(requestedBy);
+    AdminJob saved = adminJobRepository.save(job);
+    ownJobs.add(saved.getId());
+    return saved;
+  }
+
+  /** Queues {@code work} for a job from {@link #create}; returns it FAILED if the queue is full. */
+  public AdminJob submit(AdminJob job, Consumer<UUID> work) {
+    UUID jobId = job.getId();
+    try {
+      executor.execute(() -> run(jobId, work));
+    } catch (RejectedExecutionException e) {
+      log.warn("Admin job queue is full; rejecting {} job {}", job.getJobType(), jobId);
+      fail(jobId, "Job queue is full, try again later");
+      return getJob(jobId);
+    }
+    log.info("Queued {} job {} for {} items", job.getJobType(), jobId, job.getTotalItems());
+    return job;
+  }
+
+  /** Marks a job from {@link #create} FAILED without running it. */
+  public void fail(UUID jobId, String error) {
+    try {
+      markFailed(jobId, error);
+    } finally {
+      ownJobs.remove(jobId);
+    }
+  }
+
+  public AdminJob getJob(UUID id) {
+    return adminJobRepository.findById(id).orElseThrow(AdminJobNotFoundException::new);
+  }
+
+  /**
+   * Adds to the job's counters. Called inside a chunk's transaction, it also stops that chunk from
+   * committing once the job is no longer RUNNING.
+   *
+   * @throws IllegalStateException if the job has been marked finished, e.g. as orphaned
+   */
+  public void recordProgress(UUID jobId, int processed, int changed) {
+    if (adminJobRepository.addProgress(jobId, AdminJobStatus.RUNNING, processed, changed) == 0) {
+      throw new IllegalStateException("Admin job " + jobId + " is no longer running");
+    }
+  }
+
+  /**
+   * Refreshes the heartbeat of the jobs queued or running here, then fails other instances' jobs
+   * whose heartbeat has stopped. The first run after startup cleans up after a previous crash. It
+   * has a thread of its own, so long scheduled runs cannot delay it past the orphan timeout.
+   */
+  @Scheduled(
+      fixedDelayString = "${app.admin-jobs.heartbeat-interval:30s}",
+      scheduler = SchedulingConfig.ADMIN_JOB_HEARTBEAT_SCHEDULER)
+  public void heartbeatScheduled() {
+    try {
+      heartbeat();
+      failOrphanedJobs();
+    } catch (RuntimeException e) {
+      log.error("Admin job heartbeat failed", e);
+    }
+  }
+
+  void heartbeat() {
+    if (!ownJobs.isEmpty()) {
+      adminJobRepository.touch(Set.copyOf(ownJobs), LIVE, Instant.now());
+    }
+  }
+
+  int failOrphanedJobs() {
+    Instant now = Instant.now();
+    int failed =
+        adminJobRepository.failStale(
+            LIVE,
+            now.minus(orphanTimeout),
+            AdminJobStatus.FAILED,
+            now,
+            "Job was lost when its instance stopped");
+    if (failed > 0) {
+      log.warn("Marked {} orphaned admin jobs as failed", failed);
+    }
+    return failed;
+  }
+
+  private void run(UUID jobId, Consumer<UUID> work) {
+    try {
+      if (adminJobRepository.markStarted(jobId, AdminJobStatus.RUNNING, Instant.now()) == 0) {
+        log.warn("Admin job {} was finished before it started; skipping", jobId);
+        return;
+      }
+      work.accept(jobId);
+      adminJobRepository.markFinished(jobId, LIVE, AdminJobStatus.COMPLETED, Instant.now(), null);
+      log.info("Admin job {} completed", jobId);
+    } catch (RuntimeException e) {
+      log.error("Admin job {} failed", jobId, e);
+      markFailed(jobId, String.valueOf(e.getMessage()));
+    } finally {
+      ownJobs.remove(jobId);
+    }
+  }
+
+  // A job already finished, e.g. failed as orphaned, keeps its first outcome
+  private void markFailed(UUID jobId, String error) {
+    String truncated =
+        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    adminJobRepository.markFinished(jobId, LIVE, AdminJobStatus.FAILED, Instant.now(), truncated);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
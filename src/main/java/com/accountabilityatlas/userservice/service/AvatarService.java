@@ -2,23 +2,33 @@ package com.accountabilityatlas.userservice.service;
 
 import com.accountabilityatlas.userservice.client.YouTubeClient;
 import com.accountabilityatlas.userservice.domain.UserSocialLinks;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.AvatarSourcesRow;
 import com.accountabilityatlas.userservice.web.model.AvatarSources;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.HexFormat;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
-/** Resolves avatar URLs from Gravatar (email hash) and YouTube (channel thumbnail). */
+/**
+ * Resolves avatar URLs from Gravatar (email hash) and YouTube (channel thumbnail). Resolved sources
+ * are kept in {@code user_avatar_sources} so profile reads neither hash nor call out; {@link
+ * AvatarSourcesRefresher} keeps their YouTube thumbnails current.
+ */
 @Service
 @RequiredArgsConstructor
 public class AvatarService {
 
   private final YouTubeClient youTubeClient;
+  private final UserAvatarSourcesRepository avatarSourcesRepository;
 
   /**
    * Generates a Gravatar URL from the user's email address.
@@ -27,25 +37,51 @@ public class AvatarService {
    * @return Gravatar URL with {@code d=404} to return 404 when no avatar exists
    */
   public URI resolveGravatarUrl(String email) {
-    String normalized = email.trim().toLowerCase(Locale.ROOT);
-    String hash = md5Hex(normalized);
-    return URI.create("https://gravatar.com/avatar/" + hash + "?d=404");
+    return gravatarUrl(gravatarHash(email));
   }
 
   /**
-   * Fetches the YouTube channel thumbnail URL via the YouTube Data API.
+   * Returns the YouTube channel thumbnail URL if it is already cached. Never waits for the YouTube
+   * Data API: an unknown or aging thumbnail is looked up in the background instead.
    *
    * @param youtubeChannelId the YouTube channel ID
-   * @return the thumbnail URL, or empty if unavailable
+   * @return the thumbnail URL, or empty if unavailable or not known yet
    */
   public Optional<URI> resolveYoutubeThumbnailUrl(String youtubeChannelId) {
-    return Optional.ofNullable(youTubeClient.getChannelThumbnailUrl(youtubeChannelId))
+    return Optional.ofNullable(youTubeClient.getCachedChannelThumbnailUrl(youtubeChannelId))
         .map(URI::create);
   }
 
   /**
-   * Builds {@link AvatarSources} for a user. Gravatar is always resolved. YouTube is resolved only
-   * when the user has a YouTube channel ID in their social links.
+   * Returns the stored avatar sources of a user. Users without a stored row yet are resolved on the
+   * spot as by {@link #getAvatarSources(String, UserSocialLinks)}, and so is a linked channel whose
+   * thumbnail the refresher has not resolved yet.
+   *
+   * @param userId the user's id
+   * @param email the user's email address
+   * @param socialLinks the user's social links, may be null
+   * @return populated avatar sources
+   */
+  public AvatarSources getAvatarSources(
+      UUID userId, String email, @Nullable UserSocialLinks socialLinks) {
+    Optional<AvatarSourcesRow> stored = avatarSourcesRepository.findById(userId);
+    if (stored.isEmpty()) {
+      return getAvatarSources(email, socialLinks);
+    }
+    AvatarSourcesRow row = stored.get();
+    AvatarSources sources = new AvatarSources();
+    sources.setGravatar(gravatarUrl(row.gravatarHash()));
+    if (row.youtubeThumbnailUrl() != null) {
+      sources.setYoutube(URI.create(row.youtubeThumbnailUrl()));
+    } else if (row.resolvedAt() == null && row.youtubeChannelId() != null) {
+      resolveYoutubeThumbnailUrl(row.youtubeChannelId()).ifPresent(sources::setYoutube);
+    }
+    return sources;
+  }
+
+  /**
+   * Builds {@link AvatarSources} for a user. Gravatar is always resolved. YouTube is included only
+   * when the user has a YouTube channel ID in their social links and its thumbnail is cached.
    *
    * @param email the user's email address
    * @param socialLinks the user's social links, may be null
@@ -55,15 +91,48 @@ public class AvatarService {
     AvatarSources sources = new AvatarSources();
     sources.setGravatar(resolveGravatarUrl(email));
 
-    if (socialLinks != null
-        && socialLinks.getYoutube() != null
-        && !socialLinks.getYoutube().isBlank()) {
-      resolveYoutubeThumbnailUrl(socialLinks.getYoutube()).ifPresent(sources::setYoutube);
+    String youtube = youtubeChannelId(socialLinks);
+    if (youtube != null) {
+      resolveYoutubeThumbnailUrl(youtube).ifPresent(sources::setYoutube);
     }
 
     return sources;
   }
 
+  /**
+   * Stores the avatar sources of a user whose email or YouTube link was just set, in the caller's
+   * transaction. A thumbnail that is not cached yet is left to {@link AvatarSourcesRefresher}.
+   *
+   * @param userId the user's id
+   * @param email the user's email address
+   * @param socialLinks the user's social links, may be null
+   */
+  public void storeAvatarSources(UUID userId, String email, @Nullable UserSocialLinks socialLinks) {
+    String youtube = youtubeChannelId(socialLinks);
+    String thumbnailUrl =
+        youtube == null ? null : youTubeClient.getCachedChannelThumbnailUrl(youtube);
+    // Without a channel there is nothing to resolve; a missing thumbnail is resolved by the job
+    Instant resolvedAt = youtube == null || thumbnailUrl != null ? Instant.now() : null;
+    avatarSourcesRepository.upsert(
+        new AvatarSourcesRow(userId, gravatarHash(email), youtube, thumbnailUrl, resolvedAt));
+  }
+
+  @Nullable
+  private static String youtubeChannelId(@Nullable UserSocialLinks socialLinks) {
+    if (socialLinks == null || socialLinks.getYoutube() == null) {
+      return null;
+    }
+    return socialLinks.getYoutube().isBlank() ? null : socialLinks.getYoutube();
+  }
+
+  private static URI gravatarUrl(String hash) {
+    return URI.create("https://gravatar.com/avatar/" + hash + "?d=404");
+  }
+
+  private String gravatarHash(String email) {
+    return md5Hex(email.trim().toLowerCase(Locale.ROOT));
+  }
+
   private String md5Hex(String input) {
     try {
       MessageDigest md = MessageDigest.getInstance("MD5");
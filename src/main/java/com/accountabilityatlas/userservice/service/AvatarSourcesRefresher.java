@@ -0,0 +1,87 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.client.ThumbnailLookup;
+import com.accountabilityatlas.userservice.client.YouTubeClient;
+import com.accountabilityatlas.userservice.config.AvatarProperties;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.ResolvedThumbnail;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.StaleThumbnail;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the YouTube thumbnails in {@code user_avatar_sources} that were never resolved or are
+ * older than {@code app.avatars.max-age}, one batched YouTube lookup per batch. A channel that no
+ * longer exists loses its stored thumbnail; one whose lookup failed keeps it and stays due.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarSourcesRefresher {
+
+  private final UserAvatarSourcesRepository avatarSourcesRepository;
+  private final YouTubeClient youTubeClient;
+  private final AvatarProperties properties;
+
+  @Scheduled(cron = "${app.avatars.refresh-cron:0 */10 * * * *}", zone = "UTC")
+  public void runScheduled() {
+    refreshStale();
+  }
+
+  /**
+   * Resolves stale thumbnails in batches of {@code app.avatars.refresh-batch-size}, up to {@code
+   * app.avatars.refresh-max-batches} of them. Stops after a batch with failed lookups, which would
+   * otherwise come straight back in the next one.
+   *
+   * @return the number of channels resolved
+   */
+  public int refreshStale() {
+    Instant cutoff = Instant.now().minus(properties.getMaxAge());
+    int batchSize = properties.getRefreshBatchSize();
+    int resolved = 0;
+    for (int batch = 0; batch < properties.getRefreshMaxBatches(); batch++) {
+      List<StaleThumbnail> stale = avatarSourcesRepository.findStale(cutoff, batchSize);
+      if (stale.isEmpty()) {
+        break;
+      }
+      Map<String, ThumbnailLookup> lookups =
+          youTubeClient.lookupChannelThumbnails(
+              stale.stream().map(StaleThumbnail::youtubeChannelId).toList());
+      List<ResolvedThumbnail> outcomes = new ArrayList<>(stale.size());
+      for (StaleThumbnail thumbnail : stale) {
+        switch (lookups.get(thumbnail.youtubeChannelId())) {
+          case ThumbnailLookup.Found found ->
+              outcomes.add(
+                  new ResolvedThumbnail(
+                      thumbnail.userId(), thumbnail.youtubeChannelId(), found.url()));
+          case ThumbnailLookup.NotFound notFound ->
+              outcomes.add(
+                  new ResolvedThumbnail(thumbnail.userId(), thumbnail.youtubeChannelId(), null));
+          case ThumbnailLookup.Failed failed -> {}
+          case null -> {}
+        }
+      }
+      avatarSourcesRepository.markResolved(outcomes, Instant.now());
+      resolved += outcomes.size();
+      if (outcomes.size() < stale.size()) {
+        log.warn(
+            "{} YouTube thumbnail lookups failed, retrying on the next run",
+            stale.size() - outcomes.size());
+        break;
+      }
+      if (stale.size() < batchSize) {
+        break;
+      }
+    }
+    if (resolved > 0) {
+      log.info("Resolved {} stored YouTube thumbnails", resolved);
+    }
+    return resolved;
+  }
+}
@@ -0,0 +1,105 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserTrustTierChangedEvent;
+import com.accountabilityatlas.userservice.repository.TrustTierBulkRepository;
+import com.accountabilityatlas.userservice.repository.TrustTierBulkRepository.TierChange;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Changes the trust tier of many users as a background {@link AdminJob}. Each chunk is one {@code
+ * UPDATE ... RETURNING} in its own transaction, together with the changed users' profile
+ * snapshots and tier change events, so a chunk's events exist exactly when its changes do.
+ */
+@Service
+@Slf4j
+public class BulkTrustTierService {
+
+  private final TrustTierBulkRepository trustTierBulkRepository;
+  private final AdminJobService adminJobService;
+  private final EventPublisher eventPublisher;
+  private final ProfileSnapshotPublisher profileSnapshotPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  public BulkTrustTierService(
+      TrustTierBulkRepository trustTierBulkRepository,
+      AdminJobService adminJobService,
+      EventPublisher eventPublisher,
+      ProfileSnapshotPublisher profileSnapshotPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.admin-jobs.trust-tier-chunk-size:500}") int chunkSize) {
+    this.trustTierBulkRepository = trustTierBulkRepository;
+    this.adminJobService = adminJobService;
+    this.eventPublisher = eventPublisher;
+    this.profileSnapshotPublisher = profileSnapshotPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+  }
+
+  public AdminJob submit(
+      List<UUID> userIds, TrustTier newTier, @Nullable String reason, @Nullable UUID requestedBy) {
+    // Sorted so chunks lock rows in the same order as the per-chunk FOR UPDATE
+    List<UUID> ids = userIds.stream().distinct().sorted().toList();
+    UserTrustTierChangedEvent.ChangeReason changeReason =
+        UserTrustTierChangedEvent.ChangeReason.fromReasonText(reason);
+    return adminJobService.start(
+        AdminJobType.BULK_TRUST_TIER,
+        ids.size(),
+        requestedBy,
+        jobId -> apply(jobId, ids, newTier, changeReason));
+  }
+
+  private void apply(
+      UUID jobId,
+      List<UUID> ids,
+      TrustTier newTier,
+      UserTrustTierChangedEvent.ChangeReason changeReason) {
+    for (int start = 0; start < ids.size(); start += chunkSize) {
+      List<UUID> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+      List<TierChange> changes =
+          transactionTemplate.execute(
+              status -> {
+                List<TierChange> applied = trustTierBulkRepository.updateTrustTier(chunk, newTier);
+                adminJobService.recordProgress(jobId, chunk.size(), applied.size());
+                profileSnapshotPublisher.publish(
+                    applied.stream().map(TierChange::userId).toList());
+                if (!applied.isEmpty()) {
+                  Instant now = Instant.now();
+                  eventPublisher.publishAll(
+                      applied.stream()
+                          .map(
+                              change ->
+                                  new UserTrustTierChangedEvent(
+                                      change.userId(),
+                                      change.oldTier(),
+                                      newTier,
+                                      changeReason,
+                                      now))
+                          .toList());
+                }
+                return applied;
+              });
+      if (changes == null || changes.isEmpty()) {
+        continue;
+      }
+      log.info(
+          "Bulk trust tier job {}: moved {} of {} users to {}",
+          jobId,
+          changes.size(),
+          chunk.size(),
+          newTier);
+    }
+  }
+}
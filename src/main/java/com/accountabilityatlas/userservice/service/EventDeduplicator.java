@@ -0,0 +1,172 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.EventDedupeProperties;
+import com.accountabilityatlas.userservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Recognises redelivered SQS events. Recently processed ids are kept in a bounded, expiring
+ * in-memory set so most duplicates are dropped without touching the database; the durable record
+ * is {@code users.processed_events}, which is written in the same transaction as the change the
+ * event caused.
+ */
+@Service
+@Slf4j
+public class EventDeduplicator {
+
+  private final ProcessedEventRepository processedEventRepository;
+  private final EventDedupeProperties properties;
+  private final Counter duplicateCounter;
+
+  // Insertion-ordered, so the eldest entry is also the first to expire
+  private final LinkedHashMap<UUID, Long> recent;
+
+  public EventDeduplicator(
+      ProcessedEventRepository processedEventRepository,
+      EventDedupeProperties properties,
+      MeterRegistry meterRegistry) {
+    this.processedEventRepository = processedEventRepository;
+    this.properties = properties;
+    this.duplicateCounter = meterRegistry.counter("users.events.duplicates");
+    this.recent =
+        new LinkedHashMap<>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > properties.getCacheSize();
+          }
+        };
+  }
+
+  /**
+   * Drops events that were already processed, or that repeat an earlier event in the same list.
+   * Consults the in-memory set first and reads the database only for ids it does not know; never
+   * writes.
+   */
+  public <T> List<T> dropProcessed(List<T> events, Function<T, UUID> eventId) {
+    Set<UUID> unknown = new HashSet<>();
+    for (T event : events) {
+      UUID id = eventId.apply(event);
+      if (!isRecent(id)) {
+        unknown.add(id);
+      }
+    }
+    Set<UUID> processed =
+        unknown.isEmpty() ? Set.of() : processedEventRepository.findProcessed(unknown);
+    remember(processed);
+
+    Set<UUID> seen = new HashSet<>();
+    List<T> fresh = new ArrayList<>(events.size());
+    for (T event : events) {
+      UUID id = eventId.apply(event);
+      if (unknown.contains(id) && !processed.contains(id) && seen.add(id)) {
+        fresh.add(event);
+      }
+    }
+    int duplicates = events.size() - fresh.size();
+    if (duplicates > 0) {
+      duplicateCounter.increment(duplicates);
+      log.info("Skipping {} already processed events", duplicates);
+    }
+    return fresh;
+  }
+
+  /**
+   * Records events as processed in the current transaction and returns the ones no other
+   * transaction has claimed. The in-memory set learns about them once the transaction commits.
+   */
+  public Set<UUID> claim(Collection<UUID> eventIds) {
+    if (eventIds.isEmpty()) {
+      return Set.of();
+    }
+    Set<UUID> claimed = processedEventRepository.claim(eventIds);
+    List<UUID> processed = List.copyOf(eventIds);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              remember(processed);
+            }
+          });
+    } else {
+      remember(processed);
+    }
+    if (claimed.size() < eventIds.size()) {
+      duplicateCounter.increment(eventIds.size() - claimed.size());
+    }
+    return claimed;
+  }
+
+  @Scheduled(cron = "${app.event-dedupe.prune-cron:0 45 * * * *}", zone = "UTC")
+  public void runScheduled() {
+    pruneExpired();
+  }
+
+  /**
+   * Deletes processed ids older than {@code app.event-dedupe.retention} in batches.
+   *
+   * @return the number of ids deleted
+   */
+  public long pruneExpired() {
+    Instant cutoff = Instant.now().minus(properties.getRetention());
+    int batchSize = properties.getPruneBatchSize();
+    long deleted = 0;
+    int batch;
+    do {
+      batch = processedEventRepository.deleteBefore(cutoff, batchSize);
+      deleted += batch;
+    } while (batch == batchSize);
+    log.info("Pruned {} processed event ids older than {}", deleted, cutoff);
+    return deleted;
+  }
+
+  private boolean isRecent(UUID eventId) {
+    synchronized (recent) {
+      Long expiresAt = recent.get(eventId);
+      if (expiresAt == null) {
+        return false;
+      }
+      if (expiresAt - System.nanoTime() <= 0) {
+        recent.remove(eventId);
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private void remember(Collection<UUID> eventIds) {
+    if (eventIds.isEmpty()) {
+      return;
+    }
+    long now = System.nanoTime();
+    long expiresAt = now + properties.getCacheTtl().toNanos();
+    synchronized (recent) {
+      Iterator<Long> eldest = recent.values().iterator();
+      while (eldest.hasNext() && eldest.next() - now < 0) {
+        eldest.remove();
+      }
+      for (UUID eventId : eventIds) {
+        // Re-insert so the entry moves to the young end along with its new expiry
+        recent.remove(eventId);
+        recent.put(eventId, expiresAt);
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserProfileChangedEvent;
+import com.accountabilityatlas.userservice.repository.UserProfileSnapshotRepository;
+import com.accountabilityatlas.userservice.repository.UserProfileSnapshotRepository.ProfileSnapshotRow;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes {@link UserProfileChangedEvent} snapshots. Called in the transaction that changed the
+ * users, after it has locked their rows, so the outbox only ever carries committed state and a
+ * later snapshot of a user always has the higher version.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileSnapshotPublisher {
+
+  private final UserProfileSnapshotRepository snapshotRepository;
+  private final AvatarService avatarService;
+  private final EventPublisher eventPublisher;
+
+  public void publish(Collection<UUID> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now();
+    List<UserProfileChangedEvent> events =
+        snapshotRepository.snapshot(userIds).stream().map(row -> toEvent(row, now)).toList();
+    eventPublisher.publishAll(events);
+  }
+
+  private UserProfileChangedEvent toEvent(ProfileSnapshotRow row, Instant now) {
+    String youtube = row.youtubeChannelId();
+    return new UserProfileChangedEvent(
+        row.userId(),
+        row.version(),
+        row.displayName(),
+        new UserProfileChangedEvent.Avatar(
+            row.avatarUrl(),
+            avatarService.resolveGravatarUrl(row.email()).toString(),
+            youtube == null || youtube.isBlank() ? null : youtube),
+        row.trustTier(),
+        row.socialLinksVisibility(),
+        row.submissionsVisibility(),
+        now);
+  }
+}
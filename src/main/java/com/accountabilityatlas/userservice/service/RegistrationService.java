@@ -8,6 +8,7 @@ import com.accountabilityatlas.userservice.exception.EmailAlreadyExistsException
 import com.accountabilityatlas.userservice.repository.UserRepository;
 import com.accountabilityatlas.userservice.repository.UserStatsRepository;
 import java.time.Instant;
+import java.util.List;
 import java.util.Locale;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,43 +22,49 @@ public class RegistrationService {
   private final UserStatsRepository userStatsRepository;
   private final PasswordEncoder passwordEncoder;
   private final EventPublisher eventPublisher;
+  private final ProfileSnapshotPublisher profileSnapshotPublisher;
+  private final AvatarService avatarService;
 
   public RegistrationService(
       UserRepository userRepository,
       UserStatsRepository userStatsRepository,
       PasswordEncoder passwordEncoder,
-      EventPublisher eventPublisher) {
+      EventPublisher eventPublisher,
+      ProfileSnapshotPublisher profileSnapshotPublisher,
+      AvatarService avatarService) {
     this.userRepository = userRepository;
     this.userStatsRepository = userStatsRepository;
     this.passwordEncoder = passwordEncoder;
     this.eventPublisher = eventPublisher;
+    this.profileSnapshotPublisher = profileSnapshotPublisher;
+    this.avatarService = avatarService;
   }
 
   @Transactional
   public User register(String email, String password, String displayName) {
     String normalizedEmail = email.toLowerCase(Locale.ROOT);
 
-    if (userRepository.existsByEmail(normalizedEmail)) {
-      throw new EmailAlreadyExistsException();
-    }
-
     User user = new User();
     user.setEmail(normalizedEmail);
     user.setPasswordHash(passwordEncoder.encode(password));
     user.setDisplayName(displayName);
 
+    // The unique email constraint is the duplicate check, so a taken email surfaces on the flush
     try {
       user = userRepository.save(user);
+      UserStats stats = new UserStats();
+      stats.setUser(user);
+      stats.setUpdatedAt(Instant.now());
+      userStatsRepository.save(stats);
+      userRepository.flush();
     } catch (DataIntegrityViolationException e) {
       throw new EmailAlreadyExistsException();
     }
 
-    UserStats stats = new UserStats();
-    stats.setUser(user);
-    stats.setUpdatedAt(Instant.now());
-    userStatsRepository.save(stats);
-
     eventPublisher.publish(new UserRegisteredEvent(user.getId(), normalizedEmail, Instant.now()));
+    // Consumers keeping a copy of profiles start from this snapshot; it is read over JDBC
+    profileSnapshotPublisher.publish(List.of(user.getId()));
+    avatarService.storeAvatarSources(user.getId(), normalizedEmail, null);
 
     return user;
   }
@@ -0,0 +1,53 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.PromotionProperties;
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/** Drops daily activity buckets that have aged out of {@code app.stats.daily-retention}. */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsBucketPruner {
+
+  private final UserStatsDailyRepository userStatsDailyRepository;
+  private final StatsProperties properties;
+  private final PromotionProperties promotionProperties;
+
+  @Scheduled(cron = "${app.stats.prune-cron:0 30 3 * * *}", zone = "UTC")
+  public void runScheduled() {
+    pruneExpiredBuckets();
+  }
+
+  /**
+   * Deletes expired buckets in batches, each in its own statement.
+   *
+   * @return the number of buckets deleted
+   */
+  public long pruneExpiredBuckets() {
+    // Never prune inside the promotion rejection window, whatever the configured retention
+    Duration retention =
+        max(properties.getDailyRetention(), promotionProperties.getRejectionWindow());
+    LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retention.toDays());
+    int batchSize = properties.getPruneBatchSize();
+    long deleted = 0;
+    int batch;
+    do {
+      batch = userStatsDailyRepository.deleteBefore(cutoff, batchSize);
+      deleted += batch;
+    } while (batch == batchSize);
+    log.info("Pruned {} daily stats buckets older than {}", deleted, cutoff);
+    return deleted;
+  }
+
+  private static Duration max(Duration a, Duration b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+}
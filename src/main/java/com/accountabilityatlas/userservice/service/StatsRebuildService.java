@@ -0,0 +1,243 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.exception.InvalidSnapshotException;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.SnapshotRow;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.StatsDiff;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.UserIdRange;
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository.UserStatsCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reconciles {@code user_stats} against an uploaded snapshot of authoritative counts as a
+ * background {@link AdminJob}. The user id space is split into ranges that are compared in
+ * parallel; each range is read once and corrected in short transactions, so live consumers keep
+ * running throughout. A dry run only records the differences.
+ */
+@Service
+@Slf4j
+public class StatsRebuildService {
+
+  static final int SNAPSHOT_CHUNK_SIZE = 10_000;
+
+  public record StatsRebuildSubmission(UUID jobId, long snapshotUsers, boolean dryRun) {}
+
+  private final StatsRebuildRepository statsRebuildRepository;
+  private final PromotionRepository promotionRepository;
+  private final AdminJobService adminJobService;
+  private final StatsProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final StatsSnapshotReader reader;
+  private final ExecutorService rangeExecutor;
+
+  public StatsRebuildService(
+      StatsRebuildRepository statsRebuildRepository,
+      PromotionRepository promotionRepository,
+      AdminJobService adminJobService,
+      StatsProperties properties,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.statsRebuildRepository = statsRebuildRepository;
+    this.promotionRepository = promotionRepository;
+    this.adminJobService = adminJobService;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reader = new StatsSnapshotReader(objectMapper);
+    this.rangeExecutor =
+        Executors.newFixedThreadPool(
+            properties.getRebuildParallelism(), new CustomizableThreadFactory("stats-rebuild-"));
+  }
+
+  /**
+   * Stores the snapshot and queues the rebuild. Users missing from the snapshot are expected to
+   * have no submissions at all.
+   *
+   * @throws InvalidSnapshotException if a line is invalid or a user appears twice; nothing is kept
+   */
+  public StatsRebuildSubmission submit(
+      UserDataFormat format, InputStream in, boolean dryRun, @Nullable UUID requestedBy)
+      throws IOException {
+    int totalUsers = statsRebuildRepository.countUsers(new UserIdRange(null, null));
+    AdminJob job = adminJobService.create(AdminJobType.STATS_REBUILD, totalUsers, requestedBy);
+    // Keyed by its job, so a snapshot left behind by a lost instance can be found and deleted
+    UUID snapshotId = job.getId();
+    long snapshotUsers;
+    try {
+      snapshotUsers = loadSnapshot(snapshotId, format, in);
+    } catch (IOException | RuntimeException e) {
+      statsRebuildRepository.deleteSnapshot(snapshotId);
+      adminJobService.fail(snapshotId, "Snapshot was not accepted: " + e.getMessage());
+      throw e;
+    }
+
+    AdminJob submitted = adminJobService.submit(job, jobId -> rebuild(jobId, snapshotId, dryRun));
+    if (submitted.getStatus() == AdminJobStatus.FAILED) {
+      statsRebuildRepository.deleteSnapshot(snapshotId);
+    }
+    return new StatsRebuildSubmission(job.getId(), snapshotUsers, dryRun);
+  }
+
+  /**
+   * Deletes the snapshots of rebuilds that failed without cleaning up, which happens when their
+   * instance stopped mid-job. Runs once at startup and then every {@code
+   * app.stats.rebuild-cleanup-interval}.
+   */
+  @Scheduled(fixedDelayString = "${app.stats.rebuild-cleanup-interval:10m}")
+  public void deleteOrphanedSnapshotsScheduled() {
+    try {
+      int deleted = statsRebuildRepository.deleteSnapshotsOfFailedJobs();
+      if (deleted > 0) {
+        log.info("Deleted {} snapshot rows of failed stats rebuilds", deleted);
+      }
+    } catch (RuntimeException e) {
+      log.error("Stats rebuild snapshot cleanup failed", e);
+    }
+  }
+
+  private long loadSnapshot(UUID snapshotId, UserDataFormat format, InputStream in)
+      throws IOException {
+    List<SnapshotRow> chunk = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+    long[] loaded = {0};
+    reader.read(
+        format,
+        in,
+        row -> {
+          chunk.add(row);
+          if (chunk.size() >= SNAPSHOT_CHUNK_SIZE) {
+            copyChunk(snapshotId, chunk);
+            loaded[0] += chunk.size();
+            chunk.clear();
+          }
+        });
+    if (!chunk.isEmpty()) {
+      copyChunk(snapshotId, chunk);
+      loaded[0] += chunk.size();
+    }
+    return loaded[0];
+  }
+
+  private void copyChunk(UUID snapshotId, List<SnapshotRow> chunk) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> statsRebuildRepository.copySnapshot(snapshotId, chunk));
+    } catch (DuplicateKeyException e) {
+      throw new InvalidSnapshotException("Snapshot lists the same user more than once");
+    }
+  }
+
+  private void rebuild(UUID jobId, UUID snapshotId, boolean dryRun) {
+    try {
+      List<UserIdRange> ranges =
+          statsRebuildRepository.partition(properties.getRebuildPartitions());
+      List<Future<?>> futures = new ArrayList<>(ranges.size());
+      for (UserIdRange range : ranges) {
+        futures.add(rangeExecutor.submit(() -> reconcile(jobId, snapshotId, range, dryRun)));
+      }
+
+      // Wait for every range, even after a failure, so none is still reading the snapshot when it
+      // is deleted
+      RuntimeException failure = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure =
+                e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException(e.getCause());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          futures.forEach(pending -> pending.cancel(true));
+          throw new IllegalStateException("Stats rebuild interrupted", e);
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      statsRebuildRepository.deleteSnapshot(snapshotId);
+    }
+  }
+
+  private void reconcile(UUID jobId, UUID snapshotId, UserIdRange range, boolean dryRun) {
+    int users = statsRebuildRepository.countUsers(range);
+    List<StatsDiff> diffs = statsRebuildRepository.findDifferences(snapshotId, range);
+    int batchSize = properties.getRebuildBatchSize();
+    int corrected = 0;
+    for (int start = 0; start < diffs.size(); start += batchSize) {
+      List<StatsDiff> batch = diffs.subList(start, Math.min(start + batchSize, diffs.size()));
+      Integer applied = transactionTemplate.execute(status -> correctBatch(jobId, batch, dryRun));
+      corrected += applied == null ? 0 : applied;
+    }
+    adminJobService.recordProgress(jobId, users, 0);
+    log.info(
+        "Stats rebuild job {}: range {}..{} had {} of {} users differing, corrected {}",
+        jobId,
+        range.from(),
+        range.to(),
+        diffs.size(),
+        users,
+        corrected);
+  }
+
+  private int correctBatch(UUID jobId, List<StatsDiff> batch, boolean dryRun) {
+    if (dryRun) {
+      statsRebuildRepository.recordDiffs(jobId, batch);
+      adminJobService.recordProgress(jobId, 0, batch.size());
+      return 0;
+    }
+
+    List<UserStatsCounters> corrected = statsRebuildRepository.correct(batch);
+    for (UserStatsCounters counters : corrected) {
+      promotionRepository.refreshCandidate(
+          counters.userId(), counters.approvedCount(), counters.lastRejectedAt());
+    }
+    // Rows an event changed since the diff was read are left alone and reported as not applied
+    Set<UUID> correctedIds =
+        corrected.stream().map(UserStatsCounters::userId).collect(Collectors.toSet());
+    statsRebuildRepository.recordDiffs(
+        jobId,
+        batch.stream()
+            .map(diff -> diff.withApplied(correctedIds.contains(diff.userId())))
+            .toList());
+    adminJobService.recordProgress(jobId, 0, corrected.size());
+    return corrected.size();
+  }
+
+  public List<StatsDiff> getDiffs(UUID jobId, int limit) {
+    adminJobService.getJob(jobId);
+    return statsRebuildRepository.findRecordedDiffs(jobId, limit);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    rangeExecutor.shutdownNow();
+  }
+}
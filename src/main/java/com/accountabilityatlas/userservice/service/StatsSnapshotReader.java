@@ -0,0 +1,133 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.exception.InvalidSnapshotException;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.SnapshotRow;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.StatsCounts;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.lang.Nullable;
+
+/**
+ * Parses a stats snapshot line by line. Both formats use the fields {@code userId}, {@code
+ * submissionCount}, {@code approvedCount} and {@code rejectedCount}; CSV takes them from a header
+ * row. Unlike an import, a snapshot is all or nothing: the first invalid line rejects the file.
+ */
+class StatsSnapshotReader {
+
+  private final ObjectMapper objectMapper;
+
+  StatsSnapshotReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  void read(UserDataFormat format, InputStream in, Consumer<SnapshotRow> rows)
+      throws IOException {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    Map<String, Integer> csvColumns = null;
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+        line = line.substring(1);
+      }
+      if (line.isBlank()) {
+        continue;
+      }
+      if (format == UserDataFormat.CSV && csvColumns == null) {
+        csvColumns = parseHeader(line);
+        continue;
+      }
+
+      Function<String, String> fields;
+      if (format == UserDataFormat.NDJSON) {
+        JsonNode node;
+        try {
+          node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+          throw new InvalidSnapshotException("Line " + lineNumber + " is not valid JSON");
+        }
+        fields = name -> node.hasNonNull(name) ? node.get(name).asText() : null;
+      } else {
+        List<String> values = UserImportReader.splitCsvLine(line);
+        Map<String, Integer> columns = csvColumns;
+        fields =
+            name -> {
+              Integer index = columns.get(name);
+              return index != null && index < values.size() ? values.get(index) : null;
+            };
+      }
+
+      try {
+        rows.accept(toRow(fields));
+      } catch (IllegalArgumentException e) {
+        throw new InvalidSnapshotException("Line " + lineNumber + ": " + e.getMessage());
+      }
+    }
+  }
+
+  private static SnapshotRow toRow(Function<String, String> fields) {
+    String rawUserId = required(fields, "userId").trim();
+    UUID userId;
+    try {
+      userId = UUID.fromString(rawUserId);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("userId is not a UUID", e);
+    }
+    return new SnapshotRow(
+        userId,
+        new StatsCounts(
+            count(fields, "submissionCount"),
+            count(fields, "approvedCount"),
+            count(fields, "rejectedCount")));
+  }
+
+  private static int count(Function<String, String> fields, String name) {
+    String raw = required(fields, name).trim();
+    int value;
+    try {
+      value = Integer.parseInt(raw);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " is not a number", e);
+    }
+    if (value < 0) {
+      throw new IllegalArgumentException(name + " must not be negative");
+    }
+    return value;
+  }
+
+  private static String required(Function<String, String> fields, String name) {
+    String value = emptyToNull(fields.apply(name));
+    if (value == null) {
+      throw new IllegalArgumentException(name + " is required");
+    }
+    return value;
+  }
+
+  @Nullable
+  private static String emptyToNull(@Nullable String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  private static Map<String, Integer> parseHeader(String line) {
+    List<String> names = UserImportReader.splitCsvLine(line);
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      columns.put(names.get(i).trim(), i);
+    }
+    return columns;
+  }
+}
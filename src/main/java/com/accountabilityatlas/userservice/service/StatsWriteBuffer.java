@@ -0,0 +1,260 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.repository.StatsDelta;
+import com.accountabilityatlas.userservice.service.UserStatsService.BufferedEvent;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import com.accountabilityatlas.userservice.service.UserStatsService.UserBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional write-behind buffer in front of {@link UserStatsService}. Listeners add events to
+ * per-user {@link LongAdder} cells instead of writing, and a flush applies everything buffered
+ * since the last one in a single transaction. Each listener batch hands over its acknowledgement,
+ * which only runs once the flush holding its events has committed; if the flush fails the
+ * acknowledgements are dropped and SQS redelivers the messages, so nothing buffered is lost on a
+ * crash either.
+ */
+@Component
+@Slf4j
+public class StatsWriteBuffer {
+
+  private final UserStatsService userStatsService;
+  private final StatsProperties properties;
+  private final Timer flushTimer;
+  private final Counter flushedEventsCounter;
+  private final Counter flushFailureCounter;
+
+  // Adders take the read lock so they never block each other; a flush takes the write lock only
+  // to swap in an empty window.
+  private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private volatile Window current = new Window();
+  @Nullable private volatile Window flushing;
+
+  public StatsWriteBuffer(
+      UserStatsService userStatsService, StatsProperties properties, MeterRegistry meterRegistry) {
+    this.userStatsService = userStatsService;
+    this.properties = properties;
+    this.flushTimer = meterRegistry.timer("users.stats.buffer.flush");
+    this.flushedEventsCounter = meterRegistry.counter("users.stats.buffer.flushed");
+    this.flushFailureCounter = meterRegistry.counter("users.stats.buffer.flush.failures");
+    Gauge.builder("users.stats.buffer.events", this, buffer -> buffer.current.events.sum())
+        .register(meterRegistry);
+    Gauge.builder("users.stats.buffer.users", this, buffer -> buffer.current.cells.size())
+        .register(meterRegistry);
+    Gauge.builder("users.stats.buffer.lag", this, StatsWriteBuffer::lagSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return properties.isBufferEnabled();
+  }
+
+  /**
+   * Buffers one submission per id.
+   *
+   * @param acknowledgement runs after the flush containing these events commits
+   */
+  public void addSubmissions(List<Submission> submissions, Runnable acknowledgement) {
+    add(
+        submissions.stream()
+            .map(
+                submission ->
+                    new Event(submission.eventId(), submission.userId(), UserBatch.submission()))
+            .toList(),
+        acknowledgement);
+  }
+
+  /**
+   * Buffers status changes; changes that do not touch a counter are acknowledged with the next
+   * flush like the rest.
+   *
+   * @param acknowledgement runs after the flush containing these events commits
+   */
+  public void addStatusChanges(List<StatusChange> changes, Runnable acknowledgement) {
+    Instant now = Instant.now();
+    add(
+        changes.stream()
+            .map(
+                change ->
+                    new Event(
+                        change.eventId(), change.userId(), UserBatch.statusChange(change, now)))
+            .toList(),
+        acknowledgement);
+  }
+
+  private void add(List<Event> events, Runnable acknowledgement) {
+    Window window;
+    swapLock.readLock().lock();
+    try {
+      window = current;
+      for (Event event : events) {
+        // A redelivery of an event still waiting in this window is dropped here
+        BufferedEvent buffered = new BufferedEvent(event.userId(), event.batch());
+        if (window.contributions.putIfAbsent(event.eventId(), buffered) == null) {
+          window.cells.computeIfAbsent(event.userId(), id -> new Cell()).add(event.batch());
+        }
+      }
+      window.firstEventNanos.compareAndSet(0, System.nanoTime());
+      window.events.add(events.size());
+      window.acknowledgements.add(acknowledgement);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+    if (window.events.sum() >= properties.getBufferFlushThreshold()) {
+      flush();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.stats.buffer-flush-interval:1s}")
+  public void flushScheduled() {
+    if (isEnabled()) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes everything buffered so far and then acknowledges the messages it came from. Returns
+   * immediately if another flush is in progress; events added meanwhile go into the next one.
+   *
+   * @return the number of events flushed
+   */
+  public long flush() {
+    if (!flushLock.tryLock()) {
+      return 0;
+    }
+    try {
+      Window drained;
+      swapLock.writeLock().lock();
+      try {
+        drained = current;
+        current = new Window();
+      } finally {
+        swapLock.writeLock().unlock();
+      }
+      long events = drained.events.sum();
+      if (events == 0) {
+        return 0;
+      }
+
+      flushing = drained;
+      try {
+        flushTimer.record(
+            () -> userStatsService.applyBatch(drained.toBatches(), drained.contributions));
+      } catch (RuntimeException e) {
+        flushFailureCounter.increment();
+        log.error(
+            "Stats buffer flush of {} events failed; their messages will be redelivered",
+            events,
+            e);
+        return 0;
+      } finally {
+        flushing = null;
+      }
+      flushedEventsCounter.increment(events);
+
+      for (Runnable acknowledgement : drained.acknowledgements) {
+        try {
+          acknowledgement.run();
+        } catch (RuntimeException e) {
+          log.warn("Acknowledging flushed stats events failed: {}", e.getMessage());
+        }
+      }
+      return events;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /** Age of the oldest event not yet committed, including one being flushed right now. */
+  private double lagSeconds() {
+    Window inFlight = flushing;
+    long oldest = inFlight != null ? inFlight.firstEventNanos.get() : current.firstEventNanos.get();
+    return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+  }
+
+  private record Event(UUID eventId, UUID userId, UserBatch batch) {}
+
+  /**
+   * Everything buffered between two flushes. The cells hold the per-user sums that are normally
+   * written; each event's own share is kept as well, so events found to be processed elsewhere at
+   * flush time can be taken out again.
+   */
+  private static final class Window {
+    final Map<UUID, Cell> cells = new ConcurrentHashMap<>();
+    final Map<UUID, BufferedEvent> contributions = new ConcurrentHashMap<>();
+    final Queue<Runnable> acknowledgements = new ConcurrentLinkedQueue<>();
+    final LongAdder events = new LongAdder();
+    final AtomicLong firstEventNanos = new AtomicLong();
+
+    Map<UUID, UserBatch> toBatches() {
+      Map<UUID, UserBatch> batches = new HashMap<>();
+      cells.forEach(
+          (userId, cell) -> {
+            UserBatch batch = cell.toBatch();
+            if (!batch.delta().isEmpty() || batch.hasBucketEvents()) {
+              batches.put(userId, batch);
+            }
+          });
+      return batches;
+    }
+  }
+
+  /** One user's buffered changes; concurrent adds for the same user never contend on a lock. */
+  private static final class Cell {
+    final LongAdder submissions = new LongAdder();
+    final LongAdder approved = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder approvedEvents = new LongAdder();
+    final LongAdder rejectedEvents = new LongAdder();
+    final AtomicReference<Instant> lastRejectedAt = new AtomicReference<>();
+
+    void add(UserBatch batch) {
+      StatsDelta delta = batch.delta();
+      submissions.add(delta.submissions());
+      approved.add(delta.approved());
+      rejected.add(delta.rejected());
+      approvedEvents.add(batch.approvedEvents());
+      rejectedEvents.add(batch.rejectedEvents());
+      if (delta.rejectedAt() != null) {
+        lastRejectedAt.accumulateAndGet(
+            delta.rejectedAt(), (a, b) -> a == null || b.isAfter(a) ? b : a);
+      }
+    }
+
+    UserBatch toBatch() {
+      return new UserBatch(
+          new StatsDelta(
+              submissions.intValue(),
+              approved.intValue(),
+              rejected.intValue(),
+              lastRejectedAt.get()),
+          approvedEvents.intValue(),
+          rejectedEvents.intValue());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.config.PromotionProperties;
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserTrustTierChangedEvent;
+import com.accountabilityatlas.userservice.event.UserTrustTierChangedEvent.ChangeReason;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.PromotionRepository.PromotionChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Promotes NEW users to TRUSTED from the candidate queue that {@link UserStatsService} keeps
+ * current. A run claims one chunk of due candidates per transaction until none are left, so its
+ * cost follows the number of users who became due rather than the number of NEW users, and
+ * several nodes running the schedule at once split the work rather than repeat it. A chunk's
+ * profile snapshots and tier change events are written in its own transaction.
+ */
+@Service
+@Slf4j
+public class TrustTierPromotionService {
+
+  private final PromotionRepository promotionRepository;
+  private final EventPublisher eventPublisher;
+  private final ProfileSnapshotPublisher profileSnapshotPublisher;
+  private final PromotionProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Timer runTimer;
+  private final Counter chunkCounter;
+  private final Counter promotedCounter;
+
+  public TrustTierPromotionService(
+      PromotionRepository promotionRepository,
+      EventPublisher eventPublisher,
+      ProfileSnapshotPublisher profileSnapshotPublisher,
+      PromotionProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.promotionRepository = promotionRepository;
+    this.eventPublisher = eventPublisher;
+    this.profileSnapshotPublisher = profileSnapshotPublisher;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.runTimer = meterRegistry.timer("users.promotion.run");
+    this.chunkCounter = meterRegistry.counter("users.promotion.chunks");
+    this.promotedCounter = meterRegistry.counter("users.promotion.promoted");
+  }
+
+  @Scheduled(cron = "${app.promotion.cron:0 */5 * * * *}", zone = "UTC")
+  public void runScheduled() {
+    promoteEligibleUsers();
+  }
+
+  /**
+   * Runs one promotion pass.
+   *
+   * @return the number of users this node promoted
+   */
+  public int promoteEligibleUsers() {
+    Instant now = Instant.now();
+    int chunkSize = properties.getChunkSize();
+    int promoted = 0;
+    int chunks = 0;
+    Timer.Sample sample = Timer.start();
+    try {
+      PromotionChunk chunk;
+      do {
+        chunk =
+            transactionTemplate.execute(
+                status -> {
+                  PromotionChunk claimed = promotionRepository.promoteDueChunk(now, chunkSize);
+                  profileSnapshotPublisher.publish(claimed.promoted());
+                  publish(claimed.promoted());
+                  return claimed;
+                });
+        if (chunk == null || chunk.claimed() == 0) {
+          break;
+        }
+        chunks++;
+        chunkCounter.increment();
+        if (!chunk.promoted().isEmpty()) {
+          promoted += chunk.promoted().size();
+          promotedCounter.increment(chunk.promoted().size());
+        }
+        // A short chunk means the rest are already held by another node's run
+      } while (chunk.claimed() == chunkSize);
+    } finally {
+      long nanos = sample.stop(runTimer);
+      log.info(
+          "Trust tier promotion run promoted {} users in {} chunks ({} ms)",
+          promoted,
+          chunks,
+          nanos / 1_000_000);
+    }
+    return promoted;
+  }
+
+  private void publish(List<UUID> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now();
+    eventPublisher.publishAll(
+        userIds.stream()
+            .map(
+                userId ->
+                    new UserTrustTierChangedEvent(
+                        userId,
+                        TrustTier.NEW,
+                        TrustTier.TRUSTED,
+                        ChangeReason.AUTO_PROMOTION,
+                        now))
+            .toList());
+  }
+}
@@ -0,0 +1,42 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the change feed: the {@code (changedAt, id)} of the last user a client has
+ * applied. Encoded like {@link UserSearchCursor}, but the two are not interchangeable.
+ */
+public record UserChangeCursor(Instant changedAt, UUID id) {
+
+  /** Position before every user, for a client bootstrapping from scratch. */
+  public static final UserChangeCursor START = new UserChangeCursor(Instant.EPOCH, new UUID(0, 0));
+
+  private static final char SEPARATOR = '|';
+
+  public String encode() {
+    String raw = changedAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static UserChangeCursor decode(String encoded) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidCursorException();
+      }
+      Instant changedAt = Instant.parse(raw.substring(0, separator));
+      UUID id = UUID.fromString(raw.substring(separator + 1));
+      return new UserChangeCursor(changedAt, id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.repository.UserChangeRepository;
+import com.accountabilityatlas.userservice.repository.UserChangeRow;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Change feed for services that keep a copy of user profiles: every user changed after a cursor,
+ * in the shape of {@code UserProfileChanged} snapshots, one NDJSON line each. A line's {@code
+ * cursor} resumes the feed right after it.
+ *
+ * <p>Change times are transaction start times, so a transaction still open when the feed is read
+ * may later commit rows older than what the client has seen. Changes younger than {@code
+ * app.changes.settle-delay} are therefore held back until such transactions have had time to end.
+ */
+@Service
+@Slf4j
+public class UserChangeFeedService {
+
+  private final UserChangeRepository userChangeRepository;
+  private final AvatarService avatarService;
+  private final ObjectMapper objectMapper;
+  private final Duration settleDelay;
+
+  public UserChangeFeedService(
+      UserChangeRepository userChangeRepository,
+      AvatarService avatarService,
+      ObjectMapper objectMapper,
+      @Value("${app.changes.settle-delay:30s}") Duration settleDelay) {
+    this.userChangeRepository = userChangeRepository;
+    this.avatarService = avatarService;
+    this.objectMapper = objectMapper;
+    this.settleDelay = settleDelay;
+  }
+
+  /**
+   * Writes up to {@code limit} users changed after {@code since} to {@code out} and returns how
+   * many were written. Fewer than {@code limit} means the client has caught up.
+   */
+  @Transactional(readOnly = true)
+  public long stream(UserChangeCursor since, int limit, OutputStream out) {
+    Instant before = Instant.now().minus(settleDelay);
+    AtomicLong rows = new AtomicLong();
+    try (JsonGenerator generator =
+        objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // Lines end with their own newline; the default separator would start each later one with " "
+      generator.setRootValueSeparator(null);
+      userChangeRepository.forEachChanged(
+          since.changedAt(),
+          since.id(),
+          before,
+          limit,
+          row -> {
+            write(generator, row);
+            rows.incrementAndGet();
+          });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    log.debug("Change feed from {} returned {} users", since.changedAt(), rows.get());
+    return rows.get();
+  }
+
+  private void write(JsonGenerator generator, UserChangeRow row) {
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("userId", row.id().toString());
+      generator.writeStringField("displayName", row.displayName());
+      generator.writeObjectFieldStart("avatar");
+      if (row.avatarUrl() != null) {
+        generator.writeStringField("custom", row.avatarUrl());
+      }
+      generator.writeStringField(
+          "gravatar", avatarService.resolveGravatarUrl(row.email()).toString());
+      if (row.youtubeChannelId() != null && !row.youtubeChannelId().isBlank()) {
+        generator.writeStringField("youtubeChannelId", row.youtubeChannelId());
+      }
+      generator.writeEndObject();
+      generator.writeStringField("trustTier", row.trustTier().name());
+      generator.writeStringField("socialLinksVisibility", row.socialLinksVisibility().name());
+      generator.writeStringField("submissionsVisibility", row.submissionsVisibility().name());
+      generator.writeStringField("changedAt", row.changedAt().toString());
+      generator.writeStringField(
+          "cursor", new UserChangeCursor(row.changedAt(), row.id()).encode());
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.exception.UnsupportedFormatException;
+import java.util.Locale;
+
+public enum UserDataFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  UserDataFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String contentType() {
+    return contentType;
+  }
+
+  public String fileExtension() {
+    return fileExtension;
+  }
+
+  public static UserDataFormat fromParameter(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new UnsupportedFormatException(value);
+    }
+  }
+}
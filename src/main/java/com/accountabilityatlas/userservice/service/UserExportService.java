@@ -0,0 +1,38 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.repository.UserExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+  private final UserExportRepository userExportRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Streams every user to {@code out} and returns the number of rows written. The read-only
+   * transaction keeps the cursor open for the duration of the export; if the client goes away the
+   * write fails, the query is cancelled and nothing further is read.
+   */
+  @Transactional(readOnly = true)
+  public long export(UserDataFormat format, OutputStream out) {
+    UserExportWriter writer = UserExportWriter.create(format, out, objectMapper.getFactory());
+    AtomicLong rows = new AtomicLong();
+    userExportRepository.forEach(
+        row -> {
+          writer.write(row);
+          rows.incrementAndGet();
+        });
+    writer.finish();
+    log.info("Exported {} users as {}", rows.get(), format);
+    return rows.get();
+  }
+}
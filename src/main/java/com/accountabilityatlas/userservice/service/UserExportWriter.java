@@ -0,0 +1,175 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.repository.UserExportRow;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.springframework.lang.Nullable;
+
+/**
+ * Serialises export rows one at a time onto an output stream. Nothing is retained between rows;
+ * writes block once the downstream buffer is full, which is what throttles the JDBC cursor.
+ */
+abstract class UserExportWriter {
+
+  static final String[] COLUMNS = {
+    "id",
+    "email",
+    "emailVerified",
+    "displayName",
+    "avatarUrl",
+    "trustTier",
+    "createdAt",
+    "submissionCount",
+    "approvedCount",
+    "rejectedCount",
+    "statsUpdatedAt"
+  };
+
+  static UserExportWriter create(
+      UserDataFormat format, OutputStream out, JsonFactory jsonFactory) {
+    try {
+      return switch (format) {
+        case NDJSON -> new NdjsonWriter(jsonFactory.createGenerator(out, JsonEncoding.UTF8));
+        case CSV ->
+            new CsvWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+      };
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  final void write(UserExportRow row) {
+    try {
+      writeRow(row);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Flushes buffered output without closing the underlying stream. */
+  final void finish() {
+    try {
+      flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  abstract void writeRow(UserExportRow row) throws IOException;
+
+  abstract void flush() throws IOException;
+
+  @Nullable
+  private static String format(@Nullable Instant instant) {
+    return instant != null ? instant.toString() : null;
+  }
+
+  private static final class NdjsonWriter extends UserExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonWriter(JsonGenerator generator) {
+      this.generator = generator;
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // Rows end with their own newline; the default separator would start each later line with " "
+      generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    void writeRow(UserExportRow row) throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("id", row.id().toString());
+      generator.writeStringField("email", row.email());
+      generator.writeBooleanField("emailVerified", row.emailVerified());
+      generator.writeStringField("displayName", row.displayName());
+      if (row.avatarUrl() != null) {
+        generator.writeStringField("avatarUrl", row.avatarUrl());
+      }
+      generator.writeStringField("trustTier", row.trustTier().name());
+      generator.writeStringField("createdAt", format(row.createdAt()));
+      generator.writeNumberField("submissionCount", row.submissionCount());
+      generator.writeNumberField("approvedCount", row.approvedCount());
+      generator.writeNumberField("rejectedCount", row.rejectedCount());
+      if (row.statsUpdatedAt() != null) {
+        generator.writeStringField("statsUpdatedAt", format(row.statsUpdatedAt()));
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    void flush() throws IOException {
+      generator.flush();
+    }
+  }
+
+  private static final class CsvWriter extends UserExportWriter {
+
+    private final Writer writer;
+
+    CsvWriter(Writer writer) throws IOException {
+      this.writer = writer;
+      writer.write(String.join(",", COLUMNS));
+      writer.write("\r\n");
+    }
+
+    @Override
+    void writeRow(UserExportRow row) throws IOException {
+      writer.write(row.id().toString());
+      writer.write(',');
+      writer.write(escape(row.email()));
+      writer.write(',');
+      writer.write(Boolean.toString(row.emailVerified()));
+      writer.write(',');
+      writer.write(escape(row.displayName()));
+      writer.write(',');
+      writer.write(escape(row.avatarUrl()));
+      writer.write(',');
+      writer.write(row.trustTier().name());
+      writer.write(',');
+      writer.write(escape(format(row.createdAt())));
+      writer.write(',');
+      writer.write(Integer.toString(row.submissionCount()));
+      writer.write(',');
+      writer.write(Integer.toString(row.approvedCount()));
+      writer.write(',');
+      writer.write(Integer.toString(row.rejectedCount()));
+      writer.write(',');
+      writer.write(escape(format(row.statsUpdatedAt())));
+      writer.write("\r\n");
+    }
+
+    @Override
+    void flush() throws IOException {
+      writer.flush();
+    }
+
+    /**
+     * RFC 4180 quoting. User-controlled values that a spreadsheet would evaluate as a formula get a
+     * leading apostrophe so opening the dump cannot execute them.
+     */
+    static String escape(@Nullable String value) {
+      if (value == null || value.isEmpty()) {
+        return "";
+      }
+      String safe = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+      if (safe.indexOf(',') < 0
+          && safe.indexOf('"') < 0
+          && safe.indexOf('\n') < 0
+          && safe.indexOf('\r') < 0) {
+        return safe;
+      }
+      return '"' + safe.replace("\"", "\"\"") + '"';
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.accountabilityatlas.userservice.service;
+
+import org.springframework.lang.Nullable;
+
+/** A line of the import file that did not produce a user. */
+public record UserImportIssue(int line, @Nullable String email, Reason reason, String detail) {
+
+  public enum Reason {
+    INVALID_ROW,
+    DUPLICATE_IN_FILE,
+    EMAIL_EXISTS
+  }
+}
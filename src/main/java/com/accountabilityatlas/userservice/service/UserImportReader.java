@@ -0,0 +1,205 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.repository.UserImportRow;
+import com.accountabilityatlas.userservice.service.UserImportIssue.Reason;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.springframework.lang.Nullable;
+
+/**
+ * Parses an import file line by line, handing each valid record to {@code rows} and each invalid
+ * one to {@code issues}. Only the current line is held in memory.
+ *
+ * <p>Both formats use the field names {@code email}, {@code passwordHash}, {@code displayName},
+ * {@code emailVerified}, {@code avatarUrl}, {@code trustTier}, {@code socialLinksVisibility} and
+ * {@code submissionsVisibility}; CSV takes them from a header row. Only the first three are
+ * required.
+ */
+class UserImportReader {
+
+  // The service authenticates with BCryptPasswordEncoder, so anything else could never log in.
+  private static final Pattern BCRYPT_HASH =
+      Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+  private static final int MAX_EMAIL_LENGTH = 255;
+  private static final int MIN_DISPLAY_NAME_LENGTH = 2;
+  private static final int MAX_DISPLAY_NAME_LENGTH = 100;
+  private static final int MAX_AVATAR_URL_LENGTH = 500;
+
+  private final ObjectMapper objectMapper;
+
+  UserImportReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  void read(
+      UserDataFormat format,
+      InputStream in,
+      Consumer<UserImportRow> rows,
+      Consumer<UserImportIssue> issues)
+      throws IOException {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    Map<String, Integer> csvColumns = null;
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+        line = line.substring(1);
+      }
+      if (line.isBlank()) {
+        continue;
+      }
+      if (format == UserDataFormat.CSV && csvColumns == null) {
+        csvColumns = parseHeader(line);
+        continue;
+      }
+
+      Function<String, String> fields;
+      if (format == UserDataFormat.NDJSON) {
+        JsonNode node;
+        try {
+          node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+          issues.accept(invalid(lineNumber, null, "Line is not valid JSON"));
+          continue;
+        }
+        fields = name -> node.hasNonNull(name) ? node.get(name).asText() : null;
+      } else {
+        List<String> values = splitCsvLine(line);
+        Map<String, Integer> columns = csvColumns;
+        fields =
+            name -> {
+              Integer index = columns.get(name);
+              return index != null && index < values.size() ? values.get(index) : null;
+            };
+      }
+
+      try {
+        rows.accept(toRow(lineNumber, fields));
+      } catch (IllegalArgumentException e) {
+        issues.accept(invalid(lineNumber, fields.apply("email"), e.getMessage()));
+      }
+    }
+  }
+
+  private static UserImportRow toRow(int line, Function<String, String> fields) {
+    String email = required(fields, "email").trim().toLowerCase(Locale.ROOT);
+    if (email.length() > MAX_EMAIL_LENGTH || email.indexOf('@') < 1) {
+      throw new IllegalArgumentException("email is not a valid address");
+    }
+    String passwordHash = required(fields, "passwordHash");
+    if (!BCRYPT_HASH.matcher(passwordHash).matches()) {
+      throw new IllegalArgumentException("passwordHash is not a BCrypt hash");
+    }
+    String displayName = required(fields, "displayName").trim();
+    if (displayName.length() < MIN_DISPLAY_NAME_LENGTH
+        || displayName.length() > MAX_DISPLAY_NAME_LENGTH) {
+      throw new IllegalArgumentException("displayName must be 2-100 characters");
+    }
+    String avatarUrl = emptyToNull(fields.apply("avatarUrl"));
+    if (avatarUrl != null && avatarUrl.length() > MAX_AVATAR_URL_LENGTH) {
+      throw new IllegalArgumentException("avatarUrl exceeds 500 characters");
+    }
+    TrustTier trustTier = parseEnum(TrustTier.class, fields, "trustTier", TrustTier.NEW);
+    if (trustTier != TrustTier.NEW && trustTier != TrustTier.TRUSTED) {
+      throw new IllegalArgumentException("trustTier must be NEW or TRUSTED");
+    }
+
+    return new UserImportRow(
+        line,
+        email,
+        passwordHash,
+        displayName,
+        Boolean.parseBoolean(fields.apply("emailVerified")),
+        avatarUrl,
+        trustTier,
+        parseEnum(Visibility.class, fields, "socialLinksVisibility", Visibility.REGISTERED),
+        parseEnum(Visibility.class, fields, "submissionsVisibility", Visibility.PUBLIC));
+  }
+
+  private static String required(Function<String, String> fields, String name) {
+    String value = emptyToNull(fields.apply(name));
+    if (value == null) {
+      throw new IllegalArgumentException(name + " is required");
+    }
+    return value;
+  }
+
+  private static <E extends Enum<E>> E parseEnum(
+      Class<E> type, Function<String, String> fields, String name, E defaultValue) {
+    String value = emptyToNull(fields.apply(name));
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(name + " has unknown value " + value, e);
+    }
+  }
+
+  @Nullable
+  private static String emptyToNull(@Nullable String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  private static UserImportIssue invalid(int line, @Nullable String email, String detail) {
+    return new UserImportIssue(line, email, Reason.INVALID_ROW, detail);
+  }
+
+  private static Map<String, Integer> parseHeader(String line) {
+    List<String> names = splitCsvLine(line);
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      columns.put(names.get(i).trim(), i);
+    }
+    return columns;
+  }
+
+  /** RFC 4180 field splitting for a single line; quoted fields may contain commas and quotes. */
+  static List<String> splitCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          current.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    values.add(current.toString());
+    return values;
+  }
+}
@@ -0,0 +1,10 @@
+package com.accountabilityatlas.userservice.service;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code issues} lists at most {@link UserImportService#MAX_REPORTED_ISSUES}
+ * entries; {@code issueCount} is the full total.
+ */
+public record UserImportReport(
+    long received, long imported, long issueCount, List<UserImportIssue> issues) {}
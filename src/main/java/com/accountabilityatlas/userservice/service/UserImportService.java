@@ -0,0 +1,140 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserRegisteredEvent;
+import com.accountabilityatlas.userservice.repository.UserImportRepository;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.CreatedUser;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.MergeResult;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.SkippedRow;
+import com.accountabilityatlas.userservice.repository.UserImportRow;
+import com.accountabilityatlas.userservice.service.UserImportIssue.Reason;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk account migration with pre-hashed passwords. The file is staged and merged in chunks, each
+ * in its own transaction, so a failure part-way leaves earlier chunks committed; re-running the
+ * same file is safe because already-imported emails are reported as {@code EMAIL_EXISTS}.
+ * The new users' {@link UserRegisteredEvent}s and profile snapshots are written in the chunk's own
+ * transaction.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+  static final int MAX_REPORTED_ISSUES = 1000;
+
+  private final UserImportRepository userImportRepository;
+  private final EventPublisher eventPublisher;
+  private final ProfileSnapshotPublisher profileSnapshotPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final UserImportReader reader;
+  private final int chunkSize;
+
+  public UserImportService(
+      UserImportRepository userImportRepository,
+      EventPublisher eventPublisher,
+      ProfileSnapshotPublisher profileSnapshotPublisher,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${app.import.chunk-size:10000}") int chunkSize) {
+    this.userImportRepository = userImportRepository;
+    this.eventPublisher = eventPublisher;
+    this.profileSnapshotPublisher = profileSnapshotPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reader = new UserImportReader(objectMapper);
+    this.chunkSize = chunkSize;
+  }
+
+  public UserImportReport importUsers(UserDataFormat format, InputStream in) throws IOException {
+    Progress progress = new Progress();
+    List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+    reader.read(
+        format,
+        in,
+        row -> {
+          progress.received++;
+          chunk.add(row);
+          if (chunk.size() >= chunkSize) {
+            mergeChunk(chunk, progress);
+            chunk.clear();
+          }
+        },
+        issue -> {
+          progress.received++;
+          progress.addIssue(issue);
+        });
+    if (!chunk.isEmpty()) {
+      mergeChunk(chunk, progress);
+    }
+
+    log.info(
+        "User import finished: received={}, imported={}, issues={}",
+        progress.received,
+        progress.imported,
+        progress.issueCount);
+    return new UserImportReport(
+        progress.received, progress.imported, progress.issueCount, List.copyOf(progress.issues));
+  }
+
+  private void mergeChunk(List<UserImportRow> chunk, Progress progress) {
+    MergeResult result =
+        transactionTemplate.execute(
+            status -> {
+              MergeResult merged = userImportRepository.stageAndMerge(chunk);
+              profileSnapshotPublisher.publish(
+                  merged.created().stream().map(CreatedUser::id).toList());
+              if (!merged.created().isEmpty()) {
+                Instant now = Instant.now();
+                eventPublisher.publishAll(
+                    merged.created().stream()
+                        .map(created -> new UserRegisteredEvent(created.id(), created.email(), now))
+                        .toList());
+              }
+              return merged;
+            });
+    if (result == null) {
+      throw new IllegalStateException("Import chunk returned no result");
+    }
+    progress.imported += result.created().size();
+    log.debug(
+        "Merged import chunk of {} rows: created={}, skipped={}",
+        chunk.size(),
+        result.created().size(),
+        result.skipped().size());
+    for (SkippedRow skipped : result.skipped()) {
+      progress.addIssue(
+          skipped.emailExists()
+              ? new UserImportIssue(
+                  skipped.line(), skipped.email(), Reason.EMAIL_EXISTS, "Email already registered")
+              : new UserImportIssue(
+                  skipped.line(),
+                  skipped.email(),
+                  Reason.DUPLICATE_IN_FILE,
+                  "Email appears earlier in the file"));
+    }
+  }
+
+  private static final class Progress {
+    long received;
+    long imported;
+    long issueCount;
+    final List<UserImportIssue> issues = new ArrayList<>();
+
+    void addIssue(UserImportIssue issue) {
+      issueCount++;
+      if (issues.size() < MAX_REPORTED_ISSUES) {
+        issues.add(issue);
+      }
+    }
+  }
+}
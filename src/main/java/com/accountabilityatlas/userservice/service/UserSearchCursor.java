@@ -0,0 +1,39 @@
+package com.accountabilityatlas.userservice.service;
+
+import com.accountabilityatlas.userservice.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the admin user search: the {@code (createdAt, id)} of the last user on a page.
+ * Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+public record UserSearchCursor(Instant createdAt, UUID id) {
+
+  private static final char SEPARATOR = '|';
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static UserSearchCursor decode(String encoded) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidCursorException();
+      }
+      Instant createdAt = Instant.parse(raw.substring(0, separator));
+      UUID id = UUID.fromString(raw.substring(separator + 1));
+      return new UserSearchCursor(createdAt, id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException();
+    }
+  }
+}
@@ -15,11 +15,13 @@ import com.accountabilityatlas.userservice.web.model.PrivacySettings;
 import com.accountabilityatlas.userservice.web.model.SocialLinks;
 import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
 import java.time.Instant;
-import java.util.Locale;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,10 +34,14 @@ public class UserService {
   private final UserSocialLinksRepository socialLinksRepository;
   private final UserPrivacySettingsRepository privacySettingsRepository;
   private final EventPublisher eventPublisher;
+  private final ProfileSnapshotPublisher profileSnapshotPublisher;
+  private final AvatarService avatarService;
 
   public record PublicProfileData(
       User user, UserPrivacySettings privacySettings, Optional<UserSocialLinks> socialLinks) {}
 
+  public record UserSearchResult(List<User> users, @Nullable String nextCursor) {}
+
   @Transactional(readOnly = true)
   public User getUserById(UUID id) {
     return getUserByIdInternal(id);
@@ -49,9 +55,41 @@ public class UserService {
     return new PublicProfileData(user, privacy, socialLinks);
   }
 
+  /**
+   * Admin search over display name (substring) and email (prefix), newest first.
+   *
+   * @param query search text, or null/blank to list all users
+   * @param trustTier optional trust tier filter
+   * @param limit page size
+   * @param cursor {@code nextCursor} from the previous page, or null for the first page
+   */
+  @Transactional(readOnly = true)
+  public UserSearchResult searchUsers(
+      @Nullable String query, @Nullable TrustTier trustTier, int limit, @Nullable String cursor) {
+    UserSearchCursor after = cursor != null ? UserSearchCursor.decode(cursor) : null;
+    String normalizedQuery = emptyToNull(query);
+
+    // Fetch one extra row to learn whether another page exists without a count query
+    List<User> users =
+        userRepository.search(
+            normalizedQuery != null ? normalizedQuery.trim() : null,
+            trustTier,
+            after != null ? after.createdAt() : null,
+            after != null ? after.id() : null,
+            limit + 1);
+
+    if (users.size() <= limit) {
+      return new UserSearchResult(users, null);
+    }
+    List<User> page = users.subList(0, limit);
+    User last = page.get(limit - 1);
+    return new UserSearchResult(
+        page, new UserSearchCursor(last.getCreatedAt(), last.getId()).encode());
+  }
+
   @Transactional
   public User updateTrustTier(UUID id, TrustTier newTier, String reason) {
-    User user = getUserByIdInternal(id);
+    User user = lockUser(id);
     TrustTier oldTier = user.getTrustTier();
 
     if (oldTier == newTier) {
@@ -60,21 +98,24 @@ public class UserService {
     }
 
     user.setTrustTier(newTier);
-    User saved = userRepository.save(user);
+    User saved = userRepository.saveAndFlush(user);
 
     log.info("Updated user {} trust tier: {} -> {} (reason: {})", id, oldTier, newTier, reason);
 
     // Publish event to notify other services
-    UserTrustTierChangedEvent.ChangeReason changeReason = mapReason(reason);
+    UserTrustTierChangedEvent.ChangeReason changeReason =
+        UserTrustTierChangedEvent.ChangeReason.fromReasonText(reason);
     eventPublisher.publish(
         new UserTrustTierChangedEvent(id, oldTier, newTier, changeReason, Instant.now()));
+    profileSnapshotPublisher.publish(List.of(id));
 
     return saved;
   }
 
   @Transactional
   public User updateProfile(UUID userId, UpdateUserRequest request) {
-    User user = getUserByIdInternal(userId);
+    // Locked even when only social links or privacy change, to order this update's snapshot
+    User user = lockUser(userId);
 
     if (request.getDisplayName() != null) {
       user.setDisplayName(request.getDisplayName());
@@ -97,6 +138,7 @@ public class UserService {
                     return newLinks;
                   });
       SocialLinks reqLinks = request.getSocialLinks();
+      String previousYoutube = socialLinks.getYoutube();
       socialLinks.setYoutube(emptyToNull(reqLinks.getYoutube()));
       socialLinks.setFacebook(emptyToNull(reqLinks.getFacebook()));
       socialLinks.setInstagram(emptyToNull(reqLinks.getInstagram()));
@@ -104,6 +146,9 @@ public class UserService {
       socialLinks.setXTwitter(emptyToNull(reqLinks.getxTwitter()));
       socialLinks.setBluesky(emptyToNull(reqLinks.getBluesky()));
       socialLinksRepository.save(socialLinks);
+      if (!Objects.equals(previousYoutube, socialLinks.getYoutube())) {
+        avatarService.storeAvatarSources(userId, user.getEmail(), socialLinks);
+      }
     }
 
     // Update privacy settings if provided
@@ -129,6 +174,10 @@ public class UserService {
       privacySettingsRepository.save(privacySettings);
     }
 
+    // The snapshot is read over JDBC, which does not see unflushed changes
+    userRepository.flush();
+    profileSnapshotPublisher.publish(List.of(userId));
+
     return user;
   }
 
@@ -142,17 +191,6 @@ public class UserService {
     return getPrivacySettingsInternal(userId);
   }
 
-  private UserTrustTierChangedEvent.ChangeReason mapReason(String reason) {
-    if (reason == null) {
-      return UserTrustTierChangedEvent.ChangeReason.MANUAL;
-    }
-    return switch (reason.toUpperCase(Locale.ROOT)) {
-      case "AUTO_PROMOTION" -> UserTrustTierChangedEvent.ChangeReason.AUTO_PROMOTION;
-      case "AUTO_DEMOTION" -> UserTrustTierChangedEvent.ChangeReason.AUTO_DEMOTION;
-      default -> UserTrustTierChangedEvent.ChangeReason.MANUAL;
-    };
-  }
-
   private static String emptyToNull(String value) {
     return (value != null && !value.isBlank()) ? value : null;
   }
@@ -171,4 +209,8 @@ public class UserService {
   private User getUserByIdInternal(UUID id) {
     return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
   }
+
+  private User lockUser(UUID id) {
+    return userRepository.findByIdForUpdate(id).orElseThrow(() -> new UserNotFoundException(id));
+  }
 }
@@ -1,7 +1,20 @@
 package com.accountabilityatlas.userservice.service;
 
-import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.StatsDelta;
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository;
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository.UserStatsCounters;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository.BucketIncrement;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,50 +26,188 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class UserStatsService {
 
-  private final UserStatsRepository userStatsRepository;
+  /** One submission event; {@code eventId} identifies redeliveries. */
+  public record Submission(UUID eventId, UUID userId) {}
 
+  /** One video moving between moderation states, as reported by the video service. */
+  public record StatusChange(UUID eventId, UUID userId, String previousStatus, String newStatus) {}
+
+  private final UserStatsCounterRepository userStatsCounterRepository;
+  private final UserStatsDailyRepository userStatsDailyRepository;
+  private final PromotionRepository promotionRepository;
+  private final EventDeduplicator eventDeduplicator;
+
+  /**
+   * Counts a batch of submissions with one counter statement and one bucket batch, however many
+   * events each user contributed. Events already processed are skipped.
+   */
+  @Transactional
+  public void recordSubmissions(List<Submission> submissions) {
+    Instant now = Instant.now();
+    Set<UUID> claimed =
+        eventDeduplicator.claim(submissions.stream().map(Submission::eventId).toList());
+    Map<UUID, UserBatch> batches = new HashMap<>();
+    for (Submission submission : submissions) {
+      if (claimed.remove(submission.eventId())) {
+        batches.merge(submission.userId(), UserBatch.submission(), UserBatch::plus);
+      }
+    }
+    applyBatch(batches, now);
+  }
+
+  /**
+   * Folds a batch of status changes into one delta per user and applies them together. Events
+   * already processed are skipped.
+   */
   @Transactional
-  public void incrementSubmissionCount(UUID userId) {
-    userStatsRepository
-        .findById(userId)
-        .ifPresentOrElse(
-            stats -> {
-              stats.setSubmissionCount(stats.getSubmissionCount() + 1);
-              stats.setUpdatedAt(Instant.now());
-              userStatsRepository.save(stats);
-              log.debug("Incremented submission count for user {}", userId);
-            },
-            () -> log.warn("UserStats not found for user {}, skipping submission count", userId));
+  public void recordStatusChanges(List<StatusChange> changes) {
+    Instant now = Instant.now();
+    Set<UUID> claimed =
+        eventDeduplicator.claim(changes.stream().map(StatusChange::eventId).toList());
+    Map<UUID, UserBatch> batches = new HashMap<>();
+    for (StatusChange change : changes) {
+      if (!claimed.remove(change.eventId())) {
+        continue;
+      }
+      UserBatch batch = UserBatch.statusChange(change, now);
+      if (!batch.delta().isEmpty()) {
+        batches.merge(change.userId(), batch, UserBatch::plus);
+      }
+    }
+    applyBatch(batches, now);
   }
 
+  /**
+   * Applies changes that were already folded per user, e.g. by {@link StatsWriteBuffer}, and
+   * records the events they came from as processed. {@code events} holds each event's own share,
+   * keyed by event id; users with an event that was processed elsewhere meanwhile are folded again
+   * from their other events, so that event is not counted twice.
+   */
   @Transactional
-  public void handleStatusChange(UUID userId, String previousStatus, String newStatus) {
-    userStatsRepository
-        .findById(userId)
-        .ifPresentOrElse(
-            stats -> {
-              if ("APPROVED".equals(newStatus)) {
-                stats.setApprovedCount(stats.getApprovedCount() + 1);
-              } else if ("APPROVED".equals(previousStatus)) {
-                stats.setApprovedCount(Math.max(0, stats.getApprovedCount() - 1));
-              }
-
-              if ("REJECTED".equals(newStatus)) {
-                stats.setRejectedCount(stats.getRejectedCount() + 1);
-              } else if ("REJECTED".equals(previousStatus)) {
-                stats.setRejectedCount(Math.max(0, stats.getRejectedCount() - 1));
-              }
-
-              stats.setUpdatedAt(Instant.now());
-              userStatsRepository.save(stats);
-              log.debug(
-                  "Updated stats for user {} ({} -> {}): approved={}, rejected={}",
-                  userId,
-                  previousStatus,
-                  newStatus,
-                  stats.getApprovedCount(),
-                  stats.getRejectedCount());
-            },
-            () -> log.warn("UserStats not found for user {}, skipping status change", userId));
+  public void applyBatch(Map<UUID, UserBatch> batches, Map<UUID, BufferedEvent> events) {
+    Set<UUID> claimed = eventDeduplicator.claim(events.keySet());
+    if (claimed.size() == events.size()) {
+      applyBatch(batches, Instant.now());
+      return;
+    }
+
+    Set<UUID> refolded = new HashSet<>();
+    events.forEach(
+        (eventId, event) -> {
+          if (!claimed.contains(eventId)) {
+            refolded.add(event.userId());
+          }
+        });
+    Map<UUID, UserBatch> deduplicated = new HashMap<>(batches);
+    deduplicated.keySet().removeAll(refolded);
+    events.forEach(
+        (eventId, event) -> {
+          if (claimed.contains(eventId) && refolded.contains(event.userId())) {
+            deduplicated.merge(event.userId(), event.batch(), UserBatch::plus);
+          }
+        });
+    log.debug(
+        "Dropped {} buffered events that were processed elsewhere meanwhile",
+        events.size() - claimed.size());
+    applyBatch(deduplicated, Instant.now());
+  }
+
+  private void applyBatch(Map<UUID, UserBatch> batches, Instant now) {
+    if (batches.isEmpty()) {
+      return;
+    }
+    Map<UUID, StatsDelta> deltas = new HashMap<>();
+    batches.forEach((userId, batch) -> deltas.put(userId, batch.delta()));
+
+    Map<UUID, UserStatsCounters> updated = new HashMap<>();
+    userStatsCounterRepository
+        .applyAll(deltas)
+        .forEach(counters -> updated.put(counters.userId(), counters));
+    // Rows missing from the bulk update go through the upsert, which creates them
+    deltas.forEach(
+        (userId, delta) -> {
+          if (!updated.containsKey(userId)) {
+            userStatsCounterRepository
+                .apply(userId, delta)
+                .ifPresentOrElse(
+                    counters -> updated.put(userId, counters),
+                    () -> log.warn("User {} not found, skipping stats update", userId));
+          }
+        });
+
+    List<BucketIncrement> increments = new ArrayList<>();
+    updated.forEach(
+        (userId, counters) -> {
+          UserBatch batch = batches.get(userId);
+          if (batch.hasBucketEvents()) {
+            increments.add(
+                new BucketIncrement(
+                    userId,
+                    batch.delta().submissions(),
+                    batch.approvedEvents(),
+                    batch.rejectedEvents()));
+          }
+          if (batch.affectsPromotion()) {
+            promotionRepository.refreshCandidate(
+                userId, counters.approvedCount(), counters.lastRejectedAt());
+          }
+        });
+    if (!increments.isEmpty()) {
+      userStatsDailyRepository.recordAll(bucketOf(now), increments);
+    }
+    log.debug("Applied stats for {} users", updated.size());
+  }
+
+  /** One buffered event and its share of its user's batch. */
+  public record BufferedEvent(UUID userId, UserBatch batch) {}
+
+  /** A user's share of a batch: the net counter change plus the events for the day bucket. */
+  public record UserBatch(StatsDelta delta, int approvedEvents, int rejectedEvents) {
+
+    static UserBatch submission() {
+      return new UserBatch(new StatsDelta(1, 0, 0, null), 0, 0);
+    }
+
+    static UserBatch statusChange(StatusChange change, Instant now) {
+      StatsDelta delta = statusChangeDelta(change.previousStatus(), change.newStatus(), now);
+      return new UserBatch(delta, Math.max(delta.approved(), 0), Math.max(delta.rejected(), 0));
+    }
+
+    UserBatch plus(UserBatch other) {
+      return new UserBatch(
+          delta.plus(other.delta),
+          approvedEvents + other.approvedEvents,
+          rejectedEvents + other.rejectedEvents);
+    }
+
+    boolean hasBucketEvents() {
+      return delta.submissions() > 0 || approvedEvents > 0 || rejectedEvents > 0;
+    }
+
+    boolean affectsPromotion() {
+      return delta.approved() != 0 || delta.rejected() != 0 || delta.rejectedAt() != null;
+    }
+  }
+
+  private static StatsDelta statusChangeDelta(
+      String previousStatus, String newStatus, Instant now) {
+    int approved = 0;
+    if ("APPROVED".equals(newStatus)) {
+      approved = 1;
+    } else if ("APPROVED".equals(previousStatus)) {
+      approved = -1;
+    }
+
+    int rejected = 0;
+    if ("REJECTED".equals(newStatus)) {
+      rejected = 1;
+    } else if ("REJECTED".equals(previousStatus)) {
+      rejected = -1;
+    }
+    return new StatsDelta(0, approved, rejected, rejected > 0 ? now : null);
+  }
+
+  private static LocalDate bucketOf(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
   }
 }
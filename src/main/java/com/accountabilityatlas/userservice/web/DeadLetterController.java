@@ -0,0 +1,36 @@
+package com.accountabilityatlas.userservice.web;
+
+import com.accountabilityatlas.userservice.event.DeadLetterQueue;
+import com.accountabilityatlas.userservice.web.api.EventsApi;
+import com.accountabilityatlas.userservice.web.model.ReplayResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Moves dead-lettered events back to the queue they failed on, once the cause has been fixed. The
+ * replay runs within the request, so a single call is bounded by {@link #MAX_REPLAY}.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "sqs", matchIfMissing = true)
+public class DeadLetterController implements EventsApi {
+
+  static final int MAX_REPLAY = 1_000;
+
+  private static final int DEFAULT_REPLAY = 100;
+
+  private final DeadLetterQueue deadLetterQueue;
+
+  @Override
+  public ResponseEntity<ReplayResult> replayDeadLetters(String queue, Integer maxMessages) {
+    DeadLetterQueue.ReplayResult result =
+        deadLetterQueue.replay(
+            queue, Math.clamp(maxMessages != null ? maxMessages : DEFAULT_REPLAY, 1, MAX_REPLAY));
+    ReplayResult apiResult = new ReplayResult();
+    apiResult.setQueue(result.queue());
+    apiResult.setReplayed(result.replayed());
+    return ResponseEntity.ok(apiResult);
+  }
+}
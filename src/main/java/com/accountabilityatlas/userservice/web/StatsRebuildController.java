@@ -0,0 +1,95 @@
+package com.accountabilityatlas.userservice.web;
+
+import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter.JwtAuthenticationToken;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository;
+import com.accountabilityatlas.userservice.service.StatsRebuildService;
+import com.accountabilityatlas.userservice.service.StatsRebuildService.StatsRebuildSubmission;
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.web.api.StatsApi;
+import com.accountabilityatlas.userservice.web.model.StatsCounts;
+import com.accountabilityatlas.userservice.web.model.StatsDiff;
+import com.accountabilityatlas.userservice.web.model.StatsRebuildAccepted;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Rebuilds user stats from an uploaded snapshot. Like the import, the body is read as a stream
+ * rather than bound to a model.
+ */
+@RestController
+@RequiredArgsConstructor
+public class StatsRebuildController implements StatsApi {
+
+  static final int MAX_DIFFS = 10_000;
+
+  private static final int DEFAULT_DIFFS = 1_000;
+
+  private final StatsRebuildService statsRebuildService;
+
+  @Override
+  public ResponseEntity<StatsRebuildAccepted> rebuildStats(
+      String format, Boolean dryRun, InputStreamResource body) {
+    UserDataFormat snapshotFormat = UserDataFormat.fromParameter(format);
+    StatsRebuildSubmission submission;
+    try {
+      submission =
+          statsRebuildService.submit(
+              snapshotFormat,
+              body.getInputStream(),
+              dryRun == null || dryRun,
+              getCurrentUserIdOrNull());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    StatsRebuildAccepted accepted = new StatsRebuildAccepted();
+    accepted.setJobId(submission.jobId());
+    accepted.setSnapshotUsers(submission.snapshotUsers());
+    accepted.setDryRun(submission.dryRun());
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted);
+  }
+
+  @Override
+  public ResponseEntity<List<StatsDiff>> getStatsRebuildDiffs(UUID jobId, Integer limit) {
+    int clamped = Math.clamp(limit != null ? limit : DEFAULT_DIFFS, 1, MAX_DIFFS);
+    return ResponseEntity.ok(
+        statsRebuildService.getDiffs(jobId, clamped).stream()
+            .map(StatsRebuildController::toApiDiff)
+            .toList());
+  }
+
+  private static StatsDiff toApiDiff(StatsRebuildRepository.StatsDiff diff) {
+    StatsDiff apiDiff = new StatsDiff();
+    apiDiff.setUserId(diff.userId());
+    if (diff.current() != null) {
+      apiDiff.setCurrent(toApiCounts(diff.current()));
+    }
+    apiDiff.setExpected(toApiCounts(diff.expected()));
+    apiDiff.setApplied(diff.applied());
+    return apiDiff;
+  }
+
+  private static StatsCounts toApiCounts(StatsRebuildRepository.StatsCounts counts) {
+    StatsCounts apiCounts = new StatsCounts();
+    apiCounts.setSubmissions(counts.submissions());
+    apiCounts.setApproved(counts.approved());
+    apiCounts.setRejected(counts.rejected());
+    return apiCounts;
+  }
+
+  private UUID getCurrentUserIdOrNull() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth instanceof JwtAuthenticationToken jwt) {
+      return jwt.getUserId();
+    }
+    return null;
+  }
+}
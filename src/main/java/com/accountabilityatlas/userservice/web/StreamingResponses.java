@@ -0,0 +1,21 @@
+package com.accountabilityatlas.userservice.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * For endpoints that write their body straight to the servlet output stream. Their generated
+ * interfaces declare an {@code InputStreamResource} body; the implementation writes to {@link
+ * #current()} instead and returns {@code null}, so Spring renders nothing more.
+ */
+final class StreamingResponses {
+
+  private StreamingResponses() {}
+
+  /** The response of the request being handled on this thread. */
+  static HttpServletResponse current() {
+    return ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+        .getResponse();
+  }
+}
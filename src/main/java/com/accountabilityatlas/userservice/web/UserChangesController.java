@@ -0,0 +1,46 @@
+package com.accountabilityatlas.userservice.web;
+
+import com.accountabilityatlas.userservice.service.UserChangeCursor;
+import com.accountabilityatlas.userservice.service.UserChangeFeedService;
+import com.accountabilityatlas.userservice.web.api.ChangesApi;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal change feed for downstream sync. Streamed straight to the servlet output stream, like
+ * the export, so a large catch-up does not build up in memory.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UserChangesController implements ChangesApi {
+
+  static final int MAX_LIMIT = 100_000;
+
+  private static final int DEFAULT_LIMIT = 10_000;
+
+  private final UserChangeFeedService userChangeFeedService;
+
+  @Override
+  public ResponseEntity<InputStreamResource> getUserChanges(String since, Integer limit) {
+    UserChangeCursor cursor =
+        since != null ? UserChangeCursor.decode(since) : UserChangeCursor.START;
+    HttpServletResponse response = StreamingResponses.current();
+    response.setContentType("application/x-ndjson");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    try {
+      userChangeFeedService.stream(
+          cursor,
+          Math.clamp(limit != null ? limit : DEFAULT_LIMIT, 1, MAX_LIMIT),
+          response.getOutputStream());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,46 @@
+package com.accountabilityatlas.userservice.web;
+
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserExportService;
+import com.accountabilityatlas.userservice.web.api.ExportApi;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Full user dump for analytics and compliance. Written directly to the servlet output stream on the
+ * request thread so a slow client slows the database cursor down rather than filling the heap.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UserExportController implements ExportApi {
+
+  private final UserExportService userExportService;
+
+  @Override
+  public ResponseEntity<InputStreamResource> exportUsers(String format) {
+    UserDataFormat exportFormat = UserDataFormat.fromParameter(format);
+    HttpServletResponse response = StreamingResponses.current();
+    response.setContentType(exportFormat.contentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("users." + exportFormat.fileExtension())
+            .build()
+            .toString());
+    try {
+      userExportService.export(exportFormat, response.getOutputStream());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,56 @@
+package com.accountabilityatlas.userservice.web;
+
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserImportIssue;
+import com.accountabilityatlas.userservice.service.UserImportReport;
+import com.accountabilityatlas.userservice.service.UserImportService;
+import com.accountabilityatlas.userservice.web.api.ImportApi;
+import com.accountabilityatlas.userservice.web.model.ImportIssue;
+import com.accountabilityatlas.userservice.web.model.ImportReport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Legacy account migration. The request body arrives as an {@link InputStreamResource} over the
+ * servlet input stream rather than bound to a model, so large files are never buffered whole.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UserImportController implements ImportApi {
+
+  private final UserImportService userImportService;
+
+  @Override
+  public ResponseEntity<ImportReport> importUsers(String format, InputStreamResource body) {
+    UserDataFormat importFormat = UserDataFormat.fromParameter(format);
+    UserImportReport report;
+    try {
+      report = userImportService.importUsers(importFormat, body.getInputStream());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ResponseEntity.ok(toApiReport(report));
+  }
+
+  private static ImportReport toApiReport(UserImportReport report) {
+    ImportReport apiReport = new ImportReport();
+    apiReport.setReceived(report.received());
+    apiReport.setImported(report.imported());
+    apiReport.setIssueCount(report.issueCount());
+    apiReport.setIssues(report.issues().stream().map(UserImportController::toApiIssue).toList());
+    return apiReport;
+  }
+
+  private static ImportIssue toApiIssue(UserImportIssue issue) {
+    ImportIssue apiIssue = new ImportIssue();
+    apiIssue.setLine(issue.line());
+    apiIssue.setEmail(issue.email());
+    apiIssue.setReason(ImportIssue.ReasonEnum.fromValue(issue.reason().name()));
+    apiIssue.setDetail(issue.detail());
+    return apiIssue;
+  }
+}
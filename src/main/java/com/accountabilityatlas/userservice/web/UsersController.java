@@ -4,10 +4,14 @@ import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter.JwtAut
 import com.accountabilityatlas.userservice.domain.UserPrivacySettings;
 import com.accountabilityatlas.userservice.domain.UserSocialLinks;
 import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.service.AdminJobService;
 import com.accountabilityatlas.userservice.service.AvatarService;
+import com.accountabilityatlas.userservice.service.BulkTrustTierService;
 import com.accountabilityatlas.userservice.service.UserService;
 import com.accountabilityatlas.userservice.web.api.AdminApi;
 import com.accountabilityatlas.userservice.web.api.UsersApi;
+import com.accountabilityatlas.userservice.web.model.AdminJob;
+import com.accountabilityatlas.userservice.web.model.BulkTrustTierRequest;
 import com.accountabilityatlas.userservice.web.model.PrivacySettings;
 import com.accountabilityatlas.userservice.web.model.SocialLinks;
 import com.accountabilityatlas.userservice.web.model.TrustTier;
@@ -15,10 +19,13 @@ import com.accountabilityatlas.userservice.web.model.UpdateTrustTierRequest;
 import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
 import com.accountabilityatlas.userservice.web.model.User;
 import com.accountabilityatlas.userservice.web.model.UserPublicProfile;
+import com.accountabilityatlas.userservice.web.model.UserSearchPage;
 import java.net.URI;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.UUID;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,12 +34,22 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class UsersController implements UsersApi, AdminApi {
 
+  private static final int DEFAULT_SEARCH_LIMIT = 25;
+
   private final UserService userService;
   private final AvatarService avatarService;
-
-  public UsersController(UserService userService, AvatarService avatarService) {
+  private final BulkTrustTierService bulkTrustTierService;
+  private final AdminJobService adminJobService;
+
+  public UsersController(
+      UserService userService,
+      AvatarService avatarService,
+      BulkTrustTierService bulkTrustTierService,
+      AdminJobService adminJobService) {
     this.userService = userService;
     this.avatarService = avatarService;
+    this.bulkTrustTierService = bulkTrustTierService;
+    this.adminJobService = adminJobService;
   }
 
   @Override
@@ -93,6 +110,57 @@ public class UsersController implements UsersApi, AdminApi {
     return ResponseEntity.ok(toApiUser(updated));
   }
 
+  @Override
+  public ResponseEntity<UserSearchPage> searchUsers(
+      String q, TrustTier trustTier, Integer limit, String cursor) {
+    com.accountabilityatlas.userservice.domain.TrustTier tierFilter =
+        trustTier != null
+            ? com.accountabilityatlas.userservice.domain.TrustTier.valueOf(trustTier.name())
+            : null;
+    UserService.UserSearchResult result =
+        userService.searchUsers(
+            q, tierFilter, limit != null ? limit : DEFAULT_SEARCH_LIMIT, cursor);
+
+    UserSearchPage page = new UserSearchPage();
+    page.setItems(result.users().stream().map(this::toApiUser).toList());
+    page.setNextCursor(result.nextCursor());
+    return ResponseEntity.ok(page);
+  }
+
+  @Override
+  public ResponseEntity<AdminJob> bulkUpdateTrustTier(BulkTrustTierRequest request) {
+    com.accountabilityatlas.userservice.domain.TrustTier newTier =
+        com.accountabilityatlas.userservice.domain.TrustTier.valueOf(request.getTrustTier().name());
+    com.accountabilityatlas.userservice.domain.AdminJob job =
+        bulkTrustTierService.submit(
+            request.getUserIds(), newTier, request.getReason(), getCurrentUserIdOrNull());
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toApiJob(job));
+  }
+
+  @Override
+  public ResponseEntity<AdminJob> getAdminJob(UUID id) {
+    return ResponseEntity.ok(toApiJob(adminJobService.getJob(id)));
+  }
+
+  private AdminJob toApiJob(com.accountabilityatlas.userservice.domain.AdminJob job) {
+    AdminJob apiJob = new AdminJob();
+    apiJob.setId(job.getId());
+    apiJob.setType(job.getJobType().name());
+    apiJob.setStatus(AdminJob.StatusEnum.fromValue(job.getStatus().name()));
+    apiJob.setTotalItems(job.getTotalItems());
+    apiJob.setProcessedItems(job.getProcessedItems());
+    apiJob.setChangedItems(job.getChangedItems());
+    apiJob.setErrorMessage(job.getErrorMessage());
+    apiJob.setCreatedAt(toOffsetDateTime(job.getCreatedAt()));
+    apiJob.setStartedAt(toOffsetDateTime(job.getStartedAt()));
+    apiJob.setFinishedAt(toOffsetDateTime(job.getFinishedAt()));
+    return apiJob;
+  }
+
+  private static OffsetDateTime toOffsetDateTime(Instant instant) {
+    return instant != null ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+  }
+
   private UserPublicProfile toPublicProfile(
       com.accountabilityatlas.userservice.domain.User domainUser) {
     UserPublicProfile profile = new UserPublicProfile();
@@ -120,7 +188,7 @@ public class UsersController implements UsersApi, AdminApi {
       apiUser.setSocialLinks(toApiSocialLinks(socialLinks));
     }
     apiUser.setPrivacySettings(toApiPrivacySettings(userService.getPrivacySettings(userId)));
-    apiUser.setAvatarSources(avatarService.getAvatarSources(email, socialLinks));
+    apiUser.setAvatarSources(avatarService.getAvatarSources(userId, email, socialLinks));
   }
 
   private User toApiUser(com.accountabilityatlas.userservice.domain.User domainUser) {
@@ -0,0 +1,22 @@
+-- Long-running admin operations (bulk tier changes, rebuilds) run in the background and
+-- report progress here so the caller can poll instead of holding a request open.
+
+CREATE TABLE users.admin_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    requested_by UUID,
+    total_items INTEGER NOT NULL DEFAULT 0,
+    processed_items INTEGER NOT NULL DEFAULT 0,
+    changed_items INTEGER NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+
+    CONSTRAINT valid_admin_job_status CHECK (
+        status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')
+    )
+);
+
+CREATE INDEX idx_admin_jobs_created ON users.admin_jobs(created_at);
@@ -0,0 +1,24 @@
+-- Auto-promotion works from a queue of NEW users who already have enough approved
+-- submissions, kept current as stats events arrive, instead of scanning every NEW user.
+-- eligible_at is the earliest time the account age and rejection window both allow it.
+
+ALTER TABLE users.user_stats ADD COLUMN last_rejected_at TIMESTAMPTZ;
+
+-- Rejection times were never recorded; the last stats change is a safe upper bound
+UPDATE users.user_stats SET last_rejected_at = updated_at WHERE rejected_count > 0;
+
+CREATE TABLE users.promotion_candidates (
+    user_id UUID PRIMARY KEY REFERENCES users.users(id) ON DELETE CASCADE,
+    eligible_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_promotion_candidates_eligible ON users.promotion_candidates(eligible_at);
+
+-- Seeded with the default thresholds: 10 approved, 30 day account age and rejection window
+INSERT INTO users.promotion_candidates (user_id, eligible_at)
+SELECT u.id,
+       GREATEST(lower(u.sys_period) + INTERVAL '30 days', s.last_rejected_at + INTERVAL '30 days')
+FROM users.users u
+JOIN users.user_stats s ON s.user_id = u.id
+WHERE u.trust_tier = 'NEW'
+  AND s.approved_count >= 10;
@@ -0,0 +1,15 @@
+-- Per-user activity counted in UTC day buckets, so "rejections in the last N days" is a sum
+-- over one primary key range instead of a question for the video service. Buckets record
+-- events as they happen and are never decremented; old ones are pruned on a schedule.
+
+CREATE TABLE users.user_stats_daily (
+    user_id UUID NOT NULL REFERENCES users.users(id) ON DELETE CASCADE,
+    bucket_date DATE NOT NULL,
+    submission_count INTEGER NOT NULL DEFAULT 0,
+    approved_count INTEGER NOT NULL DEFAULT 0,
+    rejected_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, bucket_date)
+) WITH (fillfactor = 80);
+
+-- Retention pruning deletes by date across all users
+CREATE INDEX idx_user_stats_daily_bucket ON users.user_stats_daily(bucket_date);
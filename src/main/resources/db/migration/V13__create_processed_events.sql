@@ -0,0 +1,12 @@
+-- Consumed SQS events that have already been applied, so a redelivery is recognised and skipped.
+-- The id is a name-based UUID of the event's identity (type, video, transition), which keeps
+-- each row at a fixed 16-byte key. Rows only need to outlive the queue's redelivery window and
+-- are pruned on a schedule.
+
+CREATE TABLE users.processed_events (
+    event_id UUID PRIMARY KEY,
+    processed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Retention pruning deletes by age
+CREATE INDEX idx_processed_events_processed_at ON users.processed_events(processed_at);
@@ -0,0 +1,27 @@
+-- Authoritative per-user counts uploaded for a stats rebuild. A snapshot only lives for the
+-- duration of its job and can simply be uploaded again, so the table skips the WAL.
+
+CREATE UNLOGGED TABLE users.stats_rebuild_snapshots (
+    snapshot_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    submission_count INTEGER NOT NULL,
+    approved_count INTEGER NOT NULL,
+    rejected_count INTEGER NOT NULL,
+    PRIMARY KEY (snapshot_id, user_id)
+);
+
+-- Every difference a rebuild job found: the report for a dry run, the audit trail otherwise.
+-- current_* are NULL when the user had no stats row.
+
+CREATE TABLE users.stats_rebuild_diffs (
+    job_id UUID NOT NULL REFERENCES users.admin_jobs(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    current_submission_count INTEGER,
+    current_approved_count INTEGER,
+    current_rejected_count INTEGER,
+    expected_submission_count INTEGER NOT NULL,
+    expected_approved_count INTEGER NOT NULL,
+    expected_rejected_count INTEGER NOT NULL,
+    applied BOOLEAN NOT NULL,
+    PRIMARY KEY (job_id, user_id)
+);
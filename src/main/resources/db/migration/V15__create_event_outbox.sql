@@ -0,0 +1,13 @@
+-- Domain events waiting to be sent to SQS. Rows are written in the same transaction as the change
+-- they describe and deleted by the relay once SQS has accepted them, so an event is never sent
+-- for a rolled-back change and never lost for a committed one.
+
+CREATE TABLE users.event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    last_error TEXT
+);
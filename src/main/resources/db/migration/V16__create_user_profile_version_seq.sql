@@ -0,0 +1,6 @@
+-- Versions of the UserProfileChanged snapshots. A snapshot takes its version while the user row is
+-- locked, so for any one user the versions grow in commit order and consumers can drop a snapshot
+-- older than the one they hold. Kept out of users.users so that a privacy-only change does not
+-- rewrite the user row (and restart its sys_period).
+
+CREATE SEQUENCE users.user_profile_version_seq;
@@ -0,0 +1,11 @@
+-- Keyset scans for the change feed (GET /users/changes). A user counts as changed when any of its
+-- temporal rows was written. V9 built the same (lower(sys_period), id) index on users.users for
+-- admin search; the feed takes it over under its own name, so search changes cannot drop it.
+
+ALTER INDEX users.idx_users_created_id RENAME TO idx_users_changed;
+
+CREATE INDEX idx_user_privacy_settings_changed
+    ON users.user_privacy_settings ((lower(sys_period)), user_id);
+
+CREATE INDEX idx_user_social_links_changed
+    ON users.user_social_links ((lower(sys_period)), user_id);
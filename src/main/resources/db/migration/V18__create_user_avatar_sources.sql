@@ -0,0 +1,22 @@
+-- Avatar sources resolved ahead of profile reads (1:1 with users). Derived data, so not temporal.
+-- gravatar_hash is the MD5 of the trimmed, lower-cased email.
+
+CREATE TABLE IF NOT EXISTS users.user_avatar_sources (
+    user_id UUID PRIMARY KEY REFERENCES users.users(id) ON DELETE CASCADE,
+    gravatar_hash CHAR(32) NOT NULL,
+    youtube_channel_id VARCHAR(100),
+    youtube_thumbnail_url VARCHAR(500),
+    resolved_at TIMESTAMPTZ
+);
+
+-- YouTube thumbnails due for the refresh job, never resolved ones first
+CREATE INDEX IF NOT EXISTS idx_user_avatar_sources_resolved
+    ON users.user_avatar_sources (resolved_at NULLS FIRST)
+    WHERE youtube_channel_id IS NOT NULL;
+
+INSERT INTO users.user_avatar_sources (user_id, gravatar_hash, youtube_channel_id)
+SELECT u.id, md5(lower(btrim(u.email))), sl.youtube
+FROM users.users u
+LEFT JOIN users.user_social_links sl ON sl.user_id = u.id;
+
+COMMENT ON TABLE users.user_avatar_sources IS 'Resolved Gravatar hash and YouTube thumbnail per user';
@@ -0,0 +1,8 @@
+-- Admin jobs run in the memory of one instance, which refreshes heartbeat_at while a job is
+-- queued or running. A PENDING or RUNNING job whose heartbeat stopped was lost with its instance
+-- and is marked FAILED by the others.
+
+ALTER TABLE users.admin_jobs ADD COLUMN heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+CREATE INDEX idx_admin_jobs_live_heartbeat ON users.admin_jobs(heartbeat_at)
+    WHERE status IN ('PENDING', 'RUNNING');
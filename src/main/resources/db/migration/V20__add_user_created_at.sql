@@ -0,0 +1,38 @@
+-- lower(sys_period) restarts with every update of a user, so it only says when the current row
+-- version began. created_at is written once on insert and never changes; existing users take the
+-- start of their earliest version.
+
+ALTER TABLE users.users ADD COLUMN created_at TIMESTAMPTZ;
+ALTER TABLE users.users_history ADD COLUMN created_at TIMESTAMPTZ;
+
+CREATE TEMPORARY TABLE user_first_versions ON COMMIT DROP AS
+SELECT id, min(lower(sys_period)) AS created_at
+FROM (
+    SELECT id, sys_period FROM users.users
+    UNION ALL
+    SELECT id, sys_period FROM users.users_history
+) versions
+GROUP BY id;
+
+-- The backfill must not archive a version of every user or restart their sys_period
+ALTER TABLE users.users DISABLE TRIGGER users_versioning_trigger;
+
+UPDATE users.users u
+SET created_at = f.created_at
+FROM user_first_versions f
+WHERE f.id = u.id;
+
+ALTER TABLE users.users ENABLE TRIGGER users_versioning_trigger;
+
+UPDATE users.users_history h
+SET created_at = f.created_at
+FROM user_first_versions f
+WHERE f.id = h.id;
+
+ALTER TABLE users.users
+    ALTER COLUMN created_at SET DEFAULT NOW(),
+    ALTER COLUMN created_at SET NOT NULL;
+
+-- Admin user search pages over (created_at, id). The (lower(sys_period), id) index stays as the
+-- change feed's idx_users_changed (V17).
+CREATE INDEX idx_users_created_at_id ON users.users (created_at, id);
@@ -0,0 +1,7 @@
+-- Entries the relay gave up on, because SQS rejected them as malformed or they were still failing
+-- after app.outbox.max-attempts, keep their row with failed_at set and are no longer claimed.
+
+ALTER TABLE users.event_outbox ADD COLUMN failed_at TIMESTAMPTZ;
+
+CREATE INDEX idx_event_outbox_due ON users.event_outbox(next_attempt_at)
+    WHERE failed_at IS NULL;
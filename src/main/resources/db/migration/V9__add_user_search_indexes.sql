@@ -0,0 +1,9 @@
+-- Admin user search: substring match on display name, prefix match on email,
+-- keyset pagination over (created, id) where created = lower(sys_period).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_display_name_trgm ON users.users USING gin (display_name gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users.users USING gin (email gin_trgm_ops);
+
+CREATE INDEX idx_users_created_id ON users.users ((lower(sys_period)), id);
@@ -0,0 +1,81 @@
+package com.accountabilityatlas.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final CircuitBreaker breaker =
+      new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(30), now::get);
+
+  @Test
+  void opens_onceFailureRateReachedOverMinimumCalls() {
+    call(true);
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    call(false);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void staysClosed_belowFailureRate() {
+    call(false);
+    call(false);
+    call(false);
+    call(true);
+    call(false);
+    call(false);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void letsOneTrialThrough_afterOpenDuration() {
+    call(true);
+    call(true);
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void closesWithEmptyWindow_whenTrialSucceeds() {
+    call(true);
+    call(true);
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    call(false);
+    call(true);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void reopens_whenTrialFails() {
+    call(true);
+    call(true);
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    call(true);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  private void call(boolean fails) {
+    assertThat(breaker.tryAcquire()).isTrue();
+    if (fails) {
+      breaker.onFailure();
+    } else {
+      breaker.onSuccess();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.accountabilityatlas.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.config.CacheTtlProperties;
+import com.accountabilityatlas.userservice.config.YouTubeProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/** Runs the client with its production HTTP setup against a local stub of the Data API. */
+class RestYouTubeClientStubServerTest {
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private volatile int status = 200;
+  private volatile Duration delay = Duration.ZERO;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private RestYouTubeClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/youtube/v3/channels", this::respond);
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    YouTubeProperties properties = new YouTubeProperties();
+    properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/youtube/v3");
+    properties.setBatchWindow(Duration.ofMillis(1));
+    properties.setReadTimeout(Duration.ofMillis(300));
+    properties.getCircuitBreaker().setWindowSize(4);
+    properties.getCircuitBreaker().setMinimumCalls(2);
+    properties.getCircuitBreaker().setOpenDuration(Duration.ofHours(1));
+    CacheTtlProperties ttls = new CacheTtlProperties();
+    ttls.getYoutubeThumbnails().setFailed(Duration.ZERO);
+    client =
+        new RestYouTubeClient(
+            "test-api-key",
+            properties,
+            ttls,
+            new ConcurrentMapCacheManager(RestYouTubeClient.CACHE_NAME),
+            meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void lookupChannelThumbnails_returnsThumbnailsFromServer() {
+    Map<String, ThumbnailLookup> result = client.lookupChannelThumbnails(List.of("UCa"));
+
+    assertThat(result.get("UCa")).isInstanceOf(ThumbnailLookup.Found.class);
+    assertThat(((ThumbnailLookup.Found) result.get("UCa")).url()).isEqualTo("https://t/UCa");
+    assertThat(meterRegistry.get("users.youtube.calls").tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void lookupChannelThumbnails_failsFast_whenServerDoesNotAnswerInTime() {
+    delay = Duration.ofSeconds(5);
+    long start = System.nanoTime();
+
+    Map<String, ThumbnailLookup> result = client.lookupChannelThumbnails(List.of("UCa"));
+
+    assertThat(result.get("UCa")).isInstanceOf(ThumbnailLookup.Failed.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+  }
+
+  @Test
+  void lookupChannelThumbnails_stopsCallingServer_onceCircuitOpens() {
+    status = 500;
+
+    client.lookupChannelThumbnails(List.of("UCa"));
+    client.lookupChannelThumbnails(List.of("UCb"));
+    Map<String, ThumbnailLookup> result = client.lookupChannelThumbnails(List.of("UCc"));
+
+    assertThat(result.get("UCc")).isInstanceOf(ThumbnailLookup.Failed.class);
+    assertThat(requests).hasValue(2);
+    assertThat(meterRegistry.get("users.youtube.circuit.rejected").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("users.youtube.circuit.state").gauge().value()).isEqualTo(1);
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    try {
+      Thread.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    String query = exchange.getRequestURI().getQuery();
+    String id = query.replaceAll(".*\\bid=([^&]*).*", "$1");
+    byte[] body =
+        """
+        {"items": [{"id": "%s", "snippet": {"thumbnails": {"default": {"url": "https://t/%s"}}}}]}
+        """
+            .formatted(id, id)
+            .getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
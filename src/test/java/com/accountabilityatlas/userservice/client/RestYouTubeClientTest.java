@@ -5,9 +5,20 @@ import static org.springframework.test.web.client.match.MockRestRequestMatchers.
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import com.accountabilityatlas.userservice.config.CacheTtlProperties;
+import com.accountabilityatlas.userservice.config.CacheTtlProperties.LookupTtls;
+import com.accountabilityatlas.userservice.config.YouTubeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClient;
@@ -19,13 +30,28 @@ class RestYouTubeClientTest {
   private static final String BASE_URL = "https://www.googleapis.com/youtube/v3";
 
   private MockRestServiceServer server;
+  private RestClient restClient;
+  private Cache cache;
+  private LookupTtls ttls;
   private RestYouTubeClient client;
 
   @BeforeEach
   void setUp() {
     RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
     server = MockRestServiceServer.bindTo(builder).build();
-    client = new RestYouTubeClient(API_KEY, builder.build());
+    restClient = builder.build();
+    cache = new ConcurrentMapCache(RestYouTubeClient.CACHE_NAME);
+    YouTubeProperties properties = new YouTubeProperties();
+    properties.setBatchWindow(Duration.ofMillis(1));
+    ttls = new CacheTtlProperties().getYoutubeThumbnails();
+    client =
+        new RestYouTubeClient(
+            API_KEY, restClient, properties, ttls, cache, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
   }
 
   @Test
@@ -39,6 +65,7 @@ class RestYouTubeClientTest {
                 """
                 {
                   "items": [{
+                    "id": "UCtest123",
                     "snippet": {
                       "thumbnails": {
                         "default": {
@@ -105,6 +132,7 @@ class RestYouTubeClientTest {
                 """
                 {
                   "items": [{
+                    "id": "UCtest123",
                     "snippet": {
                       "thumbnails": {}
                     }
@@ -136,7 +164,197 @@ class RestYouTubeClientTest {
     server.verify();
   }
 
+  @Test
+  void getChannelThumbnailUrl_cachesResult_includingMissingChannel() {
+    // Arrange
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(withSuccess("{\"items\": []}", MediaType.APPLICATION_JSON));
+
+    // Act
+    client.getChannelThumbnailUrl(CHANNEL_ID);
+    String result = client.getChannelThumbnailUrl(CHANNEL_ID);
+
+    // Assert
+    assertThat(result).isNull();
+    assertThat(cache.get(CHANNEL_ID)).isNotNull();
+    server.verify();
+  }
+
+  @Test
+  void getChannelThumbnailUrl_cachesFailure_andServesItUntilDue() {
+    // Arrange
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(withException(new IOException("Connection refused")));
+
+    // Act
+    client.getChannelThumbnailUrl(CHANNEL_ID);
+    String result = client.getChannelThumbnailUrl(CHANNEL_ID);
+
+    // Assert
+    assertThat(result).isNull();
+    assertThat(cache.get(CHANNEL_ID).get()).isInstanceOf(ThumbnailLookup.Failed.class);
+    server.verify();
+  }
+
+  @Test
+  void getChannelThumbnailUrl_doesNotCacheFailure_whenFailedTtlIsZero() {
+    // Arrange
+    ttls.setFailed(Duration.ZERO);
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(withException(new IOException("Connection refused")));
+
+    // Act
+    client.getChannelThumbnailUrl(CHANNEL_ID);
+
+    // Assert
+    assertThat(cache.get(CHANNEL_ID)).isNull();
+    server.verify();
+  }
+
+  @Test
+  void getChannelThumbnailUrl_looksUpAgain_whenNotFoundEntryIsDue() {
+    // Arrange
+    cache.put(CHANNEL_ID, new ThumbnailLookup.NotFound(Instant.now().minus(Duration.ofHours(2))));
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(
+            withSuccess(
+                """
+                {
+                  "items": [{
+                    "id": "UCtest123",
+                    "snippet": {"thumbnails": {"default": {"url": "https://t"}}}
+                  }]
+                }
+                """,
+                MediaType.APPLICATION_JSON));
+
+    // Act
+    String result = client.getChannelThumbnailUrl(CHANNEL_ID);
+
+    // Assert
+    assertThat(result).isEqualTo("https://t");
+    server.verify();
+  }
+
+  @Test
+  void lookupChannelThumbnails_fetchesMissesInOneCall() {
+    // Arrange
+    YouTubeProperties properties = new YouTubeProperties();
+    properties.setBatchWindow(Duration.ofHours(1));
+    properties.setMaxBatchSize(3);
+    client.shutdown();
+    client =
+        new RestYouTubeClient(
+            API_KEY, restClient, properties, ttls, cache, new SimpleMeterRegistry());
+    ThumbnailLookup cached =
+        new ThumbnailLookup.Found("https://yt3.ggpht.com/cached.jpg", Instant.now());
+    cache.put("UCcached", cached);
+    server
+        .expect(
+            requestTo(
+                BASE_URL
+                    + "/channels?part=snippet&id=UCa,UCb,UCc&maxResults=3&key="
+                    + API_KEY))
+        .andRespond(
+            withSuccess(
+                """
+                {
+                  "items": [
+                    {"id": "UCa", "snippet": {"thumbnails": {"default": {"url": "https://a"}}}},
+                    {"id": "UCc", "snippet": {"thumbnails": {"default": {"url": "https://c"}}}}
+                  ]
+                }
+                """,
+                MediaType.APPLICATION_JSON));
+
+    // Act
+    Map<String, ThumbnailLookup> result =
+        client.lookupChannelThumbnails(List.of("UCa", "UCcached", "UCb", "UCc", "UCa"));
+
+    // Assert
+    assertThat(result).containsOnlyKeys("UCa", "UCcached", "UCb", "UCc");
+    assertThat(result.get("UCa")).isInstanceOf(ThumbnailLookup.Found.class);
+    assertThat(((ThumbnailLookup.Found) result.get("UCc")).url()).isEqualTo("https://c");
+    assertThat(result.get("UCcached")).isSameAs(cached);
+    assertThat(result.get("UCb")).isInstanceOf(ThumbnailLookup.NotFound.class);
+    assertThat(cache.get("UCb").get()).isEqualTo(result.get("UCb"));
+    server.verify();
+  }
+
+  @Test
+  void getCachedChannelThumbnailUrl_returnsNullAtOnce_andCachesInBackground() throws Exception {
+    // Arrange
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(
+            withSuccess(
+                """
+                {
+                  "items": [{
+                    "id": "UCtest123",
+                    "snippet": {"thumbnails": {"default": {"url": "https://t"}}}
+                  }]
+                }
+                """,
+                MediaType.APPLICATION_JSON));
+
+    // Act
+    String first = client.getCachedChannelThumbnailUrl(CHANNEL_ID);
+    awaitCached(CHANNEL_ID);
+    String second = client.getCachedChannelThumbnailUrl(CHANNEL_ID);
+
+    // Assert
+    assertThat(first).isNull();
+    assertThat(second).isEqualTo("https://t");
+    server.verify();
+  }
+
+  @Test
+  void getCachedChannelThumbnailUrl_servesStaleEntry_andRefreshesIt() throws Exception {
+    // Arrange
+    Instant old = Instant.now().minus(Duration.ofDays(1));
+    cache.put(CHANNEL_ID, new ThumbnailLookup.Found("https://old", old));
+    server
+        .expect(requestTo(channelRequestUrl()))
+        .andRespond(
+            withSuccess(
+                """
+                {
+                  "items": [{
+                    "id": "UCtest123",
+                    "snippet": {"thumbnails": {"default": {"url": "https://new"}}}
+                  }]
+                }
+                """,
+                MediaType.APPLICATION_JSON));
+
+    // Act
+    String result = client.getCachedChannelThumbnailUrl(CHANNEL_ID);
+    for (int attempt = 0; attempt < 100 && lookedUpAt(CHANNEL_ID).equals(old); attempt++) {
+      Thread.sleep(20);
+    }
+
+    // Assert
+    assertThat(result).isEqualTo("https://old");
+    assertThat(client.getCachedChannelThumbnailUrl(CHANNEL_ID)).isEqualTo("https://new");
+    server.verify();
+  }
+
+  private void awaitCached(String channelId) throws InterruptedException {
+    for (int attempt = 0; attempt < 100 && cache.get(channelId) == null; attempt++) {
+      Thread.sleep(20);
+    }
+  }
+
+  private Instant lookedUpAt(String channelId) {
+    return ((ThumbnailLookup) cache.get(channelId).get()).lookedUpAt();
+  }
+
   private String channelRequestUrl() {
-    return BASE_URL + "/channels?part=snippet&id=" + CHANNEL_ID + "&key=" + API_KEY;
+    return BASE_URL + "/channels?part=snippet&id=" + CHANNEL_ID + "&maxResults=1&key=" + API_KEY;
   }
 }
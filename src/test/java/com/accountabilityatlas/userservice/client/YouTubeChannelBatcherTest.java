@@ -0,0 +1,101 @@
+package com.accountabilityatlas.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class YouTubeChannelBatcherTest {
+
+  private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+  private YouTubeChannelBatcher<String> batcher;
+
+  @AfterEach
+  void tearDown() {
+    batcher.shutdown();
+  }
+
+  @Test
+  void load_coalescesIdsQueuedWithinWindowIntoOneCall() throws Exception {
+    batcher = batcher(ids -> Map.of("UCa", "https://a"), Duration.ofMillis(50), 50);
+
+    CompletableFuture<String> a = batcher.load("UCa");
+    CompletableFuture<String> b = batcher.load("UCb");
+    CompletableFuture<String> again = batcher.load("UCa");
+
+    assertThat(a.get(5, TimeUnit.SECONDS)).isEqualTo("https://a");
+    assertThat(b.get(5, TimeUnit.SECONDS)).isNull();
+    assertThat(again).isSameAs(a);
+    assertThat(calls).containsExactly(List.of("UCa", "UCb"));
+  }
+
+  @Test
+  void load_fetchesFullBatchWithoutWaitingForWindow() {
+    batcher = batcher(ids -> Map.of(), Duration.ofHours(1), 2);
+
+    CompletableFuture<String> a = batcher.load("UCa");
+    CompletableFuture<String> b = batcher.load("UCb");
+
+    assertThat(a).isDone();
+    assertThat(b).isDone();
+    assertThat(calls).containsExactly(List.of("UCa", "UCb"));
+  }
+
+  @Test
+  void load_failsBatchRejectedByExecutor() {
+    batcher =
+        new YouTubeChannelBatcher<>(
+            ids -> Map.of(),
+            Duration.ofHours(1),
+            1,
+            YouTubeChannelBatcher.defaultScheduler(),
+            command -> {
+              throw new RejectedExecutionException("queue full");
+            });
+
+    CompletableFuture<String> a = batcher.load("UCa");
+
+    assertThatThrownBy(a::get).isInstanceOf(ExecutionException.class);
+    assertThat(batcher.load("UCa")).isNotSameAs(a);
+  }
+
+  @Test
+  void load_failsEveryCallerOfFailedBatch() {
+    batcher =
+        batcher(
+            ids -> {
+              throw new IllegalStateException("quota exceeded");
+            },
+            Duration.ofHours(1),
+            2);
+
+    CompletableFuture<String> a = batcher.load("UCa");
+    CompletableFuture<String> b = batcher.load("UCb");
+
+    assertThatThrownBy(a::get).isInstanceOf(ExecutionException.class);
+    assertThatThrownBy(b::get).isInstanceOf(ExecutionException.class);
+  }
+
+  private YouTubeChannelBatcher<String> batcher(
+      Function<List<String>, Map<String, String>> fetcher, Duration window, int maxBatchSize) {
+    return new YouTubeChannelBatcher<>(
+        ids -> {
+          calls.add(List.copyOf(ids));
+          return fetcher.apply(ids);
+        },
+        window,
+        maxBatchSize,
+        YouTubeChannelBatcher.defaultScheduler(),
+        Runnable::run);
+  }
+}
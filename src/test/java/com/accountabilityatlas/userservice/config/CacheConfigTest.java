@@ -3,9 +3,17 @@ package com.accountabilityatlas.userservice.config;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.accountabilityatlas.userservice.client.RestYouTubeClient;
+import com.accountabilityatlas.userservice.client.ThumbnailLookup;
+import com.accountabilityatlas.userservice.config.CacheTtlProperties.LookupTtls;
+import java.time.Duration;
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
+import java.util.List;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 
 class CacheConfigTest {
 
@@ -15,8 +23,43 @@ class CacheConfigTest {
   void cacheManager_createsManagerSuccessfully() {
     RedisConnectionFactory mockFactory = mock(RedisConnectionFactory.class);
 
-    RedisCacheManager manager = cacheConfig.cacheManager(mockFactory);
+    RedisCacheManager manager = cacheConfig.cacheManager(mockFactory, new CacheTtlProperties());
 
     assertThat(manager).isNotNull();
   }
+
+  @Test
+  void cacheManager_roundTripsLookupsThroughTheConfiguredSerializer() {
+    RedisCacheManager manager =
+        cacheConfig.cacheManager(mock(RedisConnectionFactory.class), new CacheTtlProperties());
+    SerializationPair<Object> values =
+        manager
+            .getCacheConfigurations()
+            .get(RestYouTubeClient.CACHE_NAME)
+            .getValueSerializationPair();
+    Instant lookedUpAt = Instant.parse("2026-10-19T08:15:30.123456Z");
+    List<Object> cached =
+        List.of(
+            new ThumbnailLookup.Found("https://a", lookedUpAt),
+            new ThumbnailLookup.NotFound(lookedUpAt),
+            new ThumbnailLookup.Failed("timeout", lookedUpAt),
+            "https://legacy");
+
+    for (Object value : cached) {
+      assertThat(values.read(values.write(value))).isEqualTo(value);
+    }
+  }
+
+  @Test
+  void lookupTtl_expiresEachOutcomeAfterItsOwnTtl() {
+    RedisCacheWriter.TtlFunction ttl = CacheConfig.lookupTtl(new LookupTtls(), Duration.ofDays(2));
+
+    assertThat(ttl.getTimeToLive("UCa", new ThumbnailLookup.Found("https://a", Instant.now())))
+        .isEqualTo(Duration.ofHours(24));
+    assertThat(ttl.getTimeToLive("UCb", new ThumbnailLookup.NotFound(Instant.now())))
+        .isEqualTo(Duration.ofHours(1));
+    assertThat(ttl.getTimeToLive("UCc", new ThumbnailLookup.Failed("timeout", Instant.now())))
+        .isEqualTo(Duration.ofSeconds(30));
+    assertThat(ttl.getTimeToLive("UCd", "https://legacy")).isEqualTo(Duration.ofDays(2));
+  }
 }
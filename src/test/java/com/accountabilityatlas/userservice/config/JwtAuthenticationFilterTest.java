@@ -19,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,6 +68,25 @@ class JwtAuthenticationFilterTest {
     assertThat(auth.getSessionId()).isEqualTo(sessionId);
   }
 
+  @Test
+  void doFilterInternal_withAdminToken_grantsAdminRole() throws Exception {
+    String token = "admin-token";
+    Claims claims = mock(Claims.class);
+    when(claims.getSubject()).thenReturn(UUID.randomUUID().toString());
+    when(claims.get("email", String.class)).thenReturn("admin@example.com");
+    when(claims.get("trustTier", String.class)).thenReturn("ADMIN");
+    when(claims.get("sessionId", String.class)).thenReturn(UUID.randomUUID().toString());
+
+    request.addHeader("Authorization", "Bearer " + token);
+    when(tokenService.parseAccessToken(token)).thenReturn(claims);
+
+    filter.doFilterInternal(request, response, filterChain);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+  }
+
   @Test
   void doFilterInternal_withNoAuthHeader_doesNotSetAuthentication() throws Exception {
     filter.doFilterInternal(request, response, filterChain);
@@ -1,12 +1,20 @@
 package com.accountabilityatlas.userservice.config;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.mock;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import io.awspring.cloud.sqs.listener.SqsMessageListenerContainer;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import io.awspring.cloud.sqs.support.converter.SqsMessagingMessageConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
 class SqsConfigTest {
@@ -31,4 +39,56 @@ class SqsConfigTest {
 
     assertNotNull(converter);
   }
+
+  @Test
+  void listenerContainerFactory_appliesPerQueueConcurrencyAndCapsPrefetch() {
+    SqsListenerProperties properties = new SqsListenerProperties();
+    properties.setMaxConcurrentMessages(20);
+    properties.setQueueConcurrency(Map.of("slow-queue", 4));
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    SqsMessageListenerContainerFactory<Object> factory =
+        sqsConfig.defaultSqsListenerContainerFactory(
+            mock(SqsAsyncClient.class),
+            sqsConfig.sqsMessagingMessageConverter(objectMapper),
+            properties,
+            new SqsConsumerMetrics(new SimpleMeterRegistry()));
+
+    SqsMessageListenerContainer<Object> slow = factory.createContainer("slow-queue");
+    SqsMessageListenerContainer<Object> other = factory.createContainer("other-queue");
+
+    assertThat(slow.getContainerOptions().getMaxConcurrentMessages()).isEqualTo(4);
+    assertThat(slow.getContainerOptions().getMaxMessagesPerPoll()).isEqualTo(4);
+    assertThat(other.getContainerOptions().getMaxConcurrentMessages()).isEqualTo(20);
+    assertThat(other.getContainerOptions().getMaxMessagesPerPoll()).isEqualTo(10);
+  }
+
+  @Test
+  void listenerContainerFactory_keepsLibraryExecutor_byDefault() {
+    SqsMessageListenerContainer<Object> container =
+        factory(new SqsListenerProperties()).createContainer("queue");
+
+    assertThat(container.getContainerOptions().getComponentsTaskExecutor()).isNull();
+  }
+
+  @Test
+  void listenerContainerFactory_processesOnVirtualThreads_whenEnabled() throws Exception {
+    SqsListenerProperties properties = new SqsListenerProperties();
+    properties.setVirtualThreads(true);
+
+    SqsMessageListenerContainer<Object> container = factory(properties).createContainer("queue");
+
+    TaskExecutor executor = container.getContainerOptions().getComponentsTaskExecutor();
+    CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+    executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+    assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private SqsMessageListenerContainerFactory<Object> factory(SqsListenerProperties properties) {
+    return sqsConfig.defaultSqsListenerContainerFactory(
+        mock(SqsAsyncClient.class),
+        sqsConfig.sqsMessagingMessageConverter(new ObjectMapper()),
+        properties,
+        new SqsConsumerMetrics(new SimpleMeterRegistry()));
+  }
 }
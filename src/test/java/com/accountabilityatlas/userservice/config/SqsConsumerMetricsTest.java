@@ -0,0 +1,74 @@
+package com.accountabilityatlas.userservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+class SqsConsumerMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SqsConsumerMetrics metrics = new SqsConsumerMetrics(meterRegistry);
+
+  private static Message<Object> message(String queue, long sentAt) {
+    return MessageBuilder.<Object>withPayload("{}")
+        .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, queue)
+        .setHeader(SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP, String.valueOf(sentAt))
+        .build();
+  }
+
+  private double inFlight(String queue) {
+    return meterRegistry.get("users.sqs.consumer.inflight").tag("queue", queue).gauge().value();
+  }
+
+  @Test
+  void batch_tracksInFlightLagAndHandlerLatencyPerQueue() {
+    long sentAt = System.currentTimeMillis() - 5000;
+    List<Message<Object>> batch = List.of(message("video", sentAt), message("video", sentAt));
+
+    metrics.intercept(batch);
+
+    assertThat(inFlight("video")).isEqualTo(2);
+    assertThat(meterRegistry.get("users.sqs.consumer.lag").tag("queue", "video").timer().count())
+        .isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get("users.sqs.consumer.lag")
+                .tag("queue", "video")
+                .timer()
+                .max(TimeUnit.MILLISECONDS))
+        .isGreaterThanOrEqualTo(5000);
+
+    metrics.afterProcessing(batch, null);
+
+    assertThat(inFlight("video")).isZero();
+    assertThat(
+            meterRegistry
+                .get("users.sqs.consumer.handler")
+                .tags("queue", "video", "outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void singleMessage_failure_isTaggedAsError() {
+    Message<Object> message = MessageBuilder.<Object>withPayload("{}").build();
+
+    metrics.intercept(message);
+    metrics.afterProcessing(message, new RuntimeException("boom"));
+
+    assertThat(
+            meterRegistry
+                .get("users.sqs.consumer.handler")
+                .tags("queue", SqsConsumerMetrics.UNKNOWN_QUEUE, "outcome", "error")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,69 @@
+package com.accountabilityatlas.userservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserExportService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportRunnerTest {
+
+  @Mock private UserExportService userExportService;
+  @Mock private ConfigurableApplicationContext context;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void run_withoutExportOption_throws() {
+    UserExportRunner runner = new UserExportRunner(userExportService, context);
+
+    assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments("--server.port=0")))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(userExportService, context);
+  }
+
+  @Test
+  void run_withExportOption_writesFileAndShutsDown() throws Exception {
+    Path target = tempDir.resolve("users.csv");
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(1);
+              out.write("id\r\n".getBytes(StandardCharsets.UTF_8));
+              return 0L;
+            })
+        .when(userExportService)
+        .export(eq(UserDataFormat.CSV), any(OutputStream.class));
+    UserExportRunner runner = new UserExportRunner(userExportService, context);
+
+    runner.run(new DefaultApplicationArguments("--export-users=" + target, "--export-format=csv"));
+
+    assertThat(Files.readString(target)).isEqualTo("id\r\n");
+    verify(context).close();
+  }
+
+  @Test
+  void run_withEmptyPath_throws() {
+    UserExportRunner runner = new UserExportRunner(userExportService, context);
+
+    assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments("--export-users=")))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(userExportService);
+  }
+}
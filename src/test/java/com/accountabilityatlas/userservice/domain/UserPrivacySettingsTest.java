@@ -12,4 +12,14 @@ class UserPrivacySettingsTest {
     assertThat(settings.getSocialLinksVisibility()).isEqualTo(Visibility.REGISTERED);
     assertThat(settings.getSubmissionsVisibility()).isEqualTo(Visibility.PUBLIC);
   }
+
+  @Test
+  void isNew_trueUntilPersistedOrLoaded() {
+    var settings = new UserPrivacySettings();
+    assertThat(settings.isNew()).isTrue();
+
+    settings.markNotNew();
+
+    assertThat(settings.isNew()).isFalse();
+  }
 }
@@ -2,6 +2,7 @@ package com.accountabilityatlas.userservice.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class UserSocialLinksTest {
@@ -16,4 +17,14 @@ class UserSocialLinksTest {
     assertThat(links.getXTwitter()).isNull();
     assertThat(links.getBluesky()).isNull();
   }
+
+  @Test
+  void getId_returnsAssignedUserId() {
+    var links = new UserSocialLinks();
+    UUID userId = UUID.randomUUID();
+    links.setUserId(userId);
+
+    assertThat(links.getId()).isEqualTo(userId);
+    assertThat(links.isNew()).isTrue();
+  }
 }
@@ -0,0 +1,192 @@
+package com.accountabilityatlas.userservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.EventRetryProperties;
+import com.accountabilityatlas.userservice.exception.UnknownQueueException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterQueueTest {
+
+  private static final String QUEUE = "user-video-events";
+  private static final String DLQ_URL = "http://sqs.local/000000000000/user-video-events-dlq";
+  private static final String QUEUE_URL = "http://sqs.local/000000000000/user-video-events";
+
+  @Mock private SqsAsyncClient sqsAsyncClient;
+
+  private DeadLetterQueue deadLetterQueue;
+
+  @BeforeEach
+  void setUp() {
+    deadLetterQueue =
+        new DeadLetterQueue(
+            sqsAsyncClient,
+            new EventRetryProperties(),
+            new SimpleMeterRegistry(),
+            QUEUE,
+            "user-video-status-events");
+    lenient()
+        .when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              GetQueueUrlRequest request = invocation.getArgument(0);
+              String url = request.queueName().endsWith("-dlq") ? DLQ_URL : QUEUE_URL;
+              return CompletableFuture.completedFuture(
+                  GetQueueUrlResponse.builder().queueUrl(url).build());
+            });
+  }
+
+  @Test
+  void send_addsFailureAttributes() {
+    when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().build()));
+
+    deadLetterQueue.send(QUEUE, "{}", "IllegalArgumentException: bad event", 4);
+
+    ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+    verify(sqsAsyncClient).sendMessage(captor.capture());
+    SendMessageRequest request = captor.getValue();
+    assertThat(request.queueUrl()).isEqualTo(DLQ_URL);
+    assertThat(request.messageBody()).isEqualTo("{}");
+    assertThat(request.messageAttributes())
+        .containsKeys(DeadLetterQueue.FAILED_AT_ATTRIBUTE)
+        .hasEntrySatisfying(
+            DeadLetterQueue.FAILURE_REASON_ATTRIBUTE,
+            value ->
+                assertThat(value.stringValue()).isEqualTo("IllegalArgumentException: bad event"))
+        .hasEntrySatisfying(
+            DeadLetterQueue.SOURCE_QUEUE_ATTRIBUTE,
+            value -> assertThat(value.stringValue()).isEqualTo(QUEUE))
+        .hasEntrySatisfying(
+            DeadLetterQueue.RECEIVE_COUNT_ATTRIBUTE,
+            value -> assertThat(value.stringValue()).isEqualTo("4"));
+  }
+
+  @Test
+  void replay_unknownQueue_throws() {
+    assertThatThrownBy(() -> deadLetterQueue.replay("user-events", 10))
+        .isInstanceOf(UnknownQueueException.class);
+    verify(sqsAsyncClient, never()).receiveMessage(any(ReceiveMessageRequest.class));
+  }
+
+  @Test
+  void replay_movesMessagesWithoutFailureAttributesAndDeletesThem() {
+    when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+        .thenReturn(received(deadLetter("1"), deadLetter("2")))
+        .thenReturn(received());
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder().successful(sent("0"), sent("1")).build()));
+    when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+
+    DeadLetterQueue.ReplayResult result = deadLetterQueue.replay(QUEUE, 100);
+
+    assertThat(result.replayed()).isEqualTo(2);
+    ArgumentCaptor<SendMessageBatchRequest> sent =
+        ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+    verify(sqsAsyncClient).sendMessageBatch(sent.capture());
+    assertThat(sent.getValue().queueUrl()).isEqualTo(QUEUE_URL);
+    assertThat(sent.getValue().entries())
+        .allSatisfy(entry -> assertThat(entry.messageAttributes()).containsOnlyKeys("contentType"));
+    ArgumentCaptor<DeleteMessageBatchRequest> deleted =
+        ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+    verify(sqsAsyncClient).deleteMessageBatch(deleted.capture());
+    assertThat(deleted.getValue().queueUrl()).isEqualTo(DLQ_URL);
+    assertThat(deleted.getValue().entries())
+        .extracting(entry -> entry.receiptHandle())
+        .containsExactly("receipt-1", "receipt-2");
+  }
+
+  @Test
+  void replay_rejectedEntry_keepsItInDeadLetterQueueAndStops() {
+    when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+        .thenReturn(received(deadLetter("1"), deadLetter("2")));
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder()
+                    .successful(sent("1"))
+                    .failed(
+                        BatchResultErrorEntry.builder()
+                            .id("0")
+                            .code("InternalError")
+                            .senderFault(false)
+                            .build())
+                    .build()));
+    when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+
+    DeadLetterQueue.ReplayResult result = deadLetterQueue.replay(QUEUE, 100);
+
+    assertThat(result.replayed()).isEqualTo(1);
+    ArgumentCaptor<DeleteMessageBatchRequest> deleted =
+        ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+    verify(sqsAsyncClient).deleteMessageBatch(deleted.capture());
+    assertThat(deleted.getValue().entries())
+        .extracting(entry -> entry.receiptHandle())
+        .containsExactly("receipt-2");
+  }
+
+  private static CompletableFuture<ReceiveMessageResponse> received(Message... messages) {
+    return CompletableFuture.completedFuture(
+        ReceiveMessageResponse.builder().messages(messages).build());
+  }
+
+  private static Message deadLetter(String id) {
+    return Message.builder()
+        .messageId(id)
+        .receiptHandle("receipt-" + id)
+        .body("{\"videoId\":\"" + id + "\"}")
+        .messageAttributes(
+            Map.of(
+                "contentType",
+                string("application/json"),
+                DeadLetterQueue.SOURCE_QUEUE_ATTRIBUTE,
+                string(QUEUE),
+                DeadLetterQueue.FAILURE_REASON_ATTRIBUTE,
+                string("IllegalArgumentException: bad event")))
+        .build();
+  }
+
+  private static SendMessageBatchResultEntry sent(String id) {
+    return SendMessageBatchResultEntry.builder().id(id).messageId("m" + id).build();
+  }
+
+  private static MessageAttributeValue string(String value) {
+    return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+  }
+}
@@ -0,0 +1,184 @@
+package com.accountabilityatlas.userservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.EventRetryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class EventRetrierTest {
+
+  private static final String QUEUE = "user-video-events";
+  private static final String BODY = "{\"videoId\":\"v1\"}";
+
+  @Mock private ObjectProvider<DeadLetterQueue> deadLetterQueueProvider;
+  @Mock private DeadLetterQueue deadLetterQueue;
+  @Mock private Visibility visibility;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EventRetryProperties properties;
+  private EventRetrier retrier;
+
+  @BeforeEach
+  void setUp() {
+    properties = new EventRetryProperties();
+    properties.setInitialBackoff(Duration.ofMillis(1));
+    properties.setMaxInProcessBackoff(Duration.ofMillis(4));
+    retrier =
+        new EventRetrier(properties, deadLetterQueueProvider, new ObjectMapper(), meterRegistry);
+  }
+
+  @Test
+  void runWithRetry_transientFailure_isRetriedUntilItSucceeds() {
+    AtomicInteger calls = new AtomicInteger();
+
+    retrier.runWithRetry(
+        () -> {
+          if (calls.incrementAndGet() < 3) {
+            throw new QueryTimeoutException("statement timeout");
+          }
+        });
+
+    assertThat(calls).hasValue(3);
+    assertThat(meterRegistry.counter("users.events.retries").count()).isEqualTo(2);
+  }
+
+  @Test
+  void runWithRetry_transientFailureBeyondAttempts_isRethrown() {
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                retrier.runWithRetry(
+                    () -> {
+                      calls.incrementAndGet();
+                      throw new QueryTimeoutException("statement timeout");
+                    }))
+        .isInstanceOf(QueryTimeoutException.class);
+
+    assertThat(calls).hasValue(properties.getInProcessAttempts() + 1);
+  }
+
+  @Test
+  void runWithRetry_nonTransientFailure_isRethrownImmediately() {
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                retrier.runWithRetry(
+                    () -> {
+                      calls.incrementAndGet();
+                      throw new IllegalArgumentException("bad event");
+                    }))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void isTransient_looksThroughCauses() {
+    assertThat(
+            EventRetrier.isTransient(
+                new IllegalStateException("wrapped", new SQLTransientConnectionException("gone"))))
+        .isTrue();
+    assertThat(EventRetrier.isTransient(new IllegalStateException("bad"))).isFalse();
+  }
+
+  @Test
+  void settle_transientFailure_delaysRedelivery() {
+    boolean acknowledge =
+        retrier.settle(message(3), new QueryTimeoutException("statement timeout"));
+
+    assertThat(acknowledge).isFalse();
+    // Third receive: between half and all of 15s << 2
+    verify(visibility).changeTo(intThat(s -> s >= 30 && s <= 60));
+    verify(deadLetterQueueProvider, never()).getIfAvailable();
+  }
+
+  @Test
+  void settle_nonTransientFailure_isDeadLettered() {
+    when(deadLetterQueueProvider.getIfAvailable()).thenReturn(deadLetterQueue);
+
+    boolean acknowledge = retrier.settle(message(1), new IllegalArgumentException("bad event"));
+
+    assertThat(acknowledge).isTrue();
+    verify(deadLetterQueue).send(QUEUE, BODY, "IllegalArgumentException: bad event", 1);
+    verify(visibility, never()).changeTo(anyInt());
+  }
+
+  @Test
+  void settle_transientFailureAtMaxReceiveCount_isDeadLettered() {
+    when(deadLetterQueueProvider.getIfAvailable()).thenReturn(deadLetterQueue);
+
+    boolean acknowledge =
+        retrier.settle(
+            message(properties.getMaxReceiveCount()),
+            new QueryTimeoutException("statement timeout"));
+
+    assertThat(acknowledge).isTrue();
+    verify(deadLetterQueue)
+        .send(
+            eq(QUEUE),
+            eq(BODY),
+            startsWith("Still failing after 10 receives"),
+            eq(properties.getMaxReceiveCount()));
+  }
+
+  @Test
+  void settle_deadLetterSendFails_leavesMessageForRedelivery() {
+    when(deadLetterQueueProvider.getIfAvailable()).thenReturn(deadLetterQueue);
+    doThrow(new IllegalStateException("SQS down"))
+        .when(deadLetterQueue)
+        .send(anyString(), anyString(), anyString(), anyInt());
+
+    assertThat(retrier.settle(message(1), new IllegalArgumentException("bad event"))).isFalse();
+  }
+
+  @Test
+  void settle_withoutDeadLetterQueue_dropsMessage() {
+    when(deadLetterQueueProvider.getIfAvailable()).thenReturn(null);
+
+    boolean acknowledge = retrier.settle(message(1), new IllegalArgumentException("bad event"));
+
+    assertThat(acknowledge).isTrue();
+    assertThat(meterRegistry.counter("users.events.dropped").count()).isEqualTo(1);
+  }
+
+  private Message<String> message(int receiveCount) {
+    return MessageBuilder.withPayload(BODY)
+        .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, QUEUE)
+        .setHeader(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, visibility)
+        .setHeader(
+            SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT,
+            String.valueOf(receiveCount))
+        .setHeader(
+            SqsHeaders.SQS_SOURCE_DATA_HEADER,
+            software.amazon.awssdk.services.sqs.model.Message.builder().body(BODY).build())
+        .build();
+  }
+}
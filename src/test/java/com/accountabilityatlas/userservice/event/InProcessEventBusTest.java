@@ -0,0 +1,186 @@
+package com.accountabilityatlas.userservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.accountabilityatlas.userservice.config.InProcessEventBusProperties;
+import com.accountabilityatlas.userservice.config.SqsConsumerMetrics;
+import com.accountabilityatlas.userservice.event.OutboxTransport.Rejection;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+
+@ExtendWith(MockitoExtension.class)
+class InProcessEventBusTest {
+
+  private static final String USER_EVENTS = "user-events";
+  private static final String VIDEO_EVENTS = "user-video-events";
+
+  @Mock private VideoSubmittedHandler videoSubmittedHandler;
+  @Mock private VideoStatusChangedHandler videoStatusChangedHandler;
+
+  private final InProcessEventBusProperties properties = new InProcessEventBusProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private InProcessEventBus bus;
+
+  @AfterEach
+  void tearDown() {
+    if (bus != null) {
+      bus.shutdown();
+    }
+  }
+
+  private InProcessEventBus createBus() {
+    bus =
+        new InProcessEventBus(
+            properties,
+            new SqsConsumerMetrics(meterRegistry),
+            meterRegistry,
+            videoSubmittedHandler,
+            videoStatusChangedHandler,
+            USER_EVENTS,
+            VIDEO_EVENTS,
+            "user-video-status-events");
+    return bus;
+  }
+
+  private static void awaitOutstanding(InProcessEventBus bus, String queue, int expected)
+      throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      if (bus.outstanding(queue) == expected) {
+        return;
+      }
+      Thread.sleep(20);
+    }
+    throw new AssertionError(queue + " still has " + bus.outstanding(queue) + " outstanding");
+  }
+
+  @Test
+  void sendBatchAsync_deliversPayloadsToSubscribedListener() throws Exception {
+    // Arrange
+    createBus();
+    List<String> received = new CopyOnWriteArrayList<>();
+    bus.<String>subscribe(
+        USER_EVENTS,
+        (messages, acknowledgement) -> {
+          messages.forEach(message -> received.add(message.getPayload()));
+          acknowledgement.acknowledge();
+        });
+
+    // Act
+    Map<Integer, Rejection> rejected =
+        bus.sendBatchAsync(List.of("{\"a\":1}", "{\"b\":2}"), 0).join();
+
+    // Assert
+    assertThat(rejected).isEmpty();
+    awaitOutstanding(bus, USER_EVENTS, 0);
+    assertThat(received).containsExactlyInAnyOrder("{\"a\":1}", "{\"b\":2}");
+  }
+
+  @Test
+  void sendBatchAsync_withoutListener_dropsPayloads() {
+    // Arrange
+    createBus();
+
+    // Act
+    Map<Integer, Rejection> rejected = bus.sendBatchAsync(List.of("{}"), 0).join();
+
+    // Assert
+    assertThat(rejected).isEmpty();
+    assertThat(bus.outstanding(USER_EVENTS)).isZero();
+  }
+
+  @Test
+  void sendBatchAsync_injectedFailures_rejectEntriesAfterRetries() {
+    // Arrange
+    properties.setFailureRate(1);
+    createBus();
+
+    // Act
+    Map<Integer, Rejection> rejected = bus.sendBatchAsync(List.of("{}", "{}"), 2).join();
+
+    // Assert
+    Rejection injected = new Rejection(InProcessEventBus.INJECTED_FAILURE, false);
+    assertThat(rejected).containsOnly(Map.entry(0, injected), Map.entry(1, injected));
+  }
+
+  @Test
+  void send_deliversVideoEventsToHandler() throws Exception {
+    // Arrange
+    createBus();
+    VideoSubmittedEvent event =
+        new VideoSubmittedEvent(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            "NEW",
+            "Title",
+            Set.of(),
+            List.of(),
+            Instant.now());
+
+    // Act
+    bus.send(VIDEO_EVENTS, event);
+
+    // Assert
+    verify(videoSubmittedHandler, timeout(2000)).handleVideoSubmitted(anyList(), any());
+  }
+
+  @Test
+  void send_toQueueWithoutListener_throws() {
+    // Arrange
+    createBus();
+
+    // Act & Assert
+    assertThatThrownBy(() -> bus.send("unknown-queue", "{}"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void unacknowledgedMessages_areRedeliveredAfterVisibilityTimeout() throws Exception {
+    // Arrange
+    properties.setVisibilityTimeout(Duration.ofMillis(50));
+    createBus();
+    List<Message<String>> deliveries = new CopyOnWriteArrayList<>();
+    bus.<String>subscribe(
+        USER_EVENTS,
+        (List<Message<String>> messages, BatchAcknowledgement<String> acknowledgement) -> {
+          deliveries.addAll(messages);
+          // Only the second delivery is acknowledged
+          if (deliveries.size() > 1) {
+            acknowledgement.acknowledge();
+          }
+        });
+
+    // Act
+    bus.sendBatchAsync(List.of("{}"), 0).join();
+
+    // Assert
+    awaitOutstanding(bus, USER_EVENTS, 0);
+    assertThat(deliveries).hasSize(2);
+    assertThat(deliveries.get(1).getHeaders().getId())
+        .isEqualTo(deliveries.get(0).getHeaders().getId());
+    assertThat(
+            meterRegistry
+                .get("users.events.in-process.redelivered")
+                .tag("queue", USER_EVENTS)
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+}
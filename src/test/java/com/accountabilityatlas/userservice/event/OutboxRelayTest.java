@@ -0,0 +1,185 @@
+package com.accountabilityatlas.userservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.OutboxProperties;
+import com.accountabilityatlas.userservice.event.OutboxTransport.Rejection;
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository;
+import com.accountabilityatlas.userservice.repository.EventOutboxRepository.OutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+  @Mock private EventOutboxRepository eventOutboxRepository;
+  @Mock private OutboxTransport outboxTransport;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final OutboxProperties properties = new OutboxProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    relay =
+        new OutboxRelay(
+            eventOutboxRepository,
+            outboxTransport,
+            properties,
+            transactionManager,
+            meterRegistry);
+  }
+
+  private static List<OutboxEntry> entries(int count) {
+    List<OutboxEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      entries.add(new OutboxEntry(i + 1, "UserRegistered", "{\"n\":" + i + "}", 0));
+    }
+    return entries;
+  }
+
+  private static CompletableFuture<Map<Integer, Rejection>> accepted() {
+    return CompletableFuture.completedFuture(Map.of());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void relay_sendsInBatchesOfTenAndDeletesSentEntries() {
+    when(eventOutboxRepository.claimDue(100)).thenReturn(entries(12));
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.empty());
+    when(outboxTransport.sendBatchAsync(anyList(), eq(2))).thenReturn(accepted(), accepted());
+
+    assertThat(relay.relay()).isEqualTo(12);
+
+    ArgumentCaptor<List<String>> batches = ArgumentCaptor.forClass(List.class);
+    verify(outboxTransport, times(2)).sendBatchAsync(batches.capture(), eq(2));
+    assertThat(batches.getAllValues()).extracting(List::size).containsExactly(10, 2);
+    assertThat(batches.getAllValues().get(1)).containsExactly("{\"n\":10}", "{\"n\":11}");
+    ArgumentCaptor<List<Long>> deleted = ArgumentCaptor.forClass(List.class);
+    verify(eventOutboxRepository).delete(deleted.capture());
+    assertThat(deleted.getValue()).hasSize(12).startsWith(1L, 2L);
+    assertThat(meterRegistry.get("users.outbox.relayed").counter().count()).isEqualTo(12);
+  }
+
+  @Test
+  void relay_failedBatch_isRescheduledOthersAreSentAndRunStops() {
+    when(eventOutboxRepository.claimDue(100)).thenReturn(entries(100));
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.of(Instant.now()));
+    when(outboxTransport.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(
+            CompletableFuture.failedFuture(new RuntimeException("SQS unavailable")), accepted());
+
+    // A full claim would normally be followed by another; the failure ends the run
+    assertThat(relay.relay()).isEqualTo(90);
+
+    verify(eventOutboxRepository, times(1)).claimDue(100);
+    verify(eventOutboxRepository)
+        .reschedule(
+            eq(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L)),
+            eq(properties.getInitialBackoff()),
+            eq(properties.getMaxBackoff()),
+            eq("SQS unavailable"));
+    assertThat(meterRegistry.get("users.outbox.relay.failures").counter().count()).isEqualTo(10);
+  }
+
+  @Test
+  void relay_rejectedEntry_isRescheduledAloneWithSqsError() {
+    when(eventOutboxRepository.claimDue(100)).thenReturn(entries(3));
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.of(Instant.now()));
+    when(outboxTransport.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                Map.of(1, new Rejection("ThrottlingException: slow", false))));
+
+    assertThat(relay.relay()).isEqualTo(2);
+
+    verify(eventOutboxRepository)
+        .reschedule(eq(List.of(2L)), any(), any(), eq("ThrottlingException: slow"));
+    verify(eventOutboxRepository).delete(List.of(1L, 3L));
+    verify(eventOutboxRepository, never()).markFailed(any(), any());
+  }
+
+  @Test
+  void relay_permanentRejection_isMarkedFailedAndRunContinues() {
+    List<OutboxEntry> first = entries(100);
+    when(eventOutboxRepository.claimDue(100)).thenReturn(first, List.of());
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.empty());
+    when(outboxTransport.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                Map.of(0, new Rejection("InvalidMessageContents: bad", true))),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted(),
+            accepted());
+
+    assertThat(relay.relay()).isEqualTo(99);
+
+    verify(eventOutboxRepository).markFailed(List.of(1L), "InvalidMessageContents: bad");
+    verify(eventOutboxRepository, never()).reschedule(any(), any(), any(), any());
+    // The full claim was followed by another
+    verify(eventOutboxRepository, times(2)).claimDue(100);
+    assertThat(meterRegistry.get("users.outbox.failed").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void relay_entryOnLastAttempt_isMarkedFailedOthersRescheduled() {
+    properties.setMaxAttempts(3);
+    when(eventOutboxRepository.claimDue(100))
+        .thenReturn(
+            List.of(
+                new OutboxEntry(1, "UserRegistered", "{}", 2),
+                new OutboxEntry(2, "UserRegistered", "{}", 1)));
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.of(Instant.now()));
+    when(outboxTransport.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SQS unavailable")));
+
+    assertThat(relay.relay()).isZero();
+
+    verify(eventOutboxRepository).markFailed(List.of(1L), "SQS unavailable");
+    verify(eventOutboxRepository).reschedule(eq(List.of(2L)), any(), any(), eq("SQS unavailable"));
+    assertThat(meterRegistry.get("users.outbox.failed").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void relay_batchWithoutResponse_isRescheduledAfterSendTimeout() {
+    properties.setSendTimeout(Duration.ofMillis(50));
+    when(eventOutboxRepository.claimDue(100)).thenReturn(entries(2));
+    when(eventOutboxRepository.findOldestCreatedAt()).thenReturn(Optional.of(Instant.now()));
+    when(outboxTransport.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(new CompletableFuture<>());
+
+    assertThat(relay.relay()).isZero();
+
+    verify(eventOutboxRepository)
+        .reschedule(eq(List.of(1L, 2L)), any(), any(), eq("No response from SQS in time"));
+    verify(eventOutboxRepository, never()).delete(any());
+  }
+}
@@ -1,75 +1,143 @@
 package com.accountabilityatlas.userservice.event;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.accountabilityatlas.userservice.domain.TrustTier;
-import io.awspring.cloud.sqs.operations.SqsTemplate;
-import java.time.Instant;
-import java.util.UUID;
+import com.accountabilityatlas.userservice.event.OutboxTransport.Rejection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 
 @ExtendWith(MockitoExtension.class)
 class SqsEventPublisherTest {
 
   private static final String USER_EVENTS_QUEUE = "user-events";
 
-  @Mock private SqsTemplate sqsTemplate;
+  private static final String USER_EVENTS_QUEUE_URL = "http://sqs.local/000000000000/user-events";
+
+  @Mock private SqsAsyncClient sqsAsyncClient;
 
   @InjectMocks private SqsEventPublisher publisher;
 
+  private void stubQueueUrl() {
+    ReflectionTestUtils.setField(publisher, "userEventsQueue", USER_EVENTS_QUEUE);
+    when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                GetQueueUrlResponse.builder().queueUrl(USER_EVENTS_QUEUE_URL).build()));
+  }
+
+  private static BatchResultErrorEntry error(String id, boolean senderFault) {
+    return BatchResultErrorEntry.builder()
+        .id(id)
+        .code(senderFault ? "InvalidMessageContents" : "ThrottlingException")
+        .message("rejected")
+        .senderFault(senderFault)
+        .build();
+  }
+
   @Test
-  void publish_userTrustTierChangedEvent_sendsToSqs() {
+  void sendBatchAsync_allAccepted_completesWithNoRejections() {
     // Arrange
-    ReflectionTestUtils.setField(publisher, "userEventsQueue", USER_EVENTS_QUEUE);
-    UserTrustTierChangedEvent event =
-        new UserTrustTierChangedEvent(
-            UUID.randomUUID(),
-            TrustTier.NEW,
-            TrustTier.TRUSTED,
-            UserTrustTierChangedEvent.ChangeReason.AUTO_PROMOTION,
-            Instant.now());
+    stubQueueUrl();
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder().build()));
 
     // Act
-    publisher.publish(event);
+    Map<Integer, Rejection> rejected =
+        publisher.sendBatchAsync(List.of("{\"a\":1}", "{}"), 2).join();
 
     // Assert
-    verify(sqsTemplate).send(eq(USER_EVENTS_QUEUE), eq(event));
+    assertThat(rejected).isEmpty();
+    ArgumentCaptor<SendMessageBatchRequest> request =
+        ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+    verify(sqsAsyncClient).sendMessageBatch(request.capture());
+    assertThat(request.getValue().queueUrl()).isEqualTo(USER_EVENTS_QUEUE_URL);
+    assertThat(request.getValue().entries())
+        .extracting(SendMessageBatchRequestEntry::id, SendMessageBatchRequestEntry::messageBody)
+        .containsExactly(
+            tuple("0", "{\"a\":1}"),
+            tuple("1", "{}"));
   }
 
   @Test
-  void publish_userRegisteredEvent_sendsToSqs() {
+  void sendBatchAsync_retriesOnlyEntriesSqsRejectedThroughNoFaultOfTheSender() {
     // Arrange
-    ReflectionTestUtils.setField(publisher, "userEventsQueue", USER_EVENTS_QUEUE);
-    UserRegisteredEvent event =
-        new UserRegisteredEvent(UUID.randomUUID(), "test@example.com", Instant.now());
+    stubQueueUrl();
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder()
+                    .failed(error("1", false), error("2", true))
+                    .build()),
+            CompletableFuture.completedFuture(SendMessageBatchResponse.builder().build()));
+
+    // Act
+    Map<Integer, Rejection> rejected = publisher.sendBatchAsync(List.of("a", "b", "c"), 2).join();
+
+    // Assert
+    assertThat(rejected)
+        .containsOnly(Map.entry(2, new Rejection("InvalidMessageContents: rejected", true)));
+    ArgumentCaptor<SendMessageBatchRequest> requests =
+        ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+    verify(sqsAsyncClient, times(2)).sendMessageBatch(requests.capture());
+    assertThat(requests.getAllValues().get(1).entries())
+        .extracting(SendMessageBatchRequestEntry::id)
+        .containsExactly("1");
+  }
+
+  @Test
+  void sendBatchAsync_retriesExhausted_reportsEntryAsRejected() {
+    // Arrange
+    stubQueueUrl();
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder().failed(error("0", false)).build()));
 
     // Act
-    publisher.publish(event);
+    Map<Integer, Rejection> rejected = publisher.sendBatchAsync(List.of("a"), 1).join();
 
     // Assert
-    verify(sqsTemplate).send(eq(USER_EVENTS_QUEUE), eq(event));
+    assertThat(rejected).containsEntry(0, new Rejection("ThrottlingException: rejected", false));
+    verify(sqsAsyncClient, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
   }
 
   @Test
-  void publish_sqsFailure_rethrowsException() {
+  void sendBatchAsync_failedQueueUrlLookup_isNotCached() {
     // Arrange
     ReflectionTestUtils.setField(publisher, "userEventsQueue", USER_EVENTS_QUEUE);
-    UserRegisteredEvent event =
-        new UserRegisteredEvent(UUID.randomUUID(), "test@example.com", Instant.now());
+    when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SQS unavailable")));
+    assertThat(publisher.sendBatchAsync(List.of("a"), 0)).isCompletedExceptionally();
+    reset(sqsAsyncClient);
+    stubQueueUrl();
+    when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder().build()));
 
-    RuntimeException sqsException = new RuntimeException("SQS connection failed");
-    when(sqsTemplate.send(eq(USER_EVENTS_QUEUE), any(DomainEvent.class))).thenThrow(sqsException);
+    // Act
+    Map<Integer, Rejection> rejected = publisher.sendBatchAsync(List.of("a"), 0).join();
 
-    // Act & Assert
-    assertThatThrownBy(() -> publisher.publish(event)).isSameAs(sqsException);
+    // Assert
+    assertThat(rejected).isEmpty();
   }
 }
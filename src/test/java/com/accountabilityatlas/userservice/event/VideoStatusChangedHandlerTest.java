@@ -1,55 +1,144 @@
 package com.accountabilityatlas.userservice.event;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.accountabilityatlas.userservice.service.EventDeduplicator;
+import com.accountabilityatlas.userservice.service.StatsWriteBuffer;
 import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
 @ExtendWith(MockitoExtension.class)
 class VideoStatusChangedHandlerTest {
 
   @Mock private UserStatsService userStatsService;
+  @Mock private StatsWriteBuffer statsWriteBuffer;
+  @Mock private EventDeduplicator eventDeduplicator;
+  @Mock private EventRetrier eventRetrier;
+  @Mock private BatchAcknowledgement<VideoStatusChangedEvent> acknowledgement;
   @InjectMocks private VideoStatusChangedHandler videoStatusChangedHandler;
 
+  @BeforeEach
+  void setUp() {
+    when(eventDeduplicator.dropProcessed(anyList(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    lenient()
+        .doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(eventRetrier)
+        .runWithRetry(any());
+  }
+
+  private static Message<VideoStatusChangedEvent> message(
+      UUID submittedBy, String previousStatus, String newStatus) {
+    return MessageBuilder.withPayload(
+            new VideoStatusChangedEvent(
+                UUID.randomUUID(),
+                submittedBy,
+                List.of(UUID.randomUUID()),
+                previousStatus,
+                newStatus,
+                Instant.now()))
+        .build();
+  }
+
+  private static StatusChange change(Message<VideoStatusChangedEvent> message) {
+    VideoStatusChangedEvent event = message.getPayload();
+    return new StatusChange(
+        event.eventId(), event.submittedBy(), event.previousStatus(), event.newStatus());
+  }
+
   @Test
-  void handleVideoStatusChanged_delegatesToUserStatsService() {
+  void handleVideoStatusChanged_appliesBatchAndAcknowledgesAll() {
     UUID submittedBy = UUID.randomUUID();
-    VideoStatusChangedEvent event =
-        new VideoStatusChangedEvent(
-            UUID.randomUUID(),
-            submittedBy,
-            List.of(UUID.randomUUID()),
-            "PENDING",
-            "APPROVED",
-            Instant.now());
-
-    videoStatusChangedHandler.handleVideoStatusChanged(event);
-
-    verify(userStatsService).handleStatusChange(submittedBy, "PENDING", "APPROVED");
+    List<Message<VideoStatusChangedEvent>> messages =
+        List.of(
+            message(submittedBy, "PENDING", "APPROVED"),
+            message(UUID.randomUUID(), "APPROVED", "REJECTED"),
+            message(submittedBy, "PENDING", "APPROVED"));
+
+    videoStatusChangedHandler.handleVideoStatusChanged(messages, acknowledgement);
+
+    verify(userStatsService)
+        .recordStatusChanges(
+            List.of(change(messages.get(0)), change(messages.get(1)), change(messages.get(2))));
+    verify(acknowledgement).acknowledge();
   }
 
   @Test
-  void handleVideoStatusChanged_serviceFailure_rethrowsException() {
-    UUID submittedBy = UUID.randomUUID();
-    VideoStatusChangedEvent event =
-        new VideoStatusChangedEvent(
-            UUID.randomUUID(), submittedBy, List.of(), "APPROVED", "REJECTED", Instant.now());
+  void handleVideoStatusChanged_onlyDuplicates_acknowledgesWithoutWriting() {
+    when(eventDeduplicator.dropProcessed(anyList(), any())).thenReturn(List.of());
+
+    videoStatusChangedHandler.handleVideoStatusChanged(
+        List.of(message(UUID.randomUUID(), "PENDING", "APPROVED")), acknowledgement);
+
+    verifyNoInteractions(userStatsService, statsWriteBuffer);
+    verify(acknowledgement).acknowledge();
+  }
 
-    RuntimeException exception = new RuntimeException("DB error");
-    doThrow(exception)
+  @Test
+  @SuppressWarnings("unchecked")
+  void handleVideoStatusChanged_batchFailure_acknowledgesOnlyMessagesThatSucceedAlone() {
+    Message<VideoStatusChangedEvent> goodMessage =
+        message(UUID.randomUUID(), "PENDING", "APPROVED");
+    Message<VideoStatusChangedEvent> badMessage =
+        message(UUID.randomUUID(), "PENDING", "REJECTED");
+    List<Message<VideoStatusChangedEvent>> messages = List.of(goodMessage, badMessage);
+    doThrow(new RuntimeException("DB error"))
+        .when(userStatsService)
+        .recordStatusChanges(List.of(change(goodMessage), change(badMessage)));
+    doThrow(new RuntimeException("DB error"))
         .when(userStatsService)
-        .handleStatusChange(submittedBy, "APPROVED", "REJECTED");
+        .recordStatusChanges(List.of(change(badMessage)));
+
+    videoStatusChangedHandler.handleVideoStatusChanged(messages, acknowledgement);
+
+    verify(userStatsService).recordStatusChanges(List.of(change(goodMessage)));
+    ArgumentCaptor<Collection<Message<VideoStatusChangedEvent>>> acknowledged =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(acknowledgement).acknowledge(acknowledged.capture());
+    assertThat(acknowledged.getValue()).containsExactly(goodMessage);
+    verify(acknowledgement, never()).acknowledge();
+  }
+
+  @Test
+  void handleVideoStatusChanged_bufferEnabled_acknowledgesOnlyAfterFlush() {
+    Message<VideoStatusChangedEvent> message = message(UUID.randomUUID(), "PENDING", "APPROVED");
+    when(statsWriteBuffer.isEnabled()).thenReturn(true);
+
+    videoStatusChangedHandler.handleVideoStatusChanged(List.of(message), acknowledgement);
+
+    ArgumentCaptor<Runnable> onFlushed = ArgumentCaptor.forClass(Runnable.class);
+    verify(statsWriteBuffer).addStatusChanges(eq(List.of(change(message))), onFlushed.capture());
+    verifyNoInteractions(userStatsService, acknowledgement);
+
+    onFlushed.getValue().run();
 
-    assertThatThrownBy(() -> videoStatusChangedHandler.handleVideoStatusChanged(event))
-        .isSameAs(exception);
+    verify(acknowledgement).acknowledge();
   }
 }
@@ -1,54 +1,151 @@
 package com.accountabilityatlas.userservice.event;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.accountabilityatlas.userservice.service.EventDeduplicator;
+import com.accountabilityatlas.userservice.service.StatsWriteBuffer;
 import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
 @ExtendWith(MockitoExtension.class)
 class VideoSubmittedHandlerTest {
 
   @Mock private UserStatsService userStatsService;
+  @Mock private StatsWriteBuffer statsWriteBuffer;
+  @Mock private EventDeduplicator eventDeduplicator;
+  @Mock private EventRetrier eventRetrier;
+  @Mock private BatchAcknowledgement<VideoSubmittedEvent> acknowledgement;
   @InjectMocks private VideoSubmittedHandler videoSubmittedHandler;
 
+  @BeforeEach
+  void setUp() {
+    when(eventDeduplicator.dropProcessed(anyList(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    lenient()
+        .doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(eventRetrier)
+        .runWithRetry(any());
+  }
+
+  private static Message<VideoSubmittedEvent> message(UUID submitterId) {
+    return MessageBuilder.withPayload(
+            new VideoSubmittedEvent(
+                UUID.randomUUID(),
+                submitterId,
+                "NEW",
+                "Test Video",
+                Set.of("FIRST"),
+                List.of(UUID.randomUUID()),
+                Instant.now()))
+        .build();
+  }
+
+  private static Submission submission(Message<VideoSubmittedEvent> message) {
+    return new Submission(message.getPayload().eventId(), message.getPayload().submitterId());
+  }
+
   @Test
-  void handleVideoSubmitted_delegatesToUserStatsService() {
+  void handleVideoSubmitted_countsBatchAndAcknowledgesAll() {
     UUID submitterId = UUID.randomUUID();
-    VideoSubmittedEvent event =
-        new VideoSubmittedEvent(
-            UUID.randomUUID(),
-            submitterId,
-            "NEW",
-            "Test Video",
-            Set.of("FIRST"),
-            List.of(UUID.randomUUID()),
-            Instant.now());
+    Message<VideoSubmittedEvent> first = message(submitterId);
+    Message<VideoSubmittedEvent> second = message(submitterId);
 
-    videoSubmittedHandler.handleVideoSubmitted(event);
+    videoSubmittedHandler.handleVideoSubmitted(List.of(first, second), acknowledgement);
 
-    verify(userStatsService).incrementSubmissionCount(submitterId);
+    verify(userStatsService).recordSubmissions(List.of(submission(first), submission(second)));
+    verify(acknowledgement).acknowledge();
   }
 
   @Test
-  void handleVideoSubmitted_serviceFailure_rethrowsException() {
-    UUID submitterId = UUID.randomUUID();
-    VideoSubmittedEvent event =
-        new VideoSubmittedEvent(
-            UUID.randomUUID(), submitterId, "TRUSTED", "Test", Set.of(), List.of(), Instant.now());
+  void handleVideoSubmitted_onlyDuplicates_acknowledgesWithoutWriting() {
+    when(eventDeduplicator.dropProcessed(anyList(), any())).thenReturn(List.of());
+
+    videoSubmittedHandler.handleVideoSubmitted(
+        List.of(message(UUID.randomUUID())), acknowledgement);
+
+    verifyNoInteractions(userStatsService, statsWriteBuffer);
+    verify(acknowledgement).acknowledge();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void handleVideoSubmitted_batchFailure_acknowledgesOnlyMessagesThatSucceedAlone() {
+    Message<VideoSubmittedEvent> goodMessage = message(UUID.randomUUID());
+    Message<VideoSubmittedEvent> badMessage = message(UUID.randomUUID());
+    doThrow(new RuntimeException("DB error"))
+        .when(userStatsService)
+        .recordSubmissions(List.of(submission(goodMessage), submission(badMessage)));
+    doThrow(new RuntimeException("DB error"))
+        .when(userStatsService)
+        .recordSubmissions(List.of(submission(badMessage)));
+
+    videoSubmittedHandler.handleVideoSubmitted(List.of(goodMessage, badMessage), acknowledgement);
+
+    verify(userStatsService).recordSubmissions(List.of(submission(goodMessage)));
+    ArgumentCaptor<Collection<Message<VideoSubmittedEvent>>> acknowledged =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(acknowledgement).acknowledge(acknowledged.capture());
+    assertThat(acknowledged.getValue()).containsExactly(goodMessage);
+    verify(acknowledgement, never()).acknowledge();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void handleVideoSubmitted_deadLetteredMessage_isAcknowledged() {
+    Message<VideoSubmittedEvent> poisonMessage = message(UUID.randomUUID());
+    IllegalStateException failure = new IllegalStateException("bad event");
+    doThrow(failure).when(userStatsService).recordSubmissions(anyList());
+    when(eventRetrier.settle(poisonMessage, failure)).thenReturn(true);
+
+    videoSubmittedHandler.handleVideoSubmitted(List.of(poisonMessage), acknowledgement);
+
+    ArgumentCaptor<Collection<Message<VideoSubmittedEvent>>> acknowledged =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(acknowledgement).acknowledge(acknowledged.capture());
+    assertThat(acknowledged.getValue()).containsExactly(poisonMessage);
+  }
+
+  @Test
+  void handleVideoSubmitted_bufferEnabled_acknowledgesOnlyAfterFlush() {
+    Message<VideoSubmittedEvent> message = message(UUID.randomUUID());
+    when(statsWriteBuffer.isEnabled()).thenReturn(true);
+
+    videoSubmittedHandler.handleVideoSubmitted(List.of(message), acknowledgement);
+
+    ArgumentCaptor<Runnable> onFlushed = ArgumentCaptor.forClass(Runnable.class);
+    verify(statsWriteBuffer).addSubmissions(eq(List.of(submission(message))), onFlushed.capture());
+    verifyNoInteractions(userStatsService, acknowledgement);
 
-    RuntimeException exception = new RuntimeException("DB error");
-    doThrow(exception).when(userStatsService).incrementSubmissionCount(submitterId);
+    onFlushed.getValue().run();
 
-    assertThatThrownBy(() -> videoSubmittedHandler.handleVideoSubmitted(event)).isSameAs(exception);
+    verify(acknowledgement).acknowledge();
   }
 }
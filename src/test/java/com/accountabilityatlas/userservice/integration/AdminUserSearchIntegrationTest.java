@@ -0,0 +1,146 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.TokenService;
+import com.jayway.jsonpath.JsonPath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AdminUserSearchIntegrationTest {
+
+  private static final int SEARCHABLE_USERS = 5;
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private TokenService tokenService;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @BeforeAll
+  void registerUsers() {
+    for (int i = 0; i < SEARCHABLE_USERS; i++) {
+      registrationService.register(
+          "searchable" + i + "@example.com", "SecurePass123", "Finder " + i);
+    }
+    registrationService.register("other@example.com", "SecurePass123", "Unrelated");
+  }
+
+  @Test
+  void search_pagesThroughAllMatchesWithoutDuplicates() throws Exception {
+    List<String> emails = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      MockHttpServletRequestBuilder request =
+          asAdmin(get("/admin/users").param("q", "finder").param("limit", "2"));
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      String body =
+          mockMvc
+              .perform(request)
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      emails.addAll(JsonPath.read(body, "$.items[*].email"));
+      cursor = readNextCursor(body);
+      pages++;
+    } while (cursor != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(emails).hasSize(SEARCHABLE_USERS).doesNotHaveDuplicates();
+    assertThat(emails).allMatch(email -> email.startsWith("searchable"));
+  }
+
+  @Test
+  void search_matchesEmailPrefix() throws Exception {
+    mockMvc
+        .perform(asAdmin(get("/admin/users").param("q", "OTHER@")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].displayName").value("Unrelated"));
+  }
+
+  @Test
+  void search_filtersByTrustTier() throws Exception {
+    mockMvc
+        .perform(asAdmin(get("/admin/users").param("trustTier", "ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items").isEmpty());
+  }
+
+  @Test
+  void search_asNonAdmin_returns403() throws Exception {
+    String token =
+        tokenService.generateAccessToken(
+            UUID.randomUUID(), "user@example.com", TrustTier.NEW, UUID.randomUUID());
+
+    mockMvc
+        .perform(get("/admin/users").header("Authorization", "Bearer " + token))
+        .andExpect(status().isForbidden());
+  }
+
+  private MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+    String token =
+        tokenService.generateAccessToken(
+            UUID.randomUUID(), "admin@example.com", TrustTier.ADMIN, UUID.randomUUID());
+    return request.header("Authorization", "Bearer " + token);
+  }
+
+  private static String readNextCursor(String body) {
+    List<String> cursors = JsonPath.read(body, "$..nextCursor");
+    return cursors.isEmpty() ? null : cursors.get(0);
+  }
+}
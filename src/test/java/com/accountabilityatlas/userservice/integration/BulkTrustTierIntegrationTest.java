@@ -0,0 +1,99 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.repository.UserRepository;
+import com.accountabilityatlas.userservice.service.AdminJobService;
+import com.accountabilityatlas.userservice.service.BulkTrustTierService;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class BulkTrustTierIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("app.admin-jobs.trust-tier-chunk-size", () -> "2");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private BulkTrustTierService bulkTrustTierService;
+  @Autowired private AdminJobService adminJobService;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserRepository userRepository;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void submit_promotesUsersInChunksAndTracksProgress() throws Exception {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(
+          registrationService
+              .register("bulk" + i + "@example.com", "SecurePass123", "Bulk " + i)
+              .getId());
+    }
+    ids.add(UUID.randomUUID());
+
+    AdminJob submitted = bulkTrustTierService.submit(ids, TrustTier.TRUSTED, "cohort", null);
+    AdminJob finished = awaitFinished(submitted.getId());
+
+    assertThat(finished.getStatus()).isEqualTo(AdminJobStatus.COMPLETED);
+    assertThat(finished.getTotalItems()).isEqualTo(6);
+    assertThat(finished.getProcessedItems()).isEqualTo(6);
+    assertThat(finished.getChangedItems()).isEqualTo(5);
+    assertThat(userRepository.findAllById(ids))
+        .allMatch(user -> user.getTrustTier() == TrustTier.TRUSTED);
+    verify(eventPublisher, atLeastOnce()).publishAll(anyList());
+  }
+
+  private AdminJob awaitFinished(UUID jobId) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      AdminJob job = adminJobService.getJob(jobId);
+      if (job.getStatus() == AdminJobStatus.COMPLETED || job.getStatus() == AdminJobStatus.FAILED) {
+        return job;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("Job " + jobId + " did not finish");
+  }
+}
@@ -0,0 +1,213 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.OutboxRelay;
+import com.accountabilityatlas.userservice.event.OutboxTransport.Rejection;
+import com.accountabilityatlas.userservice.event.SqsEventPublisher;
+import com.accountabilityatlas.userservice.event.UserProfileChangedEvent;
+import com.accountabilityatlas.userservice.event.UserRegisteredEvent;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.UserService;
+import com.accountabilityatlas.userservice.web.model.PrivacySettings;
+import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class EventOutboxIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    // The tests drive the relay themselves
+    registry.add("app.outbox.relay-interval", () -> "1h");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserService userService;
+  @Autowired private EventPublisher eventPublisher;
+  @Autowired private OutboxRelay outboxRelay;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockitoBean private SqsEventPublisher sqsEventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @BeforeEach
+  void clearOutbox() {
+    jdbcTemplate.update("DELETE FROM users.event_outbox");
+    reset(sqsEventPublisher);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void register_writesOutboxAndRelaySendsAndDeletes() throws Exception {
+    UUID userId =
+        registrationService.register("outbox@example.com", "SecurePass123", "Outbox").getId();
+    // UserRegistered and the first UserProfileChanged snapshot
+    assertThat(pendingCount()).isEqualTo(2);
+    when(sqsEventPublisher.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(Map.of()));
+
+    assertThat(outboxRelay.relay()).isEqualTo(2);
+
+    ArgumentCaptor<List<String>> sent = ArgumentCaptor.forClass(List.class);
+    verify(sqsEventPublisher).sendBatchAsync(sent.capture(), anyInt());
+    assertThat(sent.getValue()).hasSize(2);
+    assertThat(objectMapper.readValue(sent.getValue().get(0), UserRegisteredEvent.class).userId())
+        .isEqualTo(userId);
+    UserProfileChangedEvent snapshot =
+        objectMapper.readValue(sent.getValue().get(1), UserProfileChangedEvent.class);
+    assertThat(snapshot.userId()).isEqualTo(userId);
+    assertThat(snapshot.displayName()).isEqualTo("Outbox");
+    assertThat(snapshot.trustTier()).isEqualTo(TrustTier.NEW);
+    assertThat(snapshot.avatar().gravatar()).startsWith("https://gravatar.com/avatar/");
+    assertThat(pendingCount()).isZero();
+  }
+
+  @Test
+  void profileChanges_publishSnapshotsWithIncreasingVersions() {
+    UUID userId =
+        registrationService.register("snapshot@example.com", "SecurePass123", "Before").getId();
+    PrivacySettings privacy = new PrivacySettings();
+    privacy.setSocialLinksVisibility(PrivacySettings.SocialLinksVisibilityEnum.PUBLIC);
+    UpdateUserRequest privacyOnly = new UpdateUserRequest();
+    privacyOnly.setPrivacySettings(privacy);
+    userService.updateProfile(userId, privacyOnly);
+    userService.updateTrustTier(userId, TrustTier.TRUSTED, "MANUAL");
+
+    List<UserProfileChangedEvent> snapshots =
+        jdbcTemplate.queryForList(
+                "SELECT payload::text FROM users.event_outbox"
+                    + " WHERE event_type = 'UserProfileChanged' ORDER BY id",
+                String.class)
+            .stream()
+            .map(this::readSnapshot)
+            .toList();
+
+    assertThat(snapshots).hasSize(3).allMatch(snapshot -> snapshot.userId().equals(userId));
+    assertThat(snapshots)
+        .extracting(UserProfileChangedEvent::version)
+        .isSortedAccordingTo(Long::compare)
+        .doesNotHaveDuplicates();
+    assertThat(snapshots.get(0).socialLinksVisibility()).isEqualTo(Visibility.REGISTERED);
+    assertThat(snapshots.get(1).socialLinksVisibility()).isEqualTo(Visibility.PUBLIC);
+    assertThat(snapshots.get(2).trustTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(snapshots.get(2).socialLinksVisibility()).isEqualTo(Visibility.PUBLIC);
+  }
+
+  @Test
+  void rolledBackTransaction_leavesNoEvent() {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              eventPublisher.publish(
+                  new UserRegisteredEvent(UUID.randomUUID(), "gone@example.com", Instant.now()));
+              status.setRollbackOnly();
+            });
+
+    assertThat(pendingCount()).isZero();
+  }
+
+  @Test
+  void sendFailure_keepsEntryAndBacksOff() {
+    registrationService.register("retry@example.com", "SecurePass123", "Retry");
+    when(sqsEventPublisher.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SQS unavailable")));
+
+    assertThat(outboxRelay.relay()).isZero();
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT DISTINCT attempts FROM users.event_outbox WHERE next_attempt_at > NOW()",
+                Integer.class))
+        .isEqualTo(1);
+    // Not due again yet, so a second run sends nothing
+    assertThat(outboxRelay.relay()).isZero();
+  }
+
+  @Test
+  void permanentRejection_isMarkedFailedAndNotClaimedAgain() {
+    registrationService.register("malformed@example.com", "SecurePass123", "Malformed");
+    when(sqsEventPublisher.sendBatchAsync(anyList(), anyInt()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                Map.of(0, new Rejection("InvalidMessageContents: bad", true))));
+
+    assertThat(outboxRelay.relay()).isEqualTo(1);
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT last_error FROM users.event_outbox WHERE failed_at IS NOT NULL",
+                String.class))
+        .containsExactly("InvalidMessageContents: bad");
+    reset(sqsEventPublisher);
+    jdbcTemplate.update("UPDATE users.event_outbox SET next_attempt_at = NOW()");
+    assertThat(outboxRelay.relay()).isZero();
+    verify(sqsEventPublisher, never()).sendBatchAsync(anyList(), anyInt());
+  }
+
+  private UserProfileChangedEvent readSnapshot(String payload) {
+    try {
+      return objectMapper.readValue(payload, UserProfileChangedEvent.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private int pendingCount() {
+    Integer count =
+        jdbcTemplate.queryForObject("SELECT count(*) FROM users.event_outbox", Integer.class);
+    return count == null ? 0 : count;
+  }
+}
@@ -0,0 +1,170 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.domain.UserStats;
+import com.accountabilityatlas.userservice.event.InProcessEventBus;
+import com.accountabilityatlas.userservice.event.OutboxRelay;
+import com.accountabilityatlas.userservice.event.VideoStatusChangedEvent;
+import com.accountabilityatlas.userservice.event.VideoSubmittedEvent;
+import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Throughput of the whole event pipeline on the in-process bus: registrations through the outbox
+ * and relay, and video events through the listeners into {@code user_stats}. Run with {@code
+ * ./gradlew eventBenchmark}; it is excluded from the other test tasks. Broker latency and failures
+ * can be injected with {@code -Dapp.events.in-process.*} system properties.
+ */
+@SpringBootTest
+@Testcontainers
+@Tag("benchmark")
+class EventPipelineBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(EventPipelineBenchmarkTest.class);
+
+  private static final int USERS = 200;
+  private static final int VIDEOS_PER_USER = 50;
+  private static final int PRODUCERS = 4;
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("app.events.transport", () -> "in-process");
+    registry.add("app.outbox.relay-interval", () -> "1h");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private InProcessEventBus eventBus;
+  @Autowired private OutboxRelay outboxRelay;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserStatsRepository userStatsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void eventPipelineThroughput() throws Exception {
+    List<UUID> userIds = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      userIds.add(
+          registrationService
+              .register("bench-" + i + "@example.com", "SecurePass123", "Bench " + i)
+              .getId());
+    }
+
+    long relayStart = System.nanoTime();
+    long relayDeadline = relayStart + Duration.ofMinutes(5).toNanos();
+    int relayed = 0;
+    while (pendingOutbox() > 0) {
+      if (System.nanoTime() > relayDeadline) {
+        throw new AssertionError("Outbox did not drain");
+      }
+      relayed += outboxRelay.relay();
+    }
+    report("outbox relay", relayed, System.nanoTime() - relayStart);
+
+    long videoStart = System.nanoTime();
+    ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int p = 0; p < PRODUCERS; p++) {
+        List<UUID> share = userIds.subList(p * USERS / PRODUCERS, (p + 1) * USERS / PRODUCERS);
+        results.add(producers.submit(() -> produce(share)));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      producers.shutdown();
+    }
+    awaitDrained("user-video-events");
+    awaitDrained("user-video-status-events");
+    report("video events", USERS * VIDEOS_PER_USER * 2, System.nanoTime() - videoStart);
+
+    for (UUID userId : userIds) {
+      UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+      assertThat(stats.getSubmissionCount()).isEqualTo(VIDEOS_PER_USER);
+      assertThat(stats.getApprovedCount()).isEqualTo(VIDEOS_PER_USER);
+    }
+  }
+
+  private Void produce(List<UUID> userIds) throws InterruptedException {
+    for (UUID userId : userIds) {
+      for (int v = 0; v < VIDEOS_PER_USER; v++) {
+        UUID videoId = UUID.randomUUID();
+        eventBus.send(
+            "user-video-events",
+            new VideoSubmittedEvent(
+                videoId, userId, "NEW", "Bench video", Set.of(), List.of(), Instant.now()));
+        eventBus.send(
+            "user-video-status-events",
+            new VideoStatusChangedEvent(
+                videoId, userId, List.of(), "PENDING", "APPROVED", Instant.now()));
+      }
+    }
+    return null;
+  }
+
+  private int pendingOutbox() {
+    Integer count =
+        jdbcTemplate.queryForObject("SELECT count(*) FROM users.event_outbox", Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  private void awaitDrained(String queue) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofMinutes(5).toNanos();
+    while (eventBus.outstanding(queue) > 0) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError(queue + " did not drain");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  private static void report(String stage, int events, long nanos) {
+    double seconds = nanos / 1e9;
+    log.info(
+        "{}: {} events in {} ms, {} events/s",
+        stage,
+        events,
+        Math.round(seconds * 1000),
+        Math.round(events / seconds));
+  }
+}
@@ -0,0 +1,163 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.config.InProcessEventBusProperties;
+import com.accountabilityatlas.userservice.domain.UserStats;
+import com.accountabilityatlas.userservice.event.InProcessEventBus;
+import com.accountabilityatlas.userservice.event.OutboxRelay;
+import com.accountabilityatlas.userservice.event.VideoStatusChangedEvent;
+import com.accountabilityatlas.userservice.event.VideoSubmittedEvent;
+import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@Testcontainers
+class InProcessEventBusIntegrationTest {
+
+  private static final String USER_EVENTS = "user-events";
+  private static final String VIDEO_EVENTS = "user-video-events";
+  private static final String VIDEO_STATUS_EVENTS = "user-video-status-events";
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("app.events.transport", () -> "in-process");
+    registry.add("app.events.in-process.visibility-timeout", () -> "500ms");
+    // The tests drive the relay themselves
+    registry.add("app.outbox.relay-interval", () -> "1h");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private InProcessEventBus eventBus;
+  @Autowired private InProcessEventBusProperties properties;
+  @Autowired private OutboxRelay outboxRelay;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserStatsRepository userStatsRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void registration_isRelayedToUserEventsQueue() throws Exception {
+    List<String> received = new CopyOnWriteArrayList<>();
+    eventBus.<String>subscribe(
+        USER_EVENTS,
+        (messages, acknowledgement) -> {
+          messages.forEach(message -> received.add(message.getPayload()));
+          acknowledgement.acknowledge();
+        });
+    UUID userId = register("bus-registered@example.com");
+
+    outboxRelay.relay();
+
+    awaitDrained(USER_EVENTS);
+    assertThat(received)
+        .anySatisfy(
+            payload ->
+                assertThat(payload).contains(userId.toString(), "bus-registered@example.com"));
+  }
+
+  @Test
+  void videoEvents_reachHandlersAndUpdateStats() throws Exception {
+    UUID userId = register("bus-video@example.com");
+
+    for (int i = 0; i < 25; i++) {
+      UUID videoId = UUID.randomUUID();
+      eventBus.send(VIDEO_EVENTS, submitted(videoId, userId));
+      if (i < 10) {
+        eventBus.send(VIDEO_STATUS_EVENTS, approved(videoId, userId));
+      }
+    }
+
+    awaitDrained(VIDEO_EVENTS);
+    awaitDrained(VIDEO_STATUS_EVENTS);
+    UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+    assertThat(stats.getSubmissionCount()).isEqualTo(25);
+    assertThat(stats.getApprovedCount()).isEqualTo(10);
+  }
+
+  @Test
+  void injectedDeliveryFailures_areRedeliveredAndCountedOnce() throws Exception {
+    UUID userId = register("bus-flaky@example.com");
+    double redeliveredBefore = redelivered();
+    // Every delivery is dropped until the first redelivery, then the broker recovers
+    properties.setFailureRate(1);
+    try {
+      for (int i = 0; i < 40; i++) {
+        eventBus.send(VIDEO_EVENTS, submitted(UUID.randomUUID(), userId));
+      }
+      for (int attempt = 0; attempt < 100 && redelivered() == redeliveredBefore; attempt++) {
+        Thread.sleep(50);
+      }
+    } finally {
+      properties.setFailureRate(0);
+    }
+
+    awaitDrained(VIDEO_EVENTS);
+    assertThat(userStatsRepository.findById(userId).orElseThrow().getSubmissionCount())
+        .isEqualTo(40);
+    assertThat(redelivered()).isGreaterThan(redeliveredBefore);
+  }
+
+  private static VideoSubmittedEvent submitted(UUID videoId, UUID userId) {
+    return new VideoSubmittedEvent(
+        videoId, userId, "NEW", "Bus video", Set.of(), List.of(), Instant.now());
+  }
+
+  private static VideoStatusChangedEvent approved(UUID videoId, UUID userId) {
+    return new VideoStatusChangedEvent(
+        videoId, userId, List.of(), "PENDING", "APPROVED", Instant.now());
+  }
+
+  private double redelivered() {
+    return meterRegistry
+        .get("users.events.in-process.redelivered")
+        .tag("queue", VIDEO_EVENTS)
+        .counter()
+        .count();
+  }
+
+  private UUID register(String email) {
+    return registrationService.register(email, "SecurePass123", "Bus User").getId();
+  }
+
+  private void awaitDrained(String queue) throws InterruptedException {
+    for (int attempt = 0; attempt < 300; attempt++) {
+      if (eventBus.outstanding(queue) == 0) {
+        return;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError(queue + " still has " + eventBus.outstanding(queue) + " outstanding");
+  }
+}
@@ -0,0 +1,235 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.domain.Session;
+import com.accountabilityatlas.userservice.domain.User;
+import com.accountabilityatlas.userservice.repository.SessionRepository;
+import com.accountabilityatlas.userservice.service.AuthenticationService;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.UserService;
+import com.accountabilityatlas.userservice.web.model.PrivacySettings;
+import com.accountabilityatlas.userservice.web.model.SocialLinks;
+import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+/**
+ * Statement-count benchmark for the JPA write path. Counts come from Hibernate statistics, so they
+ * reflect JDBC statements prepared per operation rather than wall-clock time. Registration is also
+ * counted at the DataSource, which includes the statements it runs through {@code JdbcTemplate}.
+ *
+ * <p>Baselines without batching, {@code @DynamicUpdate} or assigned-id {@code Persistable} support:
+ * registration 3, login 2-3, first profile update with social links and privacy 8-9, and one
+ * statement per row for multi-row inserts.
+ */
+@SpringBootTest
+@Testcontainers
+class PersistenceBatchingIntegrationTest {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(PersistenceBatchingIntegrationTest.class);
+
+  private static final int SESSION_ROWS = 100;
+  private static final Set<String> STATEMENT_METHODS =
+      Set.of("prepareStatement", "prepareCall", "createStatement");
+  private static final AtomicLong DATA_SOURCE_STATEMENTS = new AtomicLong();
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    // The outbox relay would otherwise prepare statements of its own while an operation is counted
+    registry.add("app.scheduling.enabled", () -> "false");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private RegistrationService registrationService;
+  @Autowired private AuthenticationService authenticationService;
+  @Autowired private UserService userService;
+  @Autowired private SessionRepository sessionRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    DATA_SOURCE_STATEMENTS.set(0);
+  }
+
+  @Test
+  void registration_preparesOneStatementPerWrite() {
+    registrationService.register("batch-register@example.com", "SecurePass123", "BatchUser");
+
+    long jpaStatements = statistics.getPrepareStatementCount();
+    long statements = DATA_SOURCE_STATEMENTS.get();
+    log.info(
+        "Statements per registration: {} JPA (baseline 3), {} in total", jpaStatements, statements);
+    // users insert + user_stats insert; the unique constraint replaces the existsByEmail query
+    assertThat(jpaStatements).isEqualTo(2);
+    // Over JdbcTemplate: the UserRegistered outbox insert, the snapshot read that draws its
+    // version, the UserProfileChanged outbox insert and the avatar sources upsert
+    assertThat(statements).isLessThanOrEqualTo(6);
+  }
+
+  @Test
+  void login_preparesLookupAndSessionInsertOnly() {
+    registrationService.register("batch-login@example.com", "SecurePass123", "BatchUser");
+    statistics.clear();
+
+    authenticationService.login("batch-login@example.com", "SecurePass123", null, null);
+
+    long statements = statistics.getPrepareStatementCount();
+    log.info("Statements per login: {} (baseline 2-3)", statements);
+    assertThat(statements).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void firstProfileUpdate_insertsAssignedIdRowsWithoutMergeSelects() {
+    User user =
+        registrationService.register("batch-profile@example.com", "SecurePass123", "BatchUser");
+    statistics.clear();
+
+    SocialLinks links = new SocialLinks();
+    links.setYoutube("UCbatch");
+    PrivacySettings privacy = new PrivacySettings();
+    privacy.setSocialLinksVisibility(PrivacySettings.SocialLinksVisibilityEnum.PUBLIC);
+    UpdateUserRequest request = new UpdateUserRequest();
+    request.setDisplayName("RenamedUser");
+    request.setSocialLinks(links);
+    request.setPrivacySettings(privacy);
+
+    userService.updateProfile(user.getId(), request);
+
+    long statements = statistics.getPrepareStatementCount();
+    log.info("Statements per first profile update: {} (baseline 8-9)", statements);
+    assertThat(statements).isLessThanOrEqualTo(7);
+  }
+
+  @Test
+  void multiRowInsert_isSentAsJdbcBatches() {
+    User user =
+        registrationService.register("batch-sessions@example.com", "SecurePass123", "BatchUser");
+    statistics.clear();
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              List<Session> sessions = new ArrayList<>();
+              for (int i = 0; i < SESSION_ROWS; i++) {
+                Session session = new Session();
+                session.setUserId(user.getId());
+                session.setRefreshTokenHash("hash-" + i);
+                session.setExpiresAt(Instant.now().plusSeconds(3600));
+                sessions.add(session);
+              }
+              sessionRepository.saveAll(sessions);
+            });
+
+    long statements = statistics.getPrepareStatementCount();
+    log.info("Statements for {} session inserts: {}", SESSION_ROWS, statements);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(SESSION_ROWS);
+    assertThat(statements).isLessThan(SESSION_ROWS / 10);
+  }
+
+  /** Counts statements prepared through the application's DataSource, JPA and JDBC alike. */
+  @TestConfiguration
+  static class StatementCountingConfig {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+        }
+      };
+    }
+  }
+
+  private static final class CountingDataSource extends DelegatingDataSource {
+
+    CountingDataSource(DataSource dataSource) {
+      super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+      return (Connection)
+          Proxy.newProxyInstance(
+              Connection.class.getClassLoader(),
+              new Class<?>[] {Connection.class},
+              (proxy, method, args) -> {
+                if (STATEMENT_METHODS.contains(method.getName())) {
+                  DATA_SOURCE_STATEMENTS.incrementAndGet();
+                }
+                try {
+                  return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                  throw e.getCause();
+                }
+              });
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.UserStats;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.exception.InvalidSnapshotException;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.SnapshotRow;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.StatsCounts;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.StatsDiff;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.UserIdRange;
+import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.service.AdminJobService;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.StatsRebuildService;
+import com.accountabilityatlas.userservice.service.StatsRebuildService.StatsRebuildSubmission;
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class StatsRebuildIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    // Several ranges and single-user batches, so every path runs even with a handful of users
+    registry.add("app.stats.rebuild-partitions", () -> "3");
+    registry.add("app.stats.rebuild-batch-size", () -> "1");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private StatsRebuildService statsRebuildService;
+  @Autowired private StatsRebuildRepository statsRebuildRepository;
+  @Autowired private AdminJobService adminJobService;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserStatsService userStatsService;
+  @Autowired private UserStatsRepository userStatsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void rebuild_dryRunReportsAndApplyCorrects() throws Exception {
+    UUID drifted = register("drifted@example.com");
+    UUID missing = register("missing@example.com");
+    UUID matching = register("matching@example.com");
+    recordSubmission(missing);
+    recordSubmission(matching);
+    String csv =
+        "userId,submissionCount,approvedCount,rejectedCount\n"
+            + drifted
+            + ",5,3,1\n"
+            + matching
+            + ",1,0,0\n";
+
+    AdminJob dryRun = awaitFinished(submit(csv, true).jobId());
+
+    assertThat(dryRun.getStatus()).isEqualTo(AdminJobStatus.COMPLETED);
+    assertThat(dryRun.getProcessedItems()).isEqualTo(dryRun.getTotalItems());
+    assertThat(diffsFor(dryRun.getId(), drifted, missing, matching))
+        .extracting(StatsDiff::userId, StatsDiff::expected, StatsDiff::applied)
+        .containsExactlyInAnyOrder(
+            tuple(drifted, new StatsCounts(5, 3, 1), false),
+            tuple(missing, new StatsCounts(0, 0, 0), false));
+    assertThat(stats(drifted).getSubmissionCount()).isZero();
+
+    AdminJob applied = awaitFinished(submit(csv, false).jobId());
+
+    assertThat(applied.getStatus()).isEqualTo(AdminJobStatus.COMPLETED);
+    assertThat(diffsFor(applied.getId(), drifted, missing, matching))
+        .allMatch(StatsDiff::applied)
+        .hasSize(2);
+    UserStats driftedStats = stats(drifted);
+    assertThat(driftedStats.getSubmissionCount()).isEqualTo(5);
+    assertThat(driftedStats.getApprovedCount()).isEqualTo(3);
+    assertThat(driftedStats.getRejectedCount()).isEqualTo(1);
+    assertThat(stats(missing).getSubmissionCount()).isZero();
+    assertThat(stats(matching).getSubmissionCount()).isEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users.stats_rebuild_snapshots", Integer.class))
+        .isZero();
+  }
+
+  @Test
+  void correct_leavesRowsChangedSinceTheDiff() {
+    UUID userId = register("concurrent@example.com");
+    UUID snapshotId = UUID.randomUUID();
+    statsRebuildRepository.copySnapshot(
+        snapshotId, List.of(new SnapshotRow(userId, new StatsCounts(4, 0, 0))));
+    List<StatsDiff> diffs =
+        statsRebuildRepository.findDifferences(snapshotId, new UserIdRange(userId, null)).stream()
+            .filter(diff -> diff.userId().equals(userId))
+            .toList();
+
+    // An event lands between reading the diff and correcting it
+    recordSubmission(userId);
+
+    assertThat(statsRebuildRepository.correct(diffs)).isEmpty();
+    assertThat(stats(userId).getSubmissionCount()).isEqualTo(1);
+    statsRebuildRepository.deleteSnapshot(snapshotId);
+  }
+
+  @Test
+  void submit_duplicateUser_isRejectedAndNothingKept() {
+    UUID userId = register("duplicate@example.com");
+    String ndjson =
+        "{\"userId\":\"%s\",\"submissionCount\":1,\"approvedCount\":0,\"rejectedCount\":0}\n"
+            .formatted(userId)
+            .repeat(2);
+
+    assertThatThrownBy(() -> submit(ndjson, UserDataFormat.NDJSON, false))
+        .isInstanceOf(InvalidSnapshotException.class);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users.stats_rebuild_snapshots", Integer.class))
+        .isZero();
+  }
+
+  @Test
+  void orphanedJob_isFailedAndItsSnapshotDeleted() {
+    UUID userId = register("orphaned@example.com");
+    UUID jobId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users.admin_jobs (id, job_type, status, heartbeat_at)"
+            + " VALUES (?, 'STATS_REBUILD', 'RUNNING', NOW() - INTERVAL '1 hour')",
+        jobId);
+    statsRebuildRepository.copySnapshot(
+        jobId, List.of(new SnapshotRow(userId, new StatsCounts(1, 0, 0))));
+
+    adminJobService.heartbeatScheduled();
+    statsRebuildService.deleteOrphanedSnapshotsScheduled();
+
+    assertThat(adminJobService.getJob(jobId).getStatus()).isEqualTo(AdminJobStatus.FAILED);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users.stats_rebuild_snapshots WHERE snapshot_id = ?",
+                Integer.class,
+                jobId))
+        .isZero();
+  }
+
+  private StatsRebuildSubmission submit(String csv, boolean dryRun) throws Exception {
+    return submit(csv, UserDataFormat.CSV, dryRun);
+  }
+
+  private StatsRebuildSubmission submit(String body, UserDataFormat format, boolean dryRun)
+      throws Exception {
+    return statsRebuildService.submit(
+        format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), dryRun, null);
+  }
+
+  private List<StatsDiff> diffsFor(UUID jobId, UUID... userIds) {
+    Set<UUID> ids = Set.of(userIds);
+    return statsRebuildService.getDiffs(jobId, 1000).stream()
+        .filter(diff -> ids.contains(diff.userId()))
+        .toList();
+  }
+
+  private UserStats stats(UUID userId) {
+    return userStatsRepository.findById(userId).orElseThrow();
+  }
+
+  private UUID register(String email) {
+    return registrationService.register(email, "SecurePass123", "Rebuild User").getId();
+  }
+
+  private AdminJob awaitFinished(UUID jobId) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      AdminJob job = adminJobService.getJob(jobId);
+      if (job.getStatus() == AdminJobStatus.COMPLETED || job.getStatus() == AdminJobStatus.FAILED) {
+        return job;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("Job " + jobId + " did not finish");
+  }
+
+  private void recordSubmission(UUID userId) {
+    userStatsService.recordSubmissions(List.of(new Submission(UUID.randomUUID(), userId)));
+  }
+}
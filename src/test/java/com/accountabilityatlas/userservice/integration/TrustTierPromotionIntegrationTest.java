@@ -0,0 +1,178 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.User;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.repository.UserRepository;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.TrustTierPromotionService;
+import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class TrustTierPromotionIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("app.promotion.chunk-size", () -> "2");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private TrustTierPromotionService promotionService;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserStatsService userStatsService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void promoteEligibleUsers_promotesOnlyQueuedUsersMeetingEveryThreshold() throws Exception {
+    UUID eligibleA = seedUser("eligible-a@example.com", 40, 10);
+    UUID eligibleB = seedUser("eligible-b@example.com", 40, 25);
+    UUID eligibleC = seedUser("eligible-c@example.com", 31, 10);
+    UUID eligibleLocked = seedUser("eligible-locked@example.com", 40, 12);
+    UUID tooYoung = seedUser("young@example.com", 5, 50);
+    UUID tooFewApproved = seedUser("few@example.com", 90, 9);
+    UUID recentlyRejected = seedUser("rejected@example.com", 90, 15);
+    recordStatusChange(recentlyRejected, "PENDING", "REJECTED");
+
+    assertThat(queuedUsers())
+        .containsExactlyInAnyOrder(
+            eligibleA, eligibleB, eligibleC, eligibleLocked, tooYoung, recentlyRejected);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT rejected_count FROM users.user_stats_daily"
+                    + " WHERE user_id = ? AND bucket_date = CURRENT_DATE",
+                Integer.class,
+                recentlyRejected))
+        .isEqualTo(1);
+
+    // Another node's run holding a candidate must not block or double-promote it
+    try (Connection other = dataSource.getConnection()) {
+      other.setAutoCommit(false);
+      try (PreparedStatement lock =
+          other.prepareStatement(
+              "SELECT user_id FROM users.promotion_candidates WHERE user_id = ? FOR UPDATE")) {
+        lock.setObject(1, eligibleLocked);
+        lock.executeQuery().close();
+      }
+
+      assertThat(promotionService.promoteEligibleUsers()).isEqualTo(3);
+      other.rollback();
+    }
+
+    assertThat(tierOf(eligibleA)).isEqualTo(TrustTier.TRUSTED);
+    assertThat(tierOf(eligibleB)).isEqualTo(TrustTier.TRUSTED);
+    assertThat(tierOf(eligibleC)).isEqualTo(TrustTier.TRUSTED);
+    assertThat(tierOf(eligibleLocked)).isEqualTo(TrustTier.NEW);
+    assertThat(tierOf(tooYoung)).isEqualTo(TrustTier.NEW);
+    assertThat(tierOf(tooFewApproved)).isEqualTo(TrustTier.NEW);
+    assertThat(tierOf(recentlyRejected)).isEqualTo(TrustTier.NEW);
+
+    // The next run picks up the released candidate; users not yet due stay queued
+    assertThat(promotionService.promoteEligibleUsers()).isEqualTo(1);
+    assertThat(tierOf(eligibleLocked)).isEqualTo(TrustTier.TRUSTED);
+    assertThat(promotionService.promoteEligibleUsers()).isZero();
+    assertThat(queuedUsers()).containsExactlyInAnyOrder(tooYoung, recentlyRejected);
+  }
+
+  @Test
+  void promoteEligibleUsers_ignoresRejectionsOutsideWindow() {
+    UUID userId = seedUser("old-rejection@example.com", 90, 10);
+    jdbcTemplate.update(
+        "INSERT INTO users.user_stats_daily (user_id, bucket_date, rejected_count)"
+            + " VALUES (?, CURRENT_DATE - 31, 1)",
+        userId);
+
+    promotionService.promoteEligibleUsers();
+
+    assertThat(tierOf(userId)).isEqualTo(TrustTier.TRUSTED);
+  }
+
+  @Test
+  void promoteEligibleUsers_profileUpdateDoesNotRestartAccountAge() {
+    UUID userId = seedUser("renamed@example.com", 40, 10);
+    jdbcTemplate.update("UPDATE users.users SET display_name = 'Renamed' WHERE id = ?", userId);
+
+    promotionService.promoteEligibleUsers();
+
+    assertThat(tierOf(userId)).isEqualTo(TrustTier.TRUSTED);
+  }
+
+  @Test
+  void statusChange_belowThreshold_removesQueuedUser() {
+    UUID userId = seedUser("slipped@example.com", 40, 10);
+    assertThat(queuedUsers()).contains(userId);
+
+    recordStatusChange(userId, "APPROVED", "REJECTED");
+
+    assertThat(queuedUsers()).doesNotContain(userId);
+  }
+
+  private UUID seedUser(String email, int ageDays, int approvedCount) {
+    User user = registrationService.register(email, "SecurePass123", "Promotion Candidate");
+    jdbcTemplate.update(
+        "UPDATE users.users SET created_at = NOW() - make_interval(days => ?) WHERE id = ?",
+        ageDays,
+        user.getId());
+    for (int i = 0; i < approvedCount; i++) {
+      recordStatusChange(user.getId(), "PENDING", "APPROVED");
+    }
+    return user.getId();
+  }
+
+  private List<UUID> queuedUsers() {
+    return jdbcTemplate.query(
+        "SELECT user_id FROM users.promotion_candidates",
+        (rs, rowNum) -> rs.getObject("user_id", UUID.class));
+  }
+
+  private TrustTier tierOf(UUID userId) {
+    return userRepository.findById(userId).orElseThrow().getTrustTier();
+  }
+
+  private void recordStatusChange(UUID userId, String previousStatus, String newStatus) {
+    userStatsService.recordStatusChanges(
+        List.of(new StatusChange(UUID.randomUUID(), userId, previousStatus, newStatus)));
+  }
+}
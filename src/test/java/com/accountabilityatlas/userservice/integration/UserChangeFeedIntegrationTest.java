@@ -0,0 +1,154 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.TokenService;
+import com.accountabilityatlas.userservice.service.UserService;
+import com.accountabilityatlas.userservice.web.model.PrivacySettings;
+import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.lang.Nullable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class UserChangeFeedIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("app.changes.settle-delay", () -> "0s");
+    registry.add("app.changes.fetch-size", () -> "2");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserService userService;
+  @Autowired private TokenService tokenService;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void changes_pagesThroughUsersInChangeOrder() throws Exception {
+    List<UUID> registered = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      registered.add(
+          registrationService
+              .register("changes" + i + "@example.com", "SecurePass123", "Changes " + i)
+              .getId());
+    }
+    String cursor = lastCursor(changes(null, 100));
+
+    // A privacy-only change moves the first user to the end of the feed
+    PrivacySettings privacy = new PrivacySettings();
+    privacy.setSocialLinksVisibility(PrivacySettings.SocialLinksVisibilityEnum.PUBLIC);
+    UpdateUserRequest request = new UpdateUserRequest();
+    request.setPrivacySettings(privacy);
+    userService.updateProfile(registered.get(0), request);
+    userService.updateTrustTier(registered.get(1), TrustTier.TRUSTED, "MANUAL");
+
+    List<JsonNode> firstPage = changes(cursor, 1);
+    assertThat(firstPage).hasSize(1);
+    assertThat(firstPage.get(0).get("userId").asText()).isEqualTo(registered.get(0).toString());
+    assertThat(firstPage.get(0).get("socialLinksVisibility").asText()).isEqualTo("PUBLIC");
+    assertThat(firstPage.get(0).get("avatar").get("gravatar").asText())
+        .startsWith("https://gravatar.com/avatar/");
+    assertThat(firstPage.get(0).has("email")).isFalse();
+
+    List<JsonNode> rest = changes(lastCursor(firstPage), 100);
+    assertThat(rest).hasSize(1);
+    assertThat(rest.get(0).get("userId").asText()).isEqualTo(registered.get(1).toString());
+    assertThat(rest.get(0).get("trustTier").asText()).isEqualTo("TRUSTED");
+
+    assertThat(changes(lastCursor(rest), 100)).isEmpty();
+  }
+
+  @Test
+  void changes_requiresAdmin() throws Exception {
+    mockMvc.perform(get("/users/changes")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void changes_invalidCursor_returns400() throws Exception {
+    mockMvc
+        .perform(get("/users/changes").param("since", "garbage!").header("Authorization", admin()))
+        .andExpect(status().isBadRequest());
+  }
+
+  private List<JsonNode> changes(@Nullable String since, int limit) throws Exception {
+    MockHttpServletRequestBuilder request =
+        get("/users/changes")
+            .param("limit", String.valueOf(limit))
+            .header("Authorization", admin());
+    if (since != null) {
+      request.param("since", since);
+    }
+    byte[] body =
+        mockMvc
+            .perform(request)
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : new String(body, StandardCharsets.UTF_8).lines().toList()) {
+      assertThat(line).startsWith("{").endsWith("}");
+      lines.add(objectMapper.readTree(line));
+    }
+    return lines;
+  }
+
+  private static String lastCursor(List<JsonNode> lines) {
+    assertThat(lines).isNotEmpty();
+    return lines.get(lines.size() - 1).get("cursor").asText();
+  }
+
+  private String admin() {
+    return "Bearer "
+        + tokenService.generateAccessToken(
+            UUID.randomUUID(), "admin@example.com", TrustTier.ADMIN, UUID.randomUUID());
+  }
+}
@@ -0,0 +1,97 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class UserExportIntegrationTest {
+
+  private static final int USERS = 25;
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    // Smaller than the row count so the export has to go back to the cursor several times
+    registry.add("app.export.fetch-size", () -> "4");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private TokenService tokenService;
+  @Autowired private ObjectMapper objectMapper;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void export_streamsEveryUserJoinedWithStats() throws Exception {
+    for (int i = 0; i < USERS; i++) {
+      registrationService.register("export" + i + "@example.com", "SecurePass123", "Export " + i);
+    }
+    String token =
+        tokenService.generateAccessToken(
+            UUID.randomUUID(), "admin@example.com", TrustTier.ADMIN, UUID.randomUUID());
+
+    byte[] body =
+        mockMvc
+            .perform(
+                get("/admin/users/export")
+                    .param("format", "ndjson")
+                    .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    List<String> lines = new String(body, StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(USERS);
+    JsonNode first = objectMapper.readTree(lines.get(0));
+    assertThat(first.get("email").asText()).startsWith("export");
+    assertThat(first.get("submissionCount").asInt()).isZero();
+    assertThat(first.has("statsUpdatedAt")).isTrue();
+    assertThat(first.has("passwordHash")).isFalse();
+  }
+}
@@ -0,0 +1,133 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.User;
+import com.accountabilityatlas.userservice.domain.UserPrivacySettings;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository;
+import com.accountabilityatlas.userservice.repository.UserPrivacySettingsRepository;
+import com.accountabilityatlas.userservice.repository.UserRepository;
+import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.service.AuthenticationService;
+import com.accountabilityatlas.userservice.service.AvatarService;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserImportIssue;
+import com.accountabilityatlas.userservice.service.UserImportReport;
+import com.accountabilityatlas.userservice.service.UserImportService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class UserImportIntegrationTest {
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    // Two chunks, so in-file duplicates and already-committed emails are both exercised
+    registry.add("app.import.chunk-size", () -> "3");
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private UserImportService userImportService;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private AuthenticationService authenticationService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserStatsRepository userStatsRepository;
+  @Autowired private UserPrivacySettingsRepository userPrivacySettingsRepository;
+  @Autowired private UserAvatarSourcesRepository avatarSourcesRepository;
+  @Autowired private AvatarService avatarService;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void importUsers_copiesMergesAndReportsDuplicates() throws Exception {
+    registrationService.register("existing@example.com", "SecurePass123", "Existing");
+    String hash = new BCryptPasswordEncoder(4).encode("LegacyPass123");
+    String csv =
+        "email,passwordHash,displayName,emailVerified,trustTier,socialLinksVisibility\n"
+            + "legacy1@example.com,"
+            + hash
+            + ",\"Legacy, One\",true,TRUSTED,PUBLIC\n"
+            + "legacy2@example.com,"
+            + hash
+            + ",Legacy Two,,,\n"
+            + "LEGACY1@example.com,"
+            + hash
+            + ",Legacy Dup,,,\n"
+            + "existing@example.com,"
+            + hash
+            + ",Existing Again,,,\n"
+            + "legacy3@example.com,not-a-hash,Legacy Three,,,\n";
+
+    UserImportReport report =
+        userImportService.importUsers(
+            UserDataFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(report.imported()).isEqualTo(2);
+    assertThat(report.issues())
+        .extracting(UserImportIssue::line, UserImportIssue::reason)
+        .containsExactlyInAnyOrder(
+            tuple(4, UserImportIssue.Reason.DUPLICATE_IN_FILE),
+            tuple(5, UserImportIssue.Reason.EMAIL_EXISTS),
+            tuple(6, UserImportIssue.Reason.INVALID_ROW));
+
+    User legacy = userRepository.findByEmail("legacy1@example.com").orElseThrow();
+    assertThat(legacy.getDisplayName()).isEqualTo("Legacy, One");
+    assertThat(legacy.getTrustTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(legacy.isEmailVerified()).isTrue();
+    assertThat(userStatsRepository.findById(legacy.getId())).isPresent();
+    assertThat(userPrivacySettingsRepository.findById(legacy.getId()))
+        .get()
+        .extracting(UserPrivacySettings::getSocialLinksVisibility)
+        .isEqualTo(Visibility.PUBLIC);
+    // Hashed in SQL on import, and the same way as registration does it in Java
+    User existing = userRepository.findByEmail("existing@example.com").orElseThrow();
+    assertThat(avatarSourcesRepository.findById(legacy.getId())).isPresent();
+    assertThat(avatarService.getAvatarSources(legacy.getId(), "ignored", null).getGravatar())
+        .isEqualTo(avatarService.resolveGravatarUrl("legacy1@example.com"));
+    assertThat(avatarSourcesRepository.findById(existing.getId())).isPresent();
+
+    // Imported hashes are used as-is, so the legacy password still works
+    assertThat(authenticationService.login("legacy1@example.com", "LegacyPass123", null, null))
+        .isNotNull();
+    verify(eventPublisher, atLeastOnce()).publishAll(anyList());
+  }
+}
@@ -0,0 +1,179 @@
+package com.accountabilityatlas.userservice.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.accountabilityatlas.userservice.domain.UserStats;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.service.EventDeduplicator;
+import com.accountabilityatlas.userservice.service.RegistrationService;
+import com.accountabilityatlas.userservice.service.UserStatsService;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@SpringBootTest
+@Testcontainers
+class UserStatsIntegrationTest {
+
+  private static final int CONSUMERS = 8;
+  private static final int EVENTS_PER_CONSUMER = 25;
+
+  @Container
+  @SuppressWarnings("resource")
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("user_service")
+          .withUsername("user_service")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add(
+        "spring.autoconfigure.exclude",
+        () ->
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "io.awspring.cloud.autoconfigure.sqs.SqsAutoConfiguration");
+  }
+
+  @Autowired private UserStatsService userStatsService;
+  @Autowired private EventDeduplicator eventDeduplicator;
+  @Autowired private RegistrationService registrationService;
+  @Autowired private UserStatsRepository userStatsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @MockitoBean private EventPublisher eventPublisher;
+  @MockitoBean private SqsAsyncClient sqsAsyncClient;
+
+  @Test
+  void concurrentEvents_areAllCounted() throws Exception {
+    UUID userId = register("concurrent@example.com");
+
+    ExecutorService consumers = Executors.newFixedThreadPool(CONSUMERS);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < CONSUMERS; i++) {
+        results.add(
+            consumers.submit(
+                () -> {
+                  for (int j = 0; j < EVENTS_PER_CONSUMER; j++) {
+                    recordSubmission(userId);
+                    recordStatusChange(userId, "PENDING", "APPROVED");
+                  }
+                }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      consumers.shutdown();
+    }
+
+    UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+    assertThat(stats.getSubmissionCount()).isEqualTo(CONSUMERS * EVENTS_PER_CONSUMER);
+    assertThat(stats.getApprovedCount()).isEqualTo(CONSUMERS * EVENTS_PER_CONSUMER);
+  }
+
+  @Test
+  void statusChange_decrementStopsAtZero() {
+    UUID userId = register("floor@example.com");
+
+    recordStatusChange(userId, "APPROVED", "REJECTED");
+
+    UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+    assertThat(stats.getApprovedCount()).isZero();
+    assertThat(stats.getRejectedCount()).isEqualTo(1);
+    assertThat(stats.getLastRejectedAt()).isNotNull();
+  }
+
+  @Test
+  void missingStatsRow_isCreatedByTheEvent() {
+    UUID userId = register("missing-stats@example.com");
+    jdbcTemplate.update("DELETE FROM users.user_stats WHERE user_id = ?", userId);
+
+    recordStatusChange(userId, "PENDING", "APPROVED");
+
+    UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+    assertThat(stats.getApprovedCount()).isEqualTo(1);
+    assertThat(stats.getSubmissionCount()).isZero();
+  }
+
+  @Test
+  void unknownUser_isSkipped() {
+    UUID unknown = UUID.randomUUID();
+
+    recordSubmission(unknown);
+
+    assertThat(userStatsRepository.findById(unknown)).isEmpty();
+  }
+
+  @Test
+  void redeliveredEvents_areCountedOnce() {
+    UUID userId = register("redelivery@example.com");
+    Submission submission = new Submission(UUID.randomUUID(), userId);
+    StatusChange approval = new StatusChange(UUID.randomUUID(), userId, "PENDING", "APPROVED");
+
+    userStatsService.recordSubmissions(List.of(submission, submission));
+    userStatsService.recordSubmissions(List.of(submission));
+    userStatsService.recordStatusChanges(List.of(approval));
+    userStatsService.recordStatusChanges(List.of(approval));
+
+    UserStats stats = userStatsRepository.findById(userId).orElseThrow();
+    assertThat(stats.getSubmissionCount()).isEqualTo(1);
+    assertThat(stats.getApprovedCount()).isEqualTo(1);
+    assertThat(eventDeduplicator.dropProcessed(List.of(submission), Submission::eventId)).isEmpty();
+  }
+
+  @Test
+  void processedEventIds_arePrunedAfterRetention() {
+    UUID stale = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users.processed_events (event_id, processed_at)"
+            + " VALUES (?, NOW() - INTERVAL '30 days')",
+        stale);
+
+    assertThat(eventDeduplicator.pruneExpired()).isGreaterThanOrEqualTo(1);
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users.processed_events WHERE event_id = ?",
+                Integer.class,
+                stale))
+        .isZero();
+  }
+
+  private UUID register(String email) {
+    return registrationService.register(email, "SecurePass123", "Stats User").getId();
+  }
+
+  private void recordSubmission(UUID userId) {
+    userStatsService.recordSubmissions(List.of(new Submission(UUID.randomUUID(), userId)));
+  }
+
+  private void recordStatusChange(UUID userId, String previousStatus, String newStatus) {
+    userStatsService.recordStatusChanges(
+        List.of(new StatusChange(UUID.randomUUID(), userId, previousStatus, newStatus)));
+  }
+}
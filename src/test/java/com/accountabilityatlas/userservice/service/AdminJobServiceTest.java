@@ -0,0 +1,215 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.exception.AdminJobNotFoundException;
+import com.accountabilityatlas.userservice.repository.AdminJobRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AdminJobServiceTest {
+
+  private static final UUID JOB_ID = UUID.randomUUID();
+  private static final Duration ORPHAN_TIMEOUT = Duration.ofMinutes(5);
+
+  @Mock private AdminJobRepository adminJobRepository;
+  @Mock private ExecutorService executor;
+
+  @Test
+  void start_runsWorkAndMarksCompleted() {
+    AdminJobService service = directService();
+    stubSave();
+    stubMarkStarted();
+    UUID requestedBy = UUID.randomUUID();
+    @SuppressWarnings("unchecked")
+    Consumer<UUID> work = mock(Consumer.class);
+
+    AdminJob job = service.start(AdminJobType.BULK_TRUST_TIER, 10, requestedBy, work);
+
+    assertThat(job.getId()).isEqualTo(JOB_ID);
+    assertThat(job.getRequestedBy()).isEqualTo(requestedBy);
+    verify(adminJobRepository).markStarted(eq(JOB_ID), eq(AdminJobStatus.RUNNING), any());
+    verify(work).accept(JOB_ID);
+    verify(adminJobRepository)
+        .markFinished(
+            eq(JOB_ID), any(), eq(AdminJobStatus.COMPLETED), any(Instant.class), isNull());
+  }
+
+  @Test
+  void start_workThrows_marksFailedWithMessage() {
+    AdminJobService service = directService();
+    stubSave();
+    stubMarkStarted();
+
+    service.start(
+        AdminJobType.BULK_TRUST_TIER,
+        10,
+        null,
+        jobId -> {
+          throw new IllegalStateException("database went away");
+        });
+
+    verify(adminJobRepository)
+        .markFinished(
+            eq(JOB_ID),
+            any(),
+            eq(AdminJobStatus.FAILED),
+            any(Instant.class),
+            eq("database went away"));
+    verify(adminJobRepository, never())
+        .markFinished(eq(JOB_ID), any(), eq(AdminJobStatus.COMPLETED), any(), any());
+  }
+
+  @Test
+  void start_queueFull_returnsFailedJobWithoutRunning() {
+    AdminJobService service = new AdminJobService(adminJobRepository, executor, ORPHAN_TIMEOUT);
+    stubSave();
+    doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+    AdminJob failed = new AdminJob();
+    failed.setStatus(AdminJobStatus.FAILED);
+    when(adminJobRepository.findById(JOB_ID)).thenReturn(Optional.of(failed));
+
+    AdminJob job = service.start(AdminJobType.BULK_TRUST_TIER, 10, null, jobId -> {});
+
+    assertThat(job.getStatus()).isEqualTo(AdminJobStatus.FAILED);
+    verify(adminJobRepository)
+        .markFinished(
+            eq(JOB_ID),
+            any(),
+            eq(AdminJobStatus.FAILED),
+            any(Instant.class),
+            eq("Job queue is full, try again later"));
+    verify(adminJobRepository, never()).markStarted(any(), any(), any());
+  }
+
+  @Test
+  void start_jobFinishedWhileQueued_doesNotRunWork() {
+    AdminJobService service = directService();
+    stubSave();
+    when(adminJobRepository.markStarted(eq(JOB_ID), eq(AdminJobStatus.RUNNING), any()))
+        .thenReturn(0);
+    @SuppressWarnings("unchecked")
+    Consumer<UUID> work = mock(Consumer.class);
+
+    service.start(AdminJobType.BULK_TRUST_TIER, 10, null, work);
+
+    verify(work, never()).accept(any());
+    verify(adminJobRepository, never()).markFinished(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void recordProgress_jobNoLongerRunning_throws() {
+    AdminJobService service = directService();
+    when(adminJobRepository.addProgress(JOB_ID, AdminJobStatus.RUNNING, 5, 1)).thenReturn(0);
+
+    assertThatThrownBy(() -> service.recordProgress(JOB_ID, 5, 1))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void heartbeat_touchesOnlyJobsOfThisInstanceStillInFlight() {
+    AdminJobService service = new AdminJobService(adminJobRepository, executor, ORPHAN_TIMEOUT);
+    stubSave();
+
+    service.heartbeat();
+    verify(adminJobRepository, never()).touch(any(), any(), any());
+
+    service.create(AdminJobType.STATS_REBUILD, 10, null);
+    service.heartbeat();
+    verify(adminJobRepository)
+        .touch(
+            eq(Set.of(JOB_ID)),
+            eq(EnumSet.of(AdminJobStatus.PENDING, AdminJobStatus.RUNNING)),
+            any(Instant.class));
+
+    service.fail(JOB_ID, "upload failed");
+    service.heartbeat();
+    verify(adminJobRepository).touch(any(), any(), any());
+  }
+
+  @Test
+  void failOrphanedJobs_failsLiveJobsWithHeartbeatOlderThanTimeout() {
+    AdminJobService service = directService();
+    when(adminJobRepository.failStale(any(), any(), any(), any(), any())).thenReturn(2);
+    Instant before = Instant.now();
+
+    assertThat(service.failOrphanedJobs()).isEqualTo(2);
+
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(adminJobRepository)
+        .failStale(
+            eq(EnumSet.of(AdminJobStatus.PENDING, AdminJobStatus.RUNNING)),
+            cutoff.capture(),
+            eq(AdminJobStatus.FAILED),
+            any(Instant.class),
+            any());
+    assertThat(cutoff.getValue())
+        .isBetween(before.minus(ORPHAN_TIMEOUT), Instant.now().minus(ORPHAN_TIMEOUT));
+  }
+
+  @Test
+  void getJob_unknownId_throws() {
+    AdminJobService service = directService();
+    when(adminJobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.getJob(JOB_ID)).isInstanceOf(AdminJobNotFoundException.class);
+  }
+
+  private AdminJobService directService() {
+    doAnswerRunInline();
+    return new AdminJobService(adminJobRepository, executor, ORPHAN_TIMEOUT);
+  }
+
+  private void doAnswerRunInline() {
+    lenient()
+        .doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(executor)
+        .execute(any(Runnable.class));
+  }
+
+  private void stubMarkStarted() {
+    when(adminJobRepository.markStarted(eq(JOB_ID), eq(AdminJobStatus.RUNNING), any()))
+        .thenReturn(1);
+  }
+
+  private void stubSave() {
+    when(adminJobRepository.save(any(AdminJob.class)))
+        .thenAnswer(
+            invocation -> {
+              AdminJob job = invocation.getArgument(0);
+              ReflectionTestUtils.setField(job, "id", JOB_ID);
+              return job;
+            });
+  }
+}
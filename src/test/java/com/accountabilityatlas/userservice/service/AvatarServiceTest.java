@@ -1,17 +1,23 @@
 package com.accountabilityatlas.userservice.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.accountabilityatlas.userservice.client.YouTubeClient;
 import com.accountabilityatlas.userservice.domain.UserSocialLinks;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.AvatarSourcesRow;
 import com.accountabilityatlas.userservice.web.model.AvatarSources;
 import java.net.URI;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -24,12 +30,13 @@ class AvatarServiceTest {
   private static final String TEST_EMAIL_MD5 = "55502f40dc8b7c769880b10874abc9d0";
 
   @Mock private YouTubeClient youTubeClient;
+  @Mock private UserAvatarSourcesRepository avatarSourcesRepository;
 
   private AvatarService avatarService;
 
   @BeforeEach
   void setUp() {
-    avatarService = new AvatarService(youTubeClient);
+    avatarService = new AvatarService(youTubeClient, avatarSourcesRepository);
   }
 
   @Test
@@ -67,7 +74,7 @@ class AvatarServiceTest {
     socialLinks.setUserId(UUID.randomUUID());
     socialLinks.setYoutube(channelId);
 
-    when(youTubeClient.getChannelThumbnailUrl(channelId)).thenReturn(thumbnailUrl);
+    when(youTubeClient.getCachedChannelThumbnailUrl(channelId)).thenReturn(thumbnailUrl);
 
     AvatarSources result = avatarService.getAvatarSources(TEST_EMAIL, socialLinks);
 
@@ -108,7 +115,7 @@ class AvatarServiceTest {
     socialLinks.setUserId(UUID.randomUUID());
     socialLinks.setYoutube(channelId);
 
-    when(youTubeClient.getChannelThumbnailUrl(channelId)).thenReturn(null);
+    when(youTubeClient.getCachedChannelThumbnailUrl(channelId)).thenReturn(null);
 
     AvatarSources result = avatarService.getAvatarSources(TEST_EMAIL, socialLinks);
 
@@ -120,7 +127,7 @@ class AvatarServiceTest {
   void resolveYoutubeThumbnailUrl_returnsUri_whenClientReturnsThumbnail() {
     String channelId = "UCtest123";
     String thumbnailUrl = "https://yt3.ggpht.com/thumbnail.jpg";
-    when(youTubeClient.getChannelThumbnailUrl(channelId)).thenReturn(thumbnailUrl);
+    when(youTubeClient.getCachedChannelThumbnailUrl(channelId)).thenReturn(thumbnailUrl);
 
     Optional<URI> result = avatarService.resolveYoutubeThumbnailUrl(channelId);
 
@@ -130,10 +137,100 @@ class AvatarServiceTest {
   @Test
   void resolveYoutubeThumbnailUrl_returnsEmpty_whenClientReturnsEmpty() {
     String channelId = "UCnonexistent";
-    when(youTubeClient.getChannelThumbnailUrl(channelId)).thenReturn(null);
+    when(youTubeClient.getCachedChannelThumbnailUrl(channelId)).thenReturn(null);
 
     Optional<URI> result = avatarService.resolveYoutubeThumbnailUrl(channelId);
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void getAvatarSources_readsStoredSources_withoutResolving() {
+    UUID userId = UUID.randomUUID();
+    when(avatarSourcesRepository.findById(userId))
+        .thenReturn(
+            Optional.of(
+                new AvatarSourcesRow(
+                    userId, TEST_EMAIL_MD5, "UCtest123", "https://yt3.ggpht.com/t.jpg", null)));
+
+    AvatarSources result = avatarService.getAvatarSources(userId, TEST_EMAIL, null);
+
+    assertThat(result.getGravatar())
+        .isEqualTo(URI.create("https://gravatar.com/avatar/" + TEST_EMAIL_MD5 + "?d=404"));
+    assertThat(result.getYoutube()).isEqualTo(URI.create("https://yt3.ggpht.com/t.jpg"));
+    verifyNoInteractions(youTubeClient);
+  }
+
+  @Test
+  void getAvatarSources_resolvesOnTheSpot_whenNothingStored() {
+    UUID userId = UUID.randomUUID();
+    UserSocialLinks socialLinks = new UserSocialLinks();
+    socialLinks.setYoutube("UCtest123");
+    when(avatarSourcesRepository.findById(userId)).thenReturn(Optional.empty());
+    when(youTubeClient.getCachedChannelThumbnailUrl("UCtest123"))
+        .thenReturn("https://yt3.ggpht.com/t.jpg");
+
+    AvatarSources result = avatarService.getAvatarSources(userId, TEST_EMAIL, socialLinks);
+
+    assertThat(result.getGravatar())
+        .isEqualTo(URI.create("https://gravatar.com/avatar/" + TEST_EMAIL_MD5 + "?d=404"));
+    assertThat(result.getYoutube()).isEqualTo(URI.create("https://yt3.ggpht.com/t.jpg"));
+  }
+
+  @Test
+  void getAvatarSources_fallsBackToCachedThumbnail_whenStoredRowIsUnresolved() {
+    UUID userId = UUID.randomUUID();
+    when(avatarSourcesRepository.findById(userId))
+        .thenReturn(
+            Optional.of(new AvatarSourcesRow(userId, TEST_EMAIL_MD5, "UCtest123", null, null)));
+    when(youTubeClient.getCachedChannelThumbnailUrl("UCtest123"))
+        .thenReturn("https://yt3.ggpht.com/t.jpg");
+
+    AvatarSources result = avatarService.getAvatarSources(userId, TEST_EMAIL, null);
+
+    assertThat(result.getYoutube()).isEqualTo(URI.create("https://yt3.ggpht.com/t.jpg"));
+  }
+
+  @Test
+  void getAvatarSources_resolvedRowWithoutThumbnail_isNotLookedUp() {
+    UUID userId = UUID.randomUUID();
+    when(avatarSourcesRepository.findById(userId))
+        .thenReturn(
+            Optional.of(
+                new AvatarSourcesRow(userId, TEST_EMAIL_MD5, "UCtest123", null, Instant.now())));
+
+    AvatarSources result = avatarService.getAvatarSources(userId, TEST_EMAIL, null);
+
+    assertThat(result.getYoutube()).isNull();
+    verifyNoInteractions(youTubeClient);
+  }
+
+  @Test
+  void storeAvatarSources_leavesUncachedThumbnailUnresolved() {
+    UUID userId = UUID.randomUUID();
+    UserSocialLinks socialLinks = new UserSocialLinks();
+    socialLinks.setYoutube("UCtest123");
+    when(youTubeClient.getCachedChannelThumbnailUrl("UCtest123")).thenReturn(null);
+
+    avatarService.storeAvatarSources(userId, "  Test@Example.COM ", socialLinks);
+
+    ArgumentCaptor<AvatarSourcesRow> captor = ArgumentCaptor.forClass(AvatarSourcesRow.class);
+    verify(avatarSourcesRepository).upsert(captor.capture());
+    assertThat(captor.getValue())
+        .isEqualTo(new AvatarSourcesRow(userId, TEST_EMAIL_MD5, "UCtest123", null, null));
+  }
+
+  @Test
+  void storeAvatarSources_withoutChannel_isResolvedAtOnce() {
+    UUID userId = UUID.randomUUID();
+    Instant before = Instant.now();
+
+    avatarService.storeAvatarSources(userId, TEST_EMAIL, null);
+
+    ArgumentCaptor<AvatarSourcesRow> captor = ArgumentCaptor.forClass(AvatarSourcesRow.class);
+    verify(avatarSourcesRepository).upsert(captor.capture());
+    assertThat(captor.getValue().youtubeChannelId()).isNull();
+    assertThat(captor.getValue().resolvedAt()).isAfterOrEqualTo(before);
+    verifyNoInteractions(youTubeClient);
+  }
 }
@@ -0,0 +1,124 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.client.ThumbnailLookup;
+import com.accountabilityatlas.userservice.client.YouTubeClient;
+import com.accountabilityatlas.userservice.config.AvatarProperties;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.ResolvedThumbnail;
+import com.accountabilityatlas.userservice.repository.UserAvatarSourcesRepository.StaleThumbnail;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AvatarSourcesRefresherTest {
+
+  @Mock private UserAvatarSourcesRepository avatarSourcesRepository;
+  @Mock private YouTubeClient youTubeClient;
+
+  private AvatarSourcesRefresher refresher;
+
+  @BeforeEach
+  void setUp() {
+    AvatarProperties properties = new AvatarProperties();
+    properties.setRefreshBatchSize(2);
+    properties.setRefreshMaxBatches(3);
+    refresher = new AvatarSourcesRefresher(avatarSourcesRepository, youTubeClient, properties);
+  }
+
+  @Test
+  void refreshStale_resolvesEachBatchWithOneLookup() {
+    StaleThumbnail a = new StaleThumbnail(UUID.randomUUID(), "UCa");
+    StaleThumbnail b = new StaleThumbnail(UUID.randomUUID(), "UCb");
+    StaleThumbnail c = new StaleThumbnail(UUID.randomUUID(), "UCc");
+    when(avatarSourcesRepository.findStale(any(), eq(2)))
+        .thenReturn(List.of(a, b))
+        .thenReturn(List.of(c));
+    when(youTubeClient.lookupChannelThumbnails(List.of("UCa", "UCb")))
+        .thenReturn(Map.of("UCa", found("https://a"), "UCb", notFound()));
+    when(youTubeClient.lookupChannelThumbnails(List.of("UCc")))
+        .thenReturn(Map.of("UCc", notFound()));
+
+    int resolved = refresher.refreshStale();
+
+    assertThat(resolved).isEqualTo(3);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ResolvedThumbnail>> captor = ArgumentCaptor.forClass(List.class);
+    verify(avatarSourcesRepository, times(2)).markResolved(captor.capture(), any());
+    assertThat(captor.getAllValues().get(0))
+        .containsExactly(
+            new ResolvedThumbnail(a.userId(), "UCa", "https://a"),
+            new ResolvedThumbnail(b.userId(), "UCb", null));
+    assertThat(captor.getAllValues().get(1))
+        .containsExactly(new ResolvedThumbnail(c.userId(), "UCc", null));
+  }
+
+  @Test
+  void refreshStale_stopsAfterMaxBatches() {
+    when(avatarSourcesRepository.findStale(any(), eq(2)))
+        .thenAnswer(
+            inv ->
+                List.of(
+                    new StaleThumbnail(UUID.randomUUID(), "UCa"),
+                    new StaleThumbnail(UUID.randomUUID(), "UCb")));
+    when(youTubeClient.lookupChannelThumbnails(any()))
+        .thenReturn(Map.of("UCa", notFound(), "UCb", notFound()));
+
+    int resolved = refresher.refreshStale();
+
+    assertThat(resolved).isEqualTo(6);
+    verify(avatarSourcesRepository, times(3)).findStale(any(), eq(2));
+  }
+
+  @Test
+  void refreshStale_nothingStale_makesNoLookup() {
+    when(avatarSourcesRepository.findStale(any(), eq(2))).thenReturn(List.of());
+
+    assertThat(refresher.refreshStale()).isZero();
+    verify(youTubeClient, never()).lookupChannelThumbnails(any());
+  }
+
+  @Test
+  void refreshStale_failedLookup_leavesRowDueAndStops() {
+    StaleThumbnail a = new StaleThumbnail(UUID.randomUUID(), "UCa");
+    StaleThumbnail b = new StaleThumbnail(UUID.randomUUID(), "UCb");
+    when(avatarSourcesRepository.findStale(any(), eq(2))).thenReturn(List.of(a, b));
+    when(youTubeClient.lookupChannelThumbnails(List.of("UCa", "UCb")))
+        .thenReturn(
+            Map.of(
+                "UCa",
+                found("https://a"),
+                "UCb",
+                new ThumbnailLookup.Failed("503 Service Unavailable", Instant.now())));
+
+    int resolved = refresher.refreshStale();
+
+    assertThat(resolved).isEqualTo(1);
+    verify(avatarSourcesRepository)
+        .markResolved(eq(List.of(new ResolvedThumbnail(a.userId(), "UCa", "https://a"))), any());
+    verify(avatarSourcesRepository, times(1)).findStale(any(), eq(2));
+  }
+
+  private static ThumbnailLookup found(String url) {
+    return new ThumbnailLookup.Found(url, Instant.now());
+  }
+
+  private static ThumbnailLookup notFound() {
+    return new ThumbnailLookup.NotFound(Instant.now());
+  }
+}
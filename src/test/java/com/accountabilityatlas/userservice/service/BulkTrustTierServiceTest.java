@@ -0,0 +1,111 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserTrustTierChangedEvent;
+import com.accountabilityatlas.userservice.repository.TrustTierBulkRepository;
+import com.accountabilityatlas.userservice.repository.TrustTierBulkRepository.TierChange;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTrustTierServiceTest {
+
+  private static final UUID JOB_ID = UUID.randomUUID();
+
+  @Mock private TrustTierBulkRepository trustTierBulkRepository;
+  @Mock private AdminJobService adminJobService;
+  @Mock private EventPublisher eventPublisher;
+  @Mock private ProfileSnapshotPublisher profileSnapshotPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BulkTrustTierService service;
+
+  @BeforeEach
+  void setUp() {
+    service =
+        new BulkTrustTierService(
+            trustTierBulkRepository,
+            adminJobService,
+            eventPublisher,
+            profileSnapshotPublisher,
+            transactionManager,
+            2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void submit_updatesInSortedChunksAndPublishesPerChunk() {
+    List<UUID> ids = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+    List<UUID> sorted = ids.stream().sorted().toList();
+    when(trustTierBulkRepository.updateTrustTier(anyList(), eq(TrustTier.NEW)))
+        .thenAnswer(
+            invocation -> {
+              List<UUID> chunk = invocation.getArgument(0);
+              // Pretend the first user of every chunk was already NEW
+              return chunk.stream()
+                  .skip(1)
+                  .map(id -> new TierChange(id, TrustTier.TRUSTED))
+                  .toList();
+            });
+
+    service.submit(ids, TrustTier.NEW, "abuse", null);
+    runSubmittedWork(ids.size());
+
+    ArgumentCaptor<List<UUID>> chunks = ArgumentCaptor.forClass(List.class);
+    verify(trustTierBulkRepository, times(3)).updateTrustTier(chunks.capture(), eq(TrustTier.NEW));
+    assertThat(chunks.getAllValues().stream().flatMap(List::stream).toList()).isEqualTo(sorted);
+    verify(adminJobService, times(2)).recordProgress(JOB_ID, 2, 1);
+    verify(adminJobService).recordProgress(JOB_ID, 1, 0);
+    verify(profileSnapshotPublisher).publish(List.of(sorted.get(1)));
+    verify(profileSnapshotPublisher).publish(List.of(sorted.get(3)));
+
+    // The last chunk of one user changed nobody, so only two batches are published
+    ArgumentCaptor<List<UserTrustTierChangedEvent>> batches = ArgumentCaptor.forClass(List.class);
+    verify(eventPublisher, times(2)).publishAll(batches.capture());
+    UserTrustTierChangedEvent event = batches.getAllValues().get(0).get(0);
+    assertThat(event.userId()).isEqualTo(sorted.get(1));
+    assertThat(event.oldTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(event.newTier()).isEqualTo(TrustTier.NEW);
+    assertThat(event.reason()).isEqualTo(UserTrustTierChangedEvent.ChangeReason.MANUAL);
+  }
+
+  @Test
+  void submit_duplicateIds_areProcessedOnce() {
+    UUID id = UUID.randomUUID();
+    when(trustTierBulkRepository.updateTrustTier(List.of(id), TrustTier.TRUSTED))
+        .thenReturn(List.of());
+
+    service.submit(List.of(id, id), TrustTier.TRUSTED, null, null);
+    runSubmittedWork(1);
+
+    verify(eventPublisher, never()).publishAll(anyList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void runSubmittedWork(int expectedTotal) {
+    ArgumentCaptor<Consumer<UUID>> work = ArgumentCaptor.forClass(Consumer.class);
+    verify(adminJobService)
+        .start(eq(AdminJobType.BULK_TRUST_TIER), eq(expectedTotal), any(), work.capture());
+    work.getValue().accept(JOB_ID);
+  }
+}
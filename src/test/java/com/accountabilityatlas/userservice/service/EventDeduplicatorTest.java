@@ -0,0 +1,96 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.EventDedupeProperties;
+import com.accountabilityatlas.userservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+  @Mock private ProcessedEventRepository processedEventRepository;
+
+  private final EventDedupeProperties properties = new EventDedupeProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EventDeduplicator deduplicator;
+
+  @BeforeEach
+  void setUp() {
+    deduplicator = new EventDeduplicator(processedEventRepository, properties, meterRegistry);
+  }
+
+  @Test
+  void dropProcessed_dropsIdsKnownToTheDatabaseAndRepeatsWithinTheBatch() {
+    UUID fresh = UUID.randomUUID();
+    UUID processed = UUID.randomUUID();
+    when(processedEventRepository.findProcessed(Set.of(fresh, processed)))
+        .thenReturn(Set.of(processed));
+
+    List<UUID> result =
+        deduplicator.dropProcessed(List.of(fresh, processed, fresh), Function.identity());
+
+    assertThat(result).containsExactly(fresh);
+    assertThat(meterRegistry.get("users.events.duplicates").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void dropProcessed_afterClaim_answersFromMemory() {
+    UUID eventId = UUID.randomUUID();
+    when(processedEventRepository.claim(List.of(eventId))).thenReturn(Set.of(eventId));
+    deduplicator.claim(List.of(eventId));
+
+    assertThat(deduplicator.dropProcessed(List.of(eventId), Function.identity())).isEmpty();
+    verify(processedEventRepository, never()).findProcessed(anyCollection());
+  }
+
+  @Test
+  void dropProcessed_expiredCacheEntry_isLookedUpAgain() {
+    properties.setCacheTtl(Duration.ZERO);
+    UUID eventId = UUID.randomUUID();
+    when(processedEventRepository.claim(List.of(eventId))).thenReturn(Set.of(eventId));
+    when(processedEventRepository.findProcessed(Set.of(eventId))).thenReturn(Set.of(eventId));
+    deduplicator.claim(List.of(eventId));
+
+    assertThat(deduplicator.dropProcessed(List.of(eventId), Function.identity())).isEmpty();
+    verify(processedEventRepository).findProcessed(Set.of(eventId));
+  }
+
+  @Test
+  void dropProcessed_cacheFull_forgetsEldestFirst() {
+    properties.setCacheSize(1);
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    when(processedEventRepository.claim(any())).thenReturn(Set.of());
+    when(processedEventRepository.findProcessed(Set.of(first))).thenReturn(Set.of(first));
+    deduplicator.claim(List.of(first));
+    deduplicator.claim(List.of(second));
+
+    assertThat(deduplicator.dropProcessed(List.of(first, second), Function.identity())).isEmpty();
+    verify(processedEventRepository).findProcessed(Set.of(first));
+  }
+
+  @Test
+  void pruneExpired_deletesInBatchesUntilShort() {
+    properties.setPruneBatchSize(2);
+    when(processedEventRepository.deleteBefore(any(), anyInt())).thenReturn(2, 2, 1);
+
+    assertThat(deduplicator.pruneExpired()).isEqualTo(5);
+  }
+}
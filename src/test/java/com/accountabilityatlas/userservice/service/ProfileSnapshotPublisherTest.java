@@ -0,0 +1,77 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserProfileChangedEvent;
+import com.accountabilityatlas.userservice.repository.UserProfileSnapshotRepository;
+import com.accountabilityatlas.userservice.repository.UserProfileSnapshotRepository.ProfileSnapshotRow;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProfileSnapshotPublisherTest {
+
+  @Mock private UserProfileSnapshotRepository snapshotRepository;
+  @Mock private AvatarService avatarService;
+  @Mock private EventPublisher eventPublisher;
+
+  @InjectMocks private ProfileSnapshotPublisher publisher;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void publish_mapsRowsToSnapshotEvents() {
+    UUID userId = UUID.randomUUID();
+    when(snapshotRepository.snapshot(List.of(userId)))
+        .thenReturn(
+            List.of(
+                new ProfileSnapshotRow(
+                    userId,
+                    42,
+                    "user@example.com",
+                    "User",
+                    null,
+                    " ",
+                    TrustTier.TRUSTED,
+                    Visibility.PUBLIC,
+                    Visibility.REGISTERED)));
+    when(avatarService.resolveGravatarUrl("user@example.com"))
+        .thenReturn(URI.create("https://gravatar.com/avatar/abc?d=404"));
+
+    publisher.publish(List.of(userId));
+
+    ArgumentCaptor<List<UserProfileChangedEvent>> events = ArgumentCaptor.forClass(List.class);
+    verify(eventPublisher).publishAll(events.capture());
+    UserProfileChangedEvent event = events.getValue().get(0);
+    assertThat(event.userId()).isEqualTo(userId);
+    assertThat(event.version()).isEqualTo(42);
+    assertThat(event.displayName()).isEqualTo("User");
+    assertThat(event.avatar())
+        .isEqualTo(
+            new UserProfileChangedEvent.Avatar(
+                null, "https://gravatar.com/avatar/abc?d=404", null));
+    assertThat(event.trustTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(event.socialLinksVisibility()).isEqualTo(Visibility.PUBLIC);
+    assertThat(event.submissionsVisibility()).isEqualTo(Visibility.REGISTERED);
+  }
+
+  @Test
+  void publish_noUsers_readsAndPublishesNothing() {
+    publisher.publish(List.of());
+
+    verifyNoInteractions(snapshotRepository, eventPublisher);
+  }
+}
@@ -3,6 +3,9 @@ package com.accountabilityatlas.userservice.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,9 +17,12 @@ import com.accountabilityatlas.userservice.event.UserRegisteredEvent;
 import com.accountabilityatlas.userservice.exception.EmailAlreadyExistsException;
 import com.accountabilityatlas.userservice.repository.UserRepository;
 import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,14 +36,15 @@ class RegistrationServiceTest {
   @Mock private UserStatsRepository userStatsRepository;
   @Mock private PasswordEncoder passwordEncoder;
   @Mock private EventPublisher eventPublisher;
+  @Mock private ProfileSnapshotPublisher profileSnapshotPublisher;
+  @Mock private AvatarService avatarService;
 
   @InjectMocks private RegistrationService registrationService;
 
   @Test
   void register_savesUserWithHashedPassword() {
-    when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
     when(passwordEncoder.encode("SecurePass123")).thenReturn("$2a$12$hashed");
-    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
 
     User result = registrationService.register("test@example.com", "SecurePass123", "TestUser");
 
@@ -50,9 +57,8 @@ class RegistrationServiceTest {
 
   @Test
   void register_normalizesEmailToLowercase() {
-    when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
     when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
-    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
 
     User result = registrationService.register("Test@Example.COM", "SecurePass123", "TestUser");
 
@@ -61,9 +67,8 @@ class RegistrationServiceTest {
 
   @Test
   void register_publishesUserRegisteredEvent() {
-    when(userRepository.existsByEmail(any())).thenReturn(false);
     when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
-    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
 
     registrationService.register("test@example.com", "SecurePass123", "TestUser");
 
@@ -72,11 +77,34 @@ class RegistrationServiceTest {
     assertThat(captor.getValue().email()).isEqualTo("test@example.com");
   }
 
+  @Test
+  void register_flushesAndPublishesProfileSnapshot() {
+    when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+
+    User result = registrationService.register("test@example.com", "SecurePass123", "TestUser");
+
+    InOrder inOrder = inOrder(userRepository, profileSnapshotPublisher);
+    inOrder.verify(userRepository).flush();
+    inOrder.verify(profileSnapshotPublisher).publish(List.of(result.getId()));
+  }
+
+  @Test
+  void register_storesAvatarSourcesAfterFlush() {
+    when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+
+    User result = registrationService.register("Test@Example.com", "SecurePass123", "TestUser");
+
+    InOrder inOrder = inOrder(userRepository, avatarService);
+    inOrder.verify(userRepository).flush();
+    inOrder.verify(avatarService).storeAvatarSources(result.getId(), "test@example.com", null);
+  }
+
   @Test
   void register_createsUserStatsWithZeroCounters() {
-    when(userRepository.existsByEmail(any())).thenReturn(false);
     when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
-    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
 
     registrationService.register("test@example.com", "SecurePass123", "TestUser");
 
@@ -90,16 +118,20 @@ class RegistrationServiceTest {
 
   @Test
   void register_throwsWhenEmailAlreadyExists() {
-    when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+    when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+    doThrow(new DataIntegrityViolationException("unique constraint"))
+        .when(userRepository)
+        .flush();
 
     assertThatThrownBy(
             () -> registrationService.register("taken@example.com", "SecurePass123", "TestUser"))
         .isInstanceOf(EmailAlreadyExistsException.class);
+    verify(eventPublisher, never()).publish(any());
   }
 
   @Test
-  void register_throwsWhenConcurrentDuplicateEmail() {
-    when(userRepository.existsByEmail(any())).thenReturn(false);
+  void register_throwsWhenSaveHitsDuplicateEmail() {
     when(passwordEncoder.encode(any())).thenReturn("$2a$12$hashed");
     when(userRepository.save(any(User.class)))
         .thenThrow(new DataIntegrityViolationException("unique constraint"));
@@ -108,4 +140,9 @@ class RegistrationServiceTest {
             () -> registrationService.register("race@example.com", "SecurePass123", "TestUser"))
         .isInstanceOf(EmailAlreadyExistsException.class);
   }
+
+  private static User withId(User user) {
+    user.setId(UUID.randomUUID());
+    return user;
+  }
 }
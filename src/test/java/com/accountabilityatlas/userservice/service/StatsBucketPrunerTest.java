@@ -0,0 +1,61 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.PromotionProperties;
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatsBucketPrunerTest {
+
+  @Mock private UserStatsDailyRepository userStatsDailyRepository;
+
+  private StatsProperties properties;
+  private PromotionProperties promotionProperties;
+  private StatsBucketPruner pruner;
+
+  @BeforeEach
+  void setUp() {
+    properties = new StatsProperties();
+    properties.setPruneBatchSize(100);
+    promotionProperties = new PromotionProperties();
+    pruner = new StatsBucketPruner(userStatsDailyRepository, properties, promotionProperties);
+  }
+
+  @Test
+  void pruneExpiredBuckets_deletesInBatchesUntilOneComesBackShort() {
+    properties.setDailyRetention(Duration.ofDays(90));
+    LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(90);
+    when(userStatsDailyRepository.deleteBefore(cutoff, 100)).thenReturn(100, 100, 42);
+
+    assertThat(pruner.pruneExpiredBuckets()).isEqualTo(242);
+
+    verify(userStatsDailyRepository, times(3)).deleteBefore(cutoff, 100);
+  }
+
+  @Test
+  void pruneExpiredBuckets_neverCutsIntoRejectionWindow() {
+    properties.setDailyRetention(Duration.ofDays(7));
+    promotionProperties.setRejectionWindow(Duration.ofDays(30));
+    when(userStatsDailyRepository.deleteBefore(any(LocalDate.class), eq(100))).thenReturn(0);
+
+    pruner.pruneExpiredBuckets();
+
+    verify(userStatsDailyRepository)
+        .deleteBefore(LocalDate.now(ZoneOffset.UTC).minusDays(30), 100);
+  }
+}
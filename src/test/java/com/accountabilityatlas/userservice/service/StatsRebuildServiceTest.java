@@ -0,0 +1,153 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
+import com.accountabilityatlas.userservice.exception.InvalidSnapshotException;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.SnapshotRow;
+import com.accountabilityatlas.userservice.repository.StatsRebuildRepository.StatsCounts;
+import com.accountabilityatlas.userservice.service.StatsRebuildService.StatsRebuildSubmission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class StatsRebuildServiceTest {
+
+  @Mock private StatsRebuildRepository statsRebuildRepository;
+  @Mock private PromotionRepository promotionRepository;
+  @Mock private AdminJobService adminJobService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final AdminJob job = new AdminJob();
+  private StatsRebuildService statsRebuildService;
+
+  @BeforeEach
+  void setUp() {
+    job.setId(UUID.randomUUID());
+    when(adminJobService.create(eq(AdminJobType.STATS_REBUILD), anyInt(), eq(null)))
+        .thenReturn(job);
+    statsRebuildService =
+        new StatsRebuildService(
+            statsRebuildRepository,
+            promotionRepository,
+            adminJobService,
+            new StatsProperties(),
+            transactionManager,
+            new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    statsRebuildService.shutdown();
+  }
+
+  private static ByteArrayInputStream body(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void submit_csv_storesSnapshotAndStartsJob() throws Exception {
+    UUID userId = UUID.randomUUID();
+    when(statsRebuildRepository.countUsers(any())).thenReturn(7);
+    when(adminJobService.submit(eq(job), any())).thenReturn(job);
+
+    StatsRebuildSubmission submission =
+        statsRebuildService.submit(
+            UserDataFormat.CSV,
+            body(
+                "rejectedCount,userId,approvedCount,submissionCount\n"
+                    + "1,"
+                    + userId
+                    + ",2,3\n"),
+            true,
+            null);
+
+    assertThat(submission).isEqualTo(new StatsRebuildSubmission(job.getId(), 1, true));
+    verify(adminJobService).create(AdminJobType.STATS_REBUILD, 7, null);
+    ArgumentCaptor<List<SnapshotRow>> rows = ArgumentCaptor.forClass(List.class);
+    verify(statsRebuildRepository).copySnapshot(eq(job.getId()), rows.capture());
+    assertThat(rows.getValue()).containsExactly(new SnapshotRow(userId, new StatsCounts(3, 2, 1)));
+  }
+
+  @Test
+  void submit_invalidLine_rejectsAndDeletesSnapshot() {
+    String ndjson =
+        "{\"userId\":\"%s\",\"submissionCount\":1,\"approvedCount\":0,\"rejectedCount\":0}\n"
+                .formatted(UUID.randomUUID())
+            + "{\"userId\":\"not-a-uuid\",\"submissionCount\":1}\n";
+
+    assertThatThrownBy(
+            () -> statsRebuildService.submit(UserDataFormat.NDJSON, body(ndjson), false, null))
+        .isInstanceOf(InvalidSnapshotException.class)
+        .hasMessageContaining("Line 2");
+
+    verify(statsRebuildRepository).deleteSnapshot(job.getId());
+    verify(adminJobService).fail(eq(job.getId()), any());
+    verify(adminJobService, never()).submit(any(), any());
+  }
+
+  @Test
+  void submit_queueFull_deletesSnapshot() throws Exception {
+    AdminJob failed = new AdminJob();
+    failed.setId(job.getId());
+    failed.setStatus(AdminJobStatus.FAILED);
+    when(adminJobService.submit(eq(job), any())).thenReturn(failed);
+    String csv =
+        "userId,submissionCount,approvedCount,rejectedCount\n" + UUID.randomUUID() + ",1,0,0\n";
+
+    statsRebuildService.submit(UserDataFormat.CSV, body(csv), true, null);
+
+    verify(statsRebuildRepository).deleteSnapshot(job.getId());
+  }
+
+  @Test
+  void submit_negativeCount_isRejected() {
+    String csv =
+        "userId,submissionCount,approvedCount,rejectedCount\n" + UUID.randomUUID() + ",-1,0,0\n";
+
+    assertThatThrownBy(() -> statsRebuildService.submit(UserDataFormat.CSV, body(csv), true, null))
+        .isInstanceOf(InvalidSnapshotException.class)
+        .hasMessageContaining("submissionCount must not be negative");
+  }
+
+  @Test
+  void submit_duplicateUser_isRejected() {
+    UUID userId = UUID.randomUUID();
+    doThrow(new DuplicateKeyException("duplicate"))
+        .when(statsRebuildRepository)
+        .copySnapshot(any(), any());
+    String csv =
+        "userId,submissionCount,approvedCount,rejectedCount\n"
+            + (userId + ",1,0,0\n").repeat(2);
+
+    assertThatThrownBy(() -> statsRebuildService.submit(UserDataFormat.CSV, body(csv), true, null))
+        .isInstanceOf(InvalidSnapshotException.class);
+    verify(statsRebuildRepository).deleteSnapshot(any());
+  }
+}
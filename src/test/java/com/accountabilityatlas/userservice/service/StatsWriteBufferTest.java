@@ -0,0 +1,156 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.accountabilityatlas.userservice.config.StatsProperties;
+import com.accountabilityatlas.userservice.repository.StatsDelta;
+import com.accountabilityatlas.userservice.service.UserStatsService.BufferedEvent;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import com.accountabilityatlas.userservice.service.UserStatsService.UserBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatsWriteBufferTest {
+
+  @Mock private UserStatsService userStatsService;
+
+  private final StatsProperties properties = new StatsProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger acknowledged = new AtomicInteger();
+  private StatsWriteBuffer buffer;
+
+  @BeforeEach
+  void setUp() {
+    properties.setBufferEnabled(true);
+    buffer = new StatsWriteBuffer(userStatsService, properties, meterRegistry);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<UUID, UserBatch> flushedBatches() {
+    ArgumentCaptor<Map<UUID, UserBatch>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(userStatsService).applyBatch(captor.capture(), any());
+    return captor.getValue();
+  }
+
+  private static List<Submission> submissions(UUID userId, int count) {
+    List<Submission> submissions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      submissions.add(new Submission(UUID.randomUUID(), userId));
+    }
+    return submissions;
+  }
+
+  @Test
+  void flush_foldsBufferedEventsPerUserAndThenAcknowledges() {
+    UUID userId = UUID.randomUUID();
+    buffer.addSubmissions(submissions(userId, 2), acknowledged::incrementAndGet);
+    buffer.addStatusChanges(
+        List.of(
+            new StatusChange(UUID.randomUUID(), userId, "PENDING", "APPROVED"),
+            new StatusChange(UUID.randomUUID(), userId, "PENDING", "UNDER_REVIEW")),
+        acknowledged::incrementAndGet);
+    assertThat(acknowledged).hasValue(0);
+    assertThat(meterRegistry.get("users.stats.buffer.events").gauge().value()).isEqualTo(4);
+
+    assertThat(buffer.flush()).isEqualTo(4);
+
+    assertThat(flushedBatches())
+        .containsExactly(Map.entry(userId, new UserBatch(new StatsDelta(2, 1, 0, null), 1, 0)));
+    assertThat(acknowledged).hasValue(2);
+    assertThat(meterRegistry.get("users.stats.buffer.events").gauge().value()).isZero();
+  }
+
+  @Test
+  void flush_failure_dropsAcknowledgementsAndEmptiesBuffer() {
+    doThrow(new RuntimeException("DB error")).when(userStatsService).applyBatch(anyMap(), any());
+    buffer.addSubmissions(submissions(UUID.randomUUID(), 1), acknowledged::incrementAndGet);
+
+    assertThat(buffer.flush()).isZero();
+
+    assertThat(acknowledged).hasValue(0);
+    assertThat(meterRegistry.get("users.stats.buffer.flush.failures").counter().count())
+        .isEqualTo(1);
+    assertThat(buffer.flush()).isZero();
+  }
+
+  @Test
+  void add_reachingThreshold_flushesImmediately() {
+    properties.setBufferFlushThreshold(3);
+    UUID userId = UUID.randomUUID();
+
+    buffer.addSubmissions(submissions(userId, 2), acknowledged::incrementAndGet);
+    verify(userStatsService, never()).applyBatch(anyMap(), any());
+    buffer.addSubmissions(submissions(userId, 1), acknowledged::incrementAndGet);
+
+    assertThat(flushedBatches().get(userId).delta().submissions()).isEqualTo(3);
+    assertThat(acknowledged).hasValue(2);
+  }
+
+  @Test
+  void add_concurrentWritersForSameUser_loseNoEvents() throws Exception {
+    properties.setBufferFlushThreshold(Integer.MAX_VALUE);
+    UUID userId = UUID.randomUUID();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 500; j++) {
+                    buffer.addSubmissions(submissions(userId, 1), acknowledged::incrementAndGet);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    buffer.flush();
+
+    assertThat(flushedBatches().get(userId).delta().submissions()).isEqualTo(4000);
+    assertThat(acknowledged).hasValue(4000);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void add_redeliveryWithinWindow_isCountedOnceAndRecordedForDedupe() {
+    UUID userId = UUID.randomUUID();
+    Submission submission = new Submission(UUID.randomUUID(), userId);
+    buffer.addSubmissions(List.of(submission), acknowledged::incrementAndGet);
+    buffer.addSubmissions(List.of(submission), acknowledged::incrementAndGet);
+
+    buffer.flush();
+
+    ArgumentCaptor<Map<UUID, BufferedEvent>> events = ArgumentCaptor.forClass(Map.class);
+    verify(userStatsService).applyBatch(anyMap(), events.capture());
+    assertThat(events.getValue())
+        .containsExactly(
+            Map.entry(submission.eventId(), new BufferedEvent(userId, UserBatch.submission())));
+    assertThat(flushedBatches().get(userId).delta().submissions()).isEqualTo(1);
+    assertThat(acknowledged).hasValue(2);
+  }
+}
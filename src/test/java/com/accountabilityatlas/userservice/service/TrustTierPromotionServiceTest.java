@@ -0,0 +1,132 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.config.PromotionProperties;
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserTrustTierChangedEvent;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.PromotionRepository.PromotionChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TrustTierPromotionServiceTest {
+
+  @Mock private PromotionRepository promotionRepository;
+  @Mock private EventPublisher eventPublisher;
+  @Mock private ProfileSnapshotPublisher profileSnapshotPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TrustTierPromotionService service;
+
+  @BeforeEach
+  void setUp() {
+    PromotionProperties properties = new PromotionProperties();
+    properties.setChunkSize(2);
+    meterRegistry = new SimpleMeterRegistry();
+    service =
+        new TrustTierPromotionService(
+            promotionRepository,
+            eventPublisher,
+            profileSnapshotPublisher,
+            properties,
+            transactionManager,
+            meterRegistry);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void promoteEligibleUsers_claimsChunksUntilOneComesBackShort() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    when(promotionRepository.promoteDueChunk(any(Instant.class), eq(2)))
+        .thenReturn(
+            new PromotionChunk(2, List.of(first, second)), new PromotionChunk(1, List.of(third)));
+
+    int promoted = service.promoteEligibleUsers();
+
+    assertThat(promoted).isEqualTo(3);
+    verify(promotionRepository, times(2)).promoteDueChunk(any(Instant.class), eq(2));
+    verify(profileSnapshotPublisher).publish(List.of(first, second));
+    verify(profileSnapshotPublisher).publish(List.of(third));
+    ArgumentCaptor<List<UserTrustTierChangedEvent>> batches = ArgumentCaptor.forClass(List.class);
+    verify(eventPublisher, times(2)).publishAll(batches.capture());
+    assertThat(batches.getAllValues().get(0))
+        .extracting(UserTrustTierChangedEvent::userId)
+        .containsExactly(first, second);
+    UserTrustTierChangedEvent event = batches.getAllValues().get(1).get(0);
+    assertThat(event.userId()).isEqualTo(third);
+    assertThat(event.oldTier()).isEqualTo(TrustTier.NEW);
+    assertThat(event.newTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(event.reason()).isEqualTo(UserTrustTierChangedEvent.ChangeReason.AUTO_PROMOTION);
+    assertThat(meterRegistry.counter("users.promotion.promoted").count()).isEqualTo(3);
+    assertThat(meterRegistry.counter("users.promotion.chunks").count()).isEqualTo(2);
+    assertThat(meterRegistry.timer("users.promotion.run").count()).isEqualTo(1);
+  }
+
+  @Test
+  void promoteEligibleUsers_keepsGoingAfterChunkWhereNobodyQualified() {
+    UUID promotedUser = UUID.randomUUID();
+    when(promotionRepository.promoteDueChunk(any(Instant.class), eq(2)))
+        .thenReturn(
+            new PromotionChunk(2, List.of()),
+            new PromotionChunk(1, List.of(promotedUser)));
+
+    assertThat(service.promoteEligibleUsers()).isEqualTo(1);
+
+    // The same run start is used for every claim so requeued users are not claimed again
+    ArgumentCaptor<Instant> runStart = ArgumentCaptor.forClass(Instant.class);
+    verify(promotionRepository, times(2)).promoteDueChunk(runStart.capture(), eq(2));
+    assertThat(runStart.getAllValues()).containsOnly(runStart.getAllValues().get(0));
+    verify(eventPublisher).publishAll(anyList());
+  }
+
+  @Test
+  void promoteEligibleUsers_withNoCandidates_publishesNothing() {
+    when(promotionRepository.promoteDueChunk(any(Instant.class), eq(2)))
+        .thenReturn(new PromotionChunk(0, List.of()));
+
+    assertThat(service.promoteEligibleUsers()).isZero();
+
+    verify(eventPublisher, never()).publishAll(anyList());
+    assertThat(meterRegistry.timer("users.promotion.run").count()).isEqualTo(1);
+  }
+
+  @Test
+  void promoteEligibleUsers_whenPublishFails_rollsBackChunkAndStops() {
+    when(promotionRepository.promoteDueChunk(any(Instant.class), eq(2)))
+        .thenReturn(new PromotionChunk(2, List.of(UUID.randomUUID(), UUID.randomUUID())));
+    doThrow(new IllegalStateException("outbox unavailable"))
+        .when(eventPublisher)
+        .publishAll(anyList());
+
+    assertThatThrownBy(() -> service.promoteEligibleUsers())
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(transactionManager).rollback(any());
+    verify(promotionRepository, times(1)).promoteDueChunk(any(Instant.class), eq(2));
+    assertThat(meterRegistry.counter("users.promotion.promoted").count()).isZero();
+  }
+}
@@ -0,0 +1,26 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.accountabilityatlas.userservice.exception.InvalidCursorException;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UserChangeCursorTest {
+
+  @Test
+  void encodeDecode_roundTripsMicrosecondPrecision() {
+    UserChangeCursor cursor =
+        new UserChangeCursor(Instant.parse("2026-01-15T10:00:00.123456Z"), UUID.randomUUID());
+
+    assertThat(UserChangeCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void decode_notBase64_throwsInvalidCursor() {
+    assertThatThrownBy(() -> UserChangeCursor.decode("not base64!"))
+        .isInstanceOf(InvalidCursorException.class);
+  }
+}
@@ -0,0 +1,118 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.repository.UserExportRepository;
+import com.accountabilityatlas.userservice.repository.UserExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+  private static final UUID USER_ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b");
+  private static final Instant CREATED_AT = Instant.parse("2026-01-15T10:00:00Z");
+
+  @Mock private UserExportRepository userExportRepository;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private UserExportService userExportService;
+
+  @BeforeEach
+  void setUp() {
+    userExportService = new UserExportService(userExportRepository, objectMapper);
+  }
+
+  @Test
+  void export_ndjson_writesOneObjectPerLine() throws Exception {
+    stubRows(
+        row("first@example.com", "First", null),
+        row("second@example.com", "Second", CREATED_AT.plusSeconds(60)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = userExportService.export(UserDataFormat.NDJSON, out);
+
+    assertThat(rows).isEqualTo(2);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(2).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertThat(first.get("id").asText()).isEqualTo(USER_ID.toString());
+    assertThat(first.get("email").asText()).isEqualTo("first@example.com");
+    assertThat(first.get("createdAt").asText()).isEqualTo("2026-01-15T10:00:00Z");
+    assertThat(first.get("submissionCount").asInt()).isEqualTo(3);
+    assertThat(first.has("statsUpdatedAt")).isFalse();
+    assertThat(objectMapper.readTree(lines[1]).get("statsUpdatedAt").asText())
+        .isEqualTo("2026-01-15T10:01:00Z");
+  }
+
+  @Test
+  void export_csv_writesHeaderAndQuotesSpecialCharacters() {
+    stubRows(row("a@example.com", "Smith, \"J\"", null), row("b@example.com", "=cmd()", null));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    userExportService.export(UserDataFormat.CSV, out);
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).startsWith("id,email,emailVerified,displayName,");
+    assertThat(lines.get(1))
+        .isEqualTo(
+            USER_ID
+                + ",a@example.com,true,\"Smith, \"\"J\"\"\",,TRUSTED,2026-01-15T10:00:00Z,3,2,1,");
+    assertThat(lines.get(2)).contains(",'=cmd(),");
+  }
+
+  @Test
+  void export_noUsers_writesOnlyCsvHeader() {
+    stubRows();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = userExportService.export(UserDataFormat.CSV, out);
+
+    assertThat(rows).isZero();
+    assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubRows(UserExportRow... rows) {
+    doAnswer(
+            invocation -> {
+              Consumer<UserExportRow> action = invocation.getArgument(0);
+              for (UserExportRow row : rows) {
+                action.accept(row);
+              }
+              return null;
+            })
+        .when(userExportRepository)
+        .forEach(any(Consumer.class));
+  }
+
+  private static UserExportRow row(String email, String displayName, Instant statsUpdatedAt) {
+    return new UserExportRow(
+        USER_ID,
+        email,
+        true,
+        displayName,
+        null,
+        TrustTier.TRUSTED,
+        CREATED_AT,
+        3,
+        2,
+        1,
+        statsUpdatedAt);
+  }
+}
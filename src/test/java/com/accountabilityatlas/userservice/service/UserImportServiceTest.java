@@ -0,0 +1,177 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.accountabilityatlas.userservice.domain.TrustTier;
+import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.event.EventPublisher;
+import com.accountabilityatlas.userservice.event.UserRegisteredEvent;
+import com.accountabilityatlas.userservice.repository.UserImportRepository;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.CreatedUser;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.MergeResult;
+import com.accountabilityatlas.userservice.repository.UserImportRepository.SkippedRow;
+import com.accountabilityatlas.userservice.repository.UserImportRow;
+import com.accountabilityatlas.userservice.service.UserImportIssue.Reason;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+  private static final String HASH = "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW";
+
+  @Mock private UserImportRepository userImportRepository;
+  @Mock private EventPublisher eventPublisher;
+  @Mock private ProfileSnapshotPublisher profileSnapshotPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private UserImportService userImportService;
+
+  @BeforeEach
+  void setUp() {
+    userImportService =
+        new UserImportService(
+            userImportRepository,
+            eventPublisher,
+            profileSnapshotPublisher,
+            transactionManager,
+            new ObjectMapper(),
+            2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importUsers_ndjson_mergesInChunksAndPublishesEvents() throws Exception {
+    UUID createdId = UUID.randomUUID();
+    when(userImportRepository.stageAndMerge(anyList()))
+        .thenReturn(
+            new MergeResult(
+                List.of(new CreatedUser(createdId, "a@example.com")),
+                List.of(new SkippedRow(2, "a@example.com", false))))
+        .thenReturn(new MergeResult(List.of(), List.of(new SkippedRow(4, "b@example.com", true))));
+    String ndjson =
+        line("A@Example.com", "Alpha")
+            + line("a@example.com", "Alpha again")
+            + "{not json}\n"
+            + line("b@example.com", "Bravo");
+
+    UserImportReport report = userImportService.importUsers(UserDataFormat.NDJSON, stream(ndjson));
+
+    assertThat(report.received()).isEqualTo(4);
+    assertThat(report.imported()).isEqualTo(1);
+    assertThat(report.issueCount()).isEqualTo(3);
+    assertThat(report.issues())
+        .extracting(UserImportIssue::line, UserImportIssue::reason)
+        .containsExactlyInAnyOrder(
+            tuple(2, Reason.DUPLICATE_IN_FILE),
+            tuple(3, Reason.INVALID_ROW),
+            tuple(4, Reason.EMAIL_EXISTS));
+
+    ArgumentCaptor<List<UserImportRow>> chunks = ArgumentCaptor.forClass(List.class);
+    verify(userImportRepository, times(2)).stageAndMerge(chunks.capture());
+    UserImportRow first = chunks.getAllValues().get(0).get(0);
+    assertThat(first.email()).isEqualTo("a@example.com");
+    assertThat(first.trustTier()).isEqualTo(TrustTier.NEW);
+    assertThat(first.socialLinksVisibility()).isEqualTo(Visibility.REGISTERED);
+    verify(profileSnapshotPublisher).publish(List.of(createdId));
+
+    // The second chunk created nobody, so only one batch of events goes out
+    ArgumentCaptor<List<UserRegisteredEvent>> events = ArgumentCaptor.forClass(List.class);
+    verify(eventPublisher).publishAll(events.capture());
+    assertThat(events.getValue())
+        .extracting(UserRegisteredEvent::userId)
+        .containsExactly(createdId);
+  }
+
+  @Test
+  void importUsers_csv_readsHeaderAndQuotedFields() throws Exception {
+    when(userImportRepository.stageAndMerge(anyList()))
+        .thenReturn(new MergeResult(List.of(), List.of()));
+    String csv =
+        "email,passwordHash,displayName,trustTier,submissionsVisibility\n"
+            + "c@example.com,"
+            + HASH
+            + ",\"Smith, \"\"J\"\"\",trusted,registered\n";
+
+    UserImportReport report = userImportService.importUsers(UserDataFormat.CSV, stream(csv));
+
+    assertThat(report.issueCount()).isZero();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UserImportRow>> chunk = ArgumentCaptor.forClass(List.class);
+    verify(userImportRepository).stageAndMerge(chunk.capture());
+    UserImportRow row = chunk.getValue().get(0);
+    assertThat(row.displayName()).isEqualTo("Smith, \"J\"");
+    assertThat(row.trustTier()).isEqualTo(TrustTier.TRUSTED);
+    assertThat(row.submissionsVisibility()).isEqualTo(Visibility.REGISTERED);
+  }
+
+  @Test
+  void importUsers_invalidRows_areReportedWithoutMerging() throws Exception {
+    String ndjson =
+        "{\"email\":\"x@example.com\",\"passwordHash\":\"plaintext\",\"displayName\":\"Xray\"}\n"
+            + "{\"email\":\"y@example.com\",\"passwordHash\":\""
+            + HASH
+            + "\",\"displayName\":\"Yankee\",\"trustTier\":\"ADMIN\"}\n";
+
+    UserImportReport report = userImportService.importUsers(UserDataFormat.NDJSON, stream(ndjson));
+
+    assertThat(report.imported()).isZero();
+    assertThat(report.issues())
+        .extracting(UserImportIssue::detail)
+        .containsExactly("passwordHash is not a BCrypt hash", "trustTier must be NEW or TRUSTED");
+    verify(userImportRepository, times(0)).stageAndMerge(anyList());
+  }
+
+  @Test
+  void importUsers_publishFailure_rollsBackChunkAndFails() {
+    when(userImportRepository.stageAndMerge(anyList()))
+        .thenReturn(
+            new MergeResult(
+                List.of(
+                    new CreatedUser(UUID.randomUUID(), "a@example.com"),
+                    new CreatedUser(UUID.randomUUID(), "b@example.com")),
+                List.of()));
+    doThrow(new RuntimeException("outbox unavailable")).when(eventPublisher).publishAll(anyList());
+
+    assertThatThrownBy(
+            () ->
+                userImportService.importUsers(
+                    UserDataFormat.NDJSON,
+                    stream(line("a@example.com", "Alpha") + line("b@example.com", "Bravo"))))
+        .hasMessage("outbox unavailable");
+
+    verify(transactionManager).rollback(any());
+  }
+
+  private static String line(String email, String displayName) {
+    return "{\"email\":\""
+        + email
+        + "\",\"passwordHash\":\""
+        + HASH
+        + "\",\"displayName\":\""
+        + displayName
+        + "\"}\n";
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
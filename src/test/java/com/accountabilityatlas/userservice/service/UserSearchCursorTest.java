@@ -0,0 +1,49 @@
+package com.accountabilityatlas.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.accountabilityatlas.userservice.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UserSearchCursorTest {
+
+  @Test
+  void encodeDecode_roundTripsMicrosecondPrecision() {
+    UserSearchCursor cursor =
+        new UserSearchCursor(Instant.parse("2026-01-15T10:00:00.123456Z"), UUID.randomUUID());
+
+    UserSearchCursor decoded = UserSearchCursor.decode(cursor.encode());
+
+    assertThat(decoded).isEqualTo(cursor);
+  }
+
+  @Test
+  void decode_notBase64_throwsInvalidCursor() {
+    assertThatThrownBy(() -> UserSearchCursor.decode("not base64!"))
+        .isInstanceOf(InvalidCursorException.class);
+  }
+
+  @Test
+  void decode_missingSeparator_throwsInvalidCursor() {
+    byte[] raw = "2026-01-15T10:00:00Z".getBytes(StandardCharsets.UTF_8);
+    String encoded = Base64.getUrlEncoder().encodeToString(raw);
+
+    assertThatThrownBy(() -> UserSearchCursor.decode(encoded))
+        .isInstanceOf(InvalidCursorException.class);
+  }
+
+  @Test
+  void decode_badTimestamp_throwsInvalidCursor() {
+    String encoded =
+        Base64.getUrlEncoder()
+            .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> UserSearchCursor.decode(encoded))
+        .isInstanceOf(InvalidCursorException.class);
+  }
+}
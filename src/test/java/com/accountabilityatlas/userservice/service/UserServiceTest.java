@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.accountabilityatlas.userservice.domain.TrustTier;
@@ -21,6 +22,8 @@ import com.accountabilityatlas.userservice.repository.UserSocialLinksRepository;
 import com.accountabilityatlas.userservice.web.model.PrivacySettings;
 import com.accountabilityatlas.userservice.web.model.SocialLinks;
 import com.accountabilityatlas.userservice.web.model.UpdateUserRequest;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +32,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -37,6 +41,8 @@ class UserServiceTest {
   @Mock private UserSocialLinksRepository socialLinksRepository;
   @Mock private UserPrivacySettingsRepository privacySettingsRepository;
   @Mock private EventPublisher eventPublisher;
+  @Mock private ProfileSnapshotPublisher profileSnapshotPublisher;
+  @Mock private AvatarService avatarService;
 
   private UserService userService;
 
@@ -44,7 +50,12 @@ class UserServiceTest {
   void setUp() {
     userService =
         new UserService(
-            userRepository, socialLinksRepository, privacySettingsRepository, eventPublisher);
+            userRepository,
+            socialLinksRepository,
+            privacySettingsRepository,
+            eventPublisher,
+            profileSnapshotPublisher,
+            avatarService);
   }
 
   @Test
@@ -81,8 +92,8 @@ class UserServiceTest {
     user.setDisplayName("TestUser");
     user.setTrustTier(TrustTier.NEW);
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
+    when(userRepository.saveAndFlush(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
     User result = userService.updateTrustTier(userId, TrustTier.TRUSTED, "AUTO_PROMOTION");
 
@@ -99,6 +110,7 @@ class UserServiceTest {
     assertThat(event.oldTier()).isEqualTo(TrustTier.NEW);
     assertThat(event.newTier()).isEqualTo(TrustTier.TRUSTED);
     assertThat(event.reason()).isEqualTo(UserTrustTierChangedEvent.ChangeReason.AUTO_PROMOTION);
+    verify(profileSnapshotPublisher).publish(List.of(userId));
   }
 
   @Test
@@ -110,19 +122,20 @@ class UserServiceTest {
     user.setDisplayName("TestUser");
     user.setTrustTier(TrustTier.TRUSTED);
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
     User result = userService.updateTrustTier(userId, TrustTier.TRUSTED, "MANUAL");
 
     assertThat(result.getTrustTier()).isEqualTo(TrustTier.TRUSTED);
-    verify(userRepository, never()).save(any());
+    verify(userRepository, never()).saveAndFlush(any());
     verify(eventPublisher, never()).publish(any());
+    verifyNoInteractions(profileSnapshotPublisher);
   }
 
   @Test
   void updateTrustTier_userNotFound_throwsException() {
     UUID userId = UUID.randomUUID();
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> userService.updateTrustTier(userId, TrustTier.TRUSTED, "reason"))
         .isInstanceOf(UserNotFoundException.class);
@@ -132,7 +145,7 @@ class UserServiceTest {
   void updateProfile_updatesDisplayName() {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
     UpdateUserRequest request = new UpdateUserRequest();
@@ -142,13 +155,15 @@ class UserServiceTest {
 
     assertThat(result.getDisplayName()).isEqualTo("NewName");
     verify(userRepository).save(user);
+    verify(userRepository).flush();
+    verify(profileSnapshotPublisher).publish(List.of(userId));
   }
 
   @Test
   void updateProfile_updatesAvatarUrl() {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
     UpdateUserRequest request = new UpdateUserRequest();
@@ -164,7 +179,7 @@ class UserServiceTest {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
     user.setAvatarUrl("https://example.com/old-avatar.png");
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
     UpdateUserRequest request = new UpdateUserRequest();
@@ -179,7 +194,7 @@ class UserServiceTest {
   void updateProfile_updatesSocialLinks() {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
     when(socialLinksRepository.findById(userId)).thenReturn(Optional.empty());
 
@@ -199,13 +214,38 @@ class UserServiceTest {
     assertThat(saved.getUserId()).isEqualTo(userId);
     assertThat(saved.getYoutube()).isEqualTo("UCtest123");
     assertThat(saved.getInstagram()).isEqualTo("testaccount");
+    verify(avatarService).storeAvatarSources(userId, user.getEmail(), saved);
+  }
+
+  @Test
+  void updateProfile_keepsAvatarSources_whenYoutubeUnchanged() {
+    UUID userId = UUID.randomUUID();
+    User user = buildUser(userId);
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+    UserSocialLinks existingLinks = new UserSocialLinks();
+    existingLinks.setUserId(userId);
+    existingLinks.setYoutube("UCtest");
+    when(socialLinksRepository.findById(userId)).thenReturn(Optional.of(existingLinks));
+
+    SocialLinks socialLinks = new SocialLinks();
+    socialLinks.setYoutube("UCtest");
+    socialLinks.setBluesky("test.bsky.social");
+
+    UpdateUserRequest request = new UpdateUserRequest();
+    request.setSocialLinks(socialLinks);
+
+    userService.updateProfile(userId, request);
+
+    verify(avatarService, never()).storeAvatarSources(any(), any(), any());
   }
 
   @Test
   void updateProfile_clearsSocialLinkField() {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
     UserSocialLinks existingLinks = new UserSocialLinks();
@@ -256,7 +296,7 @@ class UserServiceTest {
   void updateProfile_updatesPrivacySettings() {
     UUID userId = UUID.randomUUID();
     User user = buildUser(userId);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
     when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
     when(privacySettingsRepository.findById(userId)).thenReturn(Optional.empty());
 
@@ -280,7 +320,7 @@ class UserServiceTest {
   @Test
   void updateProfile_userNotFound_throwsException() {
     UUID userId = UUID.randomUUID();
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.empty());
 
     UpdateUserRequest request = new UpdateUserRequest();
     request.setDisplayName("NewName");
@@ -346,4 +386,44 @@ class UserServiceTest {
     user.setTrustTier(TrustTier.NEW);
     return user;
   }
+
+  @Test
+  void searchUsers_morePagesAvailable_returnsCursorForLastUser() {
+    User first = buildSearchResult(Instant.parse("2026-03-02T00:00:00Z"));
+    User second = buildSearchResult(Instant.parse("2026-03-01T00:00:00Z"));
+    User extra = buildSearchResult(Instant.parse("2026-02-28T00:00:00Z"));
+    when(userRepository.search("audit", TrustTier.NEW, null, null, 3))
+        .thenReturn(List.of(first, second, extra));
+
+    UserService.UserSearchResult result =
+        userService.searchUsers(" audit ", TrustTier.NEW, 2, null);
+
+    assertThat(result.users()).containsExactly(first, second);
+    UserSearchCursor cursor = UserSearchCursor.decode(result.nextCursor());
+    assertThat(cursor.createdAt()).isEqualTo(second.getCreatedAt());
+    assertThat(cursor.id()).isEqualTo(second.getId());
+  }
+
+  @Test
+  void searchUsers_lastPage_returnsNoCursor() {
+    User only = buildSearchResult(Instant.parse("2026-03-02T00:00:00Z"));
+    UserSearchCursor after =
+        new UserSearchCursor(Instant.parse("2026-03-05T00:00:00Z"), UUID.randomUUID());
+    when(userRepository.search(null, null, after.createdAt(), after.id(), 26))
+        .thenReturn(List.of(only));
+
+    UserService.UserSearchResult result = userService.searchUsers("  ", null, 25, after.encode());
+
+    assertThat(result.users()).containsExactly(only);
+    assertThat(result.nextCursor()).isNull();
+  }
+
+  private User buildSearchResult(Instant createdAt) {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    user.setEmail("audit@example.com");
+    user.setDisplayName("Auditor");
+    ReflectionTestUtils.setField(user, "createdAt", createdAt);
+    return user;
+  }
 }
@@ -1,13 +1,33 @@
 package com.accountabilityatlas.userservice.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import com.accountabilityatlas.userservice.domain.UserStats;
-import com.accountabilityatlas.userservice.repository.UserStatsRepository;
+import com.accountabilityatlas.userservice.repository.PromotionRepository;
+import com.accountabilityatlas.userservice.repository.StatsDelta;
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository;
+import com.accountabilityatlas.userservice.repository.UserStatsCounterRepository.UserStatsCounters;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository;
+import com.accountabilityatlas.userservice.repository.UserStatsDailyRepository.BucketIncrement;
+import com.accountabilityatlas.userservice.service.UserStatsService.BufferedEvent;
+import com.accountabilityatlas.userservice.service.UserStatsService.StatusChange;
+import com.accountabilityatlas.userservice.service.UserStatsService.Submission;
+import com.accountabilityatlas.userservice.service.UserStatsService.UserBatch;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,132 +39,312 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class UserStatsServiceTest {
 
-  @Mock private UserStatsRepository userStatsRepository;
+  @Mock private UserStatsCounterRepository userStatsCounterRepository;
+  @Mock private UserStatsDailyRepository userStatsDailyRepository;
+  @Mock private PromotionRepository promotionRepository;
+  @Mock private EventDeduplicator eventDeduplicator;
   @InjectMocks private UserStatsService userStatsService;
 
-  private UserStats createStats(UUID userId, int submissions, int approved, int rejected) {
-    UserStats stats = new UserStats();
-    stats.setUserId(userId);
-    stats.setSubmissionCount(submissions);
-    stats.setApprovedCount(approved);
-    stats.setRejectedCount(rejected);
-    stats.setUpdatedAt(Instant.now());
-    return stats;
+  private final UUID userId = UUID.randomUUID();
+
+  private StatsDelta appliedDelta() {
+    ArgumentCaptor<StatsDelta> captor = ArgumentCaptor.forClass(StatsDelta.class);
+    verify(userStatsCounterRepository).apply(eq(userId), captor.capture());
+    return captor.getValue();
+  }
+
+  private void givenNoDuplicates() {
+    when(eventDeduplicator.claim(anyList()))
+        .thenAnswer(invocation -> new HashSet<UUID>(invocation.getArgument(0)));
+  }
+
+  private static Submission submission(UUID userId) {
+    return new Submission(UUID.randomUUID(), userId);
+  }
+
+  private static StatusChange change(UUID userId, String previousStatus, String newStatus) {
+    return new StatusChange(UUID.randomUUID(), userId, previousStatus, newStatus);
+  }
+
+  private void givenCountersAfterUpdate(int approved, Instant lastRejectedAt) {
+    when(userStatsCounterRepository.apply(eq(userId), any(StatsDelta.class)))
+        .thenReturn(Optional.of(new UserStatsCounters(userId, approved, lastRejectedAt)));
+  }
+
+  @Test
+  void recordSubmissions_userExists_incrementsByOne() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(3, null);
+
+    userStatsService.recordSubmissions(List.of(submission(userId)));
+
+    assertThat(appliedDelta()).isEqualTo(new StatsDelta(1, 0, 0, null));
+    verify(userStatsDailyRepository)
+        .recordAll(any(LocalDate.class), eq(List.of(new BucketIncrement(userId, 1, 0, 0))));
+    verifyNoInteractions(promotionRepository);
   }
 
   @Test
-  void incrementSubmissionCount_userExists_incrementsByOne() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 5, 3, 1);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordSubmissions_userNotFound_doesNothingElse() {
+    givenNoDuplicates();
+    when(userStatsCounterRepository.apply(eq(userId), any(StatsDelta.class)))
+        .thenReturn(Optional.empty());
 
-    userStatsService.incrementSubmissionCount(userId);
+    userStatsService.recordSubmissions(List.of(submission(userId)));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getSubmissionCount()).isEqualTo(6);
+    verifyNoInteractions(userStatsDailyRepository, promotionRepository);
   }
 
   @Test
-  void incrementSubmissionCount_userNotFound_doesNothing() {
-    UUID userId = UUID.randomUUID();
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.empty());
+  void recordStatusChanges_toApproved_incrementsApprovedCount() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(4, null);
 
-    userStatsService.incrementSubmissionCount(userId);
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "APPROVED")));
 
-    verify(userStatsRepository).findById(userId);
+    assertThat(appliedDelta()).isEqualTo(new StatsDelta(0, 1, 0, null));
   }
 
   @Test
-  void handleStatusChange_toApproved_incrementsApprovedCount() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 5, 3, 1);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_fromApproved_decrementsApprovedCount() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(2, Instant.now());
 
-    userStatsService.handleStatusChange(userId, "PENDING", "APPROVED");
+    userStatsService.recordStatusChanges(List.of(change(userId, "APPROVED", "REJECTED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getApprovedCount()).isEqualTo(4);
-    assertThat(captor.getValue().getRejectedCount()).isEqualTo(1);
+    StatsDelta delta = appliedDelta();
+    assertThat(delta.approved()).isEqualTo(-1);
+    assertThat(delta.rejected()).isEqualTo(1);
+    assertThat(delta.rejectedAt()).isNotNull();
   }
 
   @Test
-  void handleStatusChange_fromApproved_decrementsApprovedCount() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 5, 3, 1);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_toRejected_incrementsRejectedCount() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(3, Instant.now());
 
-    userStatsService.handleStatusChange(userId, "APPROVED", "REJECTED");
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "REJECTED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getApprovedCount()).isEqualTo(2);
-    assertThat(captor.getValue().getRejectedCount()).isEqualTo(2);
+    StatsDelta delta = appliedDelta();
+    assertThat(delta.approved()).isZero();
+    assertThat(delta.rejected()).isEqualTo(1);
   }
 
   @Test
-  void handleStatusChange_toRejected_incrementsRejectedCount() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 5, 3, 0);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_fromRejected_decrementsRejectedCount() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(4, null);
 
-    userStatsService.handleStatusChange(userId, "PENDING", "REJECTED");
+    userStatsService.recordStatusChanges(List.of(change(userId, "REJECTED", "APPROVED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getApprovedCount()).isEqualTo(3);
-    assertThat(captor.getValue().getRejectedCount()).isEqualTo(1);
+    assertThat(appliedDelta()).isEqualTo(new StatsDelta(0, 1, -1, null));
   }
 
   @Test
-  void handleStatusChange_fromRejected_decrementsRejectedCount() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 5, 3, 2);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_userNotFound_doesNothingElse() {
+    givenNoDuplicates();
+    when(userStatsCounterRepository.apply(eq(userId), any(StatsDelta.class)))
+        .thenReturn(Optional.empty());
 
-    userStatsService.handleStatusChange(userId, "REJECTED", "APPROVED");
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "APPROVED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getApprovedCount()).isEqualTo(4);
-    assertThat(captor.getValue().getRejectedCount()).isEqualTo(1);
+    verifyNoInteractions(userStatsDailyRepository, promotionRepository);
   }
 
   @Test
-  void handleStatusChange_approvedCountFloorAtZero() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 1, 0, 0);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_toApproved_refreshesPromotionCandidate() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(10, null);
 
-    userStatsService.handleStatusChange(userId, "APPROVED", "REJECTED");
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "APPROVED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getApprovedCount()).isZero();
-    assertThat(captor.getValue().getRejectedCount()).isEqualTo(1);
+    verify(promotionRepository).refreshCandidate(userId, 10, null);
   }
 
   @Test
-  void handleStatusChange_rejectedCountFloorAtZero() {
-    UUID userId = UUID.randomUUID();
-    UserStats stats = createStats(userId, 1, 0, 0);
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+  void recordStatusChanges_toRejected_passesRejectionTimeToPromotion() {
+    givenNoDuplicates();
+    Instant rejectedAt = Instant.now();
+    givenCountersAfterUpdate(10, rejectedAt);
 
-    userStatsService.handleStatusChange(userId, "REJECTED", "PENDING");
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "REJECTED")));
 
-    ArgumentCaptor<UserStats> captor = ArgumentCaptor.forClass(UserStats.class);
-    verify(userStatsRepository).save(captor.capture());
-    assertThat(captor.getValue().getRejectedCount()).isZero();
+    verify(promotionRepository).refreshCandidate(userId, 10, rejectedAt);
   }
 
   @Test
-  void handleStatusChange_userNotFound_doesNothing() {
-    UUID userId = UUID.randomUUID();
-    when(userStatsRepository.findById(userId)).thenReturn(Optional.empty());
+  void recordStatusChanges_betweenOtherStatuses_touchesNothing() {
+    givenNoDuplicates();
+
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "UNDER_REVIEW")));
+
+    verifyNoInteractions(userStatsCounterRepository, userStatsDailyRepository, promotionRepository);
+  }
+
+  @Test
+  void recordStatusChanges_toRejected_recordsRejectionInTodaysBucket() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(0, Instant.now());
+
+    userStatsService.recordStatusChanges(List.of(change(userId, "APPROVED", "REJECTED")));
 
-    userStatsService.handleStatusChange(userId, "PENDING", "APPROVED");
+    verify(userStatsDailyRepository)
+        .recordAll(
+            eq(LocalDate.now(ZoneOffset.UTC)), eq(List.of(new BucketIncrement(userId, 0, 0, 1))));
+  }
+
+  @Test
+  void recordStatusChanges_awayFromRejected_leavesBucketsUntouched() {
+    givenNoDuplicates();
+    givenCountersAfterUpdate(0, null);
+
+    userStatsService.recordStatusChanges(List.of(change(userId, "REJECTED", "PENDING")));
+
+    verifyNoInteractions(userStatsDailyRepository);
+  }
 
-    verify(userStatsRepository).findById(userId);
+  @Test
+  @SuppressWarnings("unchecked")
+  void recordStatusChanges_foldsEventsIntoOneDeltaPerUser() {
+    givenNoDuplicates();
+    UUID other = UUID.randomUUID();
+    Instant rejectedAt = Instant.now();
+    when(userStatsCounterRepository.applyAll(anyMap()))
+        .thenReturn(
+            List.of(
+                new UserStatsCounters(userId, 12, null),
+                new UserStatsCounters(other, 4, rejectedAt)));
+
+    userStatsService.recordStatusChanges(
+        List.of(
+            change(userId, "PENDING", "APPROVED"),
+            change(other, "APPROVED", "REJECTED"),
+            change(userId, "PENDING", "APPROVED"),
+            change(userId, "PENDING", "UNDER_REVIEW")));
+
+    ArgumentCaptor<Map<UUID, StatsDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+    verify(userStatsCounterRepository).applyAll(deltas.capture());
+    assertThat(deltas.getValue()).hasSize(2);
+    assertThat(deltas.getValue().get(userId)).isEqualTo(new StatsDelta(0, 2, 0, null));
+    StatsDelta otherDelta = deltas.getValue().get(other);
+    assertThat(otherDelta.approved()).isEqualTo(-1);
+    assertThat(otherDelta.rejected()).isEqualTo(1);
+
+    ArgumentCaptor<List<BucketIncrement>> increments = ArgumentCaptor.forClass(List.class);
+    verify(userStatsDailyRepository).recordAll(any(LocalDate.class), increments.capture());
+    assertThat(increments.getValue())
+        .containsExactlyInAnyOrder(
+            new BucketIncrement(userId, 0, 2, 0), new BucketIncrement(other, 0, 0, 1));
+    verify(promotionRepository).refreshCandidate(userId, 12, null);
+    verify(promotionRepository).refreshCandidate(other, 4, rejectedAt);
+  }
+
+  @Test
+  void recordStatusChanges_userWithoutStatsRow_fallsBackToUpsert() {
+    givenNoDuplicates();
+    when(userStatsCounterRepository.applyAll(anyMap())).thenReturn(List.of());
+    givenCountersAfterUpdate(1, null);
+
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "APPROVED")));
+
+    assertThat(appliedDelta()).isEqualTo(new StatsDelta(0, 1, 0, null));
+    verify(promotionRepository).refreshCandidate(userId, 1, null);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void recordStatusChanges_skipsEventsAlreadyClaimed() {
+    StatusChange fresh = change(userId, "PENDING", "APPROVED");
+    StatusChange redelivered = change(userId, "PENDING", "APPROVED");
+    when(eventDeduplicator.claim(List.of(fresh.eventId(), redelivered.eventId())))
+        .thenReturn(new HashSet<>(Set.of(fresh.eventId())));
+    when(userStatsCounterRepository.applyAll(anyMap()))
+        .thenReturn(List.of(new UserStatsCounters(userId, 1, null)));
+
+    userStatsService.recordStatusChanges(List.of(fresh, redelivered));
+
+    ArgumentCaptor<Map<UUID, StatsDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+    verify(userStatsCounterRepository).applyAll(deltas.capture());
+    assertThat(deltas.getValue()).containsExactly(Map.entry(userId, new StatsDelta(0, 1, 0, null)));
+  }
+
+  @Test
+  void recordStatusChanges_allDuplicates_writesNothing() {
+    when(eventDeduplicator.claim(anyList())).thenReturn(new HashSet<>());
+
+    userStatsService.recordStatusChanges(List.of(change(userId, "PENDING", "APPROVED")));
+
+    verifyNoInteractions(userStatsCounterRepository, userStatsDailyRepository, promotionRepository);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void recordSubmissions_countsRepeatedSubmittersOnce() {
+    givenNoDuplicates();
+    when(userStatsCounterRepository.applyAll(anyMap()))
+        .thenReturn(List.of(new UserStatsCounters(userId, 0, null)));
+
+    userStatsService.recordSubmissions(
+        List.of(
+            new Submission(UUID.randomUUID(), userId),
+            new Submission(UUID.randomUUID(), userId),
+            new Submission(UUID.randomUUID(), userId)));
+
+    ArgumentCaptor<Map<UUID, StatsDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+    verify(userStatsCounterRepository).applyAll(deltas.capture());
+    assertThat(deltas.getValue()).containsExactly(Map.entry(userId, new StatsDelta(3, 0, 0, null)));
+    verify(userStatsDailyRepository)
+        .recordAll(any(LocalDate.class), eq(List.of(new BucketIncrement(userId, 3, 0, 0))));
+    verifyNoInteractions(promotionRepository);
+  }
+
+  @Test
+  void recordSubmissions_sameEventTwiceInBatch_countsOnce() {
+    givenNoDuplicates();
+    Submission submission = new Submission(UUID.randomUUID(), userId);
+    when(userStatsCounterRepository.applyAll(anyMap()))
+        .thenReturn(List.of(new UserStatsCounters(userId, 0, null)));
+
+    userStatsService.recordSubmissions(List.of(submission, submission));
+
+    verify(userStatsCounterRepository).applyAll(Map.of(userId, new StatsDelta(1, 0, 0, null)));
+  }
+
+  @Test
+  void applyBatch_takesOutBufferedEventsProcessedElsewhere() {
+    UUID other = UUID.randomUUID();
+    UUID first = UUID.randomUUID();
+    UUID processedElsewhere = UUID.randomUUID();
+    UUID otherEvent = UUID.randomUUID();
+    UserBatch submission = new UserBatch(new StatsDelta(1, 0, 0, null), 0, 0);
+    Map<UUID, BufferedEvent> events =
+        Map.of(
+            first, new BufferedEvent(userId, submission),
+            processedElsewhere, new BufferedEvent(userId, submission),
+            otherEvent, new BufferedEvent(other, submission));
+    when(eventDeduplicator.claim(events.keySet()))
+        .thenReturn(new HashSet<>(Set.of(first, otherEvent)));
+    when(userStatsCounterRepository.applyAll(anyMap()))
+        .thenReturn(
+            List.of(new UserStatsCounters(userId, 0, null), new UserStatsCounters(other, 0, null)));
+
+    userStatsService.applyBatch(
+        Map.of(userId, new UserBatch(new StatsDelta(2, 0, 0, null), 0, 0), other, submission),
+        events);
+
+    verify(userStatsCounterRepository)
+        .applyAll(
+            Map.of(
+                userId, new StatsDelta(1, 0, 0, null), other, new StatsDelta(1, 0, 0, null)));
+    verify(userStatsDailyRepository)
+        .recordAll(
+            any(LocalDate.class),
+            argThat(
+                increments ->
+                    Set.copyOf(increments)
+                        .equals(
+                            Set.of(
+                                new BucketIncrement(userId, 1, 0, 0),
+                                new BucketIncrement(other, 1, 0, 0)))));
   }
 }
@@ -0,0 +1,70 @@
+package com.accountabilityatlas.userservice.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter;
+import com.accountabilityatlas.userservice.exception.GlobalExceptionHandler;
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserExportService;
+import java.io.OutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(UserExportController.class)
+@Import(GlobalExceptionHandler.class)
+@AutoConfigureMockMvc(addFilters = false)
+class UserExportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private UserExportService userExportService;
+
+  @SuppressWarnings("UnusedVariable")
+  @MockitoBean
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @Test
+  void exportUsers_defaultsToNdjsonAttachment() throws Exception {
+    mockMvc
+        .perform(get("/admin/users/export"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+        .andExpect(
+            header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""));
+
+    verify(userExportService).export(eq(UserDataFormat.NDJSON), any(OutputStream.class));
+  }
+
+  @Test
+  void exportUsers_csv_setsCsvContentType() throws Exception {
+    mockMvc
+        .perform(get("/admin/users/export").param("format", "CSV"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""));
+
+    verify(userExportService).export(eq(UserDataFormat.CSV), any(OutputStream.class));
+  }
+
+  @Test
+  void exportUsers_unknownFormat_returns400() throws Exception {
+    mockMvc
+        .perform(get("/admin/users/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("UNSUPPORTED_FORMAT"));
+
+    verifyNoInteractions(userExportService);
+  }
+}
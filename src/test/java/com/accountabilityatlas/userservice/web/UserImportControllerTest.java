@@ -0,0 +1,73 @@
+package com.accountabilityatlas.userservice.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter;
+import com.accountabilityatlas.userservice.exception.GlobalExceptionHandler;
+import com.accountabilityatlas.userservice.service.UserDataFormat;
+import com.accountabilityatlas.userservice.service.UserImportIssue;
+import com.accountabilityatlas.userservice.service.UserImportReport;
+import com.accountabilityatlas.userservice.service.UserImportService;
+import java.io.InputStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(UserImportController.class)
+@Import(GlobalExceptionHandler.class)
+@AutoConfigureMockMvc(addFilters = false)
+class UserImportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private UserImportService userImportService;
+
+  @SuppressWarnings("UnusedVariable")
+  @MockitoBean
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @Test
+  void importUsers_returnsReport() throws Exception {
+    when(userImportService.importUsers(eq(UserDataFormat.CSV), any(InputStream.class)))
+        .thenReturn(
+            new UserImportReport(
+                3,
+                2,
+                1,
+                List.of(
+                    new UserImportIssue(
+                        3,
+                        "dup@example.com",
+                        UserImportIssue.Reason.EMAIL_EXISTS,
+                        "Email already registered"))));
+
+    mockMvc
+        .perform(post("/admin/users/import").param("format", "csv").content("email\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.issueCount").value(1))
+        .andExpect(jsonPath("$.issues[0].reason").value("EMAIL_EXISTS"))
+        .andExpect(jsonPath("$.issues[0].line").value(3));
+  }
+
+  @Test
+  void importUsers_unknownFormat_returns400() throws Exception {
+    mockMvc
+        .perform(post("/admin/users/import").param("format", "xlsx").content("x"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("UNSUPPORTED_FORMAT"));
+
+    verifyNoInteractions(userImportService);
+  }
+}
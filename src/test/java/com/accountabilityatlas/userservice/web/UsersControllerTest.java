@@ -5,25 +5,34 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter;
 import com.accountabilityatlas.userservice.config.JwtAuthenticationFilter.JwtAuthenticationToken;
+import com.accountabilityatlas.userservice.domain.AdminJob;
+import com.accountabilityatlas.userservice.domain.AdminJobStatus;
+import com.accountabilityatlas.userservice.domain.AdminJobType;
 import com.accountabilityatlas.userservice.domain.TrustTier;
 import com.accountabilityatlas.userservice.domain.User;
 import com.accountabilityatlas.userservice.domain.UserPrivacySettings;
 import com.accountabilityatlas.userservice.domain.UserSocialLinks;
 import com.accountabilityatlas.userservice.domain.UserStats;
 import com.accountabilityatlas.userservice.domain.Visibility;
+import com.accountabilityatlas.userservice.exception.AdminJobNotFoundException;
 import com.accountabilityatlas.userservice.exception.GlobalExceptionHandler;
+import com.accountabilityatlas.userservice.exception.InvalidCursorException;
 import com.accountabilityatlas.userservice.exception.UserNotFoundException;
+import com.accountabilityatlas.userservice.service.AdminJobService;
 import com.accountabilityatlas.userservice.service.AvatarService;
+import com.accountabilityatlas.userservice.service.BulkTrustTierService;
 import com.accountabilityatlas.userservice.service.UserService;
 import com.accountabilityatlas.userservice.web.model.AvatarSources;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -49,6 +58,10 @@ class UsersControllerTest {
 
   @MockitoBean private AvatarService avatarService;
 
+  @MockitoBean private BulkTrustTierService bulkTrustTierService;
+
+  @MockitoBean private AdminJobService adminJobService;
+
   @SuppressWarnings("UnusedVariable")
   @MockitoBean
   private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -323,7 +336,7 @@ class UsersControllerTest {
     socialLinks.setYoutube("UCtest123");
     when(userService.getSocialLinks(userId)).thenReturn(Optional.of(socialLinks));
     when(userService.getPrivacySettings(userId)).thenReturn(buildDefaultPrivacySettings(userId));
-    when(avatarService.getAvatarSources(any(), any())).thenReturn(new AvatarSources());
+    when(avatarService.getAvatarSources(any(), any(), any())).thenReturn(new AvatarSources());
 
     mockMvc
         .perform(
@@ -351,7 +364,7 @@ class UsersControllerTest {
     socialLinks.setXTwitter("testhandle");
     when(userService.getSocialLinks(userId)).thenReturn(Optional.of(socialLinks));
     when(userService.getPrivacySettings(userId)).thenReturn(buildDefaultPrivacySettings(userId));
-    when(avatarService.getAvatarSources(any(), any())).thenReturn(new AvatarSources());
+    when(avatarService.getAvatarSources(any(), any(), any())).thenReturn(new AvatarSources());
 
     mockMvc
         .perform(get("/users/me"))
@@ -381,6 +394,106 @@ class UsersControllerTest {
         .andExpect(jsonPath("$.details[0].message").exists());
   }
 
+  @Test
+  void searchUsers_returnsPageWithNextCursor() throws Exception {
+    User match = buildUserWithAllFields(UUID.randomUUID());
+    when(userService.searchUsers("test", TrustTier.NEW, 10, null))
+        .thenReturn(new UserService.UserSearchResult(List.of(match), "next-page"));
+
+    mockMvc
+        .perform(
+            get("/admin/users").param("q", "test").param("trustTier", "NEW").param("limit", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].email").value("test@example.com"))
+        .andExpect(jsonPath("$.nextCursor").value("next-page"));
+  }
+
+  @Test
+  void searchUsers_defaultsLimit() throws Exception {
+    when(userService.searchUsers(null, null, 25, null))
+        .thenReturn(new UserService.UserSearchResult(List.of(), null));
+
+    mockMvc
+        .perform(get("/admin/users"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void searchUsers_invalidCursor_returns400() throws Exception {
+    when(userService.searchUsers(null, null, 25, "garbage"))
+        .thenThrow(new InvalidCursorException());
+
+    mockMvc
+        .perform(get("/admin/users").param("cursor", "garbage"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+  }
+
+  @Test
+  void bulkUpdateTrustTier_returns202WithJob() throws Exception {
+    UUID adminId = UUID.randomUUID();
+    UUID firstUser = UUID.randomUUID();
+    UUID secondUser = UUID.randomUUID();
+    setAuthenticationContext(adminId);
+    AdminJob job = new AdminJob();
+    ReflectionTestUtils.setField(job, "id", UUID.randomUUID());
+    job.setJobType(AdminJobType.BULK_TRUST_TIER);
+    job.setTotalItems(2);
+    when(bulkTrustTierService.submit(
+            List.of(firstUser, secondUser), TrustTier.NEW, "Spam wave", adminId))
+        .thenReturn(job);
+
+    mockMvc
+        .perform(
+            post("/admin/users/trust-tier")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {"userIds": ["%s", "%s"], "trustTier": "NEW", "reason": "Spam wave"}
+                    """
+                        .formatted(firstUser, secondUser)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.type").value("BULK_TRUST_TIER"))
+        .andExpect(jsonPath("$.status").value("PENDING"))
+        .andExpect(jsonPath("$.totalItems").value(2))
+        .andExpect(jsonPath("$.processedItems").value(0));
+  }
+
+  @Test
+  void getAdminJob_returnsProgress() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    AdminJob job = new AdminJob();
+    ReflectionTestUtils.setField(job, "id", jobId);
+    job.setJobType(AdminJobType.BULK_TRUST_TIER);
+    job.setStatus(AdminJobStatus.RUNNING);
+    job.setTotalItems(1000);
+    job.setProcessedItems(500);
+    job.setChangedItems(480);
+    job.setStartedAt(Instant.parse("2026-01-15T10:00:00Z"));
+    when(adminJobService.getJob(jobId)).thenReturn(job);
+
+    mockMvc
+        .perform(get("/admin/jobs/{id}", jobId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("RUNNING"))
+        .andExpect(jsonPath("$.processedItems").value(500))
+        .andExpect(jsonPath("$.changedItems").value(480))
+        .andExpect(jsonPath("$.finishedAt").doesNotExist());
+  }
+
+  @Test
+  void getAdminJob_unknownId_returns404() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    when(adminJobService.getJob(jobId)).thenThrow(new AdminJobNotFoundException());
+
+    mockMvc
+        .perform(get("/admin/jobs/{id}", jobId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value("JOB_NOT_FOUND"));
+  }
+
   private void setAuthenticationContext(UUID userId) {
     JwtAuthenticationToken auth =
         new JwtAuthenticationToken(
@@ -406,7 +519,7 @@ class UsersControllerTest {
   private void stubDefaultProfileData(UUID userId) {
     when(userService.getSocialLinks(userId)).thenReturn(Optional.empty());
     when(userService.getPrivacySettings(userId)).thenReturn(buildDefaultPrivacySettings(userId));
-    when(avatarService.getAvatarSources(any(), any())).thenReturn(new AvatarSources());
+    when(avatarService.getAvatarSources(any(), any(), any())).thenReturn(new AvatarSources());
   }
 
   private UserPrivacySettings buildDefaultPrivacySettings(UUID userId) {